@@ -0,0 +1,10 @@
+package stock_trading.alert;
+
+/**
+ * Which way the price has to cross an alert's threshold: {@code ABOVE} fires once a trade prints at
+ * or above it, {@code BELOW} once one prints at or below it.
+ */
+public enum AlertDirection {
+    ABOVE,
+    BELOW
+}
@@ -0,0 +1,115 @@
+package stock_trading.alert;
+
+/**
+ * Resting price alerts kept per symbol in two heaps. Alerts waiting for the price to rise are keyed
+ * by threshold and alerts waiting for it to fall by negated threshold, so the top of either heap
+ * is always the next alert to fire. A trade compares its price against two heap tops: one that
+ * fires nothing costs O(1), and each alert that fires costs one O(log n) pop, however many alerts rest.
+ *
+ * <p>A cancelled alert leaves the id table at once; its heap entry is skipped when it surfaces,
+ * and once stale entries outnumber live ones every heap is compacted in one linear pass. Not
+ * thread-safe: {@link AlertTrigger} confines an engine to one thread.
+ */
+public class AlertEngine {
+
+    private static final int MIN_STALE_TO_COMPACT = 1024;
+
+    private final ThresholdHeap[] above;
+    private final ThresholdHeap[] below;
+    private final AlertTable alerts = new AlertTable();
+    private final AlertListener listener;
+    private long stale;
+
+    public AlertEngine(int symbolCount, AlertListener listener) {
+        this.above = new ThresholdHeap[symbolCount];
+        this.below = new ThresholdHeap[symbolCount];
+        this.listener = listener;
+    }
+
+    /**
+     * @return {@code false} if an alert with this id is already resting
+     */
+    public boolean add(long alertId, long userId, int symbolId, AlertDirection direction, long threshold) {
+        if (!alerts.put(alertId, userId)) {
+            return false;
+        }
+        if (direction == AlertDirection.ABOVE) {
+            heap(above, symbolId).push(threshold, alertId);
+        } else {
+            heap(below, symbolId).push(-threshold, alertId);
+        }
+        return true;
+    }
+
+    /**
+     * @return {@code false} if the alert was not resting, because it never existed or already fired
+     */
+    public boolean cancel(long alertId) {
+        if (alerts.remove(alertId) == AlertTable.ABSENT) {
+            return false;
+        }
+        if (++stale > Math.max(MIN_STALE_TO_COMPACT, alerts.size())) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Fires every resting alert of the symbol that {@code price} reaches.
+     *
+     * @return the number of alerts fired
+     */
+    public int onPrice(int symbolId, long price, long timestamp) {
+        return fire(above[symbolId], symbolId, AlertDirection.ABOVE, price, price, timestamp)
+                + fire(below[symbolId], symbolId, AlertDirection.BELOW, -price, price, timestamp);
+    }
+
+    public int size() {
+        return alerts.size();
+    }
+
+    public long getStale() {
+        return stale;
+    }
+
+    private int fire(ThresholdHeap heap, int symbolId, AlertDirection direction, long bound, long price,
+                     long timestamp) {
+        if (heap == null) {
+            return 0;
+        }
+        int fired = 0;
+        while (heap.size() > 0 && heap.peekKey() <= bound) {
+            long key = heap.peekKey();
+            long alertId = heap.peekId();
+            heap.pop();
+            long userId = alerts.remove(alertId);
+            if (userId == AlertTable.ABSENT) {
+                stale--;
+                continue;
+            }
+            long threshold = direction == AlertDirection.ABOVE ? key : -key;
+            listener.onTriggered(alertId, userId, symbolId, direction, threshold, price, timestamp);
+            fired++;
+        }
+        return fired;
+    }
+
+    private void compact() {
+        for (ThresholdHeap[] heaps : new ThresholdHeap[][]{above, below}) {
+            for (ThresholdHeap heap : heaps) {
+                if (heap != null) {
+                    heap.retain(alerts::contains);
+                }
+            }
+        }
+        stale = 0;
+    }
+
+    private static ThresholdHeap heap(ThresholdHeap[] heaps, int symbolId) {
+        ThresholdHeap heap = heaps[symbolId];
+        if (heap == null) {
+            heap = heaps[symbolId] = new ThresholdHeap();
+        }
+        return heap;
+    }
+}
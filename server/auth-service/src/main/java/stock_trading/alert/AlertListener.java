@@ -0,0 +1,8 @@
+package stock_trading.alert;
+
+@FunctionalInterface
+public interface AlertListener {
+
+    void onTriggered(long alertId, long userId, int symbolId, AlertDirection direction, long threshold, long price,
+                     long timestamp);
+}
@@ -0,0 +1,102 @@
+package stock_trading.alert;
+
+/**
+ * Open-addressing map from alert id to user id in two primitive arrays. Deletion shifts later
+ * entries back rather than leaving tombstones, so lookups stay short however many alerts come and go.
+ */
+final class AlertTable {
+
+    static final long ABSENT = Long.MIN_VALUE;
+    private static final long EMPTY = 0L;
+
+    private long[] keys = new long[16];
+    private long[] values = new long[16];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * @return {@code false} if {@code id} is already present
+     */
+    boolean put(long id, long userId) {
+        if (indexOf(id) >= 0) {
+            return false;
+        }
+        if ((size + 1) * 4 > keys.length * 3) {
+            grow();
+        }
+        int mask = keys.length - 1;
+        int slot = slot(id, mask);
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        values[slot] = userId;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return the user id stored for {@code id}, or {@link #ABSENT}
+     */
+    long remove(long id) {
+        int hole = indexOf(id);
+        if (hole < 0) {
+            return ABSENT;
+        }
+        long removed = values[hole];
+        int mask = keys.length - 1;
+        for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(keys[next], mask);
+            // Move the entry into the hole unless its home lies cyclically in (hole, next].
+            boolean stays = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (!stays) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+        return removed;
+    }
+
+    private int indexOf(long id) {
+        int mask = keys.length - 1;
+        for (int slot = slot(id, mask); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == id) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i], mask);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(long id, int mask) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,150 @@
+package stock_trading.alert;
+
+import lombok.extern.slf4j.Slf4j;
+import stock_trading.engine.FillFeed;
+import stock_trading.engine.FillListener;
+import stock_trading.engine.Order;
+import stock_trading.engine.Side;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs an {@link AlertEngine} on its own thread. Trade prices leave the sequencer thread through a
+ * {@link FillFeed}, and alerts are added or cancelled through a command queue, so the engine is
+ * only ever touched by the "price-alerts" thread and needs no locking. Every trade price is
+ * checked, not just the latest one, so a price that crosses a threshold and comes back between
+ * polls still fires. Fired alerts wait in a queue for {@link #drainTriggered(Consumer)}.
+ */
+@Slf4j
+public class AlertTrigger implements FillListener, Closeable {
+
+    private final AlertEngine engine;
+    private final FillFeed fills;
+    private final FillFeed.Visitor priceChecker = this::checkPrice;
+    private final Queue<Command> commands = new ConcurrentLinkedQueue<>();
+    private final Queue<TriggeredAlert> triggered = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService poller;
+    private final long pollIntervalMillis;
+    private volatile int resting;
+
+    public AlertTrigger(int symbolCount, int bufferSize, long pollIntervalMillis) {
+        this.engine = new AlertEngine(symbolCount, this::onTriggered);
+        this.fills = new FillFeed(bufferSize);
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-alerts");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads a stored alert straight into the engine. Only valid before {@link #start()}.
+     */
+    public void restore(long alertId, long userId, int symbolId, AlertDirection direction, long threshold) {
+        engine.add(alertId, userId, symbolId, direction, threshold);
+        resting = engine.size();
+    }
+
+    public void start() {
+        fills.setActive(true);
+        poller.scheduleWithFixedDelay(this::pollQuietly, pollIntervalMillis, pollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void add(long alertId, long userId, int symbolId, AlertDirection direction, long threshold) {
+        commands.add(new Command(alertId, userId, symbolId, direction, threshold));
+    }
+
+    public void cancel(long alertId) {
+        commands.add(new Command(alertId, 0, 0, null, 0));
+    }
+
+    @Override
+    public void onFill(int symbolId, long price, long quantity, Order maker, Order taker) {
+        fills.onFill(symbolId, price, quantity, maker, taker);
+    }
+
+    /**
+     * Applies queued commands, then checks every trade published since the last poll.
+     *
+     * @return the number of alerts fired
+     */
+    public synchronized int poll() {
+        Command command;
+        while ((command = commands.poll()) != null) {
+            if (command.direction() == null) {
+                engine.cancel(command.alertId());
+            } else {
+                engine.add(command.alertId(), command.userId(), command.symbolId(), command.direction(),
+                        command.threshold());
+            }
+        }
+        int before = triggered.size();
+        fills.drain(priceChecker);
+        resting = engine.size();
+        return triggered.size() - before;
+    }
+
+    /**
+     * Hands every fired alert to {@code consumer}, oldest first.
+     *
+     * @return the number of alerts drained
+     */
+    public int drainTriggered(Consumer<TriggeredAlert> consumer) {
+        int drained = 0;
+        TriggeredAlert alert;
+        while ((alert = triggered.poll()) != null) {
+            consumer.accept(alert);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int getResting() {
+        return resting;
+    }
+
+    public long getDropped() {
+        return fills.getDropped();
+    }
+
+    @Override
+    public void close() {
+        fills.setActive(false);
+        poller.shutdown();
+        try {
+            poller.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkPrice(long sequence, long userId, long orderId, int symbolId, Side side, long price,
+                            long quantity, long timestamp) {
+        // Both sides of a fill arrive at the same price; the second check finds nothing left to fire.
+        engine.onPrice(symbolId, price, timestamp);
+    }
+
+    private void onTriggered(long alertId, long userId, int symbolId, AlertDirection direction, long threshold,
+                             long price, long timestamp) {
+        triggered.add(new TriggeredAlert(alertId, userId, symbolId, direction, threshold, price, timestamp));
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (RuntimeException ex) {
+            log.error("Failed to check price alerts", ex);
+        }
+    }
+
+    private record Command(long alertId, long userId, int symbolId, AlertDirection direction, long threshold) {
+    }
+}
@@ -0,0 +1,93 @@
+package stock_trading.alert;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Binary min-heap of (key, alert id) pairs held in two parallel primitive arrays, so a resting
+ * alert costs sixteen bytes and no object. Peeking is O(1); each push or pop is O(log n).
+ */
+final class ThresholdHeap {
+
+    private long[] keys = new long[8];
+    private long[] ids = new long[8];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    long peekKey() {
+        return keys[0];
+    }
+
+    long peekId() {
+        return ids[0];
+    }
+
+    void push(long key, long id) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        int child = size++;
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[child] = keys[parent];
+            ids[child] = ids[parent];
+            child = parent;
+        }
+        keys[child] = key;
+        ids[child] = id;
+    }
+
+    void pop() {
+        int last = --size;
+        if (last > 0) {
+            siftDown(0, keys[last], ids[last]);
+        }
+    }
+
+    /**
+     * Drops every entry whose id fails {@code live} and restores heap order in one O(n) pass.
+     *
+     * @return the number of entries dropped
+     */
+    int retain(LongPredicate live) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (live.test(ids[i])) {
+                keys[kept] = keys[i];
+                ids[kept] = ids[i];
+                kept++;
+            }
+        }
+        int dropped = size - kept;
+        size = kept;
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, keys[i], ids[i]);
+        }
+        return dropped;
+    }
+
+    private void siftDown(int hole, long key, long id) {
+        int half = size >>> 1;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[hole] = keys[child];
+            ids[hole] = ids[child];
+            hole = child;
+        }
+        keys[hole] = key;
+        ids[hole] = id;
+    }
+}
@@ -0,0 +1,9 @@
+package stock_trading.alert;
+
+/**
+ * An alert that fired, with the trade price that reached its threshold. Prices are scaled as in
+ * {@code Prices}.
+ */
+public record TriggeredAlert(long alertId, long userId, int symbolId, AlertDirection direction, long threshold,
+                             long price, long timestamp) {
+}
@@ -0,0 +1,35 @@
+package stock_trading.backtest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partition results in symbol, then time order, whatever order the workers finished in.
+ */
+public record BacktestReport(List<BacktestResult> partitions) {
+
+    public Map<String, BacktestResult> bySymbol() {
+        Map<String, BacktestResult> merged = new LinkedHashMap<>();
+        for (BacktestResult partition : partitions) {
+            merged.merge(partition.symbol(), partition, BacktestResult::merge);
+        }
+        return merged;
+    }
+
+    public long totalPnl() {
+        long total = 0;
+        for (BacktestResult partition : partitions) {
+            total += partition.pnl();
+        }
+        return total;
+    }
+
+    public long totalTicks() {
+        long total = 0;
+        for (BacktestResult partition : partitions) {
+            total += partition.ticks();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,16 @@
+package stock_trading.backtest;
+
+/**
+ * Outcome of one symbol over {@code [from, to)}. Amounts are scaled prices; {@code pnl} marks the
+ * open position to the last tick. Partitions start flat, so merging sums everything except the
+ * drawdown, which is the worst of the merged partitions.
+ */
+public record BacktestResult(String symbol, long from, long to, long ticks, long fills, long boughtQuantity,
+                             long soldQuantity, long position, long pnl, long maxDrawdown) {
+
+    public BacktestResult merge(BacktestResult other) {
+        return new BacktestResult(symbol, Math.min(from, other.from), Math.max(to, other.to), ticks + other.ticks,
+                fills + other.fills, boughtQuantity + other.boughtQuantity, soldQuantity + other.soldQuantity,
+                position + other.position, pnl + other.pnl, Math.max(maxDrawdown, other.maxDrawdown));
+    }
+}
@@ -0,0 +1,82 @@
+package stock_trading.backtest;
+
+import stock_trading.tickstore.TickArchive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Backtests strategies over recorded tick history. The run is cut into partitions of one symbol
+ * and at most {@code partitionMillis} of time, which a {@link ForkJoinPool} works through by
+ * recursive halving; each partition scans its ticks straight from the mapped day files and writes
+ * its result to its own slot, so the report is the same however the work was scheduled.
+ *
+ * <p>Each partition starts flat with a fresh strategy. Longer partitions keep more strategy state
+ * intact; shorter ones spread a few symbols over more cores.
+ */
+public class BacktestRunner {
+
+    private final TickArchive archive;
+    private final ForkJoinPool pool;
+
+    public BacktestRunner(TickArchive archive, ForkJoinPool pool) {
+        this.archive = archive;
+        this.pool = pool;
+    }
+
+    public BacktestReport run(List<String> symbols, long from, long to, long partitionMillis, StrategyFactory factory) {
+        if (from >= to || partitionMillis <= 0) {
+            throw new IllegalArgumentException("Need a non-empty time range and a positive partition length");
+        }
+
+        List<Partition> partitions = new ArrayList<>();
+        for (String symbol : symbols) {
+            for (long start = from; start < to; start += partitionMillis) {
+                partitions.add(new Partition(symbol, start, Math.min(to, start + partitionMillis)));
+            }
+        }
+
+        BacktestResult[] results = new BacktestResult[partitions.size()];
+        pool.invoke(new PartitionTask(partitions, results, factory, 0, partitions.size()));
+        return new BacktestReport(List.of(results));
+    }
+
+    private record Partition(String symbol, long from, long to) {
+    }
+
+    private final class PartitionTask extends RecursiveAction {
+
+        private final List<Partition> partitions;
+        private final BacktestResult[] results;
+        private final StrategyFactory factory;
+        private final int start;
+        private final int end;
+
+        PartitionTask(List<Partition> partitions, BacktestResult[] results, StrategyFactory factory, int start,
+                      int end) {
+            this.partitions = partitions;
+            this.results = results;
+            this.factory = factory;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > 1) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new PartitionTask(partitions, results, factory, start, middle),
+                        new PartitionTask(partitions, results, factory, middle, end));
+                return;
+            }
+            for (int i = start; i < end; i++) {
+                Partition partition = partitions.get(i);
+                BacktestSession session = new BacktestSession(partition.symbol(), factory.create(partition.symbol()));
+                archive.scan(partition.symbol(), partition.from(), partition.to(), session);
+                results[i] = session.result(partition.from(), partition.to());
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package stock_trading.backtest;
+
+import stock_trading.engine.FillListener;
+import stock_trading.engine.Order;
+import stock_trading.engine.OrderBook;
+import stock_trading.engine.Side;
+import stock_trading.tickstore.TickVisitor;
+import stock_trading.util.Prices;
+
+import java.util.Arrays;
+
+/**
+ * Replays one partition's ticks through a strategy and a private {@link OrderBook} that holds only
+ * the strategy's orders. Each tick is first offered to the book as a sell and a buy of its volume
+ * at its price, so resting orders fill with the engine's price-time priority and at their own
+ * limit; the strategy then sees the tick and may trade. Orders therefore never fill against the
+ * tick that placed them. Fills are reported to the strategy after the book is done matching.
+ */
+public class BacktestSession implements FillListener, TickVisitor {
+
+    private static final long MARKET = 0L;
+    private static final long TRADER = 1L;
+
+    private final String symbol;
+    private final Strategy strategy;
+    private final OrderBook book;
+
+    private long nextOrderId = 1;
+    private long timestamp;
+    private long lastPrice;
+    private long ticks;
+    private long fills;
+    private long bought;
+    private long sold;
+    private long position;
+    private long cash;
+    private long peakEquity;
+    private long maxDrawdown;
+
+    private long[] pendingFills = new long[3 * 16];
+    private int pendingCount;
+    private boolean dispatching;
+
+    BacktestSession(String symbol, Strategy strategy) {
+        this.symbol = symbol;
+        this.strategy = strategy;
+        this.book = new OrderBook(symbol);
+    }
+
+    /**
+     * @return the id of the new order, for {@link #cancel}
+     */
+    public long buy(long price, long quantity) {
+        return submit(Side.BUY, price, quantity);
+    }
+
+    public long sell(long price, long quantity) {
+        return submit(Side.SELL, price, quantity);
+    }
+
+    public boolean cancel(long orderId) {
+        return book.cancel(orderId, TRADER) != null;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getCash() {
+        return cash;
+    }
+
+    public long getLastPrice() {
+        return lastPrice;
+    }
+
+    public int getOpenOrderCount() {
+        return book.restingOrderCount();
+    }
+
+    @Override
+    public boolean onTick(long timestamp, long price, long volume) {
+        this.timestamp = timestamp;
+        lastPrice = price;
+        ticks++;
+
+        long bestBid = book.bestBid();
+        if (bestBid != 0 && bestBid >= price) {
+            cross(Side.SELL, price, volume);
+        }
+        long bestAsk = book.bestAsk();
+        if (bestAsk != 0 && bestAsk <= price) {
+            cross(Side.BUY, price, volume);
+        }
+        dispatchFills();
+
+        strategy.onTick(this, timestamp, price, volume);
+        dispatchFills();
+
+        long equity = cash + Prices.notional(lastPrice, position);
+        peakEquity = Math.max(peakEquity, equity);
+        maxDrawdown = Math.max(maxDrawdown, peakEquity - equity);
+        return true;
+    }
+
+    @Override
+    public void onFill(int symbolId, long price, long quantity, Order maker, Order taker) {
+        fills++;
+        if (maker.getUserId() == TRADER) {
+            record(maker.getSide(), price, quantity);
+        }
+        if (taker.getUserId() == TRADER) {
+            record(taker.getSide(), price, quantity);
+        }
+    }
+
+    BacktestResult result(long from, long to) {
+        return new BacktestResult(symbol, from, to, ticks, fills, bought, sold, position,
+                cash + Prices.notional(lastPrice, position), maxDrawdown);
+    }
+
+    private long submit(Side side, long price, long quantity) {
+        long orderId = nextOrderId++;
+        book.submit(new Order(orderId, TRADER, symbol, side, price, quantity, timestamp), this);
+        dispatchFills();
+        return orderId;
+    }
+
+    /**
+     * Trades the tick against resting strategy orders and withdraws whatever it has left.
+     */
+    private void cross(Side side, long price, long volume) {
+        long orderId = nextOrderId++;
+        if (book.submit(new Order(orderId, MARKET, symbol, side, price, volume, timestamp), this) < volume) {
+            book.cancel(orderId, MARKET);
+        }
+    }
+
+    private void record(Side side, long price, long quantity) {
+        if (side == Side.BUY) {
+            position += quantity;
+            bought += quantity;
+            cash -= Prices.notional(price, quantity);
+        } else {
+            position -= quantity;
+            sold += quantity;
+            cash += Prices.notional(price, quantity);
+        }
+
+        if (pendingCount * 3 == pendingFills.length) {
+            pendingFills = Arrays.copyOf(pendingFills, pendingFills.length * 2);
+        }
+        pendingFills[pendingCount * 3] = side.ordinal();
+        pendingFills[pendingCount * 3 + 1] = price;
+        pendingFills[pendingCount * 3 + 2] = quantity;
+        pendingCount++;
+    }
+
+    /**
+     * Reports queued fills once the book is idle. Orders the strategy places from a fill callback
+     * can fill in turn; those are picked up by the same loop.
+     */
+    private void dispatchFills() {
+        if (dispatching) {
+            return;
+        }
+        dispatching = true;
+        try {
+            for (int i = 0; i < pendingCount; i++) {
+                Side side = pendingFills[i * 3] == Side.BUY.ordinal() ? Side.BUY : Side.SELL;
+                strategy.onFill(this, side, pendingFills[i * 3 + 1], pendingFills[i * 3 + 2]);
+            }
+            pendingCount = 0;
+        } finally {
+            dispatching = false;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package stock_trading.backtest;
+
+import stock_trading.engine.Side;
+
+/**
+ * Trading logic under test. One instance serves one partition, so it may keep plain fields as
+ * state; it sees each historical tick after the session has filled resting orders against it.
+ */
+public interface Strategy {
+
+    void onTick(BacktestSession session, long timestamp, long price, long volume);
+
+    default void onFill(BacktestSession session, Side side, long price, long quantity) {
+    }
+}
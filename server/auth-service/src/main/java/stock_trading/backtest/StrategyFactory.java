@@ -0,0 +1,10 @@
+package stock_trading.backtest;
+
+@FunctionalInterface
+public interface StrategyFactory {
+
+    /**
+     * Called once per partition, from the worker thread that runs it.
+     */
+    Strategy create(String symbol);
+}
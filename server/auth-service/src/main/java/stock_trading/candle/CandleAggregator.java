@@ -0,0 +1,54 @@
+package stock_trading.candle;
+
+import stock_trading.engine.FillListener;
+import stock_trading.engine.Order;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Folds every trade into rolling bars for each {@link Timeframe}, so chart requests read
+ * precomputed bars instead of rescanning ticks. Updated only from the sequencer's consumer thread.
+ *
+ * <p>A fill is stamped with the entry time of the command that caused it, not the time it is
+ * applied, so fills replayed from the journal at startup land in the buckets they traded in.
+ */
+public class CandleAggregator implements FillListener {
+
+    private static final Timeframe[] TIMEFRAMES = Timeframe.values();
+
+    private final CandleRing[][] rings;
+    private final LongSupplier fillTimestamp;
+
+    /**
+     * @param fillTimestamp entry time of the command being applied, read on each fill
+     */
+    public CandleAggregator(SymbolRegistry registry, LongSupplier fillTimestamp) {
+        this.fillTimestamp = fillTimestamp;
+        this.rings = new CandleRing[registry.size()][TIMEFRAMES.length];
+        for (int id = 0; id < rings.length; id++) {
+            for (Timeframe timeframe : TIMEFRAMES) {
+                rings[id][timeframe.ordinal()] = new CandleRing(timeframe);
+            }
+        }
+    }
+
+    @Override
+    public void onFill(int symbolId, long price, long quantity, Order maker, Order taker) {
+        onTrade(symbolId, price, quantity, fillTimestamp.getAsLong());
+    }
+
+    public void onTrade(int symbolId, long price, long quantity, long timestamp) {
+        CandleRing[] symbolRings = rings[symbolId];
+        for (CandleRing ring : symbolRings) {
+            ring.onTrade(price, quantity, timestamp);
+        }
+    }
+
+    public void read(int symbolId, Timeframe timeframe, long from, long to, CandleSeries out) {
+        out.clear();
+        if (from < to) {
+            rings[symbolId][timeframe.ordinal()].read(from, to, out);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package stock_trading.candle;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed window of bars for one symbol and timeframe, stored as primitive columns. Bucket {@code n}
+ * always lives in slot {@code n % capacity}, so an update is one slot write and a slot whose start
+ * does not match the requested bucket is simply a gap or an overwritten bar.
+ *
+ * <p>Single writer; each slot carries its own seqlock version so readers never block it.
+ */
+class CandleRing {
+
+    private final Timeframe timeframe;
+    private final int capacity;
+    private final AtomicLongArray versions;
+    private final long[] start;
+    private final long[] open;
+    private final long[] high;
+    private final long[] low;
+    private final long[] close;
+    private final long[] volume;
+
+    CandleRing(Timeframe timeframe) {
+        this.timeframe = timeframe;
+        this.capacity = timeframe.getCapacity();
+        this.versions = new AtomicLongArray(capacity);
+        this.start = new long[capacity];
+        this.open = new long[capacity];
+        this.high = new long[capacity];
+        this.low = new long[capacity];
+        this.close = new long[capacity];
+        this.volume = new long[capacity];
+        Arrays.fill(start, Long.MIN_VALUE);
+    }
+
+    void onTrade(long price, long quantity, long timestamp) {
+        long bucketStart = timeframe.bucketStart(timestamp);
+        int slot = slot(bucketStart);
+        long current = start[slot];
+        if (current > bucketStart) {
+            return;
+        }
+
+        long version = versions.get(slot);
+        versions.set(slot, version + 1);
+        VarHandle.storeStoreFence();
+
+        if (current != bucketStart) {
+            start[slot] = bucketStart;
+            open[slot] = price;
+            high[slot] = price;
+            low[slot] = price;
+            volume[slot] = 0;
+        } else {
+            high[slot] = Math.max(high[slot], price);
+            low[slot] = Math.min(low[slot], price);
+        }
+        close[slot] = price;
+        volume[slot] += quantity;
+
+        versions.set(slot, version + 2);
+    }
+
+    /**
+     * Copies bars overlapping {@code [from, to)} into {@code out}, oldest first, skipping gaps.
+     * Only the most recent {@code capacity} buckets before {@code to} can be returned.
+     */
+    void read(long from, long to, CandleSeries out) {
+        long last = timeframe.bucketStart(to - 1);
+        long first = Math.max(timeframe.bucketStart(from), last - (capacity - 1) * timeframe.getMillis());
+
+        for (long bucket = first; bucket <= last; bucket += timeframe.getMillis()) {
+            int slot = slot(bucket);
+            while (true) {
+                long before = versions.get(slot);
+                if ((before & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                long slotStart = start[slot];
+                long o = open[slot];
+                long h = high[slot];
+                long l = low[slot];
+                long c = close[slot];
+                long v = volume[slot];
+
+                VarHandle.acquireFence();
+                if (versions.get(slot) == before) {
+                    if (slotStart == bucket) {
+                        out.add(slotStart, o, h, l, c, v);
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    private int slot(long bucketStart) {
+        return (int) Math.floorMod(bucketStart / timeframe.getMillis(), (long) capacity);
+    }
+}
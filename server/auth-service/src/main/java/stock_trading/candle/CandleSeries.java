@@ -0,0 +1,68 @@
+package stock_trading.candle;
+
+import java.util.Arrays;
+
+/**
+ * Reusable column buffer for range query results.
+ */
+public class CandleSeries {
+
+    private long[] start = new long[64];
+    private long[] open = new long[64];
+    private long[] high = new long[64];
+    private long[] low = new long[64];
+    private long[] close = new long[64];
+    private long[] volume = new long[64];
+    private int size;
+
+    void add(long barStart, long barOpen, long barHigh, long barLow, long barClose, long barVolume) {
+        if (size == start.length) {
+            int capacity = size * 2;
+            start = Arrays.copyOf(start, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+        }
+        start[size] = barStart;
+        open[size] = barOpen;
+        high[size] = barHigh;
+        low[size] = barLow;
+        close[size] = barClose;
+        volume[size] = barVolume;
+        size++;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long start(int index) {
+        return start[index];
+    }
+
+    public long open(int index) {
+        return open[index];
+    }
+
+    public long high(int index) {
+        return high[index];
+    }
+
+    public long low(int index) {
+        return low[index];
+    }
+
+    public long close(int index) {
+        return close[index];
+    }
+
+    public long volume(int index) {
+        return volume[index];
+    }
+}
@@ -0,0 +1,42 @@
+package stock_trading.candle;
+
+import lombok.Getter;
+
+import java.util.Optional;
+
+/**
+ * Bar sizes and how many recent bars of each are kept. Bars are built in memory from the fills
+ * seen since startup, so the longer timeframes keep about a month rather than years they could
+ * never fill.
+ */
+@Getter
+public enum Timeframe {
+    ONE_SECOND("1s", 1_000L, 3_600),
+    ONE_MINUTE("1m", 60_000L, 1_440),
+    FIVE_MINUTES("5m", 300_000L, 2_016),
+    ONE_HOUR("1h", 3_600_000L, 744),
+    ONE_DAY("1d", 86_400_000L, 31);
+
+    private final String code;
+    private final long millis;
+    private final int capacity;
+
+    Timeframe(String code, long millis, int capacity) {
+        this.code = code;
+        this.millis = millis;
+        this.capacity = capacity;
+    }
+
+    public long bucketStart(long timestamp) {
+        return Math.floorDiv(timestamp, millis) * millis;
+    }
+
+    public static Optional<Timeframe> of(String code) {
+        for (Timeframe timeframe : values()) {
+            if (timeframe.code.equals(code)) {
+                return Optional.of(timeframe);
+            }
+        }
+        return Optional.empty();
+    }
+}
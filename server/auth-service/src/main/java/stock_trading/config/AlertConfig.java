@@ -0,0 +1,57 @@
+package stock_trading.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+import stock_trading.alert.AlertTrigger;
+import stock_trading.entity.PriceAlert;
+import stock_trading.repository.PriceAlertRepository;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class AlertConfig {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService alertSenderExecutor(@Value("${app.alerts.sender-threads}") int senderThreads,
+                                               @Value("${app.alerts.sender-queue-capacity}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "alert-sender-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public AlertTrigger alertTrigger(SymbolRegistry symbolRegistry, PriceAlertRepository priceAlertRepository,
+                                     @Value("${app.alerts.fill-buffer-size}") int fillBufferSize,
+                                     @Value("${app.alerts.poll-interval-millis}") long pollIntervalMillis) {
+        AlertTrigger alertTrigger = new AlertTrigger(symbolRegistry.size(), fillBufferSize, pollIntervalMillis);
+        long lastId = 0;
+        List<PriceAlert> page;
+        do {
+            page = priceAlertRepository.findByTriggeredAtIsNullAndIdGreaterThanOrderByIdAsc(lastId,
+                    Limit.of(LOAD_PAGE_SIZE));
+            for (PriceAlert alert : page) {
+                int symbolId = symbolRegistry.idOf(alert.getSymbol());
+                if (symbolId != SymbolRegistry.UNKNOWN) {
+                    alertTrigger.restore(alert.getId(), alert.getUserId(), symbolId, alert.getDirection(),
+                            alert.getThreshold());
+                }
+                lastId = alert.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        return alertTrigger;
+    }
+}
@@ -0,0 +1,48 @@
+package stock_trading.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import stock_trading.eventbus.EventBus;
+import stock_trading.eventbus.EventChannel;
+import stock_trading.eventbus.EventHandler;
+import stock_trading.eventbus.OrderAccepted;
+import stock_trading.eventbus.OrderFilled;
+import stock_trading.eventbus.UserCreated;
+import stock_trading.portfolio.PortfolioInitializer;
+import stock_trading.sequencer.WaitStrategy;
+import stock_trading.util.Prices;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+
+@Configuration
+public class EventBusConfig {
+
+    @Bean
+    public PortfolioInitializer portfolioInitializer(
+            JdbcTemplate jdbcTemplate, @Value("${app.risk.initial-buying-power}") BigDecimal openingBalance) {
+        return new PortfolioInitializer(jdbcTemplate, Prices.fromDecimal(openingBalance), Clock.systemUTC());
+    }
+
+    /**
+     * Every {@link EventHandler} bean subscribes to the channel of its event type.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public EventBus eventBus(ObjectProvider<EventHandler<UserCreated>> userHandlers,
+                             ObjectProvider<EventHandler<OrderAccepted>> orderHandlers,
+                             ObjectProvider<EventHandler<OrderFilled>> fillHandlers,
+                             @Value("${app.events.buffer-size}") int bufferSize,
+                             @Value("${app.events.park-nanos}") long parkNanos) {
+        WaitStrategy waitStrategy = WaitStrategy.parking(parkNanos);
+        return new EventBus(
+                new EventChannel<>("users", bufferSize, UserCreated::new, userHandlers.orderedStream().toList(),
+                        waitStrategy),
+                new EventChannel<>("orders", bufferSize, OrderAccepted::new, orderHandlers.orderedStream().toList(),
+                        waitStrategy),
+                new EventChannel<>("fills", bufferSize, OrderFilled::new, fillHandlers.orderedStream().toList(),
+                        waitStrategy));
+    }
+}
@@ -0,0 +1,52 @@
+package stock_trading.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import stock_trading.engine.FillFeed;
+import stock_trading.gateway.OrderGateway;
+import stock_trading.gateway.SessionAuthenticator;
+import stock_trading.idempotency.ClientOrderIdFilter;
+import stock_trading.journal.JournalWriter;
+import stock_trading.risk.BuyingPowerReserver;
+import stock_trading.sequencer.CommandOutcomes;
+import stock_trading.sequencer.OrderSequencer;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.util.JwtTokenUtil;
+
+import java.net.InetSocketAddress;
+
+@Configuration
+public class GatewayConfig {
+
+    @Bean
+    public FillFeed gatewayFillFeed(@Value("${app.gateway.fill-buffer-size}") int fillBufferSize) {
+        return new FillFeed(fillBufferSize);
+    }
+
+    @Bean
+    public SessionAuthenticator sessionAuthenticator(JwtTokenUtil jwtTokenUtil) {
+        return token -> {
+            if (!jwtTokenUtil.validateToken(token)) {
+                return SessionAuthenticator.UNAUTHENTICATED;
+            }
+            Long userId = jwtTokenUtil.getUserIdFromToken(token);
+            return userId == null ? SessionAuthenticator.UNAUTHENTICATED : userId;
+        };
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public OrderGateway orderGateway(@Value("${app.gateway.port}") int port,
+                                     @Value("${app.gateway.max-sessions}") int maxSessions,
+                                     @Value("${app.gateway.buffer-size}") int bufferSize,
+                                     @Value("${app.gateway.max-pending-acks}") int maxPendingAcks,
+                                     SymbolRegistry symbolRegistry, OrderSequencer orderSequencer,
+                                     BuyingPowerReserver buyingPowerReserver,
+                                     ClientOrderIdFilter clientOrderIdFilter, JournalWriter journalWriter,
+                                     CommandOutcomes commandOutcomes, FillFeed gatewayFillFeed,
+                                     SessionAuthenticator sessionAuthenticator) {
+        return new OrderGateway(new InetSocketAddress(port), symbolRegistry, orderSequencer, buyingPowerReserver,
+                clientOrderIdFilter, journalWriter::getCommittedSequence, commandOutcomes, gatewayFillFeed,
+                sessionAuthenticator, maxSessions, bufferSize, maxPendingAcks);
+    }
+}
@@ -0,0 +1,31 @@
+package stock_trading.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import stock_trading.journal.FsyncPolicy;
+import stock_trading.journal.JournalReplayer;
+import stock_trading.journal.JournalWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class JournalConfig {
+
+    @Value("${app.journal.dir}")
+    private Path journalDir;
+
+    @Bean(destroyMethod = "close")
+    public JournalWriter journalWriter(@Value("${app.journal.segment-size}") int segmentSize,
+                                       @Value("${app.journal.fsync-policy}") String fsyncPolicy,
+                                       @Value("${app.journal.fsync-interval-micros}") long fsyncIntervalMicros)
+            throws IOException {
+        return JournalWriter.open(journalDir, segmentSize, FsyncPolicy.of(fsyncPolicy), fsyncIntervalMicros);
+    }
+
+    @Bean
+    public JournalReplayer journalReplayer() {
+        return new JournalReplayer(journalDir);
+    }
+}
@@ -0,0 +1,161 @@
+package stock_trading.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import stock_trading.candle.CandleAggregator;
+import stock_trading.depth.DepthDistributor;
+import stock_trading.depth.DepthPublisher;
+import stock_trading.dto.QuoteRecord;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.marketdata.ConflatingQuoteFanout;
+import stock_trading.marketdata.QuoteBatchEncoder;
+import stock_trading.marketdata.QuoteStore;
+import stock_trading.marketdata.SlowConsumerPolicy;
+import stock_trading.search.SymbolSearch;
+import stock_trading.service.MarketDataService;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.tickstore.TickStore;
+import stock_trading.watchlist.WatchlistFanout;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@EnableScheduling
+public class MarketDataConfig {
+
+    @Bean
+    public SymbolRegistry symbolRegistry(@Value("${app.market.listings}") Resource listings,
+                                         ObjectMapper objectMapper) throws IOException {
+        try (InputStream in = listings.getInputStream()) {
+            return new SymbolRegistry(List.of(objectMapper.readValue(in, Listing[].class)));
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    public SymbolSearch symbolSearch(SymbolRegistry symbolRegistry) {
+        SymbolSearch symbolSearch = new SymbolSearch();
+        symbolSearch.rebuild(symbolRegistry.getListings());
+        return symbolSearch;
+    }
+
+    @Bean
+    public QuoteStore quoteStore(SymbolRegistry symbolRegistry, MatchingEngine matchingEngine) {
+        return new QuoteStore(symbolRegistry, matchingEngine::getCommandTimestamp);
+    }
+
+    @Bean
+    public CandleAggregator candleAggregator(SymbolRegistry symbolRegistry, MatchingEngine matchingEngine) {
+        return new CandleAggregator(symbolRegistry, matchingEngine::getCommandTimestamp);
+    }
+
+    @Bean(destroyMethod = "close")
+    public TickStore tickStore(SymbolRegistry symbolRegistry,
+                               @Value("${app.tickstore.dir}") Path tickStoreDir,
+                               @Value("${app.tickstore.block-size}") int blockSize,
+                               @Value("${app.tickstore.max-block-age-millis}") long maxBlockAgeMillis) {
+        return new TickStore(tickStoreDir, symbolRegistry, blockSize, maxBlockAgeMillis);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService depthSenderExecutor(@Value("${app.depth.sender-threads}") int senderThreads,
+                                               @Value("${app.depth.sender-queue-capacity}") int queueCapacity) {
+        return senderPool("depth-sender-", senderThreads, queueCapacity);
+    }
+
+    @Bean
+    public DepthDistributor depthDistributor(DepthPublisher depthPublisher, SymbolRegistry symbolRegistry,
+                                             ObjectMapper objectMapper, ExecutorService depthSenderExecutor,
+                                             @Value("${app.depth.snapshot-interval-millis}") long snapshotInterval,
+                                             @Value("${app.depth.max-pending}") int maxPending,
+                                             @Value("${app.depth.max-stall-millis}") long maxStallMillis) {
+        return new DepthDistributor(depthPublisher, symbolRegistry, message -> {
+            try {
+                return objectMapper.writeValueAsString(message);
+            } catch (JsonProcessingException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, snapshotInterval, depthSenderExecutor, maxPending, maxStallMillis);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService quoteSenderExecutor(@Value("${app.marketdata.sender-threads}") int senderThreads,
+                                               @Value("${app.marketdata.sender-queue-capacity}") int queueCapacity) {
+        return senderPool("quote-sender-", senderThreads, queueCapacity);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService quoteCloserExecutor(@Value("${app.marketdata.sender-queue-capacity}") int queueCapacity) {
+        return senderPool("quote-closer-", 1, queueCapacity);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService watchlistSenderExecutor(@Value("${app.watchlist.sender-threads}") int senderThreads,
+                                                   @Value("${app.watchlist.sender-queue-capacity}") int queueCapacity) {
+        return senderPool("watchlist-sender-", senderThreads, queueCapacity);
+    }
+
+    @Bean
+    public QuoteBatchEncoder quoteBatchEncoder(MarketDataService marketDataService, ObjectMapper objectMapper) {
+        return (views, count) -> {
+            List<QuoteRecord> quotes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                quotes.add(marketDataService.toQuoteRecord(views[i]));
+            }
+            try {
+                return objectMapper.writeValueAsString(quotes);
+            } catch (JsonProcessingException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+    }
+
+    @Bean
+    public ConflatingQuoteFanout quoteFanout(QuoteStore quoteStore,
+                                             QuoteBatchEncoder quoteBatchEncoder,
+                                             ExecutorService quoteSenderExecutor,
+                                             ExecutorService quoteCloserExecutor,
+                                             @Value("${app.marketdata.slow-consumer-policy}") String slowConsumerPolicy,
+                                             @Value("${app.marketdata.max-stall-millis}") long maxStallMillis,
+                                             @Value("${app.marketdata.write-timeout-millis}") long writeTimeoutMillis) {
+        return new ConflatingQuoteFanout(quoteStore, quoteBatchEncoder, quoteSenderExecutor, quoteCloserExecutor,
+                SlowConsumerPolicy.of(slowConsumerPolicy), TimeUnit.MILLISECONDS.toNanos(maxStallMillis),
+                TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis));
+    }
+
+    @Bean
+    public WatchlistFanout watchlistFanout(QuoteStore quoteStore, QuoteBatchEncoder quoteBatchEncoder,
+                                           ExecutorService watchlistSenderExecutor) {
+        return new WatchlistFanout(quoteStore, quoteBatchEncoder, watchlistSenderExecutor);
+    }
+
+    /**
+     * Fixed threads with a bounded queue, one pool per fan-out so that connections stuck in one
+     * stream cannot take the threads of another. Fan-outs keep at most one send per subscriber
+     * queued, and retry a rejected one on a later tick.
+     */
+    private static ExecutorService senderPool(String namePrefix, int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
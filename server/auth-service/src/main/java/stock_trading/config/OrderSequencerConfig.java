@@ -0,0 +1,134 @@
+package stock_trading.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import stock_trading.alert.AlertTrigger;
+import stock_trading.candle.CandleAggregator;
+import stock_trading.depth.DepthPublisher;
+import stock_trading.engine.FillFeed;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.eventbus.EventBus;
+import stock_trading.idempotency.ClientOrderIdFilter;
+import stock_trading.journal.JournalWriter;
+import stock_trading.marketdata.QuoteStore;
+import stock_trading.portfolio.PeriodOpeningStore;
+import stock_trading.portfolio.PortfolioValuation;
+import stock_trading.risk.BuyingPowerReserver;
+import stock_trading.sequencer.CommandOutcomes;
+import stock_trading.sequencer.OrderRingBuffer;
+import stock_trading.sequencer.OrderSequencer;
+import stock_trading.sequencer.SequencerMetrics;
+import stock_trading.sequencer.WaitStrategy;
+import stock_trading.snapshot.SnapshotHandler;
+import stock_trading.snapshot.SnapshotRecovery;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.tickstore.TickStore;
+import stock_trading.trade.TradeRecorder;
+import stock_trading.util.Prices;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@Configuration
+public class OrderSequencerConfig {
+
+    @Bean
+    public MatchingEngine matchingEngine(SymbolRegistry symbolRegistry) {
+        return new MatchingEngine(symbolRegistry);
+    }
+
+    @Bean
+    public PortfolioValuation portfolioValuation(SymbolRegistry symbolRegistry, MatchingEngine matchingEngine,
+                                                 @Value("${app.risk.initial-buying-power}") BigDecimal openingCash) {
+        return new PortfolioValuation(symbolRegistry, matchingEngine.getLedger(), Prices.fromDecimal(openingCash));
+    }
+
+    @Bean
+    public PeriodOpeningStore periodOpeningStore(JdbcTemplate jdbcTemplate) {
+        return new PeriodOpeningStore(jdbcTemplate);
+    }
+
+    @Bean
+    public BuyingPowerReserver buyingPowerReserver(
+            @Value("${app.risk.initial-buying-power}") BigDecimal initialBuyingPower) {
+        return new BuyingPowerReserver(Prices.fromDecimal(initialBuyingPower));
+    }
+
+    @Bean
+    public DepthPublisher depthPublisher(MatchingEngine matchingEngine,
+                                         @Value("${app.depth.levels}") int levels,
+                                         @Value("${app.depth.buffer-size}") int bufferSize) {
+        return new DepthPublisher(matchingEngine, levels, bufferSize);
+    }
+
+    @Bean
+    public ClientOrderIdFilter clientOrderIdFilter(
+            @Value("${app.orders.client-order-id-window-millis}") long windowMillis,
+            @Value("${app.orders.client-order-id-buckets}") int buckets,
+            @Value("${app.orders.client-order-id-bucket-capacity}") int bucketCapacity) {
+        return new ClientOrderIdFilter(windowMillis, buckets, bucketCapacity);
+    }
+
+    @Bean
+    public OrderRingBuffer orderRingBuffer(@Value("${app.sequencer.buffer-size}") int bufferSize,
+                                           MatchingEngine matchingEngine, JournalWriter journalWriter,
+                                           SnapshotRecovery snapshotRecovery, TickStore tickStore,
+                                           PortfolioValuation portfolioValuation,
+                                           PeriodOpeningStore periodOpeningStore, QuoteStore quoteStore,
+                                           BuyingPowerReserver buyingPowerReserver, FillFeed gatewayFillFeed,
+                                           TradeRecorder tradeRecorder, DepthPublisher depthPublisher,
+                                           AlertTrigger alertTrigger, EventBus eventBus,
+                                           CandleAggregator candleAggregator) {
+        // Quotes and candles stamp fills with the engine's command time, so replayed fills land where they traded.
+        matchingEngine.addFillListener(quoteStore);
+        matchingEngine.addFillListener(candleAggregator);
+        // Trades are saved asynchronously, so the journal tail past the snapshot is replayed into the recorder,
+        // which skips the trades it already saved.
+        tradeRecorder.resume();
+        matchingEngine.addFillListener(tradeRecorder);
+        // Recover before the first sequence is handed out, so new commands continue past the journal and snapshot.
+        long lastSequence = snapshotRecovery.recover(matchingEngine, journalWriter);
+        tradeRecorder.recovered();
+        // Ticks and alerts follow live fills only; replaying into them would repeat sealed ticks and fired alerts.
+        matchingEngine.addFillListener(tickStore);
+        matchingEngine.addFillListener(alertTrigger);
+        // Valuations are rebuilt from the recovered ledger, then kept current by live fills.
+        portfolioValuation.rebuild(quoteStore, periodOpeningStore.load(LocalDate.now(ZoneOffset.UTC).getYear()));
+        matchingEngine.addFillListener(portfolioValuation);
+        buyingPowerReserver.rebuild(matchingEngine);
+        matchingEngine.addFillListener(buyingPowerReserver);
+        matchingEngine.addFillListener(gatewayFillFeed);
+        matchingEngine.addFillListener(eventBus);
+        depthPublisher.rebuild();
+        return new OrderRingBuffer(bufferSize, lastSequence);
+    }
+
+    @Bean
+    public CommandOutcomes commandOutcomes(@Value("${app.sequencer.buffer-size}") int bufferSize,
+                                           OrderRingBuffer orderRingBuffer) {
+        return new CommandOutcomes(bufferSize, orderRingBuffer.getConsumerSequence());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public OrderSequencer orderSequencer(OrderRingBuffer orderRingBuffer, MatchingEngine matchingEngine,
+                                         JournalWriter journalWriter, BuyingPowerReserver buyingPowerReserver,
+                                         DepthPublisher depthPublisher, SnapshotHandler snapshotHandler,
+                                         EventBus eventBus, CommandOutcomes commandOutcomes,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${app.sequencer.wait-strategy}") String waitStrategy,
+                                         @Value("${app.sequencer.park-nanos}") long parkNanos) {
+        return new OrderSequencer(
+                orderRingBuffer,
+                matchingEngine,
+                // Outcomes go last, once every handler that may reject a command has seen it.
+                List.of(journalWriter, matchingEngine, buyingPowerReserver, depthPublisher, snapshotHandler, eventBus,
+                        commandOutcomes),
+                WaitStrategy.of(waitStrategy, parkNanos),
+                new SequencerMetrics(meterRegistry, orderRingBuffer));
+    }
+}
@@ -0,0 +1,50 @@
+package stock_trading.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import stock_trading.outbox.InProcessOutboxPublisher;
+import stock_trading.outbox.OutboxPublisher;
+import stock_trading.outbox.OutboxRelay;
+import stock_trading.outbox.OutboxWriter;
+import stock_trading.repository.OutboxRepository;
+
+import java.io.UncheckedIOException;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public OutboxWriter outboxWriter(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        return new OutboxWriter(outboxRepository, body -> {
+            try {
+                return objectMapper.writeValueAsString(body);
+            } catch (JsonProcessingException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    /**
+     * Used until a publisher for a real transport is declared as a bean.
+     */
+    @Bean
+    @ConditionalOnMissingBean(OutboxPublisher.class)
+    public InProcessOutboxPublisher inProcessOutboxPublisher() {
+        return new InProcessOutboxPublisher();
+    }
+
+    @Bean(destroyMethod = "close")
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository, PlatformTransactionManager transactionManager,
+                                   OutboxPublisher outboxPublisher,
+                                   @Value("${app.outbox.batch-size}") int batchSize,
+                                   @Value("${app.outbox.poll-interval-millis}") long pollIntervalMillis) {
+        return new OutboxRelay(outboxRepository, new TransactionTemplate(transactionManager), outboxPublisher,
+                batchSize, pollIntervalMillis);
+    }
+}
@@ -0,0 +1,47 @@
+package stock_trading.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import stock_trading.settlement.SettlementJob;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.util.Prices;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class SettlementConfig {
+
+    /**
+     * Runs scheduled settlements one after another, off the scheduling threads; a run takes minutes.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService settlementExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "settlement-runner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean
+    public SettlementJob settlementJob(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                       SymbolRegistry symbolRegistry,
+                                       @Value("${app.settlement.threads}") int threads,
+                                       @Value("${app.settlement.accounts-per-partition}") long accountsPerPartition,
+                                       @Value("${app.settlement.fetch-size}") int fetchSize,
+                                       @Value("${app.settlement.batch-size}") int batchSize,
+                                       @Value("${app.risk.initial-buying-power}") BigDecimal openingBalance) {
+        // A dedicated template, so the fetch size that makes reads stream applies only to settlement.
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.setFetchSize(fetchSize);
+        return new SettlementJob(jdbc, new TransactionTemplate(transactionManager), symbolRegistry, threads,
+                accountsPerPartition, batchSize, Prices.fromDecimal(openingBalance));
+    }
+}
@@ -0,0 +1,45 @@
+package stock_trading.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import stock_trading.journal.JournalReplayer;
+import stock_trading.snapshot.SnapshotHandler;
+import stock_trading.snapshot.SnapshotRecovery;
+import stock_trading.snapshot.SnapshotStore;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.trade.TradeRecorder;
+
+import java.nio.file.Path;
+
+@Configuration
+public class SnapshotConfig {
+
+    @Bean
+    public SnapshotStore snapshotStore(@Value("${app.snapshot.dir}") Path snapshotDir,
+                                       @Value("${app.snapshot.retain}") int retain) {
+        return new SnapshotStore(snapshotDir, retain);
+    }
+
+    @Bean
+    public SnapshotRecovery snapshotRecovery(SnapshotStore snapshotStore, JournalReplayer journalReplayer) {
+        return new SnapshotRecovery(snapshotStore, journalReplayer);
+    }
+
+    @Bean(destroyMethod = "close")
+    public SnapshotHandler snapshotHandler(SymbolRegistry symbolRegistry, SnapshotStore snapshotStore,
+                                           JournalReplayer journalReplayer, TradeRecorder tradeRecorder,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${app.snapshot.interval-commands}") long intervalCommands) {
+        SnapshotHandler snapshotHandler = new SnapshotHandler(symbolRegistry, snapshotStore, journalReplayer,
+                intervalCommands, tradeRecorder::saveThrough);
+        Gauge.builder("orders.snapshot.capture.time", snapshotHandler,
+                        handler -> handler.getLastCaptureNanos() / 1_000_000.0)
+                .description("Time the snapshot thread last took to bring its replica up to date and copy it")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return snapshotHandler;
+    }
+}
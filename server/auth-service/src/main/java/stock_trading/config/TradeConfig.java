@@ -0,0 +1,33 @@
+package stock_trading.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.outbox.OutboxWriter;
+import stock_trading.repository.TradeRepository;
+import stock_trading.trade.RecentTradesCache;
+import stock_trading.trade.TradeRecorder;
+
+@Configuration
+public class TradeConfig {
+
+    @Bean
+    public RecentTradesCache recentTradesCache(@Value("${app.trades.recent-size}") int recentSize) {
+        return new RecentTradesCache(recentSize);
+    }
+
+    @Bean(destroyMethod = "close")
+    public TradeRecorder tradeRecorder(MatchingEngine matchingEngine, TradeRepository tradeRepository,
+                                       RecentTradesCache recentTradesCache,
+                                       PlatformTransactionManager transactionManager, OutboxWriter outboxWriter,
+                                       @Value("${app.trades.fill-buffer-size}") int fillBufferSize,
+                                       @Value("${app.trades.flush-interval-millis}") long flushIntervalMillis,
+                                       @Value("${app.trades.recovery-attempts}") int recoveryAttempts) {
+        return new TradeRecorder(matchingEngine, tradeRepository, recentTradesCache,
+                new TransactionTemplate(transactionManager), outboxWriter, fillBufferSize, flushIntervalMillis,
+                recoveryAttempts);
+    }
+}
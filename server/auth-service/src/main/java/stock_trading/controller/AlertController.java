@@ -0,0 +1,51 @@
+package stock_trading.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import stock_trading.dto.CreateAlertRequest;
+import stock_trading.dto.PriceAlertRecord;
+import stock_trading.service.AlertService;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/alerts")
+public class AlertController {
+
+    private final AlertService alertService;
+
+    @PostMapping
+    public ResponseEntity<PriceAlertRecord> createAlert(@Valid @RequestBody CreateAlertRequest request,
+                                                        Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(alertService.createAlert(request, authentication));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<PriceAlertRecord>> getAlerts(Authentication authentication) {
+        return ResponseEntity.ok(alertService.getAlerts(authentication));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteAlert(@PathVariable long id, Authentication authentication) {
+        alertService.deleteAlert(id, authentication);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts(Authentication authentication) {
+        return alertService.subscribe(authentication);
+    }
+}
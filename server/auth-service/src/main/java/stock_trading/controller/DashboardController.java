@@ -0,0 +1,23 @@
+package stock_trading.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import stock_trading.dto.DashboardSummary;
+import stock_trading.service.DashboardService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    public ResponseEntity<DashboardSummary> getSummary(Authentication authentication) {
+        return ResponseEntity.ok(dashboardService.getSummary(authentication));
+    }
+}
@@ -0,0 +1,84 @@
+package stock_trading.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import stock_trading.dto.CandleRecord;
+import stock_trading.dto.DepthSnapshotRecord;
+import stock_trading.dto.QuoteRecord;
+import stock_trading.dto.SymbolMatchRecord;
+import stock_trading.dto.TickRecord;
+import stock_trading.service.CandleService;
+import stock_trading.service.DepthService;
+import stock_trading.service.MarketDataService;
+import stock_trading.service.QuoteStreamService;
+import stock_trading.service.SymbolSearchService;
+import stock_trading.service.TickHistoryService;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/market")
+public class MarketDataController {
+
+    private final MarketDataService marketDataService;
+    private final QuoteStreamService quoteStreamService;
+    private final CandleService candleService;
+    private final TickHistoryService tickHistoryService;
+    private final DepthService depthService;
+    private final SymbolSearchService symbolSearchService;
+
+    @GetMapping("/quotes")
+    public ResponseEntity<List<QuoteRecord>> getQuotes() {
+        return ResponseEntity.ok(marketDataService.getQuotes());
+    }
+
+    @GetMapping("/quotes/{symbol}")
+    public ResponseEntity<QuoteRecord> getQuote(@PathVariable String symbol) {
+        return ResponseEntity.ok(marketDataService.getQuote(symbol));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<SymbolMatchRecord>> search(@RequestParam("q") String query,
+                                                          @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(symbolSearchService.search(query, limit));
+    }
+
+    @GetMapping("/candles/{symbol}")
+    public ResponseEntity<List<CandleRecord>> getCandles(@PathVariable String symbol,
+                                                         @RequestParam(defaultValue = "1m") String interval,
+                                                         @RequestParam(required = false) Long from,
+                                                         @RequestParam(required = false) Long to) {
+        return ResponseEntity.ok(candleService.getCandles(symbol, interval, from, to));
+    }
+
+    @GetMapping("/ticks/{symbol}")
+    public ResponseEntity<List<TickRecord>> getTicks(@PathVariable String symbol,
+                                                     @RequestParam long from,
+                                                     @RequestParam long to,
+                                                     @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(tickHistoryService.getTicks(symbol, from, to, limit));
+    }
+
+    @GetMapping("/depth/{symbol}")
+    public ResponseEntity<DepthSnapshotRecord> getDepth(@PathVariable String symbol) {
+        return ResponseEntity.ok(depthService.getDepth(symbol));
+    }
+
+    @GetMapping(value = "/depth/{symbol}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDepth(@PathVariable String symbol) {
+        return depthService.subscribe(symbol);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQuotes(@RequestParam(required = false) Long intervalMillis) {
+        return quoteStreamService.subscribe(intervalMillis);
+    }
+}
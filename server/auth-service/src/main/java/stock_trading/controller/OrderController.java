@@ -0,0 +1,37 @@
+package stock_trading.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import stock_trading.dto.CancelOrderRequest;
+import stock_trading.dto.OrderAck;
+import stock_trading.dto.OrderRequest;
+import stock_trading.service.OrderService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/orders")
+public class OrderController {
+
+    private final OrderService orderService;
+
+    @PostMapping
+    public ResponseEntity<OrderAck> submitOrder(@Valid @RequestBody OrderRequest request,
+                                                Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(orderService.submitOrder(request, authentication));
+    }
+
+    @PostMapping("/cancel")
+    public ResponseEntity<OrderAck> cancelOrder(@Valid @RequestBody CancelOrderRequest request,
+                                                Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(orderService.cancelOrder(request, authentication));
+    }
+}
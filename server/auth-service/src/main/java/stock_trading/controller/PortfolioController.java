@@ -0,0 +1,23 @@
+package stock_trading.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import stock_trading.dto.PortfolioSummary;
+import stock_trading.service.PortfolioService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/portfolio")
+public class PortfolioController {
+
+    private final PortfolioService portfolioService;
+
+    @GetMapping
+    public ResponseEntity<PortfolioSummary> getSummary(Authentication authentication) {
+        return ResponseEntity.ok(portfolioService.getSummary(authentication));
+    }
+}
@@ -0,0 +1,26 @@
+package stock_trading.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import stock_trading.dto.TradePage;
+import stock_trading.service.TradeService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/trades")
+public class TradeController {
+
+    private final TradeService tradeService;
+
+    @GetMapping
+    public ResponseEntity<TradePage> getTrades(Authentication authentication,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(tradeService.getTrades(authentication, cursor, limit));
+    }
+}
@@ -0,0 +1,46 @@
+package stock_trading.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import stock_trading.dto.QuoteRecord;
+import stock_trading.service.WatchlistService;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/watchlist")
+public class WatchlistController {
+
+    private final WatchlistService watchlistService;
+
+    @GetMapping
+    public ResponseEntity<List<QuoteRecord>> getWatchlist(Authentication authentication) {
+        return ResponseEntity.ok(watchlistService.getWatchlist(authentication));
+    }
+
+    @PutMapping("/{symbol}")
+    public ResponseEntity<QuoteRecord> addSymbol(@PathVariable String symbol, Authentication authentication) {
+        return ResponseEntity.ok(watchlistService.addSymbol(symbol, authentication));
+    }
+
+    @DeleteMapping("/{symbol}")
+    public ResponseEntity<Void> removeSymbol(@PathVariable String symbol, Authentication authentication) {
+        watchlistService.removeSymbol(symbol, authentication);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWatchlist(Authentication authentication) {
+        return watchlistService.subscribe(authentication);
+    }
+}
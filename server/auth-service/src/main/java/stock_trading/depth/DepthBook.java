@@ -0,0 +1,129 @@
+package stock_trading.depth;
+
+import stock_trading.engine.Side;
+
+/**
+ * The best levels of one symbol's book, aggregated per price: total quantity and order count,
+ * best price first on each side. Levels are applied one change at a time, so a mirror that
+ * applies the same changes in sequence order ends up identical. Not thread-safe.
+ */
+public final class DepthBook {
+
+    private final int depth;
+    private final long[][] prices;
+    private final long[][] quantities;
+    private final int[][] orders;
+    private final int[] counts = new int[2];
+    private long sequence;
+
+    public DepthBook(int depth) {
+        this.depth = depth;
+        this.prices = new long[2][depth];
+        this.quantities = new long[2][depth];
+        this.orders = new int[2][depth];
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the sequence of the last change applied, zero before the first
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public int levelCount(Side side) {
+        return counts[side.ordinal()];
+    }
+
+    public long price(Side side, int level) {
+        return prices[side.ordinal()][level];
+    }
+
+    public long quantity(Side side, int level) {
+        return quantities[side.ordinal()][level];
+    }
+
+    public int orders(Side side, int level) {
+        return orders[side.ordinal()][level];
+    }
+
+    /**
+     * @return the position of {@code price} on {@code side}, or -1 if it is not among the levels
+     */
+    public int indexOf(Side side, long price) {
+        long[] sidePrices = prices[side.ordinal()];
+        for (int i = 0; i < counts[side.ordinal()]; i++) {
+            if (sidePrices[i] == price) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Sets a level, or removes it when {@code quantity} is zero. A new level that sorts below the
+     * deepest one is dropped once the side is full.
+     */
+    public void apply(Side side, long price, long quantity, int orderCount) {
+        int s = side.ordinal();
+        long[] sidePrices = prices[s];
+        int index = indexOf(side, price);
+        if (quantity == 0) {
+            if (index >= 0) {
+                shift(s, index + 1, index, counts[s] - index - 1);
+                counts[s]--;
+            }
+            return;
+        }
+        if (index < 0) {
+            index = 0;
+            while (index < counts[s] && isBetter(side, sidePrices[index], price)) {
+                index++;
+            }
+            if (index == depth) {
+                return;
+            }
+            int moved = Math.min(counts[s], depth - 1) - index;
+            shift(s, index, index + 1, moved);
+            counts[s] = Math.min(counts[s] + 1, depth);
+            sidePrices[index] = price;
+        }
+        quantities[s][index] = quantity;
+        orders[s][index] = orderCount;
+    }
+
+    public DepthBook copy() {
+        DepthBook copy = new DepthBook(depth);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    public void copyFrom(DepthBook other) {
+        for (int s = 0; s < 2; s++) {
+            System.arraycopy(other.prices[s], 0, prices[s], 0, other.counts[s]);
+            System.arraycopy(other.quantities[s], 0, quantities[s], 0, other.counts[s]);
+            System.arraycopy(other.orders[s], 0, orders[s], 0, other.counts[s]);
+            counts[s] = other.counts[s];
+        }
+        sequence = other.sequence;
+    }
+
+    private void shift(int side, int from, int to, int length) {
+        if (length > 0) {
+            System.arraycopy(prices[side], from, prices[side], to, length);
+            System.arraycopy(quantities[side], from, quantities[side], to, length);
+            System.arraycopy(orders[side], from, orders[side], to, length);
+        }
+    }
+
+    private static boolean isBetter(Side side, long price, long than) {
+        return side == Side.BUY ? price > than : price < than;
+    }
+}
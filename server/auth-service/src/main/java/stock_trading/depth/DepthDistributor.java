@@ -0,0 +1,351 @@
+package stock_trading.depth;
+
+import lombok.extern.slf4j.Slf4j;
+import stock_trading.dto.DepthDeltaRecord;
+import stock_trading.dto.DepthLevelRecord;
+import stock_trading.dto.DepthSnapshotRecord;
+import stock_trading.dto.DepthUpdateRecord;
+import stock_trading.engine.Side;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.util.Prices;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Streams depth to subscribers of each symbol. On every {@link #tick(long)} it drains the
+ * publisher's deltas, applies them to its own copy of each view and sends each symbol's batch,
+ * encoded once, to that symbol's subscribers. A subscriber starts from a snapshot of the view and
+ * gets a fresh snapshot periodically, so a client that lost an update can recover without asking.
+ *
+ * <p>When the sequence shows deltas were lost, the view is reset from the publisher's snapshot and
+ * subscribers get that snapshot in place of the missing deltas.
+ *
+ * <p>Ticks only queue events; each subscriber has at most one send in flight on the supplied
+ * executor, which drains its queue. A subscriber that falls {@code maxPending} events behind has
+ * its queue replaced by the current snapshot, and one whose send makes no progress for
+ * {@code maxStallMillis} is dropped. Its sink is closed by the thread running that send once the
+ * send returns, so neither the ticking thread nor another sender waits on a stuck connection.
+ */
+@Slf4j
+public class DepthDistributor {
+
+    public static final String SNAPSHOT = "snapshot";
+    public static final String UPDATE = "update";
+
+    private final DepthPublisher publisher;
+    private final SymbolRegistry registry;
+    private final Function<Object, String> encoder;
+    private final long snapshotIntervalMillis;
+    private final Executor sender;
+    private final int maxPending;
+    private final long maxStallMillis;
+
+    private final DepthBook[] views;
+    private final List<List<Delta>> pending;
+    private final List<List<Subscriber>> subscribers;
+    private final AtomicReferenceArray<DepthSnapshotRecord> latest;
+    private final DepthFeed.Visitor collector = this::collect;
+    private final boolean[] dirty;
+    private long lastSnapshotAt;
+    private long conflated;
+
+    public DepthDistributor(DepthPublisher publisher, SymbolRegistry registry, Function<Object, String> encoder,
+                            long snapshotIntervalMillis, Executor sender, int maxPending, long maxStallMillis) {
+        this.publisher = publisher;
+        this.registry = registry;
+        this.encoder = encoder;
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+        this.sender = sender;
+        this.maxPending = maxPending;
+        this.maxStallMillis = maxStallMillis;
+        int symbols = registry.size();
+        this.views = new DepthBook[symbols];
+        this.pending = new ArrayList<>(symbols);
+        this.subscribers = new ArrayList<>(symbols);
+        this.latest = new AtomicReferenceArray<>(symbols);
+        this.dirty = new boolean[symbols];
+        for (int symbolId = 0; symbolId < symbols; symbolId++) {
+            views[symbolId] = publisher.getSnapshot(symbolId).copy();
+            pending.add(new ArrayList<>());
+            subscribers.add(new ArrayList<>());
+            latest.set(symbolId, toSnapshot(symbolId));
+        }
+    }
+
+    /**
+     * Adds a subscriber and starts sending it the symbol's current levels.
+     */
+    public synchronized void subscribe(int symbolId, DepthSink sink) {
+        Subscriber subscriber = new Subscriber(symbolId, sink);
+        subscribers.get(symbolId).add(subscriber);
+        enqueue(subscriber, SNAPSHOT, encoder.apply(toSnapshot(symbolId)));
+        dispatch(subscriber);
+    }
+
+    public synchronized void unsubscribe(int symbolId, DepthSink sink) {
+        subscribers.get(symbolId).removeIf(subscriber -> subscriber.sink == sink);
+    }
+
+    /**
+     * @return the symbol's levels as of the last tick
+     */
+    public DepthSnapshotRecord getSnapshot(int symbolId) {
+        return latest.get(symbolId);
+    }
+
+    public synchronized void tick(long now) {
+        publisher.drain(collector);
+        for (int symbolId = 0; symbolId < views.length; symbolId++) {
+            // A snapshot ahead of the view means deltas were refused, possibly the last ones.
+            if (dirty[symbolId] || publisher.getSnapshot(symbolId).getSequence() > views[symbolId].getSequence()) {
+                dirty[symbolId] = false;
+                apply(symbolId);
+            }
+        }
+
+        if (now - lastSnapshotAt >= snapshotIntervalMillis) {
+            lastSnapshotAt = now;
+            for (int symbolId = 0; symbolId < views.length; symbolId++) {
+                if (!subscribers.get(symbolId).isEmpty()) {
+                    broadcast(symbolId, SNAPSHOT, encoder.apply(latest.get(symbolId)));
+                }
+            }
+        }
+
+        for (List<Subscriber> symbolSubscribers : subscribers) {
+            for (int i = symbolSubscribers.size() - 1; i >= 0; i--) {
+                Subscriber subscriber = symbolSubscribers.get(i);
+                if (stalled(subscriber, now)) {
+                    symbolSubscribers.remove(i);
+                    disconnect(subscriber);
+                } else {
+                    dispatch(subscriber);
+                }
+            }
+        }
+    }
+
+    public synchronized int getSubscriberCount() {
+        int count = 0;
+        for (List<Subscriber> symbolSubscribers : subscribers) {
+            count += symbolSubscribers.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return how many times a lagging subscriber's queue was replaced by a snapshot
+     */
+    public synchronized long getConflatedSnapshots() {
+        return conflated;
+    }
+
+    private void collect(int symbolId, long sequence, Side side, long price, long quantity, int orders) {
+        pending.get(symbolId).add(new Delta(sequence, side, price, quantity, orders));
+        dirty[symbolId] = true;
+    }
+
+    private void apply(int symbolId) {
+        DepthBook view = views[symbolId];
+        List<Delta> deltas = pending.get(symbolId);
+        List<DepthDeltaRecord> applied = new ArrayList<>();
+        boolean resynced = resync(view, publisher.getSnapshot(symbolId));
+        int next = 0;
+        for (; next < deltas.size(); next++) {
+            Delta delta = deltas.get(next);
+            if (delta.sequence > view.getSequence() + 1) {
+                if (resync(view, publisher.getSnapshot(symbolId))) {
+                    applied.clear();
+                    resynced = true;
+                }
+                if (delta.sequence > view.getSequence() + 1) {
+                    // The publisher has not snapshotted past the gap yet; hold the rest for the next tick.
+                    dirty[symbolId] = true;
+                    break;
+                }
+            }
+            if (delta.sequence <= view.getSequence()) {
+                continue;
+            }
+            view.apply(delta.side, delta.price, delta.quantity, delta.orders);
+            view.setSequence(delta.sequence);
+            applied.add(new DepthDeltaRecord(delta.sequence, delta.side, Prices.toDouble(delta.price),
+                    delta.quantity, delta.orders));
+        }
+        deltas.subList(0, next).clear();
+
+        if (!resynced && applied.isEmpty()) {
+            return;
+        }
+        DepthSnapshotRecord snapshot = toSnapshot(symbolId);
+        latest.set(symbolId, snapshot);
+        if (resynced) {
+            log.debug("Resynchronised depth of {} at sequence {}", snapshot.symbol(), snapshot.sequence());
+            broadcast(symbolId, SNAPSHOT, encoder.apply(snapshot));
+        }
+        if (!applied.isEmpty()) {
+            broadcast(symbolId, UPDATE, encoder.apply(new DepthUpdateRecord(registry.symbolOf(symbolId), applied)));
+        }
+    }
+
+    /**
+     * Resets the view to the snapshot if it is newer.
+     */
+    private static boolean resync(DepthBook view, DepthBook snapshot) {
+        if (snapshot.getSequence() <= view.getSequence()) {
+            return false;
+        }
+        view.copyFrom(snapshot);
+        return true;
+    }
+
+    private void broadcast(int symbolId, String event, String payload) {
+        for (Subscriber subscriber : subscribers.get(symbolId)) {
+            enqueue(subscriber, event, payload);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, String event, String payload) {
+        synchronized (subscriber) {
+            if (subscriber.pending.size() < maxPending) {
+                subscriber.pending.add(new Event(event, payload));
+                return;
+            }
+            // The latest snapshot already covers every queued event, including this one.
+            subscriber.pending.clear();
+            subscriber.pending.add(new Event(SNAPSHOT, encoder.apply(latest.get(subscriber.symbolId))));
+            conflated++;
+        }
+    }
+
+    private void dispatch(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.pending.isEmpty() || !subscriber.inFlight.compareAndSet(false, true)) {
+                return;
+            }
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException ex) {
+            // Retried on the next tick; the queue is bounded either way.
+            subscriber.inFlight.set(false);
+        }
+    }
+
+    /**
+     * Sends a subscriber's queue in order until it is empty. Runs on the sender, one at a time per
+     * subscriber; if the subscriber is dropped meanwhile, this send still holds the in-flight flag
+     * and closes the sink itself.
+     */
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            List<Event> events;
+            synchronized (subscriber) {
+                if (subscriber.disconnected) {
+                    break;
+                }
+                if (subscriber.pending.isEmpty()) {
+                    subscriber.inFlight.set(false);
+                    return;
+                }
+                events = new ArrayList<>(subscriber.pending);
+                subscriber.pending.clear();
+            }
+            if (!send(subscriber, events)) {
+                unsubscribe(subscriber.symbolId, subscriber.sink);
+                break;
+            }
+        }
+        subscriber.sink.close();
+    }
+
+    private boolean send(Subscriber subscriber, List<Event> events) {
+        for (Event event : events) {
+            try {
+                subscriber.sink.send(event.name, event.payload);
+                subscriber.sent++;
+            } catch (IOException | RuntimeException ex) {
+                log.debug("Dropping depth subscriber of {}: {}", registry.symbolOf(subscriber.symbolId),
+                        ex.getMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * True once a send has been in flight without completing an event for {@code maxStallMillis}.
+     */
+    private boolean stalled(Subscriber subscriber, long now) {
+        long sent = subscriber.sent;
+        if (!subscriber.inFlight.get() || sent != subscriber.sentAtLastTick) {
+            subscriber.sentAtLastTick = sent;
+            subscriber.progressAt = now;
+            return false;
+        }
+        return now - subscriber.progressAt > maxStallMillis;
+    }
+
+    /**
+     * Closes a dropped subscriber from whichever side finds no send in flight, so closing never
+     * waits behind a send that is still writing.
+     */
+    private void disconnect(Subscriber subscriber) {
+        log.debug("Dropping stalled depth subscriber of {}", registry.symbolOf(subscriber.symbolId));
+        synchronized (subscriber) {
+            subscriber.disconnected = true;
+        }
+        if (subscriber.inFlight.compareAndSet(false, true)) {
+            try {
+                sender.execute(subscriber.sink::close);
+            } catch (RejectedExecutionException ex) {
+                subscriber.sink.close();
+            }
+        }
+    }
+
+    private DepthSnapshotRecord toSnapshot(int symbolId) {
+        DepthBook view = views[symbolId];
+        return new DepthSnapshotRecord(registry.symbolOf(symbolId), view.getSequence(), levels(view, Side.BUY),
+                levels(view, Side.SELL));
+    }
+
+    private static List<DepthLevelRecord> levels(DepthBook view, Side side) {
+        List<DepthLevelRecord> levels = new ArrayList<>(view.levelCount(side));
+        for (int i = 0; i < view.levelCount(side); i++) {
+            levels.add(new DepthLevelRecord(Prices.toDouble(view.price(side, i)), view.quantity(side, i),
+                    view.orders(side, i)));
+        }
+        return levels;
+    }
+
+    private record Delta(long sequence, Side side, long price, long quantity, int orders) {
+    }
+
+    private record Event(String name, String payload) {
+    }
+
+    private static final class Subscriber {
+
+        private final int symbolId;
+        private final DepthSink sink;
+        private final List<Event> pending = new ArrayList<>();
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        private boolean disconnected;
+        private volatile long sent;
+        private long sentAtLastTick = -1;
+        private long progressAt;
+
+        private Subscriber(int symbolId, DepthSink sink) {
+            this.symbolId = symbolId;
+            this.sink = sink;
+        }
+    }
+}
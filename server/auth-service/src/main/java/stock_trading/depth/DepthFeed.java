@@ -0,0 +1,70 @@
+package stock_trading.depth;
+
+import stock_trading.engine.Side;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-producer, single-consumer hand-off of level changes from the sequencer thread to the
+ * depth distributor, in preallocated primitive columns. A full feed refuses the change instead of
+ * blocking; the publisher then snapshots the symbol so the consumer can resynchronise.
+ */
+final class DepthFeed {
+
+    @FunctionalInterface
+    interface Visitor {
+        void onChange(int symbolId, long sequence, Side side, long price, long quantity, int orders);
+    }
+
+    private final int mask;
+    private final int[] symbolIds;
+    private final long[] sequences;
+    private final Side[] sides;
+    private final long[] prices;
+    private final long[] quantities;
+    private final int[] orders;
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    DepthFeed(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.symbolIds = new int[capacity];
+        this.sequences = new long[capacity];
+        this.sides = new Side[capacity];
+        this.prices = new long[capacity];
+        this.quantities = new long[capacity];
+        this.orders = new int[capacity];
+    }
+
+    boolean offer(int symbolId, long sequence, Side side, long price, long quantity, int orderCount) {
+        long position = tail.get();
+        if (position - head.get() > mask) {
+            return false;
+        }
+        int slot = (int) position & mask;
+        symbolIds[slot] = symbolId;
+        sequences[slot] = sequence;
+        sides[slot] = side;
+        prices[slot] = price;
+        quantities[slot] = quantity;
+        orders[slot] = orderCount;
+        tail.lazySet(position + 1);
+        return true;
+    }
+
+    int drain(Visitor visitor) {
+        long from = head.get();
+        long to = tail.get();
+        for (long position = from; position < to; position++) {
+            int slot = (int) position & mask;
+            visitor.onChange(symbolIds[slot], sequences[slot], sides[slot], prices[slot], quantities[slot],
+                    orders[slot]);
+        }
+        head.lazySet(to);
+        return (int) (to - from);
+    }
+}
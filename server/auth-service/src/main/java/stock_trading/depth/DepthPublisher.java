@@ -0,0 +1,138 @@
+package stock_trading.depth;
+
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.OrderBook;
+import stock_trading.engine.Side;
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.sequencer.OrderCommandHandler;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the best levels of every book as a {@link DepthBook} and publishes each level that
+ * changes as a sequenced delta. Runs on the sequencer thread after the engine: a command touches
+ * one book, so only that book's top levels are reread and diffed, which costs the same however
+ * deep the book is. A change is a level's new quantity and order count, or a quantity of zero when
+ * the level leaves the view; sequences count changes per symbol.
+ *
+ * <p>Whenever the feed is full the book is snapshotted instead, and the consumer resynchronises
+ * from that snapshot rather than from the lost deltas.
+ */
+public class DepthPublisher implements OrderCommandHandler {
+
+    private static final Side[] SIDES = Side.values();
+
+    private final MatchingEngine engine;
+    private final int depth;
+    private final DepthFeed feed;
+    private final DepthBook[] books;
+    private final AtomicReferenceArray<DepthBook> snapshots;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final long[] prices;
+    private final long[] quantities;
+    private final int[] orderCounts;
+
+    public DepthPublisher(MatchingEngine engine, int depth, int bufferSize) {
+        this.engine = engine;
+        this.depth = depth;
+        this.feed = new DepthFeed(bufferSize);
+        int symbols = engine.getRegistry().size();
+        this.books = new DepthBook[symbols];
+        this.snapshots = new AtomicReferenceArray<>(symbols);
+        this.prices = new long[depth];
+        this.quantities = new long[depth];
+        this.orderCounts = new int[depth];
+        for (int symbolId = 0; symbolId < symbols; symbolId++) {
+            books[symbolId] = new DepthBook(depth);
+            snapshots.set(symbolId, books[symbolId].copy());
+        }
+    }
+
+    /**
+     * Reloads every view from the books, for use after recovery and before live commands.
+     */
+    public void rebuild() {
+        for (int symbolId = 0; symbolId < books.length; symbolId++) {
+            refresh(symbolId);
+            snapshots.set(symbolId, books[symbolId].copy());
+        }
+    }
+
+    @Override
+    public void onCommand(OrderCommand command, long sequence, boolean endOfBatch) {
+        if (command.isRejected() || command.getSymbolId() < 0) {
+            return;
+        }
+        refresh(command.getSymbolId());
+    }
+
+    /**
+     * Hands every published change to {@code visitor}. Called only from the consuming thread.
+     */
+    int drain(DepthFeed.Visitor visitor) {
+        return feed.drain(visitor);
+    }
+
+    /**
+     * @return a copy of the symbol's levels no older than any change the feed has refused
+     */
+    public DepthBook getSnapshot(int symbolId) {
+        return snapshots.get(symbolId);
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void refresh(int symbolId) {
+        OrderBook book = engine.getBook(symbolId);
+        DepthBook view = books[symbolId];
+        boolean complete = true;
+        for (Side side : SIDES) {
+            int count = book.topLevels(side, prices, quantities, orderCounts);
+            // Removals first, so the view never has to drop a level it is about to keep.
+            for (int i = view.levelCount(side) - 1; i >= 0; i--) {
+                long price = view.price(side, i);
+                if (!contains(price, count)) {
+                    complete &= publish(symbolId, view, side, price, 0, 0);
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                int level = view.indexOf(side, prices[i]);
+                if (level < 0 || view.quantity(side, level) != quantities[i]
+                        || view.orders(side, level) != orderCounts[i]) {
+                    complete &= publish(symbolId, view, side, prices[i], quantities[i], orderCounts[i]);
+                }
+            }
+        }
+        if (!complete) {
+            snapshots.set(symbolId, view.copy());
+        }
+    }
+
+    private boolean publish(int symbolId, DepthBook view, Side side, long price, long quantity, int orderCount) {
+        view.apply(side, price, quantity, orderCount);
+        long sequence = view.getSequence() + 1;
+        view.setSequence(sequence);
+        if (feed.offer(symbolId, sequence, side, price, quantity, orderCount)) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    private boolean contains(long price, int count) {
+        for (int i = 0; i < count; i++) {
+            if (prices[i] == price) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
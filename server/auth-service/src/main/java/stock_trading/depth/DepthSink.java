@@ -0,0 +1,10 @@
+package stock_trading.depth;
+
+import java.io.IOException;
+
+public interface DepthSink {
+
+    void send(String event, String payload) throws IOException;
+
+    void close();
+}
@@ -0,0 +1,9 @@
+package stock_trading.dto;
+
+import stock_trading.alert.AlertDirection;
+
+import java.time.Instant;
+
+public record AlertNotification(long id, String symbol, AlertDirection direction, double threshold, double price,
+                                Instant triggeredAt) {
+}
@@ -0,0 +1,16 @@
+package stock_trading.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CancelOrderRequest {
+    @NotBlank(message = "symbol is required")
+    private String symbol;
+
+    @NotNull(message = "orderId is required")
+    private Long orderId;
+}
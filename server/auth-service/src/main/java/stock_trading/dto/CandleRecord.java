@@ -0,0 +1,10 @@
+package stock_trading.dto;
+
+public record CandleRecord(
+        long time,
+        double open,
+        double high,
+        double low,
+        double close,
+        long volume) {
+}
@@ -0,0 +1,26 @@
+package stock_trading.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+import lombok.Data;
+import stock_trading.alert.AlertDirection;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class CreateAlertRequest {
+    @NotBlank(message = "symbol is required")
+    private String symbol;
+
+    @NotNull(message = "price is required")
+    @Positive(message = "price must be positive")
+    @Digits(integer = 12, fraction = 4, message = "price supports at most 4 decimal places")
+    private BigDecimal price;
+
+    // Defaults to whichever side of the last price the threshold lies on.
+    private AlertDirection direction;
+}
@@ -0,0 +1,15 @@
+package stock_trading.dto;
+
+/**
+ * Money market is the account's cash; the exchange lists no bonds, so that slice is always zero.
+ */
+public record DashboardSummary(
+        double investmentAssets,
+        double todayProfit,
+        double todayProfitPercent,
+        double yearlyProfit,
+        double yearlyProfitPercent,
+        double moneyMarket,
+        double stocks,
+        double bonds) {
+}
@@ -0,0 +1,14 @@
+package stock_trading.dto;
+
+import stock_trading.engine.Side;
+
+/**
+ * A level's new aggregate. A quantity of zero removes the level.
+ */
+public record DepthDeltaRecord(
+        long sequence,
+        Side side,
+        double price,
+        long quantity,
+        int orders) {
+}
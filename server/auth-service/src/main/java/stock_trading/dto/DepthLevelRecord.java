@@ -0,0 +1,7 @@
+package stock_trading.dto;
+
+public record DepthLevelRecord(
+        double price,
+        long quantity,
+        int orders) {
+}
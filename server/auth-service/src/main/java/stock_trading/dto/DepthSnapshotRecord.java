@@ -0,0 +1,10 @@
+package stock_trading.dto;
+
+import java.util.List;
+
+public record DepthSnapshotRecord(
+        String symbol,
+        long sequence,
+        List<DepthLevelRecord> bids,
+        List<DepthLevelRecord> asks) {
+}
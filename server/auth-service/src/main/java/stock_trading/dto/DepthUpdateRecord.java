@@ -0,0 +1,8 @@
+package stock_trading.dto;
+
+import java.util.List;
+
+public record DepthUpdateRecord(
+        String symbol,
+        List<DepthDeltaRecord> deltas) {
+}
@@ -0,0 +1,4 @@
+package stock_trading.dto;
+
+public record OrderAck(long orderId, long sequence) {
+}
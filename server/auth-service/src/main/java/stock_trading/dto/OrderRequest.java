@@ -0,0 +1,40 @@
+package stock_trading.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+import lombok.Data;
+import stock_trading.engine.OrderType;
+import stock_trading.engine.Side;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class OrderRequest {
+    @Positive(message = "clientOrderId must be positive")
+    private Long clientOrderId;
+
+    @NotBlank(message = "symbol is required")
+    private String symbol;
+
+    @NotNull(message = "side is required")
+    private Side side;
+
+    @NotNull(message = "price is required")
+    @Positive(message = "price must be positive")
+    @Digits(integer = 12, fraction = 4, message = "price supports at most 4 decimal places")
+    private BigDecimal price;
+
+    @Positive(message = "quantity must be positive")
+    private long quantity;
+
+    /** Defaults to {@link OrderType#LIMIT}; stop orders also need a stop price. */
+    private OrderType type;
+
+    @Positive(message = "stopPrice must be positive")
+    @Digits(integer = 12, fraction = 4, message = "stopPrice supports at most 4 decimal places")
+    private BigDecimal stopPrice;
+}
@@ -0,0 +1,11 @@
+package stock_trading.dto;
+
+public record PortfolioSummary(
+        double cash,
+        double marketValue,
+        double costBasis,
+        double unrealizedPnl,
+        double unrealizedPnlPercent,
+        double equity,
+        int positions) {
+}
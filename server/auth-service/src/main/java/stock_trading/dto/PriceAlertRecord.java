@@ -0,0 +1,9 @@
+package stock_trading.dto;
+
+import stock_trading.alert.AlertDirection;
+
+import java.time.Instant;
+
+public record PriceAlertRecord(long id, String symbol, AlertDirection direction, double price, Instant createdAt,
+                               Instant triggeredAt) {
+}
@@ -0,0 +1,16 @@
+package stock_trading.dto;
+
+public record QuoteRecord(
+        String id,
+        String name,
+        String symbol,
+        double price,
+        double change,
+        double changePercent,
+        long volume,
+        long marketCap,
+        double open,
+        double high,
+        double low,
+        long timestamp) {
+}
@@ -0,0 +1,6 @@
+package stock_trading.dto;
+
+public record SymbolMatchRecord(
+        String symbol,
+        String name) {
+}
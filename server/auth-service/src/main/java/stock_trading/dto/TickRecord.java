@@ -0,0 +1,7 @@
+package stock_trading.dto;
+
+public record TickRecord(
+        long time,
+        double price,
+        long volume) {
+}
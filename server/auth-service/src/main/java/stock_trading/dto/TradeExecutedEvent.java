@@ -0,0 +1,22 @@
+package stock_trading.dto;
+
+import stock_trading.engine.Side;
+
+import java.time.Instant;
+
+/**
+ * Outbox payload for one saved trade, keyed by the user whose order it filled.
+ */
+public record TradeExecutedEvent(
+        long tradeId,
+        long userId,
+        long orderId,
+        String symbol,
+        Side side,
+        double price,
+        long quantity,
+        Instant executedAt) {
+
+    public static final String AGGREGATE_TYPE = "account";
+    public static final String EVENT_TYPE = "trade.executed";
+}
@@ -0,0 +1,8 @@
+package stock_trading.dto;
+
+import java.util.List;
+
+public record TradePage(
+        List<TradeRecord> trades,
+        String nextCursor) {
+}
@@ -0,0 +1,15 @@
+package stock_trading.dto;
+
+import stock_trading.engine.Side;
+
+import java.time.Instant;
+
+public record TradeRecord(
+        long id,
+        long orderId,
+        String symbol,
+        long quantity,
+        double price,
+        Side type,
+        Instant date) {
+}
@@ -0,0 +1,13 @@
+package stock_trading.dto;
+
+/**
+ * Outbox payload for a newly registered account.
+ */
+public record UserCreatedEvent(
+        long userId,
+        String username,
+        String email) {
+
+    public static final String AGGREGATE_TYPE = "account";
+    public static final String EVENT_TYPE = "user.created";
+}
@@ -0,0 +1,64 @@
+package stock_trading.engine;
+
+import lombok.Getter;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.util.Prices;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Account {
+    @Getter
+    private final long userId;
+    @Getter
+    private long cash;
+    private final SymbolRegistry registry;
+    private final Position[] positions;
+
+    public Account(long userId, long cash, SymbolRegistry registry) {
+        this.userId = userId;
+        this.cash = cash;
+        this.registry = registry;
+        this.positions = new Position[registry.size()];
+    }
+
+    void apply(int symbolId, Side side, long price, long quantity) {
+        long signedQuantity = side == Side.BUY ? quantity : -quantity;
+        cash = Math.subtractExact(cash, Prices.notional(price, signedQuantity));
+        Position position = positions[symbolId];
+        if (position == null) {
+            position = positions[symbolId] = new Position(registry.symbolOf(symbolId), 0, 0);
+        }
+        position.apply(signedQuantity, price);
+    }
+
+    public Position getPosition(int symbolId) {
+        return positions[symbolId];
+    }
+
+    public Position getPosition(String symbol) {
+        int symbolId = registry.idOf(symbol);
+        return symbolId == SymbolRegistry.UNKNOWN ? null : positions[symbolId];
+    }
+
+    /**
+     * @return every position this account has ever held, in symbol id order
+     */
+    public List<Position> getPositions() {
+        List<Position> held = new ArrayList<>();
+        for (Position position : positions) {
+            if (position != null) {
+                held.add(position);
+            }
+        }
+        return held;
+    }
+
+    public void restorePosition(String symbol, long quantity, long cost) {
+        int symbolId = registry.idOf(symbol);
+        if (symbolId == SymbolRegistry.UNKNOWN) {
+            throw new IllegalStateException("Snapshot contains unlisted symbol " + symbol);
+        }
+        positions[symbolId] = new Position(symbol, quantity, cost);
+    }
+}
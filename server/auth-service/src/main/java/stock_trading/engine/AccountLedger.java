@@ -0,0 +1,46 @@
+package stock_trading.engine;
+
+import stock_trading.symbol.SymbolRegistry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cash balances and positions per user, moved by every fill. Cash is in the same scaled units as
+ * order prices.
+ */
+public class AccountLedger implements FillListener {
+
+    private final SymbolRegistry registry;
+    private final Map<Long, Account> accounts = new HashMap<>();
+
+    public AccountLedger(SymbolRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onFill(int symbolId, long price, long quantity, Order maker, Order taker) {
+        account(maker.getUserId()).apply(symbolId, maker.getSide(), price, quantity);
+        account(taker.getUserId()).apply(symbolId, taker.getSide(), price, quantity);
+    }
+
+    public Account getAccount(long userId) {
+        return accounts.get(userId);
+    }
+
+    public Collection<Account> getAccounts() {
+        return Collections.unmodifiableCollection(accounts.values());
+    }
+
+    public Account restoreAccount(long userId, long cash) {
+        Account account = new Account(userId, cash, registry);
+        accounts.put(userId, account);
+        return account;
+    }
+
+    private Account account(long userId) {
+        return accounts.computeIfAbsent(userId, id -> new Account(id, 0, registry));
+    }
+}
@@ -0,0 +1,134 @@
+package stock_trading.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Single-producer, single-consumer hand-off of fills from the sequencer thread to one consumer
+ * thread. Each fill becomes one entry per side, stored in preallocated primitive columns, so
+ * publishing never allocates. Fills are only recorded while the feed is active; if the consumer
+ * falls a full buffer behind, further fills are dropped and counted rather than stalling the
+ * engine. With a sequence source, each entry also carries the sequence of the command that
+ * produced it, and the first dropped one is remembered.
+ */
+public class FillFeed implements FillListener {
+
+    @FunctionalInterface
+    public interface Visitor {
+        void onFill(long sequence, long userId, long orderId, int symbolId, Side side, long price, long quantity,
+                    long timestamp);
+    }
+
+    private final int mask;
+    private final long[] sequences;
+    private final long[] userIds;
+    private final long[] orderIds;
+    private final int[] symbolIds;
+    private final Side[] sides;
+    private final long[] prices;
+    private final long[] quantities;
+    private final long[] timestamps;
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long firstDroppedSequence = Long.MAX_VALUE;
+    private LongSupplier sequenceSource = () -> -1;
+
+    private volatile boolean active;
+    private volatile Runnable wakeup = () -> { };
+
+    public FillFeed(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.sequences = new long[capacity];
+        this.userIds = new long[capacity];
+        this.orderIds = new long[capacity];
+        this.symbolIds = new int[capacity];
+        this.sides = new Side[capacity];
+        this.prices = new long[capacity];
+        this.quantities = new long[capacity];
+        this.timestamps = new long[capacity];
+    }
+
+    @Override
+    public void onFill(int symbolId, long price, long quantity, Order maker, Order taker) {
+        if (!active) {
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        long sequence = sequenceSource.getAsLong();
+        offer(sequence, maker, symbolId, price, quantity, timestamp);
+        offer(sequence, taker, symbolId, price, quantity, timestamp);
+        wakeup.run();
+    }
+
+    private void offer(long sequence, Order order, int symbolId, long price, long quantity, long timestamp) {
+        long position = tail.get();
+        if (position - head.get() > mask) {
+            // Published before the count, and before any later entry, so a consumer that drained a
+            // later entry also sees which command was dropped first.
+            if (dropped.get() == 0) {
+                firstDroppedSequence = sequence;
+            }
+            dropped.incrementAndGet();
+            return;
+        }
+        int slot = (int) position & mask;
+        sequences[slot] = sequence;
+        userIds[slot] = order.getUserId();
+        orderIds[slot] = order.getOrderId();
+        symbolIds[slot] = symbolId;
+        sides[slot] = order.getSide();
+        prices[slot] = price;
+        quantities[slot] = quantity;
+        timestamps[slot] = timestamp;
+        tail.lazySet(position + 1);
+    }
+
+    /**
+     * Hands every published entry to {@code visitor}. Called only from the consuming thread.
+     *
+     * @return the number of entries drained
+     */
+    public int drain(Visitor visitor) {
+        long from = head.get();
+        long to = tail.get();
+        for (long position = from; position < to; position++) {
+            int slot = (int) position & mask;
+            visitor.onFill(sequences[slot], userIds[slot], orderIds[slot], symbolIds[slot], sides[slot],
+                    prices[slot], quantities[slot], timestamps[slot]);
+        }
+        head.lazySet(to);
+        return (int) (to - from);
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public void setWakeup(Runnable wakeup) {
+        this.wakeup = wakeup;
+    }
+
+    /**
+     * Tags entries with the sequence of the command being applied when they were published. Set
+     * before the feed is attached.
+     */
+    public void setSequenceSource(LongSupplier sequenceSource) {
+        this.sequenceSource = sequenceSource;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the command sequence of the first dropped entry, or {@link Long#MAX_VALUE} if none was dropped
+     */
+    public long getFirstDroppedSequence() {
+        return firstDroppedSequence;
+    }
+}
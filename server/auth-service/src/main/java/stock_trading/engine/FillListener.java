@@ -0,0 +1,15 @@
+package stock_trading.engine;
+
+public interface FillListener {
+
+    FillListener NONE = (symbolId, price, quantity, maker, taker) -> { };
+
+    void onFill(int symbolId, long price, long quantity, Order maker, Order taker);
+
+    /**
+     * Called when an order leaves the book unfilled without being cancelled: the part of a
+     * triggered {@link OrderType#STOP} order that found nothing to trade against.
+     */
+    default void onExpired(int symbolId, Order order) {
+    }
+}
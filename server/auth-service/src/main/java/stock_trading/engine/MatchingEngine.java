@@ -0,0 +1,200 @@
+package stock_trading.engine;
+
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.sequencer.OrderCommandHandler;
+import stock_trading.sequencer.OrderValidator;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.util.Prices;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Owns every order book and applies sequenced commands to them. All state is confined to the
+ * sequencer's consumer thread, so nothing here is synchronized.
+ */
+public class MatchingEngine implements OrderCommandHandler, OrderValidator {
+
+    private final SymbolRegistry registry;
+    private final OrderBook[] books;
+    private final AccountLedger ledger;
+    private FillListener fillListener = FillListener.NONE;
+    private long sequence = -1;
+    private long commandTimestamp;
+
+    public MatchingEngine(Collection<String> symbols) {
+        this(SymbolRegistry.of(symbols));
+    }
+
+    public MatchingEngine(SymbolRegistry registry) {
+        this.registry = registry;
+        this.books = new OrderBook[registry.size()];
+        for (int id = 0; id < books.length; id++) {
+            books[id] = new OrderBook(id, registry.symbolOf(id), registry.tickSize(id));
+        }
+        this.ledger = new AccountLedger(registry);
+        addFillListener(ledger);
+    }
+
+    public void addFillListener(FillListener listener) {
+        FillListener previous = fillListener;
+        fillListener = previous == FillListener.NONE ? listener : new FillListener() {
+            @Override
+            public void onFill(int symbolId, long price, long quantity, Order maker, Order taker) {
+                previous.onFill(symbolId, price, quantity, maker, taker);
+                listener.onFill(symbolId, price, quantity, maker, taker);
+            }
+
+            @Override
+            public void onExpired(int symbolId, Order order) {
+                previous.onExpired(symbolId, order);
+                listener.onExpired(symbolId, order);
+            }
+        };
+    }
+
+    @Override
+    public String validate(OrderCommand command) {
+        int symbolId = resolve(command);
+        if (symbolId == SymbolRegistry.UNKNOWN) {
+            return "unknown symbol";
+        }
+
+        OrderBook book = books[symbolId];
+        return switch (command.getType()) {
+            case NEW -> validateNew(command, book);
+            case CANCEL -> book.getOrder(command.getOrderId()) == null && book.getStop(command.getOrderId()) == null
+                    ? "unknown order" : null;
+            case REPLACE -> validateReplace(command, book);
+        };
+    }
+
+    private String validateReplace(OrderCommand command, OrderBook book) {
+        Order replaced = book.getOrder(command.getOrderId());
+        if (replaced == null) {
+            return "unknown order";
+        }
+        if (replaced.getSide() != command.getSide()) {
+            return "side does not match order";
+        }
+        if (command.getOrderType() != OrderType.LIMIT) {
+            return "a replacement must be a limit order";
+        }
+        return validateNew(command, book);
+    }
+
+    private String validateNew(OrderCommand command, OrderBook book) {
+        if (command.getSide() == null) {
+            return "side is required";
+        }
+        if (command.getPrice() <= 0) {
+            return "price must be positive";
+        }
+        if (command.getQuantity() <= 0) {
+            return "quantity must be positive";
+        }
+        if (!Prices.isOnTick(command.getPrice(), book.getTickSize())) {
+            return "price is not a multiple of the tick size";
+        }
+        if (!Prices.notionalFits(command.getPrice(), command.getQuantity())) {
+            return "order notional is too large";
+        }
+        if (command.getOrderType() != OrderType.LIMIT) {
+            if (command.getStopPrice() <= 0) {
+                return "stop price must be positive";
+            }
+            if (!Prices.isOnTick(command.getStopPrice(), book.getTickSize())) {
+                return "stop price is not a multiple of the tick size";
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void onCommand(OrderCommand command, long sequence, boolean endOfBatch) {
+        if (command.isRejected()) {
+            return;
+        }
+        this.sequence = sequence;
+        this.commandTimestamp = command.getTimestamp();
+
+        OrderBook book = books[resolve(command)];
+        switch (command.getType()) {
+            case NEW -> book.submit(new Order(command.getOrderId(), command.getUserId(), book.getSymbol(),
+                    command.getSide(), command.getOrderType(), command.getStopPrice(), command.getPrice(),
+                    command.getQuantity(), command.getTimestamp()), fillListener);
+            case CANCEL -> {
+                Order cancelled = book.cancel(command.getOrderId(), command.getUserId());
+                if (cancelled == null) {
+                    command.reject("order not cancellable");
+                } else {
+                    // Report what was pulled so later handlers can release against it.
+                    command.setSide(cancelled.getSide());
+                    command.setPrice(cancelled.getPrice());
+                    command.setQuantity(cancelled.getRemainingQuantity());
+                }
+            }
+            case REPLACE -> {
+                // Cancel-replace loses time priority: the replacement joins the back of its level
+                // under the command's own sequence as its order id.
+                Order replaced = book.cancel(command.getOrderId(), command.getUserId());
+                if (replaced == null) {
+                    command.reject("order not replaceable");
+                } else {
+                    command.setReplacedPrice(replaced.getPrice());
+                    command.setReplacedQuantity(replaced.getRemainingQuantity());
+                    book.submit(new Order(sequence, command.getUserId(), book.getSymbol(), command.getSide(),
+                            command.getPrice(), command.getQuantity(), command.getTimestamp()), fillListener);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves the command's symbol once and caches the id on it, unless the producer already did.
+     */
+    private int resolve(OrderCommand command) {
+        int symbolId = command.getSymbolId();
+        if (symbolId < 0) {
+            symbolId = registry.idOf(command.getSymbol());
+            command.setSymbolId(symbolId);
+        }
+        return symbolId;
+    }
+
+    public OrderBook getBook(int symbolId) {
+        return books[symbolId];
+    }
+
+    public OrderBook getBook(String symbol) {
+        int symbolId = registry.idOf(symbol);
+        return symbolId == SymbolRegistry.UNKNOWN ? null : books[symbolId];
+    }
+
+    public Collection<OrderBook> getBooks() {
+        return List.of(books);
+    }
+
+    /**
+     * Sequence of the command being applied, or last applied; lets fill listeners tell which
+     * command a fill belongs to.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Entry time of the command being applied, or last applied.
+     */
+    public long getCommandTimestamp() {
+        return commandTimestamp;
+    }
+
+    public SymbolRegistry getRegistry() {
+        return registry;
+    }
+
+    public AccountLedger getLedger() {
+        return ledger;
+    }
+}
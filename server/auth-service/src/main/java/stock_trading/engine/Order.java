@@ -0,0 +1,50 @@
+package stock_trading.engine;
+
+import lombok.Getter;
+
+@Getter
+public class Order {
+    private final long orderId;
+    private final long userId;
+    private final String symbol;
+    private final Side side;
+    private final OrderType type;
+    /** Trade price that activates a stop order; 0 for limit orders. */
+    private final long stopPrice;
+    private final long price;
+    private final long timestamp;
+    private long remainingQuantity;
+
+    PriceLevel level;
+    Order prev;
+    Order next;
+
+    public Order(long orderId, long userId, String symbol, Side side, long price, long quantity, long timestamp) {
+        this(orderId, userId, symbol, side, OrderType.LIMIT, 0, price, quantity, timestamp);
+    }
+
+    public Order(long orderId, long userId, String symbol, Side side, OrderType type, long stopPrice, long price,
+                 long quantity, long timestamp) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.symbol = symbol;
+        this.side = side;
+        this.type = type;
+        this.stopPrice = stopPrice;
+        this.price = price;
+        this.remainingQuantity = quantity;
+        this.timestamp = timestamp;
+    }
+
+    void fill(long quantity) {
+        remainingQuantity -= quantity;
+    }
+
+    public boolean isStop() {
+        return type != OrderType.LIMIT;
+    }
+
+    public boolean isFilled() {
+        return remainingQuantity == 0;
+    }
+}
@@ -0,0 +1,314 @@
+package stock_trading.engine;
+
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Price-time priority limit order book for one symbol. Not thread-safe: it is owned by the
+ * sequencer's consumer thread.
+ *
+ * <p>Stop orders wait in a trigger index of their own, levels keyed by stop price with the
+ * nearest stop first on each side. The lowest buy stop and highest sell stop are cached, so a
+ * trade that reaches no stop costs two comparisons; one that does pops the reached levels whole.
+ */
+public class OrderBook {
+
+    private static final Comparator<Order> BY_ORDER_ID = Comparator.comparingLong(Order::getOrderId);
+
+    @Getter
+    private final int symbolId;
+    @Getter
+    private final String symbol;
+    private final TreeMap<Long, PriceLevel> bids = new TreeMap<>(Comparator.reverseOrder());
+    private final TreeMap<Long, PriceLevel> asks = new TreeMap<>();
+    private final Map<Long, Order> orders = new HashMap<>();
+
+    private final TreeMap<Long, PriceLevel> buyStops = new TreeMap<>();
+    private final TreeMap<Long, PriceLevel> sellStops = new TreeMap<>(Comparator.reverseOrder());
+    private final Map<Long, Order> stops = new HashMap<>();
+    private long nextBuyTrigger = Long.MAX_VALUE;
+    private long nextSellTrigger = Long.MIN_VALUE;
+    private final ArrayDeque<Order> triggered = new ArrayDeque<>();
+    private Order[] reached = new Order[16];
+
+    @Getter
+    private final long tickSize;
+
+    @Getter
+    private long lastTradePrice;
+
+    public OrderBook(String symbol) {
+        this(0, symbol, 1);
+    }
+
+    public OrderBook(int symbolId, String symbol, long tickSize) {
+        this.symbolId = symbolId;
+        this.symbol = symbol;
+        this.tickSize = tickSize;
+    }
+
+    /**
+     * Matches an order and rests what is left, or parks a stop order until a trade reaches it.
+     * Any stops the resulting trades reach are then activated, including those reached by trades
+     * of other activated stops.
+     *
+     * @return the quantity {@code order} itself filled
+     */
+    public long submit(Order order, FillListener listener) {
+        if (order.isStop() && !isReached(order.getSide(), order.getStopPrice())) {
+            restStop(order);
+            return 0;
+        }
+        long filled = execute(order, listener);
+        if (!stops.isEmpty()) {
+            activateReachedStops(listener);
+        }
+        return filled;
+    }
+
+    private long execute(Order order, FillListener listener) {
+        TreeMap<Long, PriceLevel> opposite = order.getSide() == Side.BUY ? asks : bids;
+        long filled = 0;
+
+        while (!order.isFilled() && !opposite.isEmpty()) {
+            PriceLevel best = opposite.firstEntry().getValue();
+            if (!crosses(order, best.price)) {
+                break;
+            }
+
+            Order maker = best.head;
+            long quantity = Math.min(order.getRemainingQuantity(), maker.getRemainingQuantity());
+            maker.fill(quantity);
+            order.fill(quantity);
+            best.reduce(quantity);
+            filled += quantity;
+            lastTradePrice = best.price;
+
+            if (maker.isFilled()) {
+                best.remove(maker);
+                orders.remove(maker.getOrderId());
+                if (best.isEmpty()) {
+                    opposite.remove(best.price);
+                }
+            }
+            listener.onFill(symbolId, best.price, quantity, maker, order);
+        }
+
+        if (!order.isFilled()) {
+            if (order.getType() == OrderType.STOP) {
+                listener.onExpired(symbolId, order);
+            } else {
+                rest(order);
+            }
+        }
+        return filled;
+    }
+
+    /**
+     * Runs a cascade to completion. Stops reached by the same trade activate in order id order,
+     * which is the order they were sequenced in, so the outcome depends only on the command stream.
+     */
+    private void activateReachedStops(FillListener listener) {
+        collectReachedStops();
+        Order stop;
+        while ((stop = triggered.poll()) != null) {
+            execute(stop, listener);
+            collectReachedStops();
+        }
+    }
+
+    private void collectReachedStops() {
+        long last = lastTradePrice;
+        if (last == 0 || (last < nextBuyTrigger && last > nextSellTrigger)) {
+            return;
+        }
+        int count = takeReached(buyStops, Side.BUY, 0);
+        count = takeReached(sellStops, Side.SELL, count);
+        updateTriggers();
+
+        Arrays.sort(reached, 0, count, BY_ORDER_ID);
+        for (int i = 0; i < count; i++) {
+            triggered.add(reached[i]);
+            reached[i] = null;
+        }
+    }
+
+    private int takeReached(TreeMap<Long, PriceLevel> levels, Side side, int count) {
+        while (!levels.isEmpty() && isReached(side, levels.firstKey())) {
+            PriceLevel level = levels.pollFirstEntry().getValue();
+            while (!level.isEmpty()) {
+                Order stop = level.head;
+                level.remove(stop);
+                stops.remove(stop.getOrderId());
+                if (count == reached.length) {
+                    reached = Arrays.copyOf(reached, count * 2);
+                }
+                reached[count++] = stop;
+            }
+        }
+        return count;
+    }
+
+    private boolean isReached(Side side, long stopPrice) {
+        if (lastTradePrice == 0) {
+            return false;
+        }
+        return side == Side.BUY ? lastTradePrice >= stopPrice : lastTradePrice <= stopPrice;
+    }
+
+    /**
+     * Pulls a resting order or a stop that has not triggered yet.
+     */
+    public Order cancel(long orderId, long userId) {
+        Order order = orders.get(orderId);
+        boolean stop = order == null;
+        if (stop) {
+            order = stops.get(orderId);
+        }
+        if (order == null || order.getUserId() != userId) {
+            return null;
+        }
+
+        PriceLevel level = order.level;
+        level.remove(order);
+        if (stop) {
+            if (level.isEmpty()) {
+                stopLevels(order.getSide()).remove(level.price);
+            }
+            stops.remove(orderId);
+            updateTriggers();
+        } else {
+            if (level.isEmpty()) {
+                levels(order.getSide()).remove(level.price);
+            }
+            orders.remove(orderId);
+        }
+        return order;
+    }
+
+    public Order getOrder(long orderId) {
+        return orders.get(orderId);
+    }
+
+    /**
+     * @return the stop order waiting for its trigger under this id, or {@code null}
+     */
+    public Order getStop(long orderId) {
+        return stops.get(orderId);
+    }
+
+    public int pendingStopCount() {
+        return stops.size();
+    }
+
+    public long bestBid() {
+        return bids.isEmpty() ? 0 : bids.firstKey();
+    }
+
+    public long bestAsk() {
+        return asks.isEmpty() ? 0 : asks.firstKey();
+    }
+
+    public long quantityAt(Side side, long price) {
+        PriceLevel level = levels(side).get(price);
+        return level == null ? 0 : level.totalQuantity;
+    }
+
+    /**
+     * Copies the best {@code prices.length} levels of one side into the arrays, best price first.
+     *
+     * @return the number of levels copied
+     */
+    public int topLevels(Side side, long[] prices, long[] quantities, int[] orderCounts) {
+        int count = 0;
+        for (PriceLevel level : levels(side).values()) {
+            if (count == prices.length) {
+                break;
+            }
+            prices[count] = level.price;
+            quantities[count] = level.totalQuantity;
+            orderCounts[count] = level.orderCount;
+            count++;
+        }
+        return count;
+    }
+
+    public int restingOrderCount() {
+        return orders.size();
+    }
+
+    /**
+     * Visits resting orders in priority order: bids best price first, then asks, FIFO within a level.
+     */
+    public void forEachOrder(Consumer<Order> visitor) {
+        visitLevels(bids, visitor);
+        visitLevels(asks, visitor);
+    }
+
+    /**
+     * Visits stops that have not triggered: buy stops nearest first, then sell stops, FIFO within a stop price.
+     */
+    public void forEachStop(Consumer<Order> visitor) {
+        visitLevels(buyStops, visitor);
+        visitLevels(sellStops, visitor);
+    }
+
+    private static void visitLevels(TreeMap<Long, PriceLevel> levels, Consumer<Order> visitor) {
+        for (PriceLevel level : levels.values()) {
+            for (Order order = level.head; order != null; order = order.next) {
+                visitor.accept(order);
+            }
+        }
+    }
+
+    public void restore(Order order) {
+        rest(order);
+    }
+
+    public void restoreStop(Order order) {
+        restStop(order);
+    }
+
+    public void restoreLastTradePrice(long price) {
+        this.lastTradePrice = price;
+    }
+
+    void rest(Order order) {
+        levels(order.getSide())
+                .computeIfAbsent(order.getPrice(), PriceLevel::new)
+                .append(order);
+        orders.put(order.getOrderId(), order);
+    }
+
+    private void restStop(Order order) {
+        stopLevels(order.getSide())
+                .computeIfAbsent(order.getStopPrice(), PriceLevel::new)
+                .append(order);
+        stops.put(order.getOrderId(), order);
+        updateTriggers();
+    }
+
+    private void updateTriggers() {
+        nextBuyTrigger = buyStops.isEmpty() ? Long.MAX_VALUE : buyStops.firstKey();
+        nextSellTrigger = sellStops.isEmpty() ? Long.MIN_VALUE : sellStops.firstKey();
+    }
+
+    private TreeMap<Long, PriceLevel> levels(Side side) {
+        return side == Side.BUY ? bids : asks;
+    }
+
+    private TreeMap<Long, PriceLevel> stopLevels(Side side) {
+        return side == Side.BUY ? buyStops : sellStops;
+    }
+
+    private static boolean crosses(Order order, long restingPrice) {
+        return order.getSide() == Side.BUY ? order.getPrice() >= restingPrice : order.getPrice() <= restingPrice;
+    }
+}
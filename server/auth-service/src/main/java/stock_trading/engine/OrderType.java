@@ -0,0 +1,13 @@
+package stock_trading.engine;
+
+/**
+ * How an order enters the book. A stop order waits in the book's trigger index until a trade
+ * prints at or through its stop price: a buy stop when the last price rises to it, a sell stop
+ * when it falls to it. Once triggered, a {@code STOP} trades immediately up to its price and the
+ * rest expires, while a {@code STOP_LIMIT} becomes an ordinary limit order at its price.
+ */
+public enum OrderType {
+    LIMIT,
+    STOP,
+    STOP_LIMIT
+}
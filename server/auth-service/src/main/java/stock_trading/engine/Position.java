@@ -0,0 +1,45 @@
+package stock_trading.engine;
+
+import lombok.Getter;
+import stock_trading.util.Prices;
+
+/**
+ * Signed holding in one symbol. {@code cost} carries the same sign as {@code quantity}, so the
+ * average price is always {@code cost / quantity}.
+ */
+@Getter
+public class Position {
+    private final String symbol;
+    private long quantity;
+    private long cost;
+
+    public Position(String symbol, long quantity, long cost) {
+        this.symbol = symbol;
+        this.quantity = quantity;
+        this.cost = cost;
+    }
+
+    void apply(long signedQuantity, long price) {
+        cost = costAfter(quantity, cost, signedQuantity, price);
+        quantity += signedQuantity;
+    }
+
+    /**
+     * Cost of a holding after trading {@code signedQuantity} at {@code price}: adding to it costs
+     * the trade price, reducing it releases cost at the average price, and flipping its side
+     * starts over at the trade price.
+     */
+    public static long costAfter(long quantity, long cost, long signedQuantity, long price) {
+        if (quantity == 0 || Long.signum(quantity) == Long.signum(signedQuantity)) {
+            return Math.addExact(cost, Prices.notional(price, signedQuantity));
+        }
+        if (Math.abs(signedQuantity) <= Math.abs(quantity)) {
+            return cost - Prices.mulDiv(cost, Math.abs(signedQuantity), Math.abs(quantity));
+        }
+        return Prices.notional(price, quantity + signedQuantity);
+    }
+
+    public long getAveragePrice() {
+        return quantity == 0 ? 0 : cost / quantity;
+    }
+}
@@ -0,0 +1,57 @@
+package stock_trading.engine;
+
+/**
+ * FIFO queue of resting orders at a single price, kept as an intrusive linked list so that
+ * cancels unlink in O(1) without searching the level.
+ */
+class PriceLevel {
+    final long price;
+    Order head;
+    Order tail;
+    long totalQuantity;
+    int orderCount;
+
+    PriceLevel(long price) {
+        this.price = price;
+    }
+
+    void append(Order order) {
+        order.level = this;
+        order.prev = tail;
+        order.next = null;
+        if (tail == null) {
+            head = order;
+        } else {
+            tail.next = order;
+        }
+        tail = order;
+        totalQuantity += order.getRemainingQuantity();
+        orderCount++;
+    }
+
+    void remove(Order order) {
+        if (order.prev == null) {
+            head = order.next;
+        } else {
+            order.prev.next = order.next;
+        }
+        if (order.next == null) {
+            tail = order.prev;
+        } else {
+            order.next.prev = order.prev;
+        }
+        totalQuantity -= order.getRemainingQuantity();
+        orderCount--;
+        order.level = null;
+        order.prev = null;
+        order.next = null;
+    }
+
+    void reduce(long quantity) {
+        totalQuantity -= quantity;
+    }
+
+    boolean isEmpty() {
+        return head == null;
+    }
+}
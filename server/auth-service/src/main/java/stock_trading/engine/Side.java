@@ -0,0 +1,10 @@
+package stock_trading.engine;
+
+public enum Side {
+    BUY,
+    SELL;
+
+    public Side opposite() {
+        return this == BUY ? SELL : BUY;
+    }
+}
@@ -0,0 +1,28 @@
+package stock_trading.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * An account's settled cash, as of the end of {@code settledDate}. Written by the end-of-day
+ * settlement batch; the balance is scaled as in {@code Prices}.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "portfolios")
+public class Portfolio {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long balance;
+
+    @Column(name = "settled_date", nullable = false)
+    private LocalDate settledDate;
+}
@@ -0,0 +1,33 @@
+package stock_trading.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A settled holding. Quantity and cost are signed alike, as in the engine's {@code Position}.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "portfolio_positions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_portfolio_position_user_symbol",
+                columnNames = {"user_id", "symbol"}))
+public class PortfolioPosition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 8)
+    private String symbol;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(nullable = false)
+    private long cost;
+}
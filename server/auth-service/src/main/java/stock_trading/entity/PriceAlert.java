@@ -0,0 +1,42 @@
+package stock_trading.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import stock_trading.alert.AlertDirection;
+
+import java.time.Instant;
+
+/**
+ * A user's request to be told when a symbol trades through a price. Threshold is scaled as in
+ * {@code Prices}; an alert rests until {@code triggeredAt} is set.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "price_alerts", indexes = @Index(name = "idx_price_alerts_user_id", columnList = "user_id, id"))
+public class PriceAlert {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 8)
+    private String symbol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 5)
+    private AlertDirection direction;
+
+    @Column(nullable = false)
+    private long threshold;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "triggered_at")
+    private Instant triggeredAt;
+}
@@ -0,0 +1,37 @@
+package stock_trading.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Marks one account partition of one trading day as settled. Committed in the same transaction as
+ * the partition's writes, so a rerun skips exactly the partitions that took effect.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "settlement_checkpoints",
+        uniqueConstraints = @UniqueConstraint(name = "uk_settlement_checkpoint_date_partition",
+                columnNames = {"trade_date", "partition_no"}))
+public class SettlementCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "trade_date", nullable = false)
+    private LocalDate tradeDate;
+
+    @Column(name = "partition_no", nullable = false)
+    private int partition;
+
+    @Column(nullable = false)
+    private long trades;
+
+    @Column(name = "completed_at", nullable = false)
+    private Instant completedAt;
+}
@@ -0,0 +1,58 @@
+package stock_trading.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import stock_trading.engine.Side;
+
+import java.time.Instant;
+
+/**
+ * One side of an execution, as seen by the user who owned the order. Price is scaled as in
+ * {@code Prices}. The index serves keyset pages of a user's history newest first.
+ *
+ * <p>{@code sequence} is the journal sequence of the command that produced the fill and
+ * {@code entryNo} its position among that command's trades, so a trade re-derived from the journal
+ * after a crash can be told apart from one already saved.
+ */
+@Entity
+@Getter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "trades",
+        indexes = @Index(name = "idx_trades_user_executed_id", columnList = "user_id, executed_at, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_trades_sequence_entry",
+                columnNames = {"sequence", "entry_no"}))
+public class Trade {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false, length = 8)
+    private String symbol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 4)
+    private Side side;
+
+    @Column(nullable = false)
+    private long price;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(name = "executed_at", nullable = false)
+    private Instant executedAt;
+
+    @Column(nullable = false)
+    private long sequence;
+
+    @Column(name = "entry_no", nullable = false)
+    private int entryNo;
+}
@@ -0,0 +1,31 @@
+package stock_trading.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * One symbol on a user's watchlist.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "watchlist_entries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_watchlist_user_symbol", columnNames = {"user_id", "symbol"}))
+public class WatchlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 8)
+    private String symbol;
+
+    @Column(name = "added_at", nullable = false)
+    private Instant addedAt;
+}
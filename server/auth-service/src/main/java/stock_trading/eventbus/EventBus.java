@@ -0,0 +1,105 @@
+package stock_trading.eventbus;
+
+import stock_trading.engine.FillListener;
+import stock_trading.engine.Order;
+import stock_trading.engine.OrderType;
+import stock_trading.sequencer.CommandType;
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.sequencer.OrderCommandHandler;
+
+/**
+ * Typed channels between components that should not call each other synchronously. Publishing
+ * copies fields into a preallocated slot and returns; handlers run later on each channel's own
+ * thread, so neither request threads nor the sequencer wait on downstream work.
+ *
+ * <p>Order and fill events are taken from the sequencer: as a handler after the engine and every
+ * handler that may reject a command, the bus sees each command once its outcome is settled, and as
+ * a fill listener it sees fills as they happen. A full channel drops the event, so a publisher that
+ * cannot lose it checks the result of {@link #publishUserCreated}.
+ */
+public class EventBus implements OrderCommandHandler, FillListener {
+
+    private final EventChannel<UserCreated> users;
+    private final EventChannel<OrderAccepted> orders;
+    private final EventChannel<OrderFilled> fills;
+
+    public EventBus(EventChannel<UserCreated> users, EventChannel<OrderAccepted> orders,
+                    EventChannel<OrderFilled> fills) {
+        this.users = users;
+        this.orders = orders;
+        this.fills = fills;
+    }
+
+    /**
+     * @return false if the event was dropped because the channel is full
+     */
+    public boolean publishUserCreated(long userId, String username, String email) {
+        long sequence = users.tryClaim();
+        if (sequence < 0) {
+            return false;
+        }
+        UserCreated event = users.get(sequence);
+        event.setUserId(userId);
+        event.setUsername(username);
+        event.setEmail(email);
+        users.publish(sequence);
+        return true;
+    }
+
+    @Override
+    public void onCommand(OrderCommand command, long sequence, boolean endOfBatch) {
+        if (command.isRejected() || command.getType() == CommandType.CANCEL) {
+            return;
+        }
+        long claimed = orders.tryClaim();
+        if (claimed < 0) {
+            return;
+        }
+        boolean replace = command.getType() == CommandType.REPLACE;
+        OrderAccepted event = orders.get(claimed);
+        event.setOrderId(replace ? sequence : command.getOrderId());
+        event.setUserId(command.getUserId());
+        event.setSymbolId(command.getSymbolId());
+        event.setSide(command.getSide());
+        event.setOrderType(replace ? OrderType.LIMIT : command.getOrderType());
+        event.setStopPrice(replace ? 0 : command.getStopPrice());
+        event.setPrice(command.getPrice());
+        event.setQuantity(command.getQuantity());
+        event.setTimestamp(command.getTimestamp());
+        orders.publish(claimed);
+    }
+
+    @Override
+    public void onFill(int symbolId, long price, long quantity, Order maker, Order taker) {
+        long sequence = fills.tryClaim();
+        if (sequence < 0) {
+            return;
+        }
+        OrderFilled event = fills.get(sequence);
+        event.setSymbolId(symbolId);
+        event.setPrice(price);
+        event.setQuantity(quantity);
+        event.setMakerUserId(maker.getUserId());
+        event.setMakerOrderId(maker.getOrderId());
+        event.setTakerUserId(taker.getUserId());
+        event.setTakerOrderId(taker.getOrderId());
+        event.setTimestamp(System.currentTimeMillis());
+        fills.publish(sequence);
+    }
+
+    public long getDropped() {
+        return users.getDropped() + orders.getDropped() + fills.getDropped();
+    }
+
+    public void start() {
+        users.start();
+        orders.start();
+        fills.start();
+    }
+
+    public void stop() throws InterruptedException {
+        users.stop();
+        orders.stop();
+        fills.stop();
+    }
+}
@@ -0,0 +1,162 @@
+package stock_trading.eventbus;
+
+import lombok.extern.slf4j.Slf4j;
+import stock_trading.sequencer.WaitStrategy;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A typed, preallocated multi-producer ring with one consumer thread that hands events to its
+ * handlers in batches, built the same way as the order sequencer's ring.
+ *
+ * <p>A producer claims a sequence with a CAS, fills the slot returned by {@link #get} and
+ * {@link #publish}es it, which costs a few atomic operations and never allocates. Producers never
+ * wait: when the consumer is a full ring behind, {@link #tryClaim()} drops the event and counts it.
+ * A channel without handlers has no thread and claims nothing.
+ */
+@Slf4j
+public class EventChannel<E> {
+
+    private final String name;
+    private final Object[] entries;
+    private final int mask;
+    private final int indexShift;
+    private final AtomicIntegerArray available;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final AtomicLong consumerSequence = new AtomicLong(-1);
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final List<EventHandler<? super E>> handlers;
+    private final WaitStrategy waitStrategy;
+
+    private volatile boolean running;
+    private Thread consumer;
+
+    public EventChannel(String name, int bufferSize, Supplier<E> factory,
+                        List<? extends EventHandler<? super E>> handlers, WaitStrategy waitStrategy) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize must be a power of two");
+        }
+        this.name = name;
+        this.entries = new Object[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            entries[i] = factory.get();
+        }
+        this.mask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.available = new AtomicIntegerArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            available.set(i, -1);
+        }
+        this.handlers = List.copyOf(handlers);
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * @return the claimed sequence, or {@code -1} if the channel has no handlers or is full
+     */
+    public long tryClaim() {
+        if (handlers.isEmpty()) {
+            return -1;
+        }
+        long current;
+        long next;
+        do {
+            current = cursor.get();
+            next = current + 1;
+            if (next - entries.length > consumerSequence.get()) {
+                dropped.incrementAndGet();
+                return -1;
+            }
+        } while (!cursor.compareAndSet(current, next));
+        return next;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) sequence & mask];
+    }
+
+    public void publish(long sequence) {
+        available.lazySet((int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long depth() {
+        return cursor.get() - consumerSequence.get();
+    }
+
+    public synchronized void start() {
+        if (running || handlers.isEmpty()) {
+            return;
+        }
+        running = true;
+        consumer = new Thread(this::run, "events-" + name);
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Stops the consumer once it has handed over everything published so far.
+     */
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        consumer.interrupt();
+        consumer.join();
+    }
+
+    private void run() {
+        long next = consumerSequence.get() + 1;
+        int idle = 0;
+
+        while (running) {
+            long highest = highestPublished(next);
+            if (highest < next) {
+                idle = waitStrategy.idle(idle);
+                continue;
+            }
+            idle = 0;
+            processBatch(next, highest);
+            next = highest + 1;
+        }
+
+        long remaining = highestPublished(next);
+        if (remaining >= next) {
+            processBatch(next, remaining);
+        }
+    }
+
+    private long highestPublished(long from) {
+        long upper = cursor.get();
+        for (long sequence = from; sequence <= upper; sequence++) {
+            if (available.get((int) sequence & mask) != (int) (sequence >>> indexShift)) {
+                return sequence - 1;
+            }
+        }
+        return upper;
+    }
+
+    private void processBatch(long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            E event = get(sequence);
+            for (EventHandler<? super E> handler : handlers) {
+                try {
+                    handler.onEvent(event, sequence, sequence == to);
+                } catch (RuntimeException ex) {
+                    log.error("Handler {} on channel {} failed at sequence {}", handler.getClass().getSimpleName(),
+                            name, sequence, ex);
+                }
+            }
+        }
+        consumerSequence.lazySet(to);
+    }
+}
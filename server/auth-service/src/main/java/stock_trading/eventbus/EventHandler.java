@@ -0,0 +1,14 @@
+package stock_trading.eventbus;
+
+@FunctionalInterface
+public interface EventHandler<E> {
+
+    /**
+     * Called on the channel's own thread. The event is a reused slot: copy out anything kept past
+     * this call.
+     *
+     * @param endOfBatch true for the last event the consumer drained in one pass, letting handlers
+     *                   defer writes and other per-batch work until then
+     */
+    void onEvent(E event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,25 @@
+package stock_trading.eventbus;
+
+import lombok.Getter;
+import lombok.Setter;
+import stock_trading.engine.OrderType;
+import stock_trading.engine.Side;
+
+/**
+ * Reusable slot of the order channel: an order the engine entered, including the replacement
+ * entered by a cancel-replace.
+ */
+@Getter
+@Setter
+public class OrderAccepted {
+    private long orderId;
+    private long userId;
+    private int symbolId;
+    private Side side;
+    private OrderType orderType;
+    /** Trigger price of a stop order; 0 for limit orders. */
+    private long stopPrice;
+    private long price;
+    private long quantity;
+    private long timestamp;
+}
@@ -0,0 +1,20 @@
+package stock_trading.eventbus;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Reusable slot of the fill channel: one execution between a resting maker and an incoming taker.
+ */
+@Getter
+@Setter
+public class OrderFilled {
+    private int symbolId;
+    private long price;
+    private long quantity;
+    private long makerUserId;
+    private long makerOrderId;
+    private long takerUserId;
+    private long takerOrderId;
+    private long timestamp;
+}
@@ -0,0 +1,15 @@
+package stock_trading.eventbus;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Reusable slot of the user channel, published once a new account has committed.
+ */
+@Getter
+@Setter
+public class UserCreated {
+    private long userId;
+    private String username;
+    private String email;
+}
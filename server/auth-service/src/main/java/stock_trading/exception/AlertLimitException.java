@@ -0,0 +1,8 @@
+package stock_trading.exception;
+
+public class AlertLimitException extends RuntimeException {
+
+    public AlertLimitException(String message) {
+        super(message);
+    }
+}
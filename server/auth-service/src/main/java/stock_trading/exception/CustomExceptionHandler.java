@@ -37,12 +37,84 @@ public class CustomExceptionHandler {
         return new CustomException(ex.getMessage());
     }
 
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(DuplicateOrderException.class)
+    public CustomException handleDuplicateOrder(DuplicateOrderException ex) {
+        return new CustomException(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(WatchlistFullException.class)
+    public CustomException handleWatchlistFull(WatchlistFullException ex) {
+        return new CustomException(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(AlertLimitException.class)
+    public CustomException handleAlertLimit(AlertLimitException ex) {
+        return new CustomException(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(InsufficientBuyingPowerException.class)
+    public CustomException handleInsufficientBuyingPower(InsufficientBuyingPowerException ex) {
+        return new CustomException(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(OrderRejectedException.class)
+    public CustomException handleOrderRejected(OrderRejectedException ex) {
+        return new CustomException(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(OrderQueueFullException.class)
+    public CustomException handleOrderQueueFull(OrderQueueFullException ex) {
+        return new CustomException(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(JournalTimeoutException.class)
+    public CustomException handleJournalTimeout(JournalTimeoutException ex) {
+        return new CustomException(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    @ExceptionHandler(OrderProcessingTimeoutException.class)
+    public CustomException handleOrderProcessingTimeout(OrderProcessingTimeoutException ex) {
+        return new CustomException(ex.getMessage());
+    }
+
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler(UsernameNotFoundException.class)
     public CustomException handleUserNotFound(UsernameNotFoundException ex) {
         return new CustomException(ex.getMessage());
     }
 
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(SymbolNotFoundException.class)
+    public CustomException handleSymbolNotFound(SymbolNotFoundException ex) {
+        return new CustomException(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(UnsupportedTimeframeException.class)
+    public CustomException handleUnsupportedTimeframe(UnsupportedTimeframeException ex) {
+        return new CustomException(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidTimeRangeException.class)
+    public CustomException handleInvalidTimeRange(InvalidTimeRangeException ex) {
+        return new CustomException(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidCursorException.class)
+    public CustomException handleInvalidCursor(InvalidCursorException ex) {
+        return new CustomException(ex.getMessage());
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public CustomException handleMethodNotSupported(HttpRequestMethodNotSupportedException ex) {
@@ -0,0 +1,8 @@
+package stock_trading.exception;
+
+public class DuplicateOrderException extends RuntimeException {
+
+    public DuplicateOrderException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package stock_trading.exception;
+
+public class InsufficientBuyingPowerException extends RuntimeException {
+
+    public InsufficientBuyingPowerException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package stock_trading.exception;
+
+public class InvalidTimeRangeException extends RuntimeException {
+
+    public InvalidTimeRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package stock_trading.exception;
+
+public class JournalTimeoutException extends RuntimeException {
+
+    public JournalTimeoutException(String message) {
+        super(message);
+    }
+}
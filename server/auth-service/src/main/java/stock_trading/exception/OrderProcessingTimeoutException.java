@@ -0,0 +1,8 @@
+package stock_trading.exception;
+
+public class OrderProcessingTimeoutException extends RuntimeException {
+
+    public OrderProcessingTimeoutException(String message) {
+        super(message);
+    }
+}
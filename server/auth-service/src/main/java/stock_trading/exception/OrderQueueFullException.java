@@ -0,0 +1,8 @@
+package stock_trading.exception;
+
+public class OrderQueueFullException extends RuntimeException {
+
+    public OrderQueueFullException(String message) {
+        super(message);
+    }
+}
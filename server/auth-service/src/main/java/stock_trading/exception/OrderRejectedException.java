@@ -0,0 +1,8 @@
+package stock_trading.exception;
+
+public class OrderRejectedException extends RuntimeException {
+
+    public OrderRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package stock_trading.exception;
+
+public class SymbolNotFoundException extends RuntimeException {
+
+    public SymbolNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package stock_trading.exception;
+
+public class UnsupportedTimeframeException extends RuntimeException {
+
+    public UnsupportedTimeframeException(String message) {
+        super(message);
+    }
+}
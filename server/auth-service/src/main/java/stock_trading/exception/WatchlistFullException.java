@@ -0,0 +1,8 @@
+package stock_trading.exception;
+
+public class WatchlistFullException extends RuntimeException {
+
+    public WatchlistFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,166 @@
+package stock_trading.gateway;
+
+import stock_trading.engine.Side;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format of the binary order-entry gateway. Every message is a frame of
+ *
+ * <pre>
+ *  0 length (u16, bytes after this field)   2 type (u8)   3 body
+ * </pre>
+ *
+ * in network byte order. Bodies have a fixed layout per type, except LOGON whose body is the raw
+ * JWT. Prices are scaled longs as in {@code Prices}; symbols are 8 ASCII bytes padded with NULs.
+ *
+ * <pre>
+ * client to gateway
+ *   LOGON    'L'  token
+ *   NEW      'N'  0 clientOrderId  8 symbol  16 side ('B'|'S')  17 price  25 quantity
+ *   CANCEL   'C'  0 clientOrderId  8 symbol  16 orderId
+ *   REPLACE  'R'  0 clientOrderId  8 symbol  16 orderId  24 side  25 price  33 quantity
+ *
+ * gateway to client
+ *   LOGGED_ON 'O'  0 userId
+ *   ACK       'A'  0 clientOrderId  8 orderId  16 sequence
+ *   REJECT    'J'  0 clientOrderId  8 reason ({@link RejectReason} ordinal)
+ *   FILL      'F'  0 orderId  8 symbol  16 side  17 price  25 quantity  33 timestamp
+ * </pre>
+ *
+ * An ACK means the command is sequenced, journaled and accepted by the engine; a command the
+ * validator or engine refuses gets a REJECT in its place. Fills are sent as they happen, so one
+ * can overtake its order's ACK. A
+ * replacement must keep the side of the order it replaces and gets the ACK's sequence as its
+ * order id. A client order id reused by the same account within the dedupe window is rejected;
+ * zero opts out of the check.
+ */
+public final class GatewayProtocol {
+
+    public static final byte LOGON = 'L';
+    public static final byte NEW = 'N';
+    public static final byte CANCEL = 'C';
+    public static final byte REPLACE = 'R';
+    public static final byte LOGGED_ON = 'O';
+    public static final byte ACK = 'A';
+    public static final byte REJECT = 'J';
+    public static final byte FILL = 'F';
+
+    public static final byte BUY = 'B';
+    public static final byte SELL = 'S';
+
+    public static final int HEADER_SIZE = 3;
+    public static final int SYMBOL_SIZE = 8;
+    public static final int MAX_TOKEN_LENGTH = 4096;
+
+    public static final int NEW_SIZE = 33;
+    public static final int CANCEL_SIZE = 24;
+    public static final int REPLACE_SIZE = 41;
+    public static final int LOGGED_ON_SIZE = 8;
+    public static final int ACK_SIZE = 24;
+    public static final int REJECT_SIZE = 9;
+    public static final int FILL_SIZE = 41;
+
+    static final int CLIENT_ORDER_ID = 0;
+    static final int SYMBOL = 8;
+    static final int NEW_SIDE = 16;
+    static final int NEW_PRICE = 17;
+    static final int NEW_QUANTITY = 25;
+    static final int ORDER_ID = 16;
+    static final int REPLACE_SIDE = 24;
+    static final int REPLACE_PRICE = 25;
+    static final int REPLACE_QUANTITY = 33;
+
+    private GatewayProtocol() {
+    }
+
+    public static void putLogon(ByteBuffer out, String token) {
+        header(out, LOGON, token.length());
+        for (int i = 0; i < token.length(); i++) {
+            out.put((byte) token.charAt(i));
+        }
+    }
+
+    public static void putNew(ByteBuffer out, long clientOrderId, String symbol, Side side, long price,
+                              long quantity) {
+        header(out, NEW, NEW_SIZE);
+        out.putLong(clientOrderId);
+        putSymbol(out, symbol);
+        out.put(encodeSide(side));
+        out.putLong(price);
+        out.putLong(quantity);
+    }
+
+    public static void putCancel(ByteBuffer out, long clientOrderId, String symbol, long orderId) {
+        header(out, CANCEL, CANCEL_SIZE);
+        out.putLong(clientOrderId);
+        putSymbol(out, symbol);
+        out.putLong(orderId);
+    }
+
+    public static void putReplace(ByteBuffer out, long clientOrderId, String symbol, long orderId, Side side,
+                                  long price, long quantity) {
+        header(out, REPLACE, REPLACE_SIZE);
+        out.putLong(clientOrderId);
+        putSymbol(out, symbol);
+        out.putLong(orderId);
+        out.put(encodeSide(side));
+        out.putLong(price);
+        out.putLong(quantity);
+    }
+
+    public static void putLoggedOn(ByteBuffer out, long userId) {
+        header(out, LOGGED_ON, LOGGED_ON_SIZE);
+        out.putLong(userId);
+    }
+
+    public static void putAck(ByteBuffer out, long clientOrderId, long orderId, long sequence) {
+        header(out, ACK, ACK_SIZE);
+        out.putLong(clientOrderId);
+        out.putLong(orderId);
+        out.putLong(sequence);
+    }
+
+    public static void putReject(ByteBuffer out, long clientOrderId, RejectReason reason) {
+        header(out, REJECT, REJECT_SIZE);
+        out.putLong(clientOrderId);
+        out.put((byte) reason.ordinal());
+    }
+
+    public static void putFill(ByteBuffer out, long orderId, String symbol, Side side, long price, long quantity,
+                               long timestamp) {
+        header(out, FILL, FILL_SIZE);
+        out.putLong(orderId);
+        putSymbol(out, symbol);
+        out.put(encodeSide(side));
+        out.putLong(price);
+        out.putLong(quantity);
+        out.putLong(timestamp);
+    }
+
+    /**
+     * @return the side for a wire byte, or {@code null} if it is neither {@link #BUY} nor {@link #SELL}
+     */
+    public static Side decodeSide(byte side) {
+        return side == BUY ? Side.BUY : side == SELL ? Side.SELL : null;
+    }
+
+    public static byte encodeSide(Side side) {
+        return side == Side.BUY ? BUY : SELL;
+    }
+
+    static int frameSize(int bodySize) {
+        return HEADER_SIZE + bodySize;
+    }
+
+    private static void header(ByteBuffer out, byte type, int bodySize) {
+        out.putShort((short) (bodySize + 1));
+        out.put(type);
+    }
+
+    private static void putSymbol(ByteBuffer out, String symbol) {
+        for (int i = 0; i < SYMBOL_SIZE; i++) {
+            out.put(i < symbol.length() ? (byte) symbol.charAt(i) : 0);
+        }
+    }
+}
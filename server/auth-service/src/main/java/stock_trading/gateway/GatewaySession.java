@@ -0,0 +1,81 @@
+package stock_trading.gateway;
+
+import stock_trading.sequencer.CommandOutcomes;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * One client connection. Owned by the gateway's event loop; its buffers are allocated once per
+ * connection and reused for every message.
+ */
+final class GatewaySession {
+
+    final SocketChannel channel;
+    final SelectionKey key;
+    final ByteBuffer in;
+    final ByteBuffer out;
+    long userId = SessionAuthenticator.UNAUTHENTICATED;
+
+    // Acks wait here, in sequence order, until their sequence is committed and processed.
+    private final long[] ackClientOrderIds;
+    private final long[] ackOrderIds;
+    private final long[] ackSequences;
+    private long ackHead;
+    private long ackTail;
+
+    GatewaySession(SocketChannel channel, SelectionKey key, int bufferSize, int maxPendingAcks) {
+        this.channel = channel;
+        this.key = key;
+        this.in = ByteBuffer.allocateDirect(bufferSize);
+        this.out = ByteBuffer.allocateDirect(bufferSize);
+        this.ackClientOrderIds = new long[maxPendingAcks];
+        this.ackOrderIds = new long[maxPendingAcks];
+        this.ackSequences = new long[maxPendingAcks];
+    }
+
+    boolean isLoggedOn() {
+        return userId != SessionAuthenticator.UNAUTHENTICATED;
+    }
+
+    boolean canQueueAck() {
+        return ackTail - ackHead < ackSequences.length;
+    }
+
+    void queueAck(long clientOrderId, long orderId, long sequence) {
+        int slot = (int) (ackTail++ % ackSequences.length);
+        ackClientOrderIds[slot] = clientOrderId;
+        ackOrderIds[slot] = orderId;
+        ackSequences[slot] = sequence;
+    }
+
+    int pendingAcks() {
+        return (int) (ackTail - ackHead);
+    }
+
+    /**
+     * Answers every queued command whose sequence is at or below {@code committed}, as far as the
+     * outbound buffer has room: an ack, or a reject if the sequencer refused it.
+     *
+     * @return the number of answers written
+     */
+    int writeCommittedAcks(long committed, CommandOutcomes outcomes) {
+        int written = 0;
+        while (ackHead < ackTail && out.remaining() >= GatewayProtocol.frameSize(GatewayProtocol.ACK_SIZE)) {
+            int slot = (int) (ackHead % ackSequences.length);
+            if (ackSequences[slot] > committed) {
+                break;
+            }
+            String reason = outcomes.getRejectReason(ackSequences[slot]);
+            if (reason == null) {
+                GatewayProtocol.putAck(out, ackClientOrderIds[slot], ackOrderIds[slot], ackSequences[slot]);
+            } else {
+                GatewayProtocol.putReject(out, ackClientOrderIds[slot], RejectReason.ofSequencerReason(reason));
+            }
+            ackHead++;
+            written++;
+        }
+        return written;
+    }
+}
@@ -0,0 +1,508 @@
+package stock_trading.gateway;
+
+import lombok.extern.slf4j.Slf4j;
+import stock_trading.engine.FillFeed;
+import stock_trading.engine.Side;
+import stock_trading.idempotency.ClientOrderIdFilter;
+import stock_trading.risk.BuyingPowerReserver;
+import stock_trading.sequencer.CommandOutcomes;
+import stock_trading.sequencer.OrderSequencer;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.util.Prices;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.LongSupplier;
+
+/**
+ * TCP order entry for clients that speak {@link GatewayProtocol}. One event-loop thread owns every
+ * connection: it decodes frames straight out of each session's direct buffer, reserves buying
+ * power and publishes to the sequencer exactly as the HTTP path does, and writes acks and fills
+ * into the session's outbound buffer.
+ *
+ * <p>Acks are held until the journal has committed their sequence and every sequencer handler has
+ * seen it, so an ack carries the same promise as an HTTP response and a command the validator or
+ * engine refused is answered with a reject instead. While any are outstanding the loop polls
+ * instead of blocking in {@code select}.
+ */
+@Slf4j
+public class OrderGateway implements Closeable {
+
+    private final InetSocketAddress address;
+    private final SymbolRegistry registry;
+    private final OrderSequencer sequencer;
+    private final BuyingPowerReserver buyingPowerReserver;
+    private final ClientOrderIdFilter clientOrderIdFilter;
+    private final LongSupplier committedSequence;
+    private final CommandOutcomes outcomes;
+    private final FillFeed fills;
+    private final SessionAuthenticator authenticator;
+    private final int bufferSize;
+    private final int maxPendingAcks;
+
+    private final GatewaySession[] sessions;
+    private final FillFeed.Visitor fillWriter = this::writeFill;
+    private int loggedOn;
+    private int pendingAcks;
+
+    private Selector selector;
+    private ServerSocketChannel server;
+    private Thread loop;
+    private volatile boolean running;
+
+    public OrderGateway(InetSocketAddress address, SymbolRegistry registry, OrderSequencer sequencer,
+                        BuyingPowerReserver buyingPowerReserver, ClientOrderIdFilter clientOrderIdFilter,
+                        LongSupplier committedSequence, CommandOutcomes outcomes, FillFeed fills,
+                        SessionAuthenticator authenticator, int maxSessions, int bufferSize, int maxPendingAcks) {
+        this.address = address;
+        this.registry = registry;
+        this.sequencer = sequencer;
+        this.buyingPowerReserver = buyingPowerReserver;
+        this.clientOrderIdFilter = clientOrderIdFilter;
+        this.committedSequence = committedSequence;
+        this.outcomes = outcomes;
+        this.fills = fills;
+        this.authenticator = authenticator;
+        this.sessions = new GatewaySession[maxSessions];
+        this.bufferSize = bufferSize;
+        this.maxPendingAcks = maxPendingAcks;
+    }
+
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(address);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        fills.setWakeup(selector::wakeup);
+
+        running = true;
+        loop = new Thread(this::run, "order-gateway");
+        loop.start();
+        log.info("Order gateway listening on {}", server.getLocalAddress());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        fills.setActive(false);
+        fills.setWakeup(() -> { });
+        for (GatewaySession session : sessions) {
+            if (session != null) {
+                session.channel.close();
+            }
+        }
+        server.close();
+        selector.close();
+    }
+
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (pendingAcks > 0) {
+                    selector.selectNow();
+                } else {
+                    selector.select();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        GatewaySession session = (GatewaySession) key.attachment();
+                        if (key.isReadable()) {
+                            read(session);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flush(session);
+                        }
+                    }
+                }
+                fills.drain(fillWriter);
+                flushAll();
+            } catch (IOException | RuntimeException ex) {
+                log.error("Order gateway loop failed", ex);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        int slot = freeSlot();
+        if (slot < 0) {
+            log.warn("Refusing gateway connection from {}: session limit reached", channel.getRemoteAddress());
+            channel.close();
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        GatewaySession session = new GatewaySession(channel, key, bufferSize, maxPendingAcks);
+        key.attach(session);
+        sessions[slot] = session;
+    }
+
+    private void read(GatewaySession session) {
+        ByteBuffer in = session.in;
+        int read;
+        try {
+            read = session.channel.read(in);
+        } catch (IOException ex) {
+            disconnect(session, ex.getMessage());
+            return;
+        }
+        if (read < 0) {
+            disconnect(session, "closed by client");
+            return;
+        }
+
+        in.flip();
+        while (in.remaining() >= 2) {
+            int start = in.position();
+            int length = in.getShort(start) & 0xFFFF;
+            if (length == 0 || length > in.capacity() - 2) {
+                reject(session, 0, RejectReason.MALFORMED_MESSAGE);
+                disconnect(session, "malformed frame");
+                return;
+            }
+            if (in.remaining() < 2 + length) {
+                break;
+            }
+            onMessage(session, in.get(start + 2), start + GatewayProtocol.HEADER_SIZE, length - 1);
+            if (!session.channel.isOpen()) {
+                return;
+            }
+            in.position(start + 2 + length);
+        }
+        in.compact();
+    }
+
+    private void onMessage(GatewaySession session, byte type, int body, int bodySize) {
+        if (type == GatewayProtocol.LOGON) {
+            logon(session, body, bodySize);
+            return;
+        }
+        if (!session.isLoggedOn()) {
+            reject(session, 0, RejectReason.NOT_LOGGED_ON);
+            disconnect(session, "message before logon");
+            return;
+        }
+
+        switch (type) {
+            case GatewayProtocol.NEW -> {
+                if (expectSize(session, bodySize, GatewayProtocol.NEW_SIZE)) {
+                    onNew(session, body);
+                }
+            }
+            case GatewayProtocol.CANCEL -> {
+                if (expectSize(session, bodySize, GatewayProtocol.CANCEL_SIZE)) {
+                    onCancel(session, body);
+                }
+            }
+            case GatewayProtocol.REPLACE -> {
+                if (expectSize(session, bodySize, GatewayProtocol.REPLACE_SIZE)) {
+                    onReplace(session, body);
+                }
+            }
+            default -> {
+                reject(session, 0, RejectReason.MALFORMED_MESSAGE);
+                disconnect(session, "unknown message type " + type);
+            }
+        }
+    }
+
+    private void logon(GatewaySession session, int body, int bodySize) {
+        if (session.isLoggedOn()) {
+            reject(session, 0, RejectReason.ALREADY_LOGGED_ON);
+            return;
+        }
+        if (bodySize > GatewayProtocol.MAX_TOKEN_LENGTH) {
+            reject(session, 0, RejectReason.MALFORMED_MESSAGE);
+            disconnect(session, "token too long");
+            return;
+        }
+
+        byte[] token = new byte[bodySize];
+        session.in.get(body, token);
+        long userId = authenticator.authenticate(new String(token, StandardCharsets.US_ASCII));
+        if (userId == SessionAuthenticator.UNAUTHENTICATED) {
+            reject(session, 0, RejectReason.AUTHENTICATION_FAILED);
+            disconnect(session, "authentication failed");
+            return;
+        }
+        if (sessionOf(userId) != null) {
+            reject(session, 0, RejectReason.ALREADY_LOGGED_ON);
+            disconnect(session, "user " + userId + " already has a session");
+            return;
+        }
+
+        session.userId = userId;
+        if (loggedOn++ == 0) {
+            fills.setActive(true);
+        }
+        GatewayProtocol.putLoggedOn(session.out, userId);
+    }
+
+    private void onNew(GatewaySession session, int body) {
+        ByteBuffer in = session.in;
+        long clientOrderId = in.getLong(body + GatewayProtocol.CLIENT_ORDER_ID);
+        int symbolId = symbolId(session, clientOrderId, body);
+        Side side = GatewayProtocol.decodeSide(in.get(body + GatewayProtocol.NEW_SIDE));
+        long price = in.getLong(body + GatewayProtocol.NEW_PRICE);
+        long quantity = in.getLong(body + GatewayProtocol.NEW_QUANTITY);
+        long reserved = symbolId < 0 ? -1 : reserve(session, clientOrderId, side, price, quantity);
+        if (reserved < 0) {
+            return;
+        }
+
+        long sequence = sequencer.publishNew(session.userId, registry.symbolOf(symbolId), side, price, quantity);
+        onPublished(session, clientOrderId, sequence, sequence, reserved);
+    }
+
+    private void onCancel(GatewaySession session, int body) {
+        ByteBuffer in = session.in;
+        long clientOrderId = in.getLong(body + GatewayProtocol.CLIENT_ORDER_ID);
+        int symbolId = symbolId(session, clientOrderId, body);
+        if (symbolId < 0 || !canQueueAck(session, clientOrderId) || !register(session, clientOrderId)) {
+            return;
+        }
+
+        long orderId = in.getLong(body + GatewayProtocol.ORDER_ID);
+        long sequence = sequencer.publishCancel(session.userId, registry.symbolOf(symbolId), orderId);
+        onPublished(session, clientOrderId, orderId, sequence, 0);
+    }
+
+    private void onReplace(GatewaySession session, int body) {
+        ByteBuffer in = session.in;
+        long clientOrderId = in.getLong(body + GatewayProtocol.CLIENT_ORDER_ID);
+        int symbolId = symbolId(session, clientOrderId, body);
+        Side side = GatewayProtocol.decodeSide(in.get(body + GatewayProtocol.REPLACE_SIDE));
+        long price = in.getLong(body + GatewayProtocol.REPLACE_PRICE);
+        long quantity = in.getLong(body + GatewayProtocol.REPLACE_QUANTITY);
+        long reserved = symbolId < 0 ? -1 : reserve(session, clientOrderId, side, price, quantity);
+        if (reserved < 0) {
+            return;
+        }
+
+        long orderId = in.getLong(body + GatewayProtocol.ORDER_ID);
+        long sequence = sequencer.publishReplace(session.userId, registry.symbolOf(symbolId), orderId, side,
+                price, quantity);
+        onPublished(session, clientOrderId, sequence, sequence, reserved);
+    }
+
+    private int symbolId(GatewaySession session, long clientOrderId, int body) {
+        int symbolId = registry.idOf(session.in, body + GatewayProtocol.SYMBOL, GatewayProtocol.SYMBOL_SIZE);
+        if (symbolId == SymbolRegistry.UNKNOWN) {
+            reject(session, clientOrderId, RejectReason.UNKNOWN_SYMBOL);
+        }
+        return symbolId;
+    }
+
+    /**
+     * @return the buying power taken for the order, zero for sells, or -1 if it was rejected
+     */
+    private long reserve(GatewaySession session, long clientOrderId, Side side, long price, long quantity) {
+        if (side == null || price <= 0 || quantity <= 0 || !Prices.notionalFits(price, quantity)) {
+            reject(session, clientOrderId, RejectReason.INVALID_ORDER);
+            return -1;
+        }
+        if (!canQueueAck(session, clientOrderId) || !register(session, clientOrderId)) {
+            return -1;
+        }
+        long reserved = side == Side.BUY ? Prices.notional(price, quantity) : 0;
+        if (reserved > 0 && !buyingPowerReserver.reserve(session.userId, reserved)) {
+            clientOrderIdFilter.forget(session.userId, clientOrderId, System.currentTimeMillis());
+            reject(session, clientOrderId, RejectReason.INSUFFICIENT_BUYING_POWER);
+            return -1;
+        }
+        return reserved;
+    }
+
+    private boolean register(GatewaySession session, long clientOrderId) {
+        if (!clientOrderIdFilter.register(session.userId, clientOrderId, System.currentTimeMillis())) {
+            reject(session, clientOrderId, RejectReason.DUPLICATE_ORDER);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean canQueueAck(GatewaySession session, long clientOrderId) {
+        if (!session.canQueueAck()) {
+            reject(session, clientOrderId, RejectReason.TOO_MANY_PENDING);
+            return false;
+        }
+        return true;
+    }
+
+    private void onPublished(GatewaySession session, long clientOrderId, long orderId, long sequence,
+                             long reserved) {
+        if (sequence < 0) {
+            if (reserved > 0) {
+                buyingPowerReserver.release(session.userId, reserved);
+            }
+            clientOrderIdFilter.forget(session.userId, clientOrderId, System.currentTimeMillis());
+            reject(session, clientOrderId, RejectReason.QUEUE_FULL);
+            return;
+        }
+        session.queueAck(clientOrderId, orderId, sequence);
+        pendingAcks++;
+    }
+
+    private boolean expectSize(GatewaySession session, int bodySize, int expected) {
+        if (bodySize != expected) {
+            reject(session, 0, RejectReason.MALFORMED_MESSAGE);
+            disconnect(session, "bad body size " + bodySize);
+            return false;
+        }
+        return true;
+    }
+
+    private void reject(GatewaySession session, long clientOrderId, RejectReason reason) {
+        if (reserveOutbound(session, GatewayProtocol.REJECT_SIZE)) {
+            GatewayProtocol.putReject(session.out, clientOrderId, reason);
+        }
+    }
+
+    private void writeFill(long sequence, long userId, long orderId, int symbolId, Side side, long price,
+                           long quantity, long timestamp) {
+        GatewaySession session = sessionOf(userId);
+        if (session != null && reserveOutbound(session, GatewayProtocol.FILL_SIZE)) {
+            GatewayProtocol.putFill(session.out, orderId, registry.symbolOf(symbolId), side, price, quantity,
+                    timestamp);
+        }
+    }
+
+    /**
+     * Makes room for one frame, disconnecting a client that has stopped reading.
+     */
+    private boolean reserveOutbound(GatewaySession session, int bodySize) {
+        int frameSize = GatewayProtocol.frameSize(bodySize);
+        if (session.out.remaining() < frameSize) {
+            flush(session);
+        }
+        if (session.out.remaining() < frameSize) {
+            disconnect(session, "slow consumer");
+            return false;
+        }
+        return session.channel.isOpen();
+    }
+
+    private void flushAll() {
+        long committed = pendingAcks > 0
+                ? Math.min(committedSequence.getAsLong(), outcomes.getProcessedSequence())
+                : Long.MIN_VALUE;
+        for (GatewaySession session : sessions) {
+            if (session == null) {
+                continue;
+            }
+            if (session.pendingAcks() > 0) {
+                pendingAcks -= session.writeCommittedAcks(committed, outcomes);
+            }
+            if (session.out.position() > 0) {
+                flush(session);
+            }
+        }
+    }
+
+    private void flush(GatewaySession session) {
+        ByteBuffer out = session.out;
+        out.flip();
+        try {
+            session.channel.write(out);
+        } catch (IOException ex) {
+            out.compact();
+            disconnect(session, ex.getMessage());
+            return;
+        }
+        out.compact();
+        if (session.key.isValid()) {
+            session.key.interestOps(out.position() > 0
+                    ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                    : SelectionKey.OP_READ);
+        }
+    }
+
+    private void disconnect(GatewaySession session, String reason) {
+        if (!session.channel.isOpen()) {
+            return;
+        }
+        // Best effort: let the client see the reject that explains the disconnect.
+        if (session.out.position() > 0) {
+            session.out.flip();
+            try {
+                session.channel.write(session.out);
+            } catch (IOException ignored) {
+                // The connection is going away either way.
+            }
+            session.out.clear();
+        }
+        log.info("Closing gateway session for user {}: {}", session.userId, reason);
+
+        session.key.cancel();
+        try {
+            session.channel.close();
+        } catch (IOException ex) {
+            log.warn("Failed to close gateway session", ex);
+        }
+        pendingAcks -= session.pendingAcks();
+        if (session.isLoggedOn() && --loggedOn == 0) {
+            fills.setActive(false);
+        }
+        for (int i = 0; i < sessions.length; i++) {
+            if (sessions[i] == session) {
+                sessions[i] = null;
+            }
+        }
+    }
+
+    private GatewaySession sessionOf(long userId) {
+        for (GatewaySession session : sessions) {
+            if (session != null && session.userId == userId) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    private int freeSlot() {
+        for (int i = 0; i < sessions.length; i++) {
+            if (sessions[i] == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,29 @@
+package stock_trading.gateway;
+
+/**
+ * Reasons the gateway refuses a message. The wire code is the ordinal, so new reasons go last.
+ */
+public enum RejectReason {
+    NOT_LOGGED_ON,
+    AUTHENTICATION_FAILED,
+    ALREADY_LOGGED_ON,
+    MALFORMED_MESSAGE,
+    UNKNOWN_SYMBOL,
+    INVALID_ORDER,
+    INSUFFICIENT_BUYING_POWER,
+    QUEUE_FULL,
+    TOO_MANY_PENDING,
+    DUPLICATE_ORDER,
+    UNKNOWN_ORDER;
+
+    /**
+     * Maps the reason the validator or engine gave for rejecting a sequenced command.
+     */
+    static RejectReason ofSequencerReason(String reason) {
+        return switch (reason) {
+            case "unknown symbol" -> UNKNOWN_SYMBOL;
+            case "unknown order", "order not cancellable", "order not replaceable" -> UNKNOWN_ORDER;
+            default -> INVALID_ORDER;
+        };
+    }
+}
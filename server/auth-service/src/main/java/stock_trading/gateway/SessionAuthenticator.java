@@ -0,0 +1,12 @@
+package stock_trading.gateway;
+
+@FunctionalInterface
+public interface SessionAuthenticator {
+
+    long UNAUTHENTICATED = -1;
+
+    /**
+     * @return the user the token was issued to, or {@link #UNAUTHENTICATED}
+     */
+    long authenticate(String token);
+}
@@ -0,0 +1,71 @@
+package stock_trading.idempotency;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rejects a client order id an account has already used within a sliding window, so a retried
+ * request or a resent gateway message cannot enter the same order twice. Each account has its own
+ * bounded {@link ClientOrderIdWindow}, so checks from different accounts never contend and a
+ * duplicate is caught in memory before anything is published.
+ *
+ * <p>Ids live only in memory: the window starts empty after a restart.
+ */
+public class ClientOrderIdFilter {
+
+    /**
+     * Marks a message that carries no client order id; it is never treated as a duplicate.
+     */
+    public static final long NONE = 0;
+
+    private final long windowMillis;
+    private final int buckets;
+    private final int bucketCapacity;
+    private final Map<Long, ClientOrderIdWindow> accounts = new ConcurrentHashMap<>();
+
+    public ClientOrderIdFilter(long windowMillis, int buckets, int bucketCapacity) {
+        if (windowMillis <= 0 || buckets < 2 || bucketCapacity <= 0) {
+            throw new IllegalArgumentException("window, at least two buckets and a capacity are required");
+        }
+        this.windowMillis = windowMillis;
+        this.buckets = buckets;
+        this.bucketCapacity = bucketCapacity;
+    }
+
+    /**
+     * @return {@code true} if the id is new for this account and is now taken, {@code false} for a duplicate
+     */
+    public boolean register(long userId, long clientOrderId, long now) {
+        if (clientOrderId == NONE) {
+            return true;
+        }
+        return accounts.computeIfAbsent(userId, id -> new ClientOrderIdWindow(windowMillis, buckets,
+                bucketCapacity, now)).add(clientOrderId, now);
+    }
+
+    /**
+     * Releases an id whose order never reached the sequencer, so the client may retry it.
+     */
+    public void forget(long userId, long clientOrderId, long now) {
+        if (clientOrderId == NONE) {
+            return;
+        }
+        ClientOrderIdWindow window = accounts.get(userId);
+        if (window != null) {
+            window.remove(clientOrderId, now);
+        }
+    }
+
+    /**
+     * Drops accounts that have not registered an id for a whole window; all their ids have expired.
+     */
+    public int evictIdle(long now) {
+        int before = accounts.size();
+        accounts.values().removeIf(window -> now - window.getLastUsed() >= windowMillis);
+        return before - accounts.size();
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+}
@@ -0,0 +1,155 @@
+package stock_trading.idempotency;
+
+import java.util.Arrays;
+
+/**
+ * The client order ids one account used recently, as a ring of open-addressing tables of raw
+ * longs. New ids go into the current table; every live table is probed for duplicates. A table
+ * older than the window is cleared and reused wholesale, so ids expire without per-entry
+ * timestamps. Tables start small and grow to a fixed cap; when the current one is full the ring
+ * rotates early, which shortens the window for an account ordering that fast rather than growing
+ * without bound.
+ */
+final class ClientOrderIdWindow {
+
+    private static final long EMPTY = ClientOrderIdFilter.NONE;
+    private static final int INITIAL_SLOTS = 16;
+
+    private final long windowMillis;
+    private final long bucketMillis;
+    private final int bucketCapacity;
+    private final long[][] tables;
+    private final int[] sizes;
+    private final long[] startedAt;
+    private int current;
+    private volatile long lastUsed;
+
+    ClientOrderIdWindow(long windowMillis, int buckets, int bucketCapacity, long now) {
+        this.windowMillis = windowMillis;
+        this.bucketMillis = Math.max(1, windowMillis / buckets);
+        this.bucketCapacity = bucketCapacity;
+        this.tables = new long[buckets][];
+        this.sizes = new int[buckets];
+        this.startedAt = new long[buckets];
+        for (int i = 0; i < buckets; i++) {
+            tables[i] = new long[INITIAL_SLOTS];
+            startedAt[i] = Long.MIN_VALUE;
+        }
+        startedAt[current] = now;
+        this.lastUsed = now;
+    }
+
+    /**
+     * @return {@code false} if {@code id} was already added within the window
+     */
+    synchronized boolean add(long id, long now) {
+        lastUsed = now;
+        if (now - startedAt[current] >= bucketMillis) {
+            advance(now);
+        }
+        for (int i = 0; i < tables.length; i++) {
+            if (isLive(i, now) && indexOf(tables[i], id) >= 0) {
+                return false;
+            }
+        }
+        if (sizes[current] >= bucketCapacity) {
+            advance(now);
+        }
+        insert(id);
+        return true;
+    }
+
+    synchronized void remove(long id, long now) {
+        for (int i = 0; i < tables.length; i++) {
+            if (isLive(i, now) && delete(tables[i], id)) {
+                sizes[i]--;
+                return;
+            }
+        }
+    }
+
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    private boolean isLive(int bucket, long now) {
+        return startedAt[bucket] != Long.MIN_VALUE && now - startedAt[bucket] < windowMillis;
+    }
+
+    private void advance(long now) {
+        current = (current + 1) % tables.length;
+        if (sizes[current] > 0) {
+            Arrays.fill(tables[current], EMPTY);
+            sizes[current] = 0;
+        }
+        startedAt[current] = now;
+    }
+
+    private void insert(long id) {
+        long[] table = tables[current];
+        if ((sizes[current] + 1) * 2 > table.length) {
+            table = grow(table);
+            tables[current] = table;
+        }
+        int mask = table.length - 1;
+        int slot = slot(id, mask);
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = id;
+        sizes[current]++;
+    }
+
+    private static long[] grow(long[] table) {
+        long[] grown = new long[table.length * 2];
+        int mask = grown.length - 1;
+        for (long id : table) {
+            if (id != EMPTY) {
+                int slot = slot(id, mask);
+                while (grown[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                grown[slot] = id;
+            }
+        }
+        return grown;
+    }
+
+    private static int indexOf(long[] table, long id) {
+        int mask = table.length - 1;
+        for (int slot = slot(id, mask); table[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (table[slot] == id) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes {@code id} and shifts back the entries that probed past it, so lookups never need
+     * tombstones.
+     */
+    private static boolean delete(long[] table, long id) {
+        int hole = indexOf(table, id);
+        if (hole < 0) {
+            return false;
+        }
+        int mask = table.length - 1;
+        for (int next = (hole + 1) & mask; table[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(table[next], mask);
+            // Move the entry into the hole unless its home lies cyclically in (hole, next].
+            boolean stays = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (!stays) {
+                table[hole] = table[next];
+                hole = next;
+            }
+        }
+        table[hole] = EMPTY;
+        return true;
+    }
+
+    private static int slot(long id, int mask) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
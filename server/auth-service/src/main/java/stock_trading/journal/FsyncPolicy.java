@@ -0,0 +1,13 @@
+package stock_trading.journal;
+
+import java.util.Locale;
+
+public enum FsyncPolicy {
+    PER_MESSAGE,
+    PER_BATCH,
+    TIMED;
+
+    public static FsyncPolicy of(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
@@ -0,0 +1,110 @@
+package stock_trading.journal;
+
+import stock_trading.engine.OrderType;
+import stock_trading.engine.Side;
+import stock_trading.sequencer.CommandType;
+import stock_trading.sequencer.OrderCommand;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Fixed 128-byte little-endian layout of one journaled command:
+ *
+ * <pre>
+ *  0 sequence   8 timestamp  16 orderId  24 userId  32 price  40 quantity  48 stopPrice
+ * 56 type      57 side       58 symbol length       59 symbol (8 bytes ASCII)
+ * 67 order type                                     68 CRC32C of bytes 0..67
+ * </pre>
+ *
+ * The rest of the record is padding, which keeps the size a power of two so segment sizes stay
+ * multiples of it. A zeroed or corrupt checksum marks the end of the written journal.
+ */
+public final class JournalRecord {
+
+    public static final int SIZE = 128;
+    public static final int MAX_SYMBOL_LENGTH = 8;
+
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int ORDER_ID = 16;
+    private static final int USER_ID = 24;
+    private static final int PRICE = 32;
+    private static final int QUANTITY = 40;
+    private static final int STOP_PRICE = 48;
+    private static final int TYPE = 56;
+    private static final int SIDE = 57;
+    private static final int SYMBOL_LENGTH = 58;
+    private static final int SYMBOL = 59;
+    private static final int ORDER_TYPE = 67;
+    private static final int CHECKSUM = 68;
+
+    private static final CommandType[] TYPES = CommandType.values();
+    private static final Side[] SIDES = Side.values();
+    private static final OrderType[] ORDER_TYPES = OrderType.values();
+
+    private JournalRecord() {
+    }
+
+    public static void write(ByteBuffer buffer, int offset, long sequence, OrderCommand command, CRC32C crc) {
+        buffer.putLong(offset + SEQUENCE, sequence);
+        buffer.putLong(offset + TIMESTAMP, command.getTimestamp());
+        buffer.putLong(offset + ORDER_ID, command.getOrderId());
+        buffer.putLong(offset + USER_ID, command.getUserId());
+        buffer.putLong(offset + PRICE, command.getPrice());
+        buffer.putLong(offset + QUANTITY, command.getQuantity());
+        buffer.putLong(offset + STOP_PRICE, command.getStopPrice());
+        buffer.put(offset + TYPE, (byte) command.getType().ordinal());
+        buffer.put(offset + SIDE, command.getSide() == null ? (byte) -1 : (byte) command.getSide().ordinal());
+
+        String symbol = command.getSymbol();
+        int length = symbol.length();
+        buffer.put(offset + SYMBOL_LENGTH, (byte) length);
+        for (int i = 0; i < MAX_SYMBOL_LENGTH; i++) {
+            buffer.put(offset + SYMBOL + i, i < length ? (byte) symbol.charAt(i) : 0);
+        }
+        buffer.put(offset + ORDER_TYPE, (byte) command.getOrderType().ordinal());
+
+        buffer.putInt(offset + CHECKSUM, checksum(buffer, offset, crc));
+    }
+
+    public static boolean isValid(ByteBuffer buffer, int offset, CRC32C crc) {
+        int stored = buffer.getInt(offset + CHECKSUM);
+        return stored != 0 && stored == checksum(buffer, offset, crc);
+    }
+
+    public static long sequence(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + SEQUENCE);
+    }
+
+    public static void read(ByteBuffer buffer, int offset, OrderCommand command) {
+        command.setTimestamp(buffer.getLong(offset + TIMESTAMP));
+        command.setOrderType(ORDER_TYPES[buffer.get(offset + ORDER_TYPE)]);
+        command.setOrderId(buffer.getLong(offset + ORDER_ID));
+        command.setUserId(buffer.getLong(offset + USER_ID));
+        command.setPrice(buffer.getLong(offset + PRICE));
+        command.setQuantity(buffer.getLong(offset + QUANTITY));
+        command.setStopPrice(buffer.getLong(offset + STOP_PRICE));
+        command.setType(TYPES[buffer.get(offset + TYPE)]);
+        byte side = buffer.get(offset + SIDE);
+        command.setSide(side < 0 ? null : SIDES[side]);
+
+        int length = buffer.get(offset + SYMBOL_LENGTH);
+        byte[] symbol = new byte[length];
+        buffer.get(offset + SYMBOL, symbol);
+        command.setSymbol(new String(symbol, StandardCharsets.US_ASCII));
+        command.setRejectReason(null);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, CRC32C crc) {
+        int position = buffer.position();
+        int limit = buffer.limit();
+        buffer.limit(offset + CHECKSUM).position(offset);
+        crc.reset();
+        crc.update(buffer);
+        buffer.limit(limit).position(position);
+        int value = (int) crc.getValue();
+        return value == 0 ? 1 : value;
+    }
+}
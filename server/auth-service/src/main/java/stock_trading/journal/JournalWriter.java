@@ -0,0 +1,205 @@
+package stock_trading.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.sequencer.OrderCommandHandler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only write-ahead journal of accepted order commands. Runs as the first handler on the
+ * sequencer's consumer thread so that a command is on disk, per the configured
+ * {@link FsyncPolicy}, before the matching engine sees it and before the request is acknowledged.
+ * A command that cannot be written is rejected here, so no later handler executes or acks it.
+ *
+ * <p>Records go into fixed-size memory-mapped segment files named after their first sequence.
+ * Only the dirty byte range is forced, so a group commit costs one msync however many records
+ * the batch contained.
+ */
+@Slf4j
+public class JournalWriter implements OrderCommandHandler, Closeable {
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final CRC32C crc = new CRC32C();
+    private final Object forceLock = new Object();
+    private final ScheduledExecutorService flusher;
+
+    private MappedByteBuffer segment;
+    private volatile int writePosition;
+    private int forcedPosition;
+
+    private volatile long lastSequence;
+    private volatile long committedSequence;
+
+    private JournalWriter(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, long fsyncIntervalMicros) {
+        if (segmentSize < JournalRecord.SIZE || segmentSize % JournalRecord.SIZE != 0) {
+            throw new IllegalArgumentException("segmentSize must be a multiple of " + JournalRecord.SIZE);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+
+        if (fsyncPolicy == FsyncPolicy.TIMED) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "journal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleAtFixedRate(this::force, fsyncIntervalMicros, fsyncIntervalMicros, TimeUnit.MICROSECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    public static JournalWriter open(Path directory, int segmentSize, FsyncPolicy fsyncPolicy,
+                                     long fsyncIntervalMicros) throws IOException {
+        Files.createDirectories(directory);
+        JournalWriter writer = new JournalWriter(directory, segmentSize, fsyncPolicy, fsyncIntervalMicros);
+        writer.recover();
+        return writer;
+    }
+
+    private void recover() throws IOException {
+        List<Path> segments = JournalSegments.list(directory);
+        lastSequence = -1;
+        if (segments.isEmpty()) {
+            committedSequence = -1;
+            return;
+        }
+
+        Path tail = segments.get(segments.size() - 1);
+        segment = JournalSegments.map(tail, FileChannel.MapMode.READ_WRITE, Files.size(tail));
+        int position = 0;
+        while (position + JournalRecord.SIZE <= segment.capacity() && JournalRecord.isValid(segment, position, crc)) {
+            lastSequence = JournalRecord.sequence(segment, position);
+            position += JournalRecord.SIZE;
+        }
+        if (lastSequence < 0) {
+            lastSequence = JournalSegments.firstSequence(tail) - 1;
+        }
+
+        // Zero whatever a crash left half-written after the last valid record.
+        for (int i = position; i < segment.capacity() && segment.get(i) != 0; i++) {
+            segment.put(i, (byte) 0);
+        }
+
+        writePosition = position;
+        forcedPosition = position;
+        committedSequence = lastSequence;
+        if (position + JournalRecord.SIZE > segment.capacity()) {
+            segment = null;
+        }
+    }
+
+    @Override
+    public void onCommand(OrderCommand command, long sequence, boolean endOfBatch) {
+        if (!command.isRejected() && command.getSymbol().length() > JournalRecord.MAX_SYMBOL_LENGTH) {
+            command.reject("symbol too long to journal");
+        }
+        if (!command.isRejected()) {
+            try {
+                append(command, sequence);
+            } catch (RuntimeException ex) {
+                log.error("Journal write failed at sequence {}; rejecting the command", sequence, ex);
+                command.reject("journal write failed");
+            }
+        }
+        lastSequence = sequence;
+
+        if (fsyncPolicy == FsyncPolicy.PER_MESSAGE || (fsyncPolicy == FsyncPolicy.PER_BATCH && endOfBatch)) {
+            force();
+        }
+    }
+
+    private void append(OrderCommand command, long sequence) {
+        if (segment == null || writePosition + JournalRecord.SIZE > segment.capacity()) {
+            roll(sequence);
+        }
+
+        JournalRecord.write(segment, writePosition, sequence, command, crc);
+        writePosition += JournalRecord.SIZE;
+    }
+
+    private void roll(long firstSequence) {
+        synchronized (forceLock) {
+            forceSegment();
+            try {
+                segment = JournalSegments.map(JournalSegments.path(directory, firstSequence),
+                        FileChannel.MapMode.READ_WRITE, segmentSize);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            writePosition = 0;
+            forcedPosition = 0;
+        }
+    }
+
+    public void force() {
+        synchronized (forceLock) {
+            long sequence = lastSequence;
+            forceSegment();
+            committedSequence = sequence;
+        }
+    }
+
+    private void forceSegment() {
+        int position = writePosition;
+        if (segment != null && position > forcedPosition) {
+            segment.force(forcedPosition, position - forcedPosition);
+            forcedPosition = position;
+        }
+    }
+
+    /**
+     * Blocks the calling request thread until {@code sequence} is durable or the timeout expires.
+     */
+    public boolean awaitCommitted(long sequence, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        int spins = 0;
+        while (committedSequence < sequence) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            if (spins++ < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(10_000);
+            }
+        }
+        return true;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public long getCommittedSequence() {
+        return committedSequence;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        force();
+    }
+}
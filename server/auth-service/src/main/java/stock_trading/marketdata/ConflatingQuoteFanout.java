@@ -0,0 +1,217 @@
+package stock_trading.marketdata;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans quote changes out to many subscribers without ever queueing per update.
+ *
+ * <p>On each {@link #tick(long)} the dispatcher diffs {@link QuoteStore} versions once, ORs the
+ * changed symbols into every subscriber's dirty bits, and starts a send for each subscriber whose
+ * flush interval has elapsed and whose previous send has finished. Sends run on the supplied
+ * executor and read the latest values straight from the store, so a subscriber that falls behind
+ * simply gets fewer, fresher updates. A slow subscriber only ever occupies its own in-flight send;
+ * under {@link SlowConsumerPolicy#DISCONNECT} it is dropped once that send stalls too long, and
+ * under either policy once it outlasts the write timeout.
+ *
+ * <p>A blocking write holds a sender thread, so as many stalled subscribers as sender threads
+ * would stop delivery to everyone. Dropping one therefore never waits for its send: the
+ * dispatcher interrupts the thread still writing to it and hands the sink to the closer executor,
+ * which closes the connection under the blocked write. The container's socket write timeout bounds
+ * a write that ignores both.
+ */
+@Slf4j
+public class ConflatingQuoteFanout {
+
+    private final QuoteStore quoteStore;
+    private final QuoteBatchEncoder encoder;
+    private final Executor sender;
+    private final Executor closer;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final long maxStallNanos;
+    private final long writeTimeoutNanos;
+    private final int symbolCount;
+
+    private final List<QuoteSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final long[] seenVersions;
+    private final long[] changed;
+    private final LongAdder conflated = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+
+    public ConflatingQuoteFanout(QuoteStore quoteStore, QuoteBatchEncoder encoder, Executor sender, Executor closer,
+                                 SlowConsumerPolicy slowConsumerPolicy, long maxStallNanos, long writeTimeoutNanos) {
+        this.quoteStore = quoteStore;
+        this.encoder = encoder;
+        this.sender = sender;
+        this.closer = closer;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.maxStallNanos = maxStallNanos;
+        this.writeTimeoutNanos = writeTimeoutNanos;
+        this.symbolCount = quoteStore.getRegistry().size();
+        this.seenVersions = new long[symbolCount];
+        this.changed = new long[(symbolCount + 63) >>> 6];
+    }
+
+    public QuoteSubscription subscribe(QuoteSink sink, long flushIntervalNanos, long now) {
+        QuoteSubscription subscription = new QuoteSubscription(sink, symbolCount, flushIntervalNanos, now);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public void unsubscribe(QuoteSubscription subscription) {
+        subscription.closed = true;
+        subscriptions.remove(subscription);
+    }
+
+    /**
+     * Runs one dispatcher pass. Must always be called from the same thread.
+     */
+    public void tick(long now) {
+        boolean anyChanged = collectChanges();
+
+        for (QuoteSubscription subscription : subscriptions) {
+            if (subscription.closed) {
+                subscriptions.remove(subscription);
+                continue;
+            }
+            if (anyChanged) {
+                for (int word = 0; word < changed.length; word++) {
+                    subscription.dirty[word] |= changed[word];
+                }
+            }
+            if (now - subscription.nextFlushAt >= 0) {
+                flush(subscription, now);
+            }
+        }
+    }
+
+    private boolean collectChanges() {
+        boolean anyChanged = false;
+        for (int word = 0; word < changed.length; word++) {
+            changed[word] = 0;
+        }
+        for (int id = 0; id < symbolCount; id++) {
+            long version = quoteStore.version(id);
+            if (version != seenVersions[id]) {
+                seenVersions[id] = version;
+                changed[id >>> 6] |= 1L << id;
+                anyChanged = true;
+            }
+        }
+        return anyChanged;
+    }
+
+    private void flush(QuoteSubscription subscription, long now) {
+        if (!subscription.inFlight.compareAndSet(false, true)) {
+            subscription.conflatedFlushes++;
+            conflated.increment();
+            long stalledFor = now - subscription.sendStartedAt;
+            if (stalledFor > writeTimeoutNanos
+                    || (slowConsumerPolicy == SlowConsumerPolicy.DISCONNECT && stalledFor > maxStallNanos)) {
+                disconnect(subscription);
+            }
+            return;
+        }
+
+        int count = 0;
+        for (int word = 0; word < subscription.dirty.length; word++) {
+            long bits = subscription.dirty[word];
+            subscription.dirty[word] = 0;
+            while (bits != 0) {
+                subscription.pending[count++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        subscription.nextFlushAt = now + subscription.flushIntervalNanos;
+
+        if (count == 0) {
+            subscription.inFlight.set(false);
+            return;
+        }
+        subscription.pendingCount = count;
+        subscription.sendStartedAt = now;
+        try {
+            sender.execute(() -> send(subscription));
+        } catch (RuntimeException ex) {
+            log.warn("Quote sender rejected a flush", ex);
+            restoreDirty(subscription);
+            subscription.inFlight.set(false);
+        }
+    }
+
+    /**
+     * Runs on the sender while holding the in-flight flag. A subscriber disconnected meanwhile keeps
+     * the flag, so nothing more is sent to it; its sink is closed by {@link #disconnect}.
+     */
+    private void send(QuoteSubscription subscription) {
+        synchronized (subscription) {
+            if (subscription.disconnected) {
+                return;
+            }
+            subscription.sendingThread = Thread.currentThread();
+        }
+        try {
+            int count = subscription.pendingCount;
+            for (int i = 0; i < count; i++) {
+                quoteStore.read(subscription.pending[i], subscription.views[i]);
+            }
+            subscription.sink.send(encoder.encode(subscription.views, count));
+        } catch (IOException | RuntimeException ex) {
+            log.debug("Dropping quote subscriber after failed send", ex);
+            unsubscribe(subscription);
+        }
+        synchronized (subscription) {
+            subscription.sendingThread = null;
+            // Clear an interrupt aimed at this send so it does not leak into the next task on this thread.
+            Thread.interrupted();
+            if (!subscription.disconnected) {
+                subscription.inFlight.set(false);
+            }
+        }
+    }
+
+    private void restoreDirty(QuoteSubscription subscription) {
+        for (int i = 0; i < subscription.pendingCount; i++) {
+            int id = subscription.pending[i];
+            subscription.dirty[id >>> 6] |= 1L << id;
+        }
+    }
+
+    /**
+     * Drops a subscriber without waiting on its connection: a send still writing to it is
+     * interrupted, and the sink is closed on the closer executor, apart from any sender thread.
+     */
+    private void disconnect(QuoteSubscription subscription) {
+        unsubscribe(subscription);
+        disconnected.increment();
+        synchronized (subscription) {
+            subscription.disconnected = true;
+            if (subscription.sendingThread != null) {
+                subscription.sendingThread.interrupt();
+            }
+        }
+        try {
+            closer.execute(subscription.sink::close);
+        } catch (RejectedExecutionException ex) {
+            subscription.sink.close();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    public long getConflatedFlushes() {
+        return conflated.sum();
+    }
+
+    public long getDisconnectedSubscribers() {
+        return disconnected.sum();
+    }
+}
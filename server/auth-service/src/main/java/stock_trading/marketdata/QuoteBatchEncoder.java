@@ -0,0 +1,9 @@
+package stock_trading.marketdata;
+
+public interface QuoteBatchEncoder {
+
+    /**
+     * Serializes the first {@code count} views into one payload for a subscriber.
+     */
+    String encode(QuoteView[] views, int count);
+}
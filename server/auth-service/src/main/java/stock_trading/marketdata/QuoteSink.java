@@ -0,0 +1,10 @@
+package stock_trading.marketdata;
+
+import java.io.IOException;
+
+public interface QuoteSink {
+
+    void send(String payload) throws IOException;
+
+    void close();
+}
@@ -0,0 +1,132 @@
+package stock_trading.marketdata;
+
+import stock_trading.engine.FillListener;
+import stock_trading.engine.Order;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.util.Prices;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Last-trade quotes held as parallel primitive arrays indexed by symbol id.
+ *
+ * <p>There is exactly one writer, the sequencer's consumer thread reporting fills. Each symbol
+ * has a seqlock-style version that is odd while the writer is mid-update; readers copy the fields
+ * and retry if the version moved, so they never block the writer or each other.
+ *
+ * <p>Sessions are UTC days. The first trade of a new day moves the last price into the previous
+ * close and restarts open, high, low and volume. Fills are stamped with their command's entry time,
+ * so the fills replayed at startup fall into the sessions they traded in.
+ */
+public class QuoteStore implements FillListener {
+
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    private final SymbolRegistry registry;
+    private final AtomicLongArray versions;
+    private final long[] price;
+    private final long[] previousClose;
+    private final long[] open;
+    private final long[] high;
+    private final long[] low;
+    private final long[] volume;
+    private final long[] timestamp;
+    private final long[] sharesOutstanding;
+    private final LongSupplier fillTimestamp;
+
+    public QuoteStore(SymbolRegistry registry) {
+        this(registry, System::currentTimeMillis);
+    }
+
+    /**
+     * @param fillTimestamp entry time of the command being applied, read on each fill
+     */
+    public QuoteStore(SymbolRegistry registry, LongSupplier fillTimestamp) {
+        this.registry = registry;
+        this.fillTimestamp = fillTimestamp;
+        int size = registry.size();
+        this.versions = new AtomicLongArray(size);
+        this.price = new long[size];
+        this.previousClose = new long[size];
+        this.open = new long[size];
+        this.high = new long[size];
+        this.low = new long[size];
+        this.volume = new long[size];
+        this.timestamp = new long[size];
+        this.sharesOutstanding = new long[size];
+
+        for (int id = 0; id < size; id++) {
+            Listing listing = registry.listing(id);
+            long close = Prices.fromDecimal(listing.previousClose());
+            previousClose[id] = close;
+            price[id] = close;
+            sharesOutstanding[id] = listing.sharesOutstanding();
+        }
+    }
+
+    @Override
+    public void onFill(int symbolId, long fillPrice, long quantity, Order maker, Order taker) {
+        onTrade(symbolId, fillPrice, quantity, fillTimestamp.getAsLong());
+    }
+
+    public void onTrade(int symbolId, long tradePrice, long quantity, long tradeTimestamp) {
+        long version = versions.get(symbolId);
+        versions.set(symbolId, version + 1);
+        VarHandle.storeStoreFence();
+
+        if (Math.floorDiv(tradeTimestamp, DAY_MILLIS) > Math.floorDiv(timestamp[symbolId], DAY_MILLIS)) {
+            previousClose[symbolId] = price[symbolId];
+            volume[symbolId] = 0;
+        }
+        if (volume[symbolId] == 0) {
+            open[symbolId] = tradePrice;
+            high[symbolId] = tradePrice;
+            low[symbolId] = tradePrice;
+        } else {
+            high[symbolId] = Math.max(high[symbolId], tradePrice);
+            low[symbolId] = Math.min(low[symbolId], tradePrice);
+        }
+        price[symbolId] = tradePrice;
+        volume[symbolId] += quantity;
+        timestamp[symbolId] = tradeTimestamp;
+
+        versions.set(symbolId, version + 2);
+    }
+
+    public void read(int symbolId, QuoteView view) {
+        while (true) {
+            long before = versions.get(symbolId);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            view.price = price[symbolId];
+            view.previousClose = previousClose[symbolId];
+            view.open = open[symbolId];
+            view.high = high[symbolId];
+            view.low = low[symbolId];
+            view.volume = volume[symbolId];
+            view.timestamp = timestamp[symbolId];
+            view.sharesOutstanding = sharesOutstanding[symbolId];
+
+            VarHandle.acquireFence();
+            if (versions.get(symbolId) == before) {
+                view.symbolId = symbolId;
+                view.version = before;
+                return;
+            }
+        }
+    }
+
+    public long version(int symbolId) {
+        return versions.get(symbolId);
+    }
+
+    public SymbolRegistry getRegistry() {
+        return registry;
+    }
+}
@@ -0,0 +1,48 @@
+package stock_trading.marketdata;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-subscriber conflation state: one dirty bit per symbol rather than a queue of updates, so
+ * memory stays at a few words per symbol however fast quotes change. The dispatcher owns
+ * {@code dirty}; a sender task owns {@code pending} and {@code views} while {@code inFlight} is set.
+ * {@code disconnected} and {@code sendingThread} are guarded by the subscription's monitor.
+ */
+public class QuoteSubscription {
+
+    final QuoteSink sink;
+    final long flushIntervalNanos;
+    final long[] dirty;
+    final int[] pending;
+    final QuoteView[] views;
+    final AtomicBoolean inFlight = new AtomicBoolean();
+
+    int pendingCount;
+    long nextFlushAt;
+    volatile long sendStartedAt;
+    volatile boolean closed;
+    boolean disconnected;
+    Thread sendingThread;
+    long conflatedFlushes;
+
+    QuoteSubscription(QuoteSink sink, int symbolCount, long flushIntervalNanos, long now) {
+        this.sink = sink;
+        this.flushIntervalNanos = flushIntervalNanos;
+        this.dirty = new long[(symbolCount + 63) >>> 6];
+        this.pending = new int[symbolCount];
+        this.views = new QuoteView[symbolCount];
+        for (int i = 0; i < symbolCount; i++) {
+            views[i] = new QuoteView();
+            dirty[i >>> 6] |= 1L << i;
+        }
+        this.nextFlushAt = now;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public long getConflatedFlushes() {
+        return conflatedFlushes;
+    }
+}
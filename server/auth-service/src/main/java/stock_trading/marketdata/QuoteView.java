@@ -0,0 +1,34 @@
+package stock_trading.marketdata;
+
+import lombok.Getter;
+import stock_trading.util.Prices;
+
+/**
+ * Reader-owned holder for one consistent quote read from {@link QuoteStore}. Reuse an instance
+ * across reads to keep polling allocation-free.
+ */
+@Getter
+public class QuoteView {
+    int symbolId;
+    long version;
+    long price;
+    long previousClose;
+    long open;
+    long high;
+    long low;
+    long volume;
+    long timestamp;
+    long sharesOutstanding;
+
+    public long getChange() {
+        return price - previousClose;
+    }
+
+    public double getChangePercent() {
+        return previousClose == 0 ? 0 : (price - previousClose) * 100.0 / previousClose;
+    }
+
+    public long getMarketCap() {
+        return Prices.notional(price, sharesOutstanding);
+    }
+}
@@ -0,0 +1,18 @@
+package stock_trading.marketdata;
+
+import java.util.Locale;
+
+public enum SlowConsumerPolicy {
+    /**
+     * Keep the subscriber and keep conflating until its current send completes, or outlasts the write timeout.
+     */
+    CONFLATE,
+    /**
+     * Close the subscriber once a send has been in flight longer than the allowed stall time.
+     */
+    DISCONNECT;
+
+    public static SlowConsumerPolicy of(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
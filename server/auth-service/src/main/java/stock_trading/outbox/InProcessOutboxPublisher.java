@@ -0,0 +1,30 @@
+package stock_trading.outbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Hands relayed batches to subscribers in this JVM, on the relay's thread. Stands in for a broker
+ * in tests and when no other {@link OutboxPublisher} is configured; with no subscribers, events
+ * are simply consumed.
+ */
+public class InProcessOutboxPublisher implements OutboxPublisher {
+
+    private final List<Consumer<List<OutboxMessage>>> subscribers = new CopyOnWriteArrayList<>();
+
+    public void subscribe(Consumer<List<OutboxMessage>> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<List<OutboxMessage>> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        for (Consumer<List<OutboxMessage>> subscriber : subscribers) {
+            subscriber.accept(batch);
+        }
+    }
+}
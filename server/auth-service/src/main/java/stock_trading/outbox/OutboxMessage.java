@@ -0,0 +1,18 @@
+package stock_trading.outbox;
+
+import java.time.Instant;
+
+/**
+ * An outbox event as handed to a publisher. {@code id} increases with insertion order and lets
+ * consumers discard the duplicates that at-least-once delivery allows.
+ *
+ * @param payload the event body as JSON
+ */
+public record OutboxMessage(
+        long id,
+        String aggregateType,
+        long aggregateId,
+        String eventType,
+        String payload,
+        Instant createdAt) {
+}
@@ -0,0 +1,13 @@
+package stock_trading.outbox;
+
+import java.util.List;
+
+/**
+ * Delivers relayed events to consumers. A batch counts as published only if this returns; throwing
+ * leaves every event of the batch in the outbox to be relayed again.
+ */
+@FunctionalInterface
+public interface OutboxPublisher {
+
+    void publish(List<OutboxMessage> batch);
+}
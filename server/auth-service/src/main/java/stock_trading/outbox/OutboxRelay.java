@@ -0,0 +1,107 @@
+package stock_trading.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+import stock_trading.entity.OutboxEvent;
+import stock_trading.repository.OutboxRepository;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox into an {@link OutboxPublisher} from a background thread, one batch per
+ * publish call.
+ *
+ * <p>A batch is claimed with {@code FOR UPDATE SKIP LOCKED}, published and deleted in one
+ * transaction, so relays on several instances drain disjoint batches without coordinating, and a
+ * batch whose publish fails stays in the outbox for the next attempt. Delivery is at least once:
+ * a commit that fails after a successful publish relays the batch again. Within one relay events
+ * go out in insertion order, but concurrent relays may interleave.
+ */
+@Slf4j
+public class OutboxRelay implements Closeable {
+
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactions;
+    private final OutboxPublisher publisher;
+    private final int batchSize;
+    private final ScheduledExecutorService poller;
+
+    public OutboxRelay(OutboxRepository outboxRepository, TransactionTemplate transactions, OutboxPublisher publisher,
+                       int batchSize, long pollIntervalMillis) {
+        this.outboxRepository = outboxRepository;
+        this.transactions = transactions;
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::drainQuietly, pollIntervalMillis, pollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Relays batches until the outbox holds less than a full one.
+     *
+     * @return the number of events published
+     */
+    public int drain() {
+        int total = 0;
+        int relayed;
+        do {
+            relayed = relayBatch();
+            total += relayed;
+        } while (relayed == batchSize);
+        return total;
+    }
+
+    /**
+     * Claims, publishes and deletes up to one batch of the oldest unclaimed events.
+     *
+     * @return the number of events published
+     */
+    public int relayBatch() {
+        Integer relayed = transactions.execute(status -> {
+            List<OutboxEvent> claimed = outboxRepository.claimBatch(batchSize);
+            if (claimed.isEmpty()) {
+                return 0;
+            }
+            List<OutboxMessage> batch = new ArrayList<>(claimed.size());
+            List<Long> ids = new ArrayList<>(claimed.size());
+            for (OutboxEvent event : claimed) {
+                batch.add(new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                        event.getEventType(), event.getPayload(), event.getCreatedAt()));
+                ids.add(event.getId());
+            }
+            publisher.publish(batch);
+            outboxRepository.deleteAllByIdInBatch(ids);
+            return claimed.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+
+    @Override
+    public void close() {
+        // Whatever is left stays in the outbox and is relayed after the next start.
+        poller.shutdown();
+        try {
+            poller.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException ex) {
+            log.error("Failed to relay outbox events, retrying", ex);
+        }
+    }
+}
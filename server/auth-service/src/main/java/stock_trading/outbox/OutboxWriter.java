@@ -0,0 +1,54 @@
+package stock_trading.outbox;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import stock_trading.entity.OutboxEvent;
+import stock_trading.repository.OutboxRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Adds events to the outbox inside the caller's transaction, so an event exists exactly when the
+ * change it describes commits. Publishing is left to the {@link OutboxRelay}.
+ */
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+    private final Function<Object, String> encoder;
+
+    /**
+     * @param encoder turns an event body into the JSON stored as its payload
+     */
+    public OutboxWriter(OutboxRepository outboxRepository, Function<Object, String> encoder) {
+        this.outboxRepository = outboxRepository;
+        this.encoder = encoder;
+    }
+
+    public void append(String aggregateType, long aggregateId, String eventType, Object body) {
+        appendAll(List.of(event(aggregateType, aggregateId, eventType, body)));
+    }
+
+    /**
+     * Inserts the events as one batch.
+     *
+     * @throws IllegalStateException if no transaction is active, since the events could then
+     *                               commit without the change or the change without them
+     */
+    public void appendAll(List<OutboxEvent> events) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be written in the transaction of their change");
+        }
+        outboxRepository.saveAll(events);
+    }
+
+    public OutboxEvent event(String aggregateType, long aggregateId, String eventType, Object body) {
+        return OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(encoder.apply(body))
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package stock_trading.portfolio;
+
+import java.util.Arrays;
+
+/**
+ * Holders of one symbol with the quantity and cost each is currently valued at. Removal swaps the
+ * last holder into the freed slot, so every operation is O(1) apart from the holder's own short
+ * list of held symbols.
+ */
+class HolderIndex {
+
+    private final int symbolId;
+    private PortfolioValue[] holders = new PortfolioValue[8];
+    private long[] quantities = new long[8];
+    private long[] costs = new long[8];
+    private int size;
+
+    HolderIndex(int symbolId) {
+        this.symbolId = symbolId;
+    }
+
+    int size() {
+        return size;
+    }
+
+    PortfolioValue holder(int slot) {
+        return holders[slot];
+    }
+
+    long quantity(int slot) {
+        return quantities[slot];
+    }
+
+    long cost(int slot) {
+        return costs[slot];
+    }
+
+    void add(PortfolioValue holder, long quantity, long cost) {
+        if (size == holders.length) {
+            holders = Arrays.copyOf(holders, size * 2);
+            quantities = Arrays.copyOf(quantities, size * 2);
+            costs = Arrays.copyOf(costs, size * 2);
+        }
+        holders[size] = holder;
+        quantities[size] = quantity;
+        costs[size] = cost;
+        holder.hold(symbolId, size);
+        size++;
+    }
+
+    void set(int slot, long quantity, long cost) {
+        quantities[slot] = quantity;
+        costs[slot] = cost;
+    }
+
+    void remove(int slot) {
+        PortfolioValue removed = holders[slot];
+        int last = --size;
+        if (slot != last) {
+            holders[slot] = holders[last];
+            quantities[slot] = quantities[last];
+            costs[slot] = costs[last];
+            holders[slot].moveHolding(symbolId, slot);
+        }
+        holders[last] = null;
+        removed.release(symbolId);
+    }
+
+    void clear() {
+        Arrays.fill(holders, 0, size, null);
+        size = 0;
+    }
+}
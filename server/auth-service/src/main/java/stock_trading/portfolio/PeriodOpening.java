@@ -0,0 +1,14 @@
+package stock_trading.portfolio;
+
+import java.time.LocalDate;
+
+/**
+ * The equity a user opened a UTC day and year with, in scaled price units.
+ */
+public record PeriodOpening(
+        long userId,
+        LocalDate day,
+        long dayEquity,
+        int year,
+        long yearEquity) {
+}
@@ -0,0 +1,92 @@
+package stock_trading.portfolio;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Saves each user's period openings to {@code portfolio_openings}, so the valuation can resume the
+ * day's and year's P&amp;L after a restart instead of counting from recovery.
+ *
+ * <p>An opening only changes when its period rolls over or the user first holds a position, so
+ * each save writes just the openings that differ from what was last loaded or saved.
+ */
+public class PeriodOpeningStore {
+
+    private static final String LOAD = """
+            select user_id, opening_day, day_equity, opening_year, year_equity from portfolio_openings
+            where opening_year = ?""";
+
+    private static final String UPSERT = """
+            insert into portfolio_openings (user_id, opening_day, day_equity, opening_year, year_equity)
+            values (?, ?, ?, ?, ?)
+            on conflict (user_id) do update
+            set opening_day = excluded.opening_day, day_equity = excluded.day_equity,
+                opening_year = excluded.opening_year, year_equity = excluded.year_equity""";
+
+    private final JdbcTemplate jdbc;
+    private final Map<Long, PeriodOpening> saved = new ConcurrentHashMap<>();
+
+    public PeriodOpeningStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * @return the saved openings of {@code year} by user id; earlier years no longer count
+     */
+    public Map<Long, PeriodOpening> load(int year) {
+        Map<Long, PeriodOpening> openings = new HashMap<>();
+        RowCallbackHandler row = rs -> openings.put(rs.getLong(1), new PeriodOpening(rs.getLong(1),
+                rs.getDate(2).toLocalDate(), rs.getLong(3), rs.getInt(4), rs.getLong(5)));
+        jdbc.query(LOAD, row, year);
+        saved.putAll(openings);
+        return openings;
+    }
+
+    /**
+     * Writes the openings that changed since the last load or save.
+     *
+     * @return the number of openings written
+     */
+    public int save(List<PeriodOpening> openings) {
+        List<PeriodOpening> changed = new ArrayList<>();
+        for (PeriodOpening opening : openings) {
+            if (!opening.equals(saved.get(opening.userId()))) {
+                changed.add(opening);
+            }
+        }
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        jdbc.batchUpdate(UPSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                PeriodOpening opening = changed.get(i);
+                statement.setLong(1, opening.userId());
+                statement.setDate(2, Date.valueOf(opening.day()));
+                statement.setLong(3, opening.dayEquity());
+                statement.setInt(4, opening.year());
+                statement.setLong(5, opening.yearEquity());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return changed.size();
+            }
+        });
+        for (PeriodOpening opening : changed) {
+            saved.put(opening.userId(), opening);
+        }
+        return changed.size();
+    }
+}
@@ -0,0 +1,83 @@
+package stock_trading.portfolio;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import stock_trading.eventbus.EventHandler;
+import stock_trading.eventbus.UserCreated;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Opens the {@code portfolios} row of each new account with the opening balance, off the request
+ * thread that registered it. The accounts of one drained batch are inserted in one statement batch.
+ *
+ * <p>An account that already has a row is left as it is. If a batch fails, settlement still opens
+ * those accounts the first time they trade. When the channel is full, the registering thread opens
+ * the account itself through {@link #open(long)}.
+ */
+public class PortfolioInitializer implements EventHandler<UserCreated> {
+
+    private static final String OPEN = """
+            insert into portfolios (user_id, balance, settled_date) values (?, ?, ?)
+            on conflict (user_id) do nothing""";
+
+    private final JdbcTemplate jdbc;
+    private final long openingBalance;
+    private final Clock clock;
+
+    private long[] pending = new long[64];
+    private int pendingCount;
+
+    public PortfolioInitializer(JdbcTemplate jdbc, long openingBalance, Clock clock) {
+        this.jdbc = jdbc;
+        this.openingBalance = openingBalance;
+        this.clock = clock;
+    }
+
+    @Override
+    public void onEvent(UserCreated event, long sequence, boolean endOfBatch) {
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        }
+        pending[pendingCount++] = event.getUserId();
+        if (endOfBatch) {
+            flush();
+        }
+    }
+
+    /**
+     * Opens one account synchronously, for when its event could not be published.
+     */
+    public void open(long userId) {
+        jdbc.update(OPEN, userId, openingBalance, settledDate());
+    }
+
+    private void flush() {
+        int count = pendingCount;
+        pendingCount = 0;
+        Date settledDate = settledDate();
+        jdbc.batchUpdate(OPEN, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                statement.setLong(1, pending[i]);
+                statement.setLong(2, openingBalance);
+                statement.setDate(3, settledDate);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return count;
+            }
+        });
+    }
+
+    private Date settledDate() {
+        // Nothing has settled yet, so the opening balance stands as of the day before the account opened.
+        return Date.valueOf(LocalDate.now(clock).minusDays(1));
+    }
+}
@@ -0,0 +1,207 @@
+package stock_trading.portfolio;
+
+import stock_trading.engine.Account;
+import stock_trading.engine.AccountLedger;
+import stock_trading.engine.FillListener;
+import stock_trading.engine.Order;
+import stock_trading.engine.Position;
+import stock_trading.marketdata.QuoteStore;
+import stock_trading.marketdata.QuoteView;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.util.Prices;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every user's market value and unrealized P&amp;L current as trades print.
+ *
+ * <p>A trade in symbol S first re-prices the holders of S found through the symbol's
+ * {@link HolderIndex}, then re-values the maker's and taker's holdings in S from the ledger. The
+ * cost of a tick therefore grows with the number of holders of S rather than with the number of
+ * users. Must be registered after the {@link AccountLedger} so it sees post-fill positions.
+ *
+ * <p>Ledger cash is the change from trading. Every account opens with the same cash, as the
+ * buying-power reserver assumes, so a user's cash is that opening cash plus the ledger's.
+ *
+ * <p>The same re-pricing accrues each holder's P&amp;L for the UTC day and year. A fill itself only
+ * swaps cash for market value at the trade price, so price moves are the only change in equity and
+ * a user's dashboard is one seqlock read however much the account trades. The equity each period
+ * opened with is saved through {@link #getOpenings} and handed back to {@link #rebuild}, so a
+ * restart resumes the periods rather than counting them from recovery.
+ */
+public class PortfolioValuation implements FillListener {
+
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    private final AccountLedger ledger;
+    private final long[] lastPrice;
+    private final HolderIndex[] holders;
+    private final Map<Long, PortfolioValue> values = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final long openingCash;
+    private final Valuation unvalued;
+    private long currentDay = Long.MIN_VALUE;
+    private int currentYear;
+
+    public PortfolioValuation(SymbolRegistry registry, AccountLedger ledger, long openingCash) {
+        this(registry, ledger, openingCash, Clock.systemUTC());
+    }
+
+    public PortfolioValuation(SymbolRegistry registry, AccountLedger ledger, long openingCash, Clock clock) {
+        this.ledger = ledger;
+        this.clock = clock;
+        this.openingCash = openingCash;
+        this.unvalued = new Valuation(openingCash, 0, 0, 0, 0, 0);
+        this.lastPrice = new long[registry.size()];
+        this.holders = new HolderIndex[registry.size()];
+        for (int id = 0; id < holders.length; id++) {
+            holders[id] = new HolderIndex(id);
+        }
+    }
+
+    @Override
+    public void onFill(int symbolId, long price, long quantity, Order maker, Order taker) {
+        reprice(symbolId, price);
+        revalue(maker.getUserId(), symbolId);
+        if (taker.getUserId() != maker.getUserId()) {
+            revalue(taker.getUserId(), symbolId);
+        }
+    }
+
+    public void rebuild(QuoteStore quoteStore) {
+        rebuild(quoteStore, Map.of());
+    }
+
+    /**
+     * Rebuilds every valuation from the ledger at the store's current prices, and resumes the P&amp;L
+     * of the current day and year from the equity they opened with. Openings of earlier periods
+     * are ignored. Call once after recovery, before the sequencer starts.
+     */
+    public void rebuild(QuoteStore quoteStore, Map<Long, PeriodOpening> openings) {
+        QuoteView view = new QuoteView();
+        for (int id = 0; id < holders.length; id++) {
+            quoteStore.read(id, view);
+            lastPrice[id] = view.getPrice();
+            holders[id].clear();
+        }
+        values.clear();
+
+        for (Account account : ledger.getAccounts()) {
+            for (int id = 0; id < holders.length; id++) {
+                if (account.getPosition(id) != null) {
+                    revalue(account.getUserId(), id);
+                }
+            }
+        }
+
+        long epochDay = Math.floorDiv(clock.millis(), DAY_MILLIS);
+        LocalDate today = LocalDate.ofEpochDay(epochDay);
+        for (PeriodOpening opening : openings.values()) {
+            Account account = ledger.getAccount(opening.userId());
+            if (account == null || opening.year() != today.getYear()) {
+                continue;
+            }
+            // An account that has closed all its positions still owes the P&L it accrued holding them.
+            PortfolioValue value = values.computeIfAbsent(opening.userId(), id -> new PortfolioValue());
+            value.beginWrite();
+            value.setCash(Math.addExact(openingCash, account.getCash()));
+            long equity = value.equity();
+            boolean sameDay = opening.day().equals(today);
+            value.resumePnl(epochDay, sameDay ? equity - opening.dayEquity() : 0, today.getYear(),
+                    equity - opening.yearEquity());
+            value.endWrite();
+        }
+    }
+
+    public Valuation getValuation(long userId) {
+        PortfolioValue value = values.get(userId);
+        if (value == null) {
+            return unvalued;
+        }
+        long epochDay = Math.floorDiv(clock.millis(), DAY_MILLIS);
+        return value.read(epochDay, LocalDate.ofEpochDay(epochDay).getYear());
+    }
+
+    /**
+     * @return the equity each valued user opened the current UTC day and year with; safe to call
+     * from any thread
+     */
+    public List<PeriodOpening> getOpenings() {
+        long epochDay = Math.floorDiv(clock.millis(), DAY_MILLIS);
+        LocalDate today = LocalDate.ofEpochDay(epochDay);
+        List<PeriodOpening> openings = new ArrayList<>(values.size());
+        values.forEach((userId, value) -> {
+            Valuation valuation = value.read(epochDay, today.getYear());
+            openings.add(new PeriodOpening(userId, today, valuation.equity() - valuation.dayPnl(), today.getYear(),
+                    valuation.equity() - valuation.yearPnl()));
+        });
+        return openings;
+    }
+
+    public long getLastPrice(int symbolId) {
+        return lastPrice[symbolId];
+    }
+
+    public int getHolderCount(int symbolId) {
+        return holders[symbolId].size();
+    }
+
+    private void reprice(int symbolId, long price) {
+        long change = price - lastPrice[symbolId];
+        if (change == 0) {
+            return;
+        }
+        lastPrice[symbolId] = price;
+
+        long epochDay = Math.floorDiv(clock.millis(), DAY_MILLIS);
+        if (epochDay != currentDay) {
+            currentDay = epochDay;
+            currentYear = LocalDate.ofEpochDay(epochDay).getYear();
+        }
+        HolderIndex index = holders[symbolId];
+        for (int slot = 0; slot < index.size(); slot++) {
+            PortfolioValue holder = index.holder(slot);
+            long delta = Prices.notional(index.quantity(slot), change);
+            holder.beginWrite();
+            holder.addMarketValue(delta);
+            holder.addPnl(delta, currentDay, currentYear);
+            holder.endWrite();
+        }
+    }
+
+    private void revalue(long userId, int symbolId) {
+        Account account = ledger.getAccount(userId);
+        if (account == null) {
+            return;
+        }
+        Position position = account.getPosition(symbolId);
+        long quantity = position == null ? 0 : position.getQuantity();
+        long cost = position == null ? 0 : position.getCost();
+
+        PortfolioValue value = values.computeIfAbsent(userId, id -> new PortfolioValue());
+        HolderIndex index = holders[symbolId];
+        int slot = value.slotOf(symbolId);
+        long previousQuantity = slot < 0 ? 0 : index.quantity(slot);
+        long previousCost = slot < 0 ? 0 : index.cost(slot);
+
+        value.beginWrite();
+        value.setCash(Math.addExact(openingCash, account.getCash()));
+        value.addMarketValue(Prices.notional(quantity - previousQuantity, lastPrice[symbolId]));
+        value.addCostBasis(Math.subtractExact(cost, previousCost));
+        if (slot < 0) {
+            if (quantity != 0) {
+                index.add(value, quantity, cost);
+            }
+        } else if (quantity == 0) {
+            index.remove(slot);
+        } else {
+            index.set(slot, quantity, cost);
+        }
+        value.endWrite();
+    }
+}
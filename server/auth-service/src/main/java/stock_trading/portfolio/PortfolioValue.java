@@ -0,0 +1,143 @@
+package stock_trading.portfolio;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running totals for one user. Written only by the valuation's thread under a seqlock, so
+ * {@link #read()} is O(1) and never blocks the writer.
+ */
+class PortfolioValue {
+
+    private final AtomicLong version = new AtomicLong();
+    private long cash;
+    private long marketValue;
+    private long costBasis;
+    private long pnlDay;
+    private long dayPnl;
+    private int pnlYear;
+    private long yearPnl;
+
+    private int[] heldSymbols = new int[4];
+    private int[] heldSlots = new int[4];
+    private int heldCount;
+
+    void beginWrite() {
+        version.set(version.get() + 1);
+        VarHandle.storeStoreFence();
+    }
+
+    void endWrite() {
+        version.set(version.get() + 1);
+    }
+
+    void setCash(long cash) {
+        this.cash = cash;
+    }
+
+    void addMarketValue(long delta) {
+        marketValue = Math.addExact(marketValue, delta);
+    }
+
+    void addCostBasis(long delta) {
+        costBasis = Math.addExact(costBasis, delta);
+    }
+
+    /**
+     * Restores the P&amp;L a period had accrued before a restart.
+     */
+    void resumePnl(long epochDay, long dayPnl, int year, long yearPnl) {
+        this.pnlDay = epochDay;
+        this.dayPnl = dayPnl;
+        this.pnlYear = year;
+        this.yearPnl = yearPnl;
+    }
+
+    /**
+     * @return cash plus market value; for the writer only
+     */
+    long equity() {
+        return cash + marketValue;
+    }
+
+    /**
+     * Accrues a price move to the day's and year's P&amp;L, restarting either when its period has rolled over.
+     */
+    void addPnl(long delta, long epochDay, int year) {
+        if (pnlDay != epochDay) {
+            pnlDay = epochDay;
+            dayPnl = 0;
+        }
+        if (pnlYear != year) {
+            pnlYear = year;
+            yearPnl = 0;
+        }
+        dayPnl = Math.addExact(dayPnl, delta);
+        yearPnl = Math.addExact(yearPnl, delta);
+    }
+
+    /**
+     * @param epochDay the reader's current day; P&amp;L accrued in an earlier day or year reads as zero
+     */
+    Valuation read(long epochDay, int year) {
+        while (true) {
+            long before = version.get();
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            long c = cash;
+            long value = marketValue;
+            long cost = costBasis;
+            int count = heldCount;
+            long day = pnlDay == epochDay ? dayPnl : 0;
+            long sinceNewYear = pnlYear == year ? yearPnl : 0;
+
+            VarHandle.acquireFence();
+            if (version.get() == before) {
+                return new Valuation(c, value, cost, count, day, sinceNewYear);
+            }
+        }
+    }
+
+    int slotOf(int symbolId) {
+        for (int i = 0; i < heldCount; i++) {
+            if (heldSymbols[i] == symbolId) {
+                return heldSlots[i];
+            }
+        }
+        return -1;
+    }
+
+    void hold(int symbolId, int slot) {
+        if (heldCount == heldSymbols.length) {
+            heldSymbols = Arrays.copyOf(heldSymbols, heldCount * 2);
+            heldSlots = Arrays.copyOf(heldSlots, heldCount * 2);
+        }
+        heldSymbols[heldCount] = symbolId;
+        heldSlots[heldCount] = slot;
+        heldCount++;
+    }
+
+    void moveHolding(int symbolId, int slot) {
+        for (int i = 0; i < heldCount; i++) {
+            if (heldSymbols[i] == symbolId) {
+                heldSlots[i] = slot;
+                return;
+            }
+        }
+    }
+
+    void release(int symbolId) {
+        for (int i = 0; i < heldCount; i++) {
+            if (heldSymbols[i] == symbolId) {
+                heldCount--;
+                heldSymbols[i] = heldSymbols[heldCount];
+                heldSlots[i] = heldSlots[heldCount];
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package stock_trading.portfolio;
+
+/**
+ * Consistent copy of one user's valuation, in scaled price units.
+ *
+ * @param dayPnl  change in equity from price moves since the start of the UTC day
+ * @param yearPnl change in equity from price moves since the start of the UTC year
+ */
+public record Valuation(
+        long cash,
+        long marketValue,
+        long costBasis,
+        int positions,
+        long dayPnl,
+        long yearPnl) {
+
+    public static final Valuation EMPTY = new Valuation(0, 0, 0, 0, 0, 0);
+
+    public long unrealizedPnl() {
+        return marketValue - costBasis;
+    }
+
+    public long equity() {
+        return cash + marketValue;
+    }
+}
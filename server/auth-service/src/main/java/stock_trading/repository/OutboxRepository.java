@@ -0,0 +1,22 @@
+package stock_trading.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import stock_trading.entity.OutboxEvent;
+
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest events no other relay holds. Must run in a transaction; rows locked by
+     * another instance are skipped rather than waited on, so relays drain disjoint batches.
+     */
+    @Query(value = """
+            select * from outbox_events
+            order by id
+            limit :limit
+            for update skip locked""", nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,33 @@
+package stock_trading.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import stock_trading.entity.PriceAlert;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface PriceAlertRepository extends JpaRepository<PriceAlert, Long> {
+
+    List<PriceAlert> findByUserIdOrderByIdDesc(Long userId);
+
+    long countByUserIdAndTriggeredAtIsNull(Long userId);
+
+    /**
+     * The next page of resting alerts after {@code id}, for loading the trigger engine at startup.
+     */
+    List<PriceAlert> findByTriggeredAtIsNullAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Transactional
+    long deleteByIdAndUserId(Long id, Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("update PriceAlert a set a.triggeredAt = :triggeredAt where a.id in :ids and a.triggeredAt is null")
+    int markTriggered(@Param("ids") Collection<Long> ids, @Param("triggeredAt") Instant triggeredAt);
+}
@@ -0,0 +1,36 @@
+package stock_trading.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import stock_trading.entity.Trade;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TradeRepository extends JpaRepository<Trade, Long> {
+
+    List<Trade> findByUserIdOrderByExecutedAtDescIdDesc(Long userId, Limit limit);
+
+    /**
+     * The journal sequence of the newest saved trade, or {@code null} if none is saved.
+     */
+    @Query("select max(t.sequence) from Trade t")
+    Long findLastSequence();
+
+    @Query("select t.entryNo from Trade t where t.sequence = :sequence")
+    List<Integer> findEntryNumbers(@Param("sequence") long sequence);
+
+    /**
+     * The page of a user's trades that follows {@code (executedAt, id)} newest first. Seeks the
+     * (user_id, executed_at, id) index instead of skipping rows, so deep pages cost the same as the first.
+     */
+    @Query(value = """
+            select * from trades
+            where user_id = :userId and (executed_at, id) < (:executedAt, :id)
+            order by executed_at desc, id desc
+            limit :limit""", nativeQuery = true)
+    List<Trade> findPageBefore(@Param("userId") Long userId, @Param("executedAt") Instant executedAt,
+                               @Param("id") Long id, @Param("limit") int limit);
+}
@@ -0,0 +1,19 @@
+package stock_trading.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+import stock_trading.entity.WatchlistEntry;
+
+import java.util.List;
+
+public interface WatchlistRepository extends JpaRepository<WatchlistEntry, Long> {
+
+    List<WatchlistEntry> findByUserIdOrderByIdAsc(Long userId);
+
+    boolean existsByUserIdAndSymbol(Long userId, String symbol);
+
+    long countByUserId(Long userId);
+
+    @Transactional
+    long deleteByUserIdAndSymbol(Long userId, String symbol);
+}
@@ -0,0 +1,133 @@
+package stock_trading.risk;
+
+import stock_trading.engine.Account;
+import stock_trading.engine.FillListener;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.Order;
+import stock_trading.engine.OrderBook;
+import stock_trading.engine.Side;
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.sequencer.OrderCommandHandler;
+import stock_trading.util.Prices;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pre-trade buying power per user, in scaled price units.
+ *
+ * <p>Request threads reserve a buy's full notional with a CAS on the user's own counter before the
+ * order is published, so concurrent orders from one account cannot overspend it and orders from
+ * different accounts never contend. The sequencer thread hands money back: the unused part of a
+ * reservation when a buy fills below its limit, the remaining notional when a buy is rejected,
+ * cancelled, replaced or expires, and the proceeds of every sell. A buy stop is reserved at its
+ * limit price from entry, while it waits for its trigger.
+ */
+public class BuyingPowerReserver implements FillListener, OrderCommandHandler {
+
+    private final long initialBuyingPower;
+    private final Map<Long, AtomicLong> available = new ConcurrentHashMap<>();
+
+    public BuyingPowerReserver(long initialBuyingPower) {
+        this.initialBuyingPower = initialBuyingPower;
+    }
+
+    /**
+     * @return {@code true} if {@code amount} was taken from the user's buying power
+     */
+    public boolean reserve(long userId, long amount) {
+        AtomicLong counter = counter(userId);
+        while (true) {
+            long current = counter.get();
+            if (current < amount) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - amount)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long userId, long amount) {
+        counter(userId).getAndAdd(amount);
+    }
+
+    public long getAvailable(long userId) {
+        return counter(userId).get();
+    }
+
+    @Override
+    public void onCommand(OrderCommand command, long sequence, boolean endOfBatch) {
+        if (command.getSide() != Side.BUY) {
+            return;
+        }
+        switch (command.getType()) {
+            case NEW -> {
+                if (command.isRejected()) {
+                    release(command.getUserId(), Prices.notional(command.getPrice(), command.getQuantity()));
+                }
+            }
+            case CANCEL -> {
+                if (!command.isRejected()) {
+                    release(command.getUserId(), Prices.notional(command.getPrice(), command.getQuantity()));
+                }
+            }
+            case REPLACE -> {
+                // The replacement was reserved up front; give back whichever order no longer rests.
+                if (command.isRejected()) {
+                    release(command.getUserId(), Prices.notional(command.getPrice(), command.getQuantity()));
+                } else {
+                    release(command.getUserId(),
+                            Prices.notional(command.getReplacedPrice(), command.getReplacedQuantity()));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onFill(int symbolId, long price, long quantity, Order maker, Order taker) {
+        settle(maker, price, quantity);
+        settle(taker, price, quantity);
+    }
+
+    @Override
+    public void onExpired(int symbolId, Order order) {
+        if (order.getSide() == Side.BUY) {
+            release(order.getUserId(), Prices.notional(order.getPrice(), order.getRemainingQuantity()));
+        }
+    }
+
+    private void settle(Order order, long price, long quantity) {
+        if (order.getSide() == Side.SELL) {
+            release(order.getUserId(), Prices.notional(price, quantity));
+        } else if (order.getPrice() != price) {
+            release(order.getUserId(), Prices.notional(order.getPrice() - price, quantity));
+        }
+    }
+
+    /**
+     * Recomputes every known user's buying power from recovered ledger cash minus the notional of
+     * their resting and pending stop buys. Call before the sequencer starts and before orders are accepted.
+     */
+    public void rebuild(MatchingEngine engine) {
+        available.clear();
+        for (Account account : engine.getLedger().getAccounts()) {
+            counter(account.getUserId()).getAndAdd(account.getCash());
+        }
+        for (OrderBook book : engine.getBooks()) {
+            book.forEachOrder(this::subtractReserved);
+            book.forEachStop(this::subtractReserved);
+        }
+    }
+
+    private void subtractReserved(Order order) {
+        if (order.getSide() == Side.BUY) {
+            counter(order.getUserId()).getAndAdd(-Prices.notional(order.getPrice(), order.getRemainingQuantity()));
+        }
+    }
+
+    private AtomicLong counter(long userId) {
+        return available.computeIfAbsent(userId, id -> new AtomicLong(initialBuyingPower));
+    }
+}
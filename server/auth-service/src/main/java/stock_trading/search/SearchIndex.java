@@ -0,0 +1,286 @@
+package stock_trading.search;
+
+import stock_trading.symbol.Listing;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable typeahead index over listing symbols and company names.
+ *
+ * <p>Prefixes are answered by a trie frozen into flat arrays whose nodes each carry their best
+ * {@link #MAX_RESULTS} listings, precomputed at build time, so a lookup walks the query once and
+ * never visits the subtree. Symbols rank ahead of full names, full names ahead of single name
+ * words, and larger companies first within each. When the prefixes run out of matches, listings
+ * sharing enough trigrams with the query fill the rest, which catches typos and infix matches.
+ */
+public final class SearchIndex {
+
+    public static final int MAX_RESULTS = 20;
+
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final int SYMBOL = 0;
+    private static final int NAME = 1;
+    private static final int NAME_WORD = 2;
+
+    private final Listing[] listings;
+    private final int[] sizeRanks;
+    private final Map<String, Integer> bySymbol;
+
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[][] best;
+
+    private final Map<Long, int[]> postings;
+    private final int[] gramCounts;
+
+    private SearchIndex(Listing[] listings, int[] sizeRanks, Map<String, Integer> bySymbol, char[] labels,
+                        int[] firstChild, int[] childCount, int[][] best, Map<Long, int[]> postings,
+                        int[] gramCounts) {
+        this.listings = listings;
+        this.sizeRanks = sizeRanks;
+        this.bySymbol = bySymbol;
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.best = best;
+        this.postings = postings;
+        this.gramCounts = gramCounts;
+    }
+
+    public static SearchIndex build(List<Listing> universe) {
+        Listing[] listings = universe.toArray(new Listing[0]);
+        Map<String, Integer> bySymbol = new HashMap<>();
+        BuildNode root = new BuildNode('\0');
+        Map<Long, List<Integer>> grams = new HashMap<>();
+        int[] gramCounts = new int[listings.length];
+
+        for (int id = 0; id < listings.length; id++) {
+            String symbol = normalize(listings[id].symbol());
+            String name = normalize(listings[id].name() == null ? "" : listings[id].name());
+            bySymbol.put(symbol, id);
+            root.insert(symbol, id, SYMBOL);
+            if (!name.isEmpty()) {
+                root.insert(name, id, NAME);
+                for (String word : name.split(" ")) {
+                    root.insert(word, id, NAME_WORD);
+                }
+            }
+
+            Set<Long> entryGrams = trigrams(symbol + " " + name);
+            gramCounts[id] = entryGrams.size();
+            for (long gram : entryGrams) {
+                grams.computeIfAbsent(gram, key -> new ArrayList<>()).add(id);
+            }
+        }
+
+        // Zero for the largest company by market cap.
+        int[] sizeRanks = new int[listings.length];
+        Integer[] bySize = new Integer[listings.length];
+        Arrays.setAll(bySize, id -> id);
+        Arrays.sort(bySize, Comparator.comparing((Integer id) -> marketCap(listings[id])).reversed()
+                .thenComparing(id -> listings[id].symbol()));
+        for (int rank = 0; rank < bySize.length; rank++) {
+            sizeRanks[bySize[rank]] = rank;
+        }
+        Comparator<Candidate> ranking = Comparator.comparingInt(Candidate::kind)
+                .thenComparingInt(candidate -> sizeRanks[candidate.id()]);
+
+        // Freeze breadth first so each node's children sit next to each other, sorted by label.
+        List<BuildNode> nodes = new ArrayList<>();
+        nodes.add(root);
+        int[] firstChild = new int[0];
+        int[] childCount = new int[0];
+        for (int i = 0; i < nodes.size(); i++) {
+            BuildNode node = nodes.get(i);
+            if (i == firstChild.length) {
+                firstChild = Arrays.copyOf(firstChild, Math.max(16, i * 2));
+                childCount = Arrays.copyOf(childCount, firstChild.length);
+            }
+            firstChild[i] = nodes.size();
+            childCount[i] = node.children.size();
+            nodes.addAll(node.children.values());
+        }
+
+        char[] labels = new char[nodes.size()];
+        int[][] best = new int[nodes.size()][];
+        for (int i = 0; i < nodes.size(); i++) {
+            BuildNode node = nodes.get(i);
+            labels[i] = node.label;
+            best[i] = node.candidates.entrySet().stream()
+                    .map(entry -> new Candidate(entry.getKey(), entry.getValue()))
+                    .sorted(ranking)
+                    .limit(MAX_RESULTS)
+                    .mapToInt(Candidate::id)
+                    .toArray();
+        }
+
+        Map<Long, int[]> postings = new HashMap<>(grams.size() * 2);
+        grams.forEach((gram, ids) -> postings.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return new SearchIndex(listings, sizeRanks, bySymbol, labels, Arrays.copyOf(firstChild, nodes.size()),
+                Arrays.copyOf(childCount, nodes.size()), best, postings, gramCounts);
+    }
+
+    /**
+     * @return up to {@code limit} listings matching {@code query}, best first
+     */
+    public List<Listing> search(String query, int limit) {
+        String normalized = normalize(query);
+        int max = Math.min(limit, MAX_RESULTS);
+        if (normalized.isEmpty() || max <= 0) {
+            return List.of();
+        }
+
+        Set<Integer> matches = new LinkedHashSet<>();
+        Integer exact = bySymbol.get(normalized);
+        if (exact != null) {
+            matches.add(exact);
+        }
+        int node = find(normalized);
+        if (node >= 0) {
+            for (int id : best[node]) {
+                if (matches.size() == max) {
+                    break;
+                }
+                matches.add(id);
+            }
+        }
+        if (matches.size() < max) {
+            similar(normalized, matches, max);
+        }
+
+        List<Listing> results = new ArrayList<>(matches.size());
+        for (int id : matches) {
+            results.add(listings[id]);
+        }
+        return results;
+    }
+
+    public int size() {
+        return listings.length;
+    }
+
+    private int find(String prefix) {
+        int node = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            int from = firstChild[node];
+            int index = Arrays.binarySearch(labels, from, from + childCount[node], prefix.charAt(i));
+            if (index < 0) {
+                return -1;
+            }
+            node = index;
+        }
+        return node;
+    }
+
+    private void similar(String query, Set<Integer> matches, int max) {
+        Set<Long> queryGrams = trigrams(query);
+        int[] shared = new int[listings.length];
+        for (long gram : queryGrams) {
+            int[] ids = postings.get(gram);
+            if (ids != null) {
+                for (int id : ids) {
+                    shared[id]++;
+                }
+            }
+        }
+
+        List<Similar> candidates = new ArrayList<>();
+        for (int id = 0; id < shared.length; id++) {
+            if (shared[id] > 0 && !matches.contains(id)) {
+                // Dice coefficient of the two trigram sets.
+                double similarity = 2.0 * shared[id] / (queryGrams.size() + gramCounts[id]);
+                if (similarity >= MIN_SIMILARITY) {
+                    candidates.add(new Similar(id, similarity));
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(Similar::similarity).reversed()
+                .thenComparingInt(candidate -> sizeRanks[candidate.id()]));
+        for (Similar candidate : candidates) {
+            if (matches.size() == max) {
+                break;
+            }
+            matches.add(candidate.id());
+        }
+    }
+
+    /**
+     * Lower-cases and reduces everything but letters and digits to single spaces.
+     */
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                if (space && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String word : text.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = " " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add((long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16 | padded.charAt(i + 2));
+            }
+        }
+        return grams;
+    }
+
+    private static BigDecimal marketCap(Listing listing) {
+        return listing.previousClose() == null ? BigDecimal.ZERO
+                : listing.previousClose().multiply(BigDecimal.valueOf(listing.sharesOutstanding()));
+    }
+
+    private record Candidate(int id, int kind) {
+    }
+
+    private record Similar(int id, double similarity) {
+    }
+
+    private static final class BuildNode {
+
+        private final char label;
+        private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        private final Map<Integer, Integer> candidates = new HashMap<>();
+
+        private BuildNode(char label) {
+            this.label = label;
+        }
+
+        private void insert(String term, int id, int kind) {
+            BuildNode node = this;
+            for (int i = 0; i < term.length(); i++) {
+                char c = term.charAt(i);
+                node = node.children.computeIfAbsent(c, BuildNode::new);
+                node.offer(id, kind);
+            }
+        }
+
+        private void offer(int id, int kind) {
+            candidates.merge(id, kind, Math::min);
+        }
+    }
+}
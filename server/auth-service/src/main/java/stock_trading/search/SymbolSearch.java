@@ -0,0 +1,61 @@
+package stock_trading.search;
+
+import lombok.extern.slf4j.Slf4j;
+import stock_trading.symbol.Listing;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Holds the current {@link SearchIndex}. Readers use whichever index is current without locking;
+ * a new listing universe is indexed on a background thread and swapped in once complete, so
+ * searches never see a partial index or wait for a rebuild.
+ */
+@Slf4j
+public class SymbolSearch implements Closeable {
+
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile SearchIndex index = SearchIndex.build(List.of());
+
+    public List<Listing> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    /**
+     * Indexes {@code listings} off the calling thread. Rebuilds are applied in submission order.
+     *
+     * @return the new index, once it is the current one
+     */
+    public CompletableFuture<SearchIndex> rebuild(List<Listing> listings) {
+        List<Listing> universe = List.copyOf(listings);
+        return CompletableFuture.supplyAsync(() -> {
+            long started = System.nanoTime();
+            SearchIndex built = SearchIndex.build(universe);
+            index = built;
+            log.info("Indexed {} listings for search in {} ms", built.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+            return built;
+        }, indexer).whenComplete((built, ex) -> {
+            if (ex != null) {
+                log.error("Failed to rebuild the search index", ex);
+            }
+        });
+    }
+
+    public SearchIndex getIndex() {
+        return index;
+    }
+
+    @Override
+    public void close() {
+        indexer.shutdownNow();
+    }
+}
@@ -0,0 +1,88 @@
+package stock_trading.sequencer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Verdicts of recently sequenced commands, so order entry can answer with a reject reason instead
+ * of acknowledging a command the validator or the engine refused. Runs as the last handler, after
+ * every handler that may reject.
+ *
+ * <p>The reason of each rejected command goes into a ring slot indexed by its sequence; accepted
+ * commands write nothing, and the processed mark moves once per batch. Readers check the slot's
+ * sequence before and after reading the reason, so a slot reused while they read is never
+ * mistaken for theirs. A verdict read {@code capacity} commands late may have been overwritten and
+ * reads as accepted; callers read right after {@link #awaitProcessed}.
+ */
+public class CommandOutcomes implements OrderCommandHandler {
+
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<String> reasons;
+    private final int mask;
+
+    private volatile long processedSequence;
+
+    public CommandOutcomes(int capacity, long initialSequence) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, -1);
+        }
+        this.reasons = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.processedSequence = initialSequence;
+    }
+
+    @Override
+    public void onCommand(OrderCommand command, long sequence, boolean endOfBatch) {
+        if (command.isRejected()) {
+            int slot = (int) sequence & mask;
+            sequences.set(slot, -1);
+            reasons.set(slot, command.getRejectReason());
+            sequences.set(slot, sequence);
+        }
+        if (endOfBatch) {
+            processedSequence = sequence;
+        }
+    }
+
+    /**
+     * Blocks the calling request thread until every handler has seen {@code sequence} or the
+     * timeout expires.
+     */
+    public boolean awaitProcessed(long sequence, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        int spins = 0;
+        while (processedSequence < sequence) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            if (spins++ < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(10_000);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return why the command at {@code sequence} was rejected, or {@code null} if it was accepted;
+     * only meaningful once {@code sequence} is processed
+     */
+    public String getRejectReason(long sequence) {
+        int slot = (int) sequence & mask;
+        if (sequences.get(slot) != sequence) {
+            return null;
+        }
+        String reason = reasons.get(slot);
+        return sequences.get(slot) == sequence ? reason : null;
+    }
+
+    public long getProcessedSequence() {
+        return processedSequence;
+    }
+}
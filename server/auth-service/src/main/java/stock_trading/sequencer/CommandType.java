@@ -0,0 +1,7 @@
+package stock_trading.sequencer;
+
+public enum CommandType {
+    NEW,
+    CANCEL,
+    REPLACE
+}
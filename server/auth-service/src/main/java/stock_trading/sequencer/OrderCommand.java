@@ -0,0 +1,65 @@
+package stock_trading.sequencer;
+
+import lombok.Getter;
+import lombok.Setter;
+import stock_trading.engine.OrderType;
+import stock_trading.engine.Side;
+
+/**
+ * Mutable ring buffer slot. Instances are preallocated once and reused for every sequence that
+ * maps onto them, so producers copy request fields in rather than allocating a new command.
+ */
+@Getter
+@Setter
+public class OrderCommand {
+    private CommandType type;
+    private long orderId;
+    private long userId;
+    private String symbol;
+    /** Registry id of {@link #symbol}, or -1 until the validator resolves it. */
+    private int symbolId = -1;
+    private Side side;
+    private OrderType orderType = OrderType.LIMIT;
+    /** Trigger price of a stop order; 0 for limit orders. */
+    private long stopPrice;
+    private long price;
+    private long quantity;
+    private long timestamp;
+    /** Price and remaining quantity of the order a successful REPLACE pulled. */
+    private long replacedPrice;
+    private long replacedQuantity;
+    private String rejectReason;
+
+    /**
+     * Also forgets the resolved id, so a reused slot never carries a stale one.
+     */
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+        this.symbolId = -1;
+    }
+
+    public void reject(String reason) {
+        this.rejectReason = reason;
+    }
+
+    public boolean isRejected() {
+        return rejectReason != null;
+    }
+
+    void clear() {
+        type = null;
+        orderId = 0;
+        userId = 0;
+        symbol = null;
+        symbolId = -1;
+        side = null;
+        orderType = OrderType.LIMIT;
+        stopPrice = 0;
+        price = 0;
+        quantity = 0;
+        timestamp = 0;
+        replacedPrice = 0;
+        replacedQuantity = 0;
+        rejectReason = null;
+    }
+}
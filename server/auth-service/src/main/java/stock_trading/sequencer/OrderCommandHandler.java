@@ -0,0 +1,10 @@
+package stock_trading.sequencer;
+
+public interface OrderCommandHandler {
+
+    /**
+     * @param endOfBatch true for the last command of the batch the consumer drained in one pass,
+     *                   letting handlers defer flushes and other per-batch work until then
+     */
+    void onCommand(OrderCommand command, long sequence, boolean endOfBatch);
+}
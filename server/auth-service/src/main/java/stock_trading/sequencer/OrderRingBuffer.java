@@ -0,0 +1,108 @@
+package stock_trading.sequencer;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preallocated multi-producer, single-consumer ring of {@link OrderCommand} slots.
+ *
+ * <p>Producers claim a sequence with a CAS on the cursor, fill the slot, then mark it published
+ * in the availability array. The consumer only reads slots whose availability flag matches the
+ * current lap, so a producer that claimed early but published late never exposes a half-written
+ * command. Producers never block: {@link #tryNext()} returns {@code -1} when the ring is full.
+ */
+public class OrderRingBuffer {
+
+    private final OrderCommand[] entries;
+    private final int mask;
+    private final int indexShift;
+    private final AtomicIntegerArray available;
+
+    private final AtomicLong cursor;
+    private final AtomicLong consumerSequence;
+
+    public OrderRingBuffer(int bufferSize) {
+        this(bufferSize, -1);
+    }
+
+    public OrderRingBuffer(int bufferSize, long initialSequence) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize must be a power of two");
+        }
+
+        this.entries = new OrderCommand[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            entries[i] = new OrderCommand();
+        }
+        this.mask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.available = new AtomicIntegerArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            available.set(i, -1);
+        }
+        this.cursor = new AtomicLong(initialSequence);
+        this.consumerSequence = new AtomicLong(initialSequence);
+    }
+
+    public long tryNext() {
+        long current;
+        long next;
+        do {
+            current = cursor.get();
+            next = current + 1;
+            if (next - entries.length > consumerSequence.get()) {
+                return -1;
+            }
+        } while (!cursor.compareAndSet(current, next));
+
+        OrderCommand command = entries[(int) next & mask];
+        command.clear();
+        return next;
+    }
+
+    public OrderCommand get(long sequence) {
+        return entries[(int) sequence & mask];
+    }
+
+    public void publish(long sequence) {
+        available.lazySet((int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    public boolean isPublished(long sequence) {
+        return available.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    /**
+     * Highest sequence in {@code [from, cursor]} that is published with no gaps before it, or
+     * {@code from - 1} if {@code from} itself is not yet published.
+     */
+    public long highestPublished(long from) {
+        long upper = cursor.get();
+        for (long sequence = from; sequence <= upper; sequence++) {
+            if (!isPublished(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return upper;
+    }
+
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public long getConsumerSequence() {
+        return consumerSequence.get();
+    }
+
+    void advanceConsumer(long sequence) {
+        consumerSequence.lazySet(sequence);
+    }
+
+    public int getBufferSize() {
+        return entries.length;
+    }
+
+    public long depth() {
+        return cursor.get() - consumerSequence.get();
+    }
+}
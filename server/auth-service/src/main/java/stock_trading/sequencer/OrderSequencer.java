@@ -0,0 +1,181 @@
+package stock_trading.sequencer;
+
+import lombok.extern.slf4j.Slf4j;
+import stock_trading.engine.OrderType;
+import stock_trading.engine.Side;
+
+import java.util.List;
+
+/**
+ * Funnels order commands from many request threads into one consumer thread. The ring buffer
+ * sequence is the global order of execution: every handler sees commands in exactly that order,
+ * and the consumer hands them over in batches of whatever was published since its last pass.
+ */
+@Slf4j
+public class OrderSequencer {
+
+    private final OrderRingBuffer ringBuffer;
+    private final OrderValidator validator;
+    private final List<OrderCommandHandler> handlers;
+    private final WaitStrategy waitStrategy;
+    private final SequencerMetrics metrics;
+
+    private volatile boolean running;
+    private Thread consumer;
+
+    public OrderSequencer(OrderRingBuffer ringBuffer, OrderValidator validator, List<OrderCommandHandler> handlers,
+                          WaitStrategy waitStrategy, SequencerMetrics metrics) {
+        this.ringBuffer = ringBuffer;
+        this.validator = validator;
+        this.handlers = List.copyOf(handlers);
+        this.waitStrategy = waitStrategy;
+        this.metrics = metrics;
+    }
+
+    public long publishNew(long userId, String symbol, Side side, long price, long quantity) {
+        return publishNew(userId, symbol, side, OrderType.LIMIT, 0, price, quantity);
+    }
+
+    /**
+     * Enters a limit or stop order; {@code stopPrice} is ignored for limit orders.
+     */
+    public long publishNew(long userId, String symbol, Side side, OrderType orderType, long stopPrice, long price,
+                           long quantity) {
+        long sequence = ringBuffer.tryNext();
+        if (sequence < 0) {
+            metrics.onRingFull();
+            return -1;
+        }
+
+        OrderCommand command = ringBuffer.get(sequence);
+        command.setType(CommandType.NEW);
+        command.setOrderId(sequence);
+        command.setUserId(userId);
+        command.setSymbol(symbol);
+        command.setSide(side);
+        command.setOrderType(orderType);
+        command.setStopPrice(orderType == OrderType.LIMIT ? 0 : stopPrice);
+        command.setPrice(price);
+        command.setQuantity(quantity);
+        command.setTimestamp(System.currentTimeMillis());
+        return commit(sequence);
+    }
+
+    public long publishCancel(long userId, String symbol, long orderId) {
+        long sequence = ringBuffer.tryNext();
+        if (sequence < 0) {
+            metrics.onRingFull();
+            return -1;
+        }
+
+        OrderCommand command = ringBuffer.get(sequence);
+        command.setType(CommandType.CANCEL);
+        command.setOrderId(orderId);
+        command.setUserId(userId);
+        command.setSymbol(symbol);
+        command.setTimestamp(System.currentTimeMillis());
+        return commit(sequence);
+    }
+
+    /**
+     * Cancels {@code orderId} and enters a new order for its user at {@code price} and
+     * {@code quantity} in one command, so the replacement is only entered if the original was
+     * still resting. The replacement's order id is the returned sequence.
+     */
+    public long publishReplace(long userId, String symbol, long orderId, Side side, long price, long quantity) {
+        long sequence = ringBuffer.tryNext();
+        if (sequence < 0) {
+            metrics.onRingFull();
+            return -1;
+        }
+
+        OrderCommand command = ringBuffer.get(sequence);
+        command.setType(CommandType.REPLACE);
+        command.setOrderId(orderId);
+        command.setUserId(userId);
+        command.setSymbol(symbol);
+        command.setSide(side);
+        command.setPrice(price);
+        command.setQuantity(quantity);
+        command.setTimestamp(System.currentTimeMillis());
+        return commit(sequence);
+    }
+
+    private long commit(long sequence) {
+        ringBuffer.publish(sequence);
+        metrics.onPublished();
+        return sequence;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        consumer = new Thread(this::run, "order-sequencer");
+        consumer.start();
+    }
+
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        consumer.interrupt();
+        consumer.join();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public OrderRingBuffer getRingBuffer() {
+        return ringBuffer;
+    }
+
+    private void run() {
+        long next = ringBuffer.getConsumerSequence() + 1;
+        int idle = 0;
+
+        while (running) {
+            long available = ringBuffer.highestPublished(next);
+            if (available < next) {
+                idle = waitStrategy.idle(idle);
+                continue;
+            }
+            idle = 0;
+            processBatch(next, available);
+            next = available + 1;
+        }
+
+        long remaining = ringBuffer.highestPublished(next);
+        if (remaining >= next) {
+            processBatch(next, remaining);
+        }
+    }
+
+    void processBatch(long from, long to) {
+        long rejected = 0;
+        for (long sequence = from; sequence <= to; sequence++) {
+            OrderCommand command = ringBuffer.get(sequence);
+            String reason = validator.validate(command);
+            if (reason != null) {
+                command.reject(reason);
+                rejected++;
+            }
+            dispatch(command, sequence, sequence == to);
+        }
+        ringBuffer.advanceConsumer(to);
+        metrics.onBatch(to - from + 1, rejected);
+    }
+
+    private void dispatch(OrderCommand command, long sequence, boolean endOfBatch) {
+        for (OrderCommandHandler handler : handlers) {
+            try {
+                handler.onCommand(command, sequence, endOfBatch);
+            } catch (RuntimeException ex) {
+                log.error("Order handler {} failed at sequence {}", handler.getClass().getSimpleName(), sequence, ex);
+            }
+        }
+    }
+}
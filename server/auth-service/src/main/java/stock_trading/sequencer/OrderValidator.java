@@ -0,0 +1,11 @@
+package stock_trading.sequencer;
+
+public interface OrderValidator {
+
+    OrderValidator ACCEPT_ALL = command -> null;
+
+    /**
+     * @return the reject reason, or {@code null} if the command may be dispatched
+     */
+    String validate(OrderCommand command);
+}
@@ -0,0 +1,46 @@
+package stock_trading.sequencer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class SequencerMetrics {
+
+    private final Counter published;
+    private final Counter rejectedFull;
+    private final Counter processed;
+    private final Counter rejected;
+    private final DistributionSummary batchSize;
+
+    public SequencerMetrics(MeterRegistry registry, OrderRingBuffer ringBuffer) {
+        Gauge.builder("orders.sequencer.depth", ringBuffer, OrderRingBuffer::depth)
+                .description("Commands claimed by producers but not yet processed by the consumer")
+                .register(registry);
+        Gauge.builder("orders.sequencer.capacity", ringBuffer, OrderRingBuffer::getBufferSize)
+                .register(registry);
+
+        this.published = registry.counter("orders.sequencer.published");
+        this.rejectedFull = registry.counter("orders.sequencer.full");
+        this.processed = registry.counter("orders.sequencer.processed");
+        this.rejected = registry.counter("orders.sequencer.rejected");
+        this.batchSize = DistributionSummary.builder("orders.sequencer.batch.size")
+                .register(registry);
+    }
+
+    void onPublished() {
+        published.increment();
+    }
+
+    void onRingFull() {
+        rejectedFull.increment();
+    }
+
+    void onBatch(long size, long rejectedInBatch) {
+        processed.increment(size);
+        if (rejectedInBatch > 0) {
+            rejected.increment(rejectedInBatch);
+        }
+        batchSize.record(size);
+    }
+}
@@ -0,0 +1,56 @@
+package stock_trading.sequencer;
+
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How the consumer thread idles while the ring buffer is empty. Each call receives the number of
+ * consecutive empty polls so far and returns the updated count.
+ */
+public interface WaitStrategy {
+
+    int SPIN_TRIES = 100;
+    int YIELD_TRIES = 100;
+
+    int idle(int counter);
+
+    static WaitStrategy busySpin() {
+        return counter -> {
+            Thread.onSpinWait();
+            return counter + 1;
+        };
+    }
+
+    static WaitStrategy yielding() {
+        return counter -> {
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            return counter + 1;
+        };
+    }
+
+    static WaitStrategy parking(long parkNanos) {
+        return counter -> {
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (counter < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(parkNanos);
+            }
+            return counter + 1;
+        };
+    }
+
+    static WaitStrategy of(String name, long parkNanos) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "busy-spin" -> busySpin();
+            case "yield" -> yielding();
+            case "park" -> parking(parkNanos);
+            default -> throw new IllegalArgumentException("Unknown wait strategy: " + name);
+        };
+    }
+}
@@ -0,0 +1,282 @@
+package stock_trading.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import stock_trading.alert.AlertDirection;
+import stock_trading.alert.AlertTrigger;
+import stock_trading.alert.TriggeredAlert;
+import stock_trading.dto.AlertNotification;
+import stock_trading.dto.CreateAlertRequest;
+import stock_trading.dto.PriceAlertRecord;
+import stock_trading.entity.PriceAlert;
+import stock_trading.entity.UserPrincipal;
+import stock_trading.exception.AlertLimitException;
+import stock_trading.exception.SymbolNotFoundException;
+import stock_trading.marketdata.QuoteStore;
+import stock_trading.marketdata.QuoteView;
+import stock_trading.repository.PriceAlertRepository;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.util.Prices;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Creates and cancels price alerts and delivers the ones that fire. Alerts are stored first and
+ * then handed to the {@link AlertTrigger}; fired alerts are marked in one update per batch and
+ * pushed as {@code alert} events to the owner's open streams.
+ *
+ * <p>The scheduled pass only queues notifications. Each stream has at most one send in flight on
+ * the alert sender pool, so a slow client never holds up the scheduler or another stream; a
+ * stream whose send makes no progress for {@code max-stall-millis} is dropped, and completed by
+ * that send once it returns.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlertService {
+
+    private final PriceAlertRepository priceAlertRepository;
+    private final AlertTrigger alertTrigger;
+    private final QuoteStore quoteStore;
+    private final SymbolRegistry symbolRegistry;
+    private final ExecutorService alertSenderExecutor;
+    private final Map<Long, List<AlertStream>> streams = new ConcurrentHashMap<>();
+
+    @Value("${app.alerts.max-per-user}")
+    private int maxPerUser;
+
+    @Value("${app.alerts.max-stall-millis}")
+    private long maxStallMillis;
+
+    public PriceAlertRecord createAlert(CreateAlertRequest request, Authentication authentication) {
+        long userId = getUserId(authentication);
+        int symbolId = symbolRegistry.idOf(request.getSymbol());
+        if (symbolId == SymbolRegistry.UNKNOWN) {
+            throw new SymbolNotFoundException("unknown symbol: " + request.getSymbol());
+        }
+        if (priceAlertRepository.countByUserIdAndTriggeredAtIsNull(userId) >= maxPerUser) {
+            throw new AlertLimitException("at most " + maxPerUser + " alerts can be active");
+        }
+
+        long threshold = Prices.fromDecimal(request.getPrice());
+        AlertDirection direction = request.getDirection();
+        if (direction == null) {
+            QuoteView quote = new QuoteView();
+            quoteStore.read(symbolId, quote);
+            direction = threshold >= quote.getPrice() ? AlertDirection.ABOVE : AlertDirection.BELOW;
+        }
+
+        PriceAlert alert = priceAlertRepository.save(PriceAlert.builder()
+                .userId(userId)
+                .symbol(symbolRegistry.symbolOf(symbolId))
+                .direction(direction)
+                .threshold(threshold)
+                .createdAt(Instant.now())
+                .build());
+        alertTrigger.add(alert.getId(), userId, symbolId, direction, threshold);
+        return toRecord(alert);
+    }
+
+    public List<PriceAlertRecord> getAlerts(Authentication authentication) {
+        return priceAlertRepository.findByUserIdOrderByIdDesc(getUserId(authentication)).stream()
+                .map(AlertService::toRecord)
+                .toList();
+    }
+
+    public void deleteAlert(long alertId, Authentication authentication) {
+        if (priceAlertRepository.deleteByIdAndUserId(alertId, getUserId(authentication)) > 0) {
+            alertTrigger.cancel(alertId);
+        }
+    }
+
+    public SseEmitter subscribe(Authentication authentication) {
+        long userId = getUserId(authentication);
+        SseEmitter emitter = new SseEmitter(0L);
+        AlertStream stream = new AlertStream(userId, emitter);
+        emitter.onCompletion(() -> unsubscribe(stream));
+        emitter.onTimeout(() -> unsubscribe(stream));
+        emitter.onError(ex -> unsubscribe(stream));
+        streams.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(stream);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.alerts.notify-interval-millis}")
+    public void deliverTriggered() {
+        List<TriggeredAlert> fired = new ArrayList<>();
+        alertTrigger.drainTriggered(fired::add);
+        if (!fired.isEmpty()) {
+            try {
+                priceAlertRepository.markTriggered(fired.stream().map(TriggeredAlert::alertId).toList(),
+                        Instant.now());
+            } catch (RuntimeException ex) {
+                // Unmarked alerts are reloaded on restart and may fire again; still tell users now.
+                log.error("Failed to mark {} alerts as triggered", fired.size(), ex);
+            }
+            for (TriggeredAlert alert : fired) {
+                notify(alert);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        for (List<AlertStream> userStreams : streams.values()) {
+            for (AlertStream stream : userStreams) {
+                if (stalled(stream, now)) {
+                    drop(stream);
+                } else {
+                    dispatch(stream);
+                }
+            }
+        }
+    }
+
+    private void notify(TriggeredAlert alert) {
+        List<AlertStream> userStreams = streams.get(alert.userId());
+        if (userStreams == null) {
+            return;
+        }
+        AlertNotification notification = new AlertNotification(alert.alertId(),
+                symbolRegistry.symbolOf(alert.symbolId()), alert.direction(), Prices.toDouble(alert.threshold()),
+                Prices.toDouble(alert.price()), Instant.ofEpochMilli(alert.timestamp()));
+        for (AlertStream stream : userStreams) {
+            synchronized (stream) {
+                // Bounded: each alert fires once, and a user has at most max-per-user of them.
+                stream.pending.add(notification);
+            }
+        }
+    }
+
+    private void dispatch(AlertStream stream) {
+        synchronized (stream) {
+            if (stream.pending.isEmpty() || stream.inFlight) {
+                return;
+            }
+            stream.inFlight = true;
+        }
+        try {
+            alertSenderExecutor.execute(() -> send(stream));
+        } catch (RejectedExecutionException ex) {
+            // Retried on the next pass.
+            synchronized (stream) {
+                stream.inFlight = false;
+            }
+        }
+    }
+
+    /**
+     * Sends a stream's queue in order. Runs on the alert sender, one at a time per stream; if the
+     * stream was dropped meanwhile, completes it.
+     */
+    private void send(AlertStream stream) {
+        while (true) {
+            AlertNotification notification;
+            synchronized (stream) {
+                if (stream.dropped) {
+                    break;
+                }
+                notification = stream.pending.poll();
+                if (notification == null) {
+                    stream.inFlight = false;
+                    return;
+                }
+            }
+            try {
+                stream.emitter.send(SseEmitter.event().name("alert").data(notification, MediaType.APPLICATION_JSON));
+                stream.sent++;
+            } catch (IOException | IllegalStateException ex) {
+                unsubscribe(stream);
+                return;
+            }
+        }
+        stream.emitter.complete();
+    }
+
+    /**
+     * True once a send has been in flight without delivering anything for {@code max-stall-millis}.
+     */
+    private boolean stalled(AlertStream stream, long now) {
+        long sent = stream.sent;
+        boolean inFlight;
+        synchronized (stream) {
+            inFlight = stream.inFlight;
+        }
+        if (!inFlight || sent != stream.sentAtLastPass) {
+            stream.sentAtLastPass = sent;
+            stream.progressAt = now;
+            return false;
+        }
+        return now - stream.progressAt > maxStallMillis;
+    }
+
+    /**
+     * Stops delivering to a stalled stream. The emitter is completed by the send in flight once it
+     * returns, or on the sender if that send has just finished, so the scheduler never waits on a
+     * stuck connection.
+     */
+    private void drop(AlertStream stream) {
+        log.debug("Dropping stalled alert stream of user {}", stream.userId);
+        unsubscribe(stream);
+        boolean idle;
+        synchronized (stream) {
+            stream.dropped = true;
+            idle = !stream.inFlight;
+            stream.inFlight = true;
+        }
+        if (idle) {
+            try {
+                alertSenderExecutor.execute(stream.emitter::complete);
+            } catch (RejectedExecutionException ex) {
+                stream.emitter.complete();
+            }
+        }
+    }
+
+    private void unsubscribe(AlertStream stream) {
+        streams.computeIfPresent(stream.userId, (id, userStreams) -> {
+            userStreams.remove(stream);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+
+    private static PriceAlertRecord toRecord(PriceAlert alert) {
+        return new PriceAlertRecord(alert.getId(), alert.getSymbol(), alert.getDirection(),
+                Prices.toDouble(alert.getThreshold()), alert.getCreatedAt(), alert.getTriggeredAt());
+    }
+
+    private long getUserId(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return userPrincipal.getId();
+    }
+
+    private static final class AlertStream {
+
+        private final long userId;
+        private final SseEmitter emitter;
+        private final Queue<AlertNotification> pending = new ArrayDeque<>();
+        private boolean inFlight;
+        private boolean dropped;
+        private volatile long sent;
+        private long sentAtLastPass = -1;
+        private long progressAt;
+
+        private AlertStream(long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package stock_trading.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import stock_trading.candle.CandleAggregator;
+import stock_trading.candle.CandleSeries;
+import stock_trading.candle.Timeframe;
+import stock_trading.dto.CandleRecord;
+import stock_trading.exception.SymbolNotFoundException;
+import stock_trading.exception.UnsupportedTimeframeException;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.util.Prices;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CandleService {
+
+    static final int DEFAULT_BARS = 200;
+
+    private final CandleAggregator candleAggregator;
+    private final SymbolRegistry symbolRegistry;
+
+    public List<CandleRecord> getCandles(String symbol, String interval, Long from, Long to) {
+        int id = symbolRegistry.idOf(symbol);
+        if (id == SymbolRegistry.UNKNOWN) {
+            throw new SymbolNotFoundException("unknown symbol: " + symbol);
+        }
+        Timeframe timeframe = Timeframe.of(interval)
+                .orElseThrow(() -> new UnsupportedTimeframeException("unsupported interval: " + interval));
+
+        long end = to == null ? System.currentTimeMillis() : to;
+        long start = from == null ? end - DEFAULT_BARS * timeframe.getMillis() : from;
+
+        CandleSeries series = new CandleSeries();
+        candleAggregator.read(id, timeframe, start, end, series);
+
+        List<CandleRecord> candles = new ArrayList<>(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            candles.add(new CandleRecord(
+                    series.start(i),
+                    Prices.toDouble(series.open(i)),
+                    Prices.toDouble(series.high(i)),
+                    Prices.toDouble(series.low(i)),
+                    Prices.toDouble(series.close(i)),
+                    series.volume(i)));
+        }
+        return candles;
+    }
+}
@@ -0,0 +1,40 @@
+package stock_trading.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import stock_trading.dto.DashboardSummary;
+import stock_trading.entity.UserPrincipal;
+import stock_trading.portfolio.PortfolioValuation;
+import stock_trading.portfolio.Valuation;
+import stock_trading.util.Prices;
+
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private final PortfolioValuation portfolioValuation;
+
+    public DashboardSummary getSummary(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        Valuation valuation = portfolioValuation.getValuation(userPrincipal.getId());
+
+        return new DashboardSummary(
+                Prices.toDouble(valuation.equity()),
+                Prices.toDouble(valuation.dayPnl()),
+                percentOfOpening(valuation.equity(), valuation.dayPnl()),
+                Prices.toDouble(valuation.yearPnl()),
+                percentOfOpening(valuation.equity(), valuation.yearPnl()),
+                Prices.toDouble(valuation.cash()),
+                Prices.toDouble(valuation.marketValue()),
+                0);
+    }
+
+    /**
+     * P&amp;L as a percentage of the equity the period opened with.
+     */
+    private static double percentOfOpening(long equity, long pnl) {
+        long opening = equity - pnl;
+        return opening == 0 ? 0 : pnl * 100.0 / Math.abs(opening);
+    }
+}
@@ -0,0 +1,67 @@
+package stock_trading.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import stock_trading.depth.DepthDistributor;
+import stock_trading.depth.DepthSink;
+import stock_trading.dto.DepthSnapshotRecord;
+import stock_trading.exception.SymbolNotFoundException;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.io.IOException;
+
+/**
+ * Serves order book depth: the current levels of a symbol, and an SSE stream that opens with a
+ * {@code snapshot} event and continues with sequenced {@code update} events.
+ */
+@Service
+@RequiredArgsConstructor
+public class DepthService {
+
+    private final DepthDistributor depthDistributor;
+    private final SymbolRegistry symbolRegistry;
+
+    public DepthSnapshotRecord getDepth(String symbol) {
+        return depthDistributor.getSnapshot(symbolId(symbol));
+    }
+
+    public SseEmitter subscribe(String symbol) {
+        int symbolId = symbolId(symbol);
+        SseEmitter emitter = new SseEmitter(0L);
+        DepthSink sink = new SseDepthSink(emitter);
+        emitter.onCompletion(() -> depthDistributor.unsubscribe(symbolId, sink));
+        emitter.onTimeout(() -> depthDistributor.unsubscribe(symbolId, sink));
+        emitter.onError(ex -> depthDistributor.unsubscribe(symbolId, sink));
+        depthDistributor.subscribe(symbolId, sink);
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${app.depth.flush-interval-millis}")
+    public void dispatch() {
+        depthDistributor.tick(System.currentTimeMillis());
+    }
+
+    private int symbolId(String symbol) {
+        int symbolId = symbolRegistry.idOf(symbol);
+        if (symbolId == SymbolRegistry.UNKNOWN) {
+            throw new SymbolNotFoundException("unknown symbol: " + symbol);
+        }
+        return symbolId;
+    }
+
+    private record SseDepthSink(SseEmitter emitter) implements DepthSink {
+
+        @Override
+        public void send(String event, String payload) throws IOException {
+            emitter.send(SseEmitter.event().name(event).data(payload, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package stock_trading.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import stock_trading.dto.QuoteRecord;
+import stock_trading.exception.SymbolNotFoundException;
+import stock_trading.marketdata.QuoteStore;
+import stock_trading.marketdata.QuoteView;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.util.Prices;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class MarketDataService {
+
+    private final QuoteStore quoteStore;
+    private final SymbolRegistry symbolRegistry;
+
+    public List<QuoteRecord> getQuotes() {
+        QuoteView view = new QuoteView();
+        List<QuoteRecord> quotes = new ArrayList<>(symbolRegistry.size());
+        for (int id = 0; id < symbolRegistry.size(); id++) {
+            quoteStore.read(id, view);
+            quotes.add(toQuoteRecord(view));
+        }
+        return quotes;
+    }
+
+    public QuoteRecord getQuote(String symbol) {
+        int id = symbolRegistry.idOf(symbol);
+        if (id == SymbolRegistry.UNKNOWN) {
+            throw new SymbolNotFoundException("unknown symbol: " + symbol);
+        }
+
+        QuoteView view = new QuoteView();
+        quoteStore.read(id, view);
+        return toQuoteRecord(view);
+    }
+
+    public QuoteRecord toQuoteRecord(QuoteView view) {
+        Listing listing = symbolRegistry.listing(view.getSymbolId());
+        return new QuoteRecord(
+                String.valueOf(view.getSymbolId()),
+                listing.name(),
+                listing.symbol(),
+                Prices.toDouble(view.getPrice()),
+                Prices.toDouble(view.getChange()),
+                view.getChangePercent(),
+                view.getVolume(),
+                view.getMarketCap() / Prices.ONE,
+                Prices.toDouble(view.getOpen()),
+                Prices.toDouble(view.getHigh()),
+                Prices.toDouble(view.getLow()),
+                view.getTimestamp());
+    }
+}
@@ -0,0 +1,119 @@
+package stock_trading.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import stock_trading.dto.CancelOrderRequest;
+import stock_trading.dto.OrderAck;
+import stock_trading.dto.OrderRequest;
+import stock_trading.engine.OrderType;
+import stock_trading.engine.Side;
+import stock_trading.entity.UserPrincipal;
+import stock_trading.exception.DuplicateOrderException;
+import stock_trading.exception.InsufficientBuyingPowerException;
+import stock_trading.exception.JournalTimeoutException;
+import stock_trading.exception.OrderProcessingTimeoutException;
+import stock_trading.exception.OrderQueueFullException;
+import stock_trading.exception.OrderRejectedException;
+import stock_trading.idempotency.ClientOrderIdFilter;
+import stock_trading.journal.JournalWriter;
+import stock_trading.risk.BuyingPowerReserver;
+import stock_trading.sequencer.CommandOutcomes;
+import stock_trading.sequencer.OrderSequencer;
+import stock_trading.util.Prices;
+
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+public class OrderService {
+
+    private final OrderSequencer orderSequencer;
+    private final JournalWriter journalWriter;
+    private final BuyingPowerReserver buyingPowerReserver;
+    private final ClientOrderIdFilter clientOrderIdFilter;
+    private final CommandOutcomes commandOutcomes;
+
+    @Value("${app.journal.ack-timeout-millis}")
+    private long ackTimeoutMillis;
+
+    public OrderAck submitOrder(OrderRequest request, Authentication authentication) {
+        long userId = getUserId(authentication);
+        long clientOrderId = request.getClientOrderId() == null
+                ? ClientOrderIdFilter.NONE : request.getClientOrderId();
+        long now = System.currentTimeMillis();
+        if (!clientOrderIdFilter.register(userId, clientOrderId, now)) {
+            throw new DuplicateOrderException("duplicate clientOrderId: " + clientOrderId);
+        }
+
+        try {
+            return placeOrder(request, userId);
+        } catch (JournalTimeoutException | OrderProcessingTimeoutException ex) {
+            // The order may still be executed, so a retry under the same clientOrderId must stay a duplicate.
+            throw ex;
+        } catch (RuntimeException ex) {
+            clientOrderIdFilter.forget(userId, clientOrderId, now);
+            throw ex;
+        }
+    }
+
+    public OrderAck cancelOrder(CancelOrderRequest request, Authentication authentication) {
+        long sequence = orderSequencer.publishCancel(getUserId(authentication), request.getSymbol(),
+                request.getOrderId());
+        awaitAccepted(sequence);
+
+        return new OrderAck(request.getOrderId(), sequence);
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.client-order-id-window-millis}")
+    public void evictIdleClientOrderIds() {
+        clientOrderIdFilter.evictIdle(System.currentTimeMillis());
+    }
+
+    private OrderAck placeOrder(OrderRequest request, long userId) {
+        long price = Prices.fromDecimal(request.getPrice());
+        long reserved = request.getSide() == Side.BUY ? Prices.notional(price, request.getQuantity()) : 0;
+        if (reserved > 0 && !buyingPowerReserver.reserve(userId, reserved)) {
+            throw new InsufficientBuyingPowerException("insufficient buying power");
+        }
+
+        OrderType type = request.getType() == null ? OrderType.LIMIT : request.getType();
+        long stopPrice = request.getStopPrice() == null ? 0 : Prices.fromDecimal(request.getStopPrice());
+        long sequence = orderSequencer.publishNew(userId, request.getSymbol(), request.getSide(), type, stopPrice,
+                price, request.getQuantity());
+        if (sequence < 0 && reserved > 0) {
+            buyingPowerReserver.release(userId, reserved);
+        }
+        awaitAccepted(sequence);
+
+        return new OrderAck(sequence, sequence);
+    }
+
+    /**
+     * Waits until the command is durable and every handler has seen it, so a reject from the
+     * validator or the engine reaches the caller instead of an ack.
+     */
+    private void awaitAccepted(long sequence) {
+        if (sequence < 0) {
+            throw new OrderQueueFullException("order queue is full, retry later");
+        }
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(ackTimeoutMillis);
+        if (!journalWriter.awaitCommitted(sequence, timeoutNanos)) {
+            throw new JournalTimeoutException("order was not journaled in time");
+        }
+        if (!commandOutcomes.awaitProcessed(sequence, timeoutNanos)) {
+            throw new OrderProcessingTimeoutException("order was journaled but not processed in time");
+        }
+        String reason = commandOutcomes.getRejectReason(sequence);
+        if (reason != null) {
+            throw new OrderRejectedException(reason);
+        }
+    }
+
+    private long getUserId(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return userPrincipal.getId();
+    }
+}
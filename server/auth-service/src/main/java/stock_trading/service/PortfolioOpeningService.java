@@ -0,0 +1,34 @@
+package stock_trading.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import stock_trading.portfolio.PeriodOpeningStore;
+import stock_trading.portfolio.PortfolioValuation;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioOpeningService {
+
+    private final PortfolioValuation portfolioValuation;
+    private final PeriodOpeningStore periodOpeningStore;
+
+    /**
+     * Saves the equity each user opened the day and year with, and once more at shutdown. A crash
+     * loses at most the openings of periods that rolled over since the last save, and only those
+     * count from recovery after the restart.
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${app.portfolio.opening-save-interval-millis}")
+    public void saveOpenings() {
+        try {
+            int saved = periodOpeningStore.save(portfolioValuation.getOpenings());
+            log.debug("Saved {} period openings", saved);
+        } catch (RuntimeException ex) {
+            log.warn("Saving period openings failed; retrying at the next interval", ex);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package stock_trading.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import stock_trading.dto.PortfolioSummary;
+import stock_trading.entity.UserPrincipal;
+import stock_trading.portfolio.PortfolioValuation;
+import stock_trading.portfolio.Valuation;
+import stock_trading.util.Prices;
+
+@Service
+@RequiredArgsConstructor
+public class PortfolioService {
+
+    private final PortfolioValuation portfolioValuation;
+
+    public PortfolioSummary getSummary(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        Valuation valuation = portfolioValuation.getValuation(userPrincipal.getId());
+
+        double unrealizedPnlPercent = valuation.costBasis() == 0 ? 0
+                : valuation.unrealizedPnl() * 100.0 / Math.abs(valuation.costBasis());
+        return new PortfolioSummary(
+                Prices.toDouble(valuation.cash()),
+                Prices.toDouble(valuation.marketValue()),
+                Prices.toDouble(valuation.costBasis()),
+                Prices.toDouble(valuation.unrealizedPnl()),
+                unrealizedPnlPercent,
+                Prices.toDouble(valuation.equity()),
+                valuation.positions());
+    }
+}
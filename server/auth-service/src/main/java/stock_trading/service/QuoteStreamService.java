@@ -0,0 +1,69 @@
+package stock_trading.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import stock_trading.marketdata.ConflatingQuoteFanout;
+import stock_trading.marketdata.QuoteSink;
+import stock_trading.marketdata.QuoteSubscription;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bridges SSE subscribers onto the conflating fan-out. Each subscriber chooses its own flush
+ * interval within the configured bounds; the first flush carries every quote.
+ */
+@Service
+@RequiredArgsConstructor
+public class QuoteStreamService {
+
+    private final ConflatingQuoteFanout quoteFanout;
+
+    @Value("${app.marketdata.flush-interval-millis}")
+    private long defaultFlushIntervalMillis;
+
+    @Value("${app.marketdata.min-flush-interval-millis}")
+    private long minFlushIntervalMillis;
+
+    @Value("${app.marketdata.max-flush-interval-millis}")
+    private long maxFlushIntervalMillis;
+
+    public SseEmitter subscribe(Long flushIntervalMillis) {
+        long interval = flushIntervalMillis == null ? defaultFlushIntervalMillis : flushIntervalMillis;
+        interval = Math.max(minFlushIntervalMillis, Math.min(maxFlushIntervalMillis, interval));
+
+        SseEmitter emitter = new SseEmitter(0L);
+        QuoteSubscription subscription = quoteFanout.subscribe(new SseQuoteSink(emitter),
+                TimeUnit.MILLISECONDS.toNanos(interval), System.nanoTime());
+        emitter.onCompletion(() -> quoteFanout.unsubscribe(subscription));
+        emitter.onTimeout(() -> quoteFanout.unsubscribe(subscription));
+        emitter.onError(ex -> quoteFanout.unsubscribe(subscription));
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${app.marketdata.min-flush-interval-millis}")
+    public void dispatch() {
+        quoteFanout.tick(System.nanoTime());
+    }
+
+    public int getSubscriberCount() {
+        return quoteFanout.getSubscriberCount();
+    }
+
+    private record SseQuoteSink(SseEmitter emitter) implements QuoteSink {
+
+        @Override
+        public void send(String payload) throws IOException {
+            emitter.send(SseEmitter.event().name("quotes").data(payload, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
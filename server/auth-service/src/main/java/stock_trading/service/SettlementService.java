@@ -0,0 +1,46 @@
+package stock_trading.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import stock_trading.settlement.SettlementJob;
+import stock_trading.settlement.SettlementReport;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.ExecutorService;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementService {
+
+    private final SettlementJob settlementJob;
+    private final ExecutorService settlementExecutor;
+
+    /**
+     * Starts settling the UTC day that just ended on the settlement executor, so the scheduling
+     * thread is free again at once. Rerunning it, or settling an earlier day again, only settles
+     * partitions that have no checkpoint yet.
+     */
+    @Scheduled(cron = "${app.settlement.cron}", zone = "UTC")
+    public void settlePreviousDay() {
+        LocalDate tradeDate = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+        settlementExecutor.execute(() -> {
+            try {
+                settle(tradeDate);
+            } catch (RuntimeException ex) {
+                log.error("Settlement of {} failed; rerun it to settle the remaining partitions", tradeDate, ex);
+            }
+        });
+    }
+
+    public SettlementReport settle(LocalDate tradeDate) {
+        long started = System.nanoTime();
+        SettlementReport report = settlementJob.settle(tradeDate);
+        log.info("Settled {}: {} trades in {} partitions ({} already settled) in {} ms", tradeDate, report.trades(),
+                report.partitions(), report.skipped(), (System.nanoTime() - started) / 1_000_000);
+        return report;
+    }
+}
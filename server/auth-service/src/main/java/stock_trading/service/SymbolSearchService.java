@@ -0,0 +1,30 @@
+package stock_trading.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import stock_trading.dto.SymbolMatchRecord;
+import stock_trading.search.SymbolSearch;
+import stock_trading.symbol.Listing;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SymbolSearchService {
+
+    private final SymbolSearch symbolSearch;
+
+    public List<SymbolMatchRecord> search(String query, int limit) {
+        return symbolSearch.search(query, limit).stream()
+                .map(listing -> new SymbolMatchRecord(listing.symbol(), listing.name()))
+                .toList();
+    }
+
+    /**
+     * Reindexes a changed listing universe in the background; searches keep using the current
+     * index until the new one is ready.
+     */
+    public void reindex(List<Listing> listings) {
+        symbolSearch.rebuild(listings);
+    }
+}
@@ -0,0 +1,45 @@
+package stock_trading.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import stock_trading.dto.TickRecord;
+import stock_trading.exception.InvalidTimeRangeException;
+import stock_trading.exception.SymbolNotFoundException;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.tickstore.TickStore;
+import stock_trading.util.Prices;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TickHistoryService {
+
+    static final int MAX_TICKS = 10_000;
+    static final long MAX_SPAN_MILLIS = 31 * 86_400_000L;
+
+    private final TickStore tickStore;
+    private final SymbolRegistry symbolRegistry;
+
+    public List<TickRecord> getTicks(String symbol, long from, long to, int limit) {
+        int id = symbolRegistry.idOf(symbol);
+        if (id == SymbolRegistry.UNKNOWN) {
+            throw new SymbolNotFoundException("unknown symbol: " + symbol);
+        }
+        if (from < 0 || to <= from) {
+            throw new InvalidTimeRangeException("from must be non-negative and before to");
+        }
+        if (to - from > MAX_SPAN_MILLIS) {
+            throw new InvalidTimeRangeException("range must not exceed " + MAX_SPAN_MILLIS / 86_400_000L + " days");
+        }
+
+        int max = Math.max(1, Math.min(limit, MAX_TICKS));
+        List<TickRecord> ticks = new ArrayList<>();
+        tickStore.scan(symbolRegistry.symbolOf(id), from, to, (timestamp, price, volume) -> {
+            ticks.add(new TickRecord(timestamp, Prices.toDouble(price), volume));
+            return ticks.size() < max;
+        });
+        return ticks;
+    }
+}
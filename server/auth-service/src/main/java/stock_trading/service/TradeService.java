@@ -0,0 +1,75 @@
+package stock_trading.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import stock_trading.dto.TradePage;
+import stock_trading.dto.TradeRecord;
+import stock_trading.entity.Trade;
+import stock_trading.entity.UserPrincipal;
+import stock_trading.repository.TradeRepository;
+import stock_trading.trade.RecentTradesCache;
+import stock_trading.trade.TradeCursor;
+import stock_trading.trade.TradeRecorder;
+
+import java.util.List;
+
+/**
+ * Pages through a user's trades newest first. The first page comes from the recent-trades cache,
+ * seeded from the database on a user's first read; later pages seek the trades index from the
+ * cursor, so every page costs the same however much history the account has.
+ */
+@Service
+@RequiredArgsConstructor
+public class TradeService {
+
+    private final TradeRepository tradeRepository;
+    private final RecentTradesCache recentTrades;
+
+    @Value("${app.trades.idle-evict-millis}")
+    private long idleEvictMillis;
+
+    public TradePage getTrades(Authentication authentication, String cursor, int limit) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        long userId = userPrincipal.getId();
+        int size = Math.max(1, Math.min(limit, recentTrades.getCapacity()));
+
+        List<TradeRecord> trades = cursor == null
+                ? getNewest(userId, size)
+                : getPage(userId, TradeCursor.decode(cursor), size);
+        String nextCursor = trades.size() == size ? TradeCursor.after(trades.get(size - 1)).encode() : null;
+        return new TradePage(trades, nextCursor);
+    }
+
+    @Scheduled(fixedDelayString = "${app.trades.idle-evict-millis}")
+    public void evictIdle() {
+        recentTrades.evictAccessedBefore(System.currentTimeMillis() - idleEvictMillis);
+    }
+
+    private List<TradeRecord> getNewest(long userId, int size) {
+        long now = System.currentTimeMillis();
+        List<TradeRecord> trades = recentTrades.newest(userId, size, now);
+        if (trades != null) {
+            return trades;
+        }
+
+        // Open before reading so trades saved while the query runs still reach the cache.
+        recentTrades.open(userId, now);
+        List<TradeRecord> seed = toRecords(tradeRepository.findByUserIdOrderByExecutedAtDescIdDesc(
+                userId, Limit.of(recentTrades.getCapacity())));
+        recentTrades.seed(userId, seed);
+        trades = recentTrades.newest(userId, size, now);
+        return trades != null ? trades : seed.subList(0, Math.min(size, seed.size()));
+    }
+
+    private List<TradeRecord> getPage(long userId, TradeCursor cursor, int size) {
+        return toRecords(tradeRepository.findPageBefore(userId, cursor.executedAt(), cursor.id(), size));
+    }
+
+    private static List<TradeRecord> toRecords(List<Trade> trades) {
+        return trades.stream().map(TradeRecorder::toRecord).toList();
+    }
+}
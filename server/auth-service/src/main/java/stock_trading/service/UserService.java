@@ -9,13 +9,20 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import stock_trading.dto.AuthResponse;
 import stock_trading.dto.CreateUserRequest;
 import stock_trading.dto.LoginRequest;
+import stock_trading.dto.UserCreatedEvent;
 import stock_trading.dto.UserRecord;
 import stock_trading.entity.User;
 import stock_trading.entity.UserPrincipal;
+import stock_trading.eventbus.EventBus;
 import stock_trading.exception.UserExistsException;
+import stock_trading.outbox.OutboxWriter;
+import stock_trading.portfolio.PortfolioInitializer;
 import stock_trading.repository.UserRepository;
 import stock_trading.util.JwtTokenUtil;
 
@@ -30,8 +37,12 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authManager;
+    private final OutboxWriter outboxWriter;
+    private final EventBus eventBus;
+    private final PortfolioInitializer portfolioInitializer;
 
 
+    @Transactional
     public AuthResponse createUser(CreateUserRequest request) {
         checkUserExists(request);
 
@@ -47,6 +58,10 @@ public class UserService {
                 .build();
 
         User newUser = userRepository.save(user);
+        outboxWriter.append(UserCreatedEvent.AGGREGATE_TYPE, newUser.getId(), UserCreatedEvent.EVENT_TYPE,
+                new UserCreatedEvent(newUser.getId(), newUser.getUsername(), newUser.getEmail()));
+        // Portfolio initialization and other follow-up work runs on the event bus, once the user is visible.
+        afterCommit(() -> publishUserCreated(newUser));
 
         LoginRequest loginRequest = LoginRequest
                 .builder()
@@ -86,6 +101,26 @@ public class UserService {
         }
     }
 
+    private void publishUserCreated(User user) {
+        if (!eventBus.publishUserCreated(user.getId(), user.getUsername(), user.getEmail())) {
+            log.warn("User channel is full; opening the portfolio of user {} synchronously", user.getId());
+            portfolioInitializer.open(user.getId());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private UserRecord mapToUserRecord(User user) {
         return UserRecord.builder()
                 .id(user.getId())
@@ -0,0 +1,127 @@
+package stock_trading.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import stock_trading.dto.QuoteRecord;
+import stock_trading.entity.UserPrincipal;
+import stock_trading.entity.WatchlistEntry;
+import stock_trading.exception.SymbolNotFoundException;
+import stock_trading.exception.WatchlistFullException;
+import stock_trading.marketdata.QuoteSink;
+import stock_trading.repository.WatchlistRepository;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.watchlist.WatchSession;
+import stock_trading.watchlist.WatchlistFanout;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keeps each user's watchlist in the database and mirrors edits into the open streams of that
+ * user. A stream opens with the current quote of every watched symbol and then carries only the
+ * quotes of watched symbols that change.
+ */
+@Service
+@RequiredArgsConstructor
+public class WatchlistService {
+
+    private final WatchlistRepository watchlistRepository;
+    private final WatchlistFanout watchlistFanout;
+    private final MarketDataService marketDataService;
+    private final SymbolRegistry symbolRegistry;
+
+    @Value("${app.watchlist.max-symbols}")
+    private int maxSymbols;
+
+    public List<QuoteRecord> getWatchlist(Authentication authentication) {
+        return watchlistRepository.findByUserIdOrderByIdAsc(getUserId(authentication)).stream()
+                .map(entry -> marketDataService.getQuote(entry.getSymbol()))
+                .toList();
+    }
+
+    public QuoteRecord addSymbol(String symbol, Authentication authentication) {
+        long userId = getUserId(authentication);
+        int symbolId = symbolId(symbol);
+        String canonical = symbolRegistry.symbolOf(symbolId);
+
+        if (!watchlistRepository.existsByUserIdAndSymbol(userId, canonical)) {
+            if (watchlistRepository.countByUserId(userId) >= maxSymbols) {
+                throw new WatchlistFullException("watchlist is limited to " + maxSymbols + " symbols");
+            }
+            try {
+                watchlistRepository.save(WatchlistEntry.builder()
+                        .userId(userId)
+                        .symbol(canonical)
+                        .addedAt(Instant.now())
+                        .build());
+            } catch (DataIntegrityViolationException ex) {
+                // A concurrent request added the same symbol first.
+            }
+        }
+        watchlistFanout.watch(userId, symbolId);
+        return marketDataService.getQuote(canonical);
+    }
+
+    public void removeSymbol(String symbol, Authentication authentication) {
+        long userId = getUserId(authentication);
+        int symbolId = symbolId(symbol);
+        watchlistRepository.deleteByUserIdAndSymbol(userId, symbolRegistry.symbolOf(symbolId));
+        watchlistFanout.unwatch(userId, symbolId);
+    }
+
+    public SseEmitter subscribe(Authentication authentication) {
+        long userId = getUserId(authentication);
+        SseEmitter emitter = new SseEmitter(0L);
+        // Register before loading so symbols added meanwhile still reach this session.
+        WatchSession session = watchlistFanout.subscribe(userId, new SseQuoteSink(emitter));
+        emitter.onCompletion(() -> watchlistFanout.unsubscribe(session));
+        emitter.onTimeout(() -> watchlistFanout.unsubscribe(session));
+        emitter.onError(ex -> watchlistFanout.unsubscribe(session));
+
+        for (WatchlistEntry entry : watchlistRepository.findByUserIdOrderByIdAsc(userId)) {
+            int symbolId = symbolRegistry.idOf(entry.getSymbol());
+            if (symbolId != SymbolRegistry.UNKNOWN) {
+                watchlistFanout.watch(session, symbolId);
+            }
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${app.watchlist.flush-interval-millis}")
+    public void dispatch() {
+        watchlistFanout.tick();
+    }
+
+    private int symbolId(String symbol) {
+        int symbolId = symbolRegistry.idOf(symbol);
+        if (symbolId == SymbolRegistry.UNKNOWN) {
+            throw new SymbolNotFoundException("unknown symbol: " + symbol);
+        }
+        return symbolId;
+    }
+
+    private long getUserId(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return userPrincipal.getId();
+    }
+
+    private record SseQuoteSink(SseEmitter emitter) implements QuoteSink {
+
+        @Override
+        public void send(String payload) throws IOException {
+            emitter.send(SseEmitter.event().name("quotes").data(payload, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
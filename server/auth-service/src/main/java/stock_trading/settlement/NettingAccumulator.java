@@ -0,0 +1,175 @@
+package stock_trading.settlement;
+
+import stock_trading.engine.Position;
+import stock_trading.engine.Side;
+import stock_trading.util.Prices;
+
+import java.util.Arrays;
+
+/**
+ * Nets one partition's trades into positions and cash in primitive arrays. Entries are kept
+ * densely in arrival order and found through open-addressing indexes keyed by user and symbol id,
+ * so a partition of any size costs a handful of arrays rather than an object per position.
+ */
+final class NettingAccumulator {
+
+    private static final long EMPTY = -1L;
+
+    private final int symbolCount;
+
+    private long[] positionIndex = emptyIndex(1 << 10);
+    private int positionCount;
+    private long[] positionUsers = new long[256];
+    private int[] positionSymbols = new int[256];
+    private long[] quantities = new long[256];
+    private long[] costs = new long[256];
+    private boolean[] traded = new boolean[256];
+
+    private long[] accountIndex = emptyIndex(1 << 10);
+    private int accountCount;
+    private long[] accountUsers = new long[256];
+    private long[] cashDeltas = new long[256];
+
+    private long trades;
+
+    NettingAccumulator(int symbolCount) {
+        this.symbolCount = symbolCount;
+    }
+
+    /**
+     * Seeds the settled position a user starts the day with.
+     */
+    void open(long userId, int symbolId, long quantity, long cost) {
+        int position = position(userId, symbolId);
+        quantities[position] = quantity;
+        costs[position] = cost;
+    }
+
+    void apply(long userId, int symbolId, Side side, long price, long quantity) {
+        long signedQuantity = side == Side.BUY ? quantity : -quantity;
+        int position = position(userId, symbolId);
+        costs[position] = Position.costAfter(quantities[position], costs[position], signedQuantity, price);
+        quantities[position] += signedQuantity;
+        traded[position] = true;
+
+        int account = account(userId);
+        cashDeltas[account] = Math.subtractExact(cashDeltas[account], Prices.notional(price, signedQuantity));
+        trades++;
+    }
+
+    long getTrades() {
+        return trades;
+    }
+
+    int positionCount() {
+        return positionCount;
+    }
+
+    /**
+     * @return {@code false} for positions that were only seeded and did not change
+     */
+    boolean traded(int position) {
+        return traded[position];
+    }
+
+    long positionUser(int position) {
+        return positionUsers[position];
+    }
+
+    int positionSymbol(int position) {
+        return positionSymbols[position];
+    }
+
+    long quantity(int position) {
+        return quantities[position];
+    }
+
+    long cost(int position) {
+        return costs[position];
+    }
+
+    int accountCount() {
+        return accountCount;
+    }
+
+    long accountUser(int account) {
+        return accountUsers[account];
+    }
+
+    long cashDelta(int account) {
+        return cashDeltas[account];
+    }
+
+    private int position(long userId, int symbolId) {
+        long key = userId * symbolCount + symbolId;
+        int slot = find(positionIndex, key);
+        if (positionIndex[slot] != EMPTY) {
+            return (int) positionIndex[slot + 1];
+        }
+        if (positionCount == positionUsers.length) {
+            int capacity = positionCount * 2;
+            positionUsers = Arrays.copyOf(positionUsers, capacity);
+            positionSymbols = Arrays.copyOf(positionSymbols, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+            traded = Arrays.copyOf(traded, capacity);
+        }
+        int position = positionCount++;
+        positionUsers[position] = userId;
+        positionSymbols[position] = symbolId;
+        positionIndex = insert(positionIndex, slot, key, position, positionCount);
+        return position;
+    }
+
+    private int account(long userId) {
+        int slot = find(accountIndex, userId);
+        if (accountIndex[slot] != EMPTY) {
+            return (int) accountIndex[slot + 1];
+        }
+        if (accountCount == accountUsers.length) {
+            int capacity = accountCount * 2;
+            accountUsers = Arrays.copyOf(accountUsers, capacity);
+            cashDeltas = Arrays.copyOf(cashDeltas, capacity);
+        }
+        int account = accountCount++;
+        accountUsers[account] = userId;
+        accountIndex = insert(accountIndex, slot, userId, account, accountCount);
+        return account;
+    }
+
+    /**
+     * Indexes interleave key and entry number; returns the slot holding {@code key}, or the empty
+     * slot where it belongs.
+     */
+    private static int find(long[] index, long key) {
+        int mask = index.length / 2 - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+        while (index[slot * 2] != EMPTY && index[slot * 2] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot * 2;
+    }
+
+    private static long[] insert(long[] index, int slot, long key, int entry, int size) {
+        index[slot] = key;
+        index[slot + 1] = entry;
+        if (size * 4 <= index.length / 2 * 3) {
+            return index;
+        }
+        long[] grown = emptyIndex(index.length * 2);
+        for (int i = 0; i < index.length; i += 2) {
+            if (index[i] != EMPTY) {
+                int target = find(grown, index[i]);
+                grown[target] = index[i];
+                grown[target + 1] = index[i + 1];
+            }
+        }
+        return grown;
+    }
+
+    private static long[] emptyIndex(int length) {
+        long[] index = new long[length];
+        Arrays.fill(index, EMPTY);
+        return index;
+    }
+}
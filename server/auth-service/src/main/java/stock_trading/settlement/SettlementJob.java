@@ -0,0 +1,237 @@
+package stock_trading.settlement;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionTemplate;
+import stock_trading.engine.Side;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-of-day settlement: nets a UTC day's trades into {@code portfolio_positions} and each
+ * account's {@code portfolios.balance}.
+ *
+ * <p>Accounts are split into fixed ranges of user ids, so a partition means the same accounts on
+ * every run, and the partitions settle in parallel, each in one transaction. A partition streams
+ * its trades in (user, execution time) order through the {@code trades} index with a cursor,
+ * nets them in a {@link NettingAccumulator} seeded with the settled positions of the accounts that
+ * traded, and writes back with batched upserts. Its checkpoint row commits with those writes, so
+ * after a failure a rerun settles exactly the partitions that did not.
+ */
+@Slf4j
+public class SettlementJob {
+
+    private static final String OPENING_POSITIONS = """
+            select p.user_id, p.symbol, p.quantity, p.cost from portfolio_positions p
+            where p.user_id >= ? and p.user_id < ? and exists (
+                select 1 from trades t
+                where t.user_id = p.user_id and t.executed_at >= ? and t.executed_at < ?)""";
+
+    private static final String TRADES = """
+            select user_id, symbol, side, price, quantity from trades
+            where user_id >= ? and user_id < ? and executed_at >= ? and executed_at < ?
+            order by user_id, executed_at, id""";
+
+    private static final String UPSERT_POSITION = """
+            insert into portfolio_positions (user_id, symbol, quantity, cost) values (?, ?, ?, ?)
+            on conflict (user_id, symbol) do update set quantity = excluded.quantity, cost = excluded.cost""";
+
+    private static final String DELETE_POSITION = "delete from portfolio_positions where user_id = ? and symbol = ?";
+
+    private static final String UPSERT_BALANCE = """
+            insert into portfolios (user_id, balance, settled_date) values (?, ?, ?)
+            on conflict (user_id) do update
+            set balance = portfolios.balance + ?, settled_date = excluded.settled_date""";
+
+    private static final String CHECKPOINT = """
+            insert into settlement_checkpoints (trade_date, partition_no, trades, completed_at)
+            values (?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final SymbolRegistry registry;
+    private final int threads;
+    private final long accountsPerPartition;
+    private final int batchSize;
+    private final long openingBalance;
+
+    /**
+     * @param jdbc           should have a fetch size, so that reads stream instead of buffering
+     * @param openingBalance cash credited to an account the first time it settles
+     */
+    public SettlementJob(JdbcTemplate jdbc, TransactionTemplate transactions, SymbolRegistry registry, int threads,
+                         long accountsPerPartition, int batchSize, long openingBalance) {
+        this.jdbc = jdbc;
+        this.transactions = transactions;
+        this.registry = registry;
+        this.threads = threads;
+        this.accountsPerPartition = accountsPerPartition;
+        this.batchSize = batchSize;
+        this.openingBalance = openingBalance;
+    }
+
+    public SettlementReport settle(LocalDate tradeDate) {
+        Long maxUserId = jdbc.queryForObject("select max(id) from users", Long.class);
+        if (maxUserId == null) {
+            return new SettlementReport(tradeDate, 0, 0, 0);
+        }
+        int partitions = (int) (maxUserId / accountsPerPartition) + 1;
+        Set<Integer> settled = new HashSet<>(jdbc.queryForList(
+                "select partition_no from settlement_checkpoints where trade_date = ?", Integer.class,
+                Date.valueOf(tradeDate)));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "settlement-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int partition = 0; partition < partitions; partition++) {
+                if (!settled.contains(partition)) {
+                    int current = partition;
+                    results.add(pool.submit(() -> settlePartition(tradeDate, current)));
+                }
+            }
+
+            // Wait for every partition, so that all that can succeed are checkpointed before failing.
+            long trades = 0;
+            RuntimeException failure = null;
+            for (Future<Long> result : results) {
+                try {
+                    trades += result.get();
+                } catch (ExecutionException ex) {
+                    if (failure == null) {
+                        failure = new IllegalStateException("Settlement of " + tradeDate + " failed", ex.getCause());
+                    } else {
+                        failure.addSuppressed(ex.getCause());
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return new SettlementReport(tradeDate, partitions, settled.size(), trades);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Settlement of " + tradeDate + " was interrupted", ex);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long settlePartition(LocalDate tradeDate, int partition) {
+        long fromUser = partition * accountsPerPartition;
+        long toUser = fromUser + accountsPerPartition;
+        Timestamp start = Timestamp.from(tradeDate.atStartOfDay(ZoneOffset.UTC).toInstant());
+        Timestamp end = Timestamp.from(tradeDate.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+
+        Long trades = transactions.execute(status -> {
+            NettingAccumulator accumulator = new NettingAccumulator(registry.size());
+            RowCallbackHandler opening = row -> accumulator.open(row.getLong(1), symbolId(row.getString(2)),
+                    row.getLong(3), row.getLong(4));
+            jdbc.query(OPENING_POSITIONS, opening, fromUser, toUser, start, end);
+            RowCallbackHandler trade = row -> accumulator.apply(row.getLong(1), symbolId(row.getString(2)),
+                    Side.valueOf(row.getString(3)), row.getLong(4), row.getLong(5));
+            jdbc.query(TRADES, trade, fromUser, toUser, start, end);
+
+            write(accumulator, tradeDate);
+            jdbc.update(CHECKPOINT, Date.valueOf(tradeDate), partition, accumulator.getTrades(),
+                    Timestamp.from(Instant.now()));
+            return accumulator.getTrades();
+        });
+        log.debug("Settled partition {} of {}: {} trades", partition, tradeDate, trades);
+        return trades == null ? 0 : trades;
+    }
+
+    private void write(NettingAccumulator accumulator, LocalDate tradeDate) {
+        int[] upserts = new int[accumulator.positionCount()];
+        int[] deletes = new int[accumulator.positionCount()];
+        int upsertCount = 0;
+        int deleteCount = 0;
+        for (int position = 0; position < accumulator.positionCount(); position++) {
+            if (!accumulator.traded(position)) {
+                continue;
+            }
+            if (accumulator.quantity(position) == 0) {
+                deletes[deleteCount++] = position;
+            } else {
+                upserts[upsertCount++] = position;
+            }
+        }
+
+        batch(UPSERT_POSITION, upserts, upsertCount, (statement, position) -> {
+            statement.setLong(1, accumulator.positionUser(position));
+            statement.setString(2, registry.symbolOf(accumulator.positionSymbol(position)));
+            statement.setLong(3, accumulator.quantity(position));
+            statement.setLong(4, accumulator.cost(position));
+        });
+        batch(DELETE_POSITION, deletes, deleteCount, (statement, position) -> {
+            statement.setLong(1, accumulator.positionUser(position));
+            statement.setString(2, registry.symbolOf(accumulator.positionSymbol(position)));
+        });
+
+        int[] accounts = new int[accumulator.accountCount()];
+        for (int account = 0; account < accounts.length; account++) {
+            accounts[account] = account;
+        }
+        Date settledDate = Date.valueOf(tradeDate);
+        batch(UPSERT_BALANCE, accounts, accounts.length, (statement, account) -> {
+            long delta = accumulator.cashDelta(account);
+            statement.setLong(1, accumulator.accountUser(account));
+            statement.setLong(2, Math.addExact(openingBalance, delta));
+            statement.setDate(3, settledDate);
+            statement.setLong(4, delta);
+        });
+    }
+
+    private void batch(String sql, int[] entries, int count, EntryBinder binder) {
+        for (int from = 0; from < count; from += batchSize) {
+            int offset = from;
+            int size = Math.min(batchSize, count - from);
+            jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    binder.bind(statement, entries[offset + i]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    private int symbolId(String symbol) {
+        int symbolId = registry.idOf(symbol);
+        if (symbolId == SymbolRegistry.UNKNOWN) {
+            throw new IllegalStateException("Trade or position in unlisted symbol " + symbol);
+        }
+        return symbolId;
+    }
+
+    @FunctionalInterface
+    private interface EntryBinder {
+        void bind(PreparedStatement statement, int entry) throws SQLException;
+    }
+}
@@ -0,0 +1,10 @@
+package stock_trading.settlement;
+
+import java.time.LocalDate;
+
+/**
+ * @param skipped partitions already checkpointed by an earlier run
+ * @param trades  trades netted by this run
+ */
+public record SettlementReport(LocalDate tradeDate, int partitions, int skipped, long trades) {
+}
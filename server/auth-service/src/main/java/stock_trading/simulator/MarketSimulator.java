@@ -0,0 +1,169 @@
+package stock_trading.simulator;
+
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.util.Prices;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Seeded generator of synthetic trades for load and soak tests. The same registry and settings
+ * always produce the same stream.
+ *
+ * <p>Trades arrive as a Poisson process, at {@code burstIntensity} times the base rate while a
+ * burst lasts. Each one picks a symbol with 1/rank popularity in listing order and moves its price
+ * by geometric Brownian motion over the simulated time since that symbol's previous trade,
+ * rounded to its tick size. Sizes are exponentially distributed. Symbols without a previous close
+ * start from a seeded price between 10 and 500.
+ *
+ * <p>Timestamps follow the simulated clock, so {@link #generate} runs as fast as the sink allows
+ * and {@link #stream} paces itself to the wall clock. The loop works on primitive arrays and
+ * allocates nothing. Not thread-safe.
+ */
+public class MarketSimulator {
+
+    /** 252 sessions of six and a half hours. */
+    static final double TRADING_YEAR_NANOS = 252 * 6.5 * 3_600 * 1e9;
+    private static final int PACE_INTERVAL = 1_024;
+
+    private final SimulationSettings settings;
+    private final SplittableRandom random;
+    private final double[] cumulativeWeights;
+    private final double[] logPrices;
+    private final double[] drifts;
+    private final double[] sigmas;
+    private final long[] tickSizes;
+    private final double[] lastTickNanos;
+    private final double nanosPerTick;
+
+    private double clockNanos;
+    private boolean bursting;
+
+    public MarketSimulator(SymbolRegistry registry, SimulationSettings settings) {
+        if (registry.size() == 0) {
+            throw new IllegalArgumentException("Nothing to simulate without symbols");
+        }
+        this.settings = settings;
+        this.random = new SplittableRandom(settings.seed());
+        this.nanosPerTick = 1e9 / settings.ticksPerSecond();
+
+        int size = registry.size();
+        this.cumulativeWeights = new double[size];
+        this.logPrices = new double[size];
+        this.drifts = new double[size];
+        this.sigmas = new double[size];
+        this.tickSizes = new long[size];
+        this.lastTickNanos = new double[size];
+
+        double total = 0;
+        for (int id = 0; id < size; id++) {
+            total += 1.0 / (id + 1);
+            cumulativeWeights[id] = total;
+
+            Listing listing = registry.listing(id);
+            double previousClose = listing.previousClose() == null ? 0 : listing.previousClose().doubleValue();
+            logPrices[id] = previousClose > 0
+                    ? Math.log(previousClose)
+                    : Math.log(10) + random.nextDouble() * Math.log(50);
+            sigmas[id] = settings.volatility() * (0.5 + random.nextDouble());
+            // Ito correction, so the expected price grows at the drift rate.
+            drifts[id] = settings.drift() - sigmas[id] * sigmas[id] / 2;
+            tickSizes[id] = registry.tickSize(id);
+        }
+    }
+
+    /**
+     * Builds a registry of {@code count} symbols named {@code S0}, {@code S1}, ... with no reference data.
+     */
+    public static SymbolRegistry syntheticSymbols(int count) {
+        List<String> symbols = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            symbols.add("S" + i);
+        }
+        return SymbolRegistry.of(symbols);
+    }
+
+    /**
+     * Emits the next {@code count} trades as fast as {@code sink} consumes them.
+     */
+    public void generate(long count, TickSink sink) {
+        for (long i = 0; i < count; i++) {
+            next(sink);
+        }
+    }
+
+    /**
+     * Emits the next {@code count} trades no faster than their simulated timestamps, stopping early
+     * if the thread is interrupted.
+     *
+     * @return the number of trades emitted
+     */
+    public long stream(long count, TickSink sink) {
+        long started = System.nanoTime();
+        double startClock = clockNanos;
+        for (long i = 0; i < count; i++) {
+            if (i % PACE_INTERVAL == 0) {
+                long ahead = (long) (clockNanos - startClock) - (System.nanoTime() - started);
+                if (ahead > 0) {
+                    LockSupport.parkNanos(ahead);
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    return i;
+                }
+            }
+            next(sink);
+        }
+        return count;
+    }
+
+    /**
+     * @return the simulated time of the latest trade, in epoch milliseconds
+     */
+    public long getTimestamp() {
+        return settings.startTimestamp() + (long) (clockNanos / 1_000_000);
+    }
+
+    /**
+     * @return the symbol's current price before tick rounding, as a scaled long
+     */
+    public long getPrice(int symbolId) {
+        return Math.round(Math.exp(logPrices[symbolId]) * Prices.ONE);
+    }
+
+    private void next(TickSink sink) {
+        if (bursting) {
+            bursting = random.nextDouble() >= 1 / settings.meanBurstLength();
+        } else {
+            bursting = random.nextDouble() < settings.burstProbability();
+        }
+        double interval = -Math.log(1 - random.nextDouble()) * nanosPerTick;
+        clockNanos += bursting ? interval / settings.burstIntensity() : interval;
+
+        int symbolId = pickSymbol(random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1]);
+        double years = (clockNanos - lastTickNanos[symbolId]) / TRADING_YEAR_NANOS;
+        lastTickNanos[symbolId] = clockNanos;
+        logPrices[symbolId] += drifts[symbolId] * years + sigmas[symbolId] * Math.sqrt(years) * random.nextGaussian();
+
+        long tickSize = tickSizes[symbolId];
+        long price = Math.max(tickSize, Math.round(Math.exp(logPrices[symbolId]) * Prices.ONE / tickSize) * tickSize);
+        long quantity = 1 + (long) (-Math.log(1 - random.nextDouble()) * (settings.meanQuantity() - 1));
+        sink.onTick(symbolId, price, quantity, getTimestamp());
+    }
+
+    private int pickSymbol(double weight) {
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulativeWeights[mid] <= weight) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
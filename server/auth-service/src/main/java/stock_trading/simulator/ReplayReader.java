@@ -0,0 +1,68 @@
+package stock_trading.simulator;
+
+import stock_trading.symbol.SymbolRegistry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Plays back a file written by {@link ReplayWriter} as fast as the sink consumes it. Ticks for
+ * symbols the registry does not list are skipped, and a partly written last record is ignored.
+ */
+public final class ReplayReader {
+
+    private static final int HEADER_SIZE = 12;
+
+    private ReplayReader() {
+    }
+
+    /**
+     * @return the number of ticks handed to {@code sink}
+     */
+    public static long replay(Path file, SymbolRegistry registry, TickSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header);
+            if (header.getInt(0) != ReplayWriter.MAGIC || header.getInt(4) != ReplayWriter.VERSION) {
+                throw new IOException("Not a version " + ReplayWriter.VERSION + " replay file: " + file);
+            }
+
+            ByteBuffer codes = ByteBuffer.allocate(header.getInt(8) * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, codes);
+            int[] ids = new int[codes.capacity() / Long.BYTES];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = registry.idOf(codes.getLong(i * Long.BYTES));
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            long count = 0;
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.remaining() >= ReplayWriter.RECORD_SIZE) {
+                    long timestamp = buffer.getLong();
+                    int symbolId = ids[buffer.getInt()];
+                    long price = buffer.getLong();
+                    long quantity = buffer.getLong();
+                    if (symbolId != SymbolRegistry.UNKNOWN) {
+                        sink.onTick(symbolId, price, quantity, timestamp);
+                        count++;
+                    }
+                }
+                buffer.compact();
+            }
+            return count;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Replay file is truncated");
+            }
+        }
+    }
+}
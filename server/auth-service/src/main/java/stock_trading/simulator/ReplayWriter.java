@@ -0,0 +1,77 @@
+package stock_trading.simulator;
+
+import stock_trading.symbol.SymbolRegistry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records a tick stream to a file that {@link ReplayReader} plays back. Little-endian layout:
+ *
+ * <pre>
+ * header  0 magic  4 version  8 symbol count  12 one packed symbol code (8 bytes) per symbol id
+ * record  0 timestamp  8 symbol id (4 bytes)  12 price  20 quantity
+ * </pre>
+ *
+ * Symbols are stored by code so that a replay can map them onto a registry with other ids.
+ */
+public class ReplayWriter implements TickSink, Closeable {
+
+    static final int MAGIC = 0x53494d54;
+    static final int VERSION = 1;
+    static final int RECORD_SIZE = 28;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+    private long count;
+
+    public ReplayWriter(Path file, SymbolRegistry registry) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(registry.size());
+        for (int id = 0; id < registry.size(); id++) {
+            if (buffer.remaining() < Long.BYTES) {
+                drain();
+            }
+            buffer.putLong(SymbolRegistry.encode(registry.symbolOf(id)));
+        }
+    }
+
+    @Override
+    public void onTick(int symbolId, long price, long quantity, long timestamp) {
+        if (buffer.remaining() < RECORD_SIZE) {
+            try {
+                drain();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        buffer.putLong(timestamp).putInt(symbolId).putLong(price).putLong(quantity);
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,33 @@
+package stock_trading.simulator;
+
+/**
+ * Parameters of a {@link MarketSimulator} run. Volatility and drift are annualised over a
+ * trading year; each symbol draws its own volatility between half and one and a half times
+ * {@code volatility}. Bursts start with {@code burstProbability} per tick, last
+ * {@code meanBurstLength} ticks on average and multiply the arrival rate by {@code burstIntensity}.
+ */
+public record SimulationSettings(long seed, double ticksPerSecond, double volatility, double drift,
+                                 double burstProbability, double meanBurstLength, double burstIntensity,
+                                 double meanQuantity, long startTimestamp) {
+
+    public SimulationSettings {
+        if (ticksPerSecond <= 0 || volatility < 0 || meanQuantity < 1) {
+            throw new IllegalArgumentException("Rate and mean quantity must be positive, volatility non-negative");
+        }
+        if (burstProbability < 0 || burstProbability > 1 || meanBurstLength < 1 || burstIntensity < 1) {
+            throw new IllegalArgumentException("Invalid burst parameters");
+        }
+    }
+
+    /**
+     * 10,000 ticks per second of fairly volatile stocks, with occasional 20x bursts of about 500 ticks.
+     */
+    public static SimulationSettings defaults(long seed) {
+        return new SimulationSettings(seed, 10_000, 0.3, 0.05, 0.0005, 500, 20, 100, 1_700_000_000_000L);
+    }
+
+    public SimulationSettings withTicksPerSecond(double ticksPerSecond) {
+        return new SimulationSettings(seed, ticksPerSecond, volatility, drift, burstProbability, meanBurstLength,
+                burstIntensity, meanQuantity, startTimestamp);
+    }
+}
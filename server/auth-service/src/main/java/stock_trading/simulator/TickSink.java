@@ -0,0 +1,12 @@
+package stock_trading.simulator;
+
+/**
+ * Receives simulated trades. Matches the {@code onTrade} methods of the market data consumers, so
+ * {@code QuoteStore::onTrade}, {@code CandleAggregator::onTrade} and {@code TickStore::onTrade} can
+ * be fed directly.
+ */
+@FunctionalInterface
+public interface TickSink {
+
+    void onTick(int symbolId, long price, long quantity, long timestamp);
+}
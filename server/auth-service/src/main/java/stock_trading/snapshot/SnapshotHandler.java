@@ -0,0 +1,145 @@
+package stock_trading.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.journal.JournalReplayer;
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.sequencer.OrderCommandHandler;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongPredicate;
+
+/**
+ * Takes a snapshot every {@code intervalCommands} commands without pausing the sequencer. At a batch
+ * boundary the consumer thread only hands the batch's last sequence to a background thread, which
+ * keeps a replica engine of its own: it replays the journal up to that sequence into the replica,
+ * copies the replica into a {@link StateImage} and writes it. The live engine is never read off its
+ * thread, at the cost of holding the trading state twice. If the previous snapshot is still being
+ * written, the next one is simply taken at the end of a later batch.
+ *
+ * <p>A snapshot is only written once {@code fillsSaved} confirms that every fill up to its sequence
+ * is persisted, so recovery can restore the newest snapshot and replay the fills after it without
+ * losing trades; otherwise the snapshot is skipped until a later interval.
+ */
+@Slf4j
+public class SnapshotHandler implements OrderCommandHandler, Closeable {
+
+    private final SnapshotStore store;
+    private final JournalReplayer journal;
+    private final long intervalCommands;
+    private final LongPredicate fillsSaved;
+    private final SymbolRegistry registry;
+    private final StateImage image = new StateImage();
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long commandsSinceSnapshot;
+    private MatchingEngine replica;
+    private long replicaSequence = -1;
+    private boolean replicaLoaded;
+    private volatile long lastCaptureNanos;
+
+    public SnapshotHandler(SymbolRegistry registry, SnapshotStore store, JournalReplayer journal,
+                           long intervalCommands) {
+        this(registry, store, journal, intervalCommands, sequence -> true);
+    }
+
+    public SnapshotHandler(SymbolRegistry registry, SnapshotStore store, JournalReplayer journal,
+                           long intervalCommands, LongPredicate fillsSaved) {
+        this.store = store;
+        this.journal = journal;
+        this.intervalCommands = intervalCommands;
+        this.fillsSaved = fillsSaved;
+        this.registry = registry;
+        this.replica = new MatchingEngine(registry);
+    }
+
+    @Override
+    public void onCommand(OrderCommand command, long sequence, boolean endOfBatch) {
+        commandsSinceSnapshot++;
+        if (endOfBatch && commandsSinceSnapshot >= intervalCommands && writing.compareAndSet(false, true)) {
+            commandsSinceSnapshot = 0;
+            writer.execute(() -> write(sequence));
+        }
+    }
+
+    private void write(long sequence) {
+        try {
+            long start = System.nanoTime();
+            catchUp(sequence);
+            // Commands past the replica's last one up to the batch end were rejected and never journaled.
+            StateCapture.capture(replica, sequence, image);
+            lastCaptureNanos = System.nanoTime() - start;
+            if (!fillsSaved.test(sequence)) {
+                log.warn("Skipping snapshot at sequence {}: its fills are not all saved yet", sequence);
+                return;
+            }
+            store.save(image);
+            log.debug("Wrote snapshot at sequence {} with {} orders after a {} us capture",
+                    sequence, image.getOrderCount(), lastCaptureNanos / 1_000);
+        } catch (IOException | RuntimeException ex) {
+            log.error("Could not write snapshot at sequence {}", sequence, ex);
+        } finally {
+            writing.set(false);
+        }
+    }
+
+    /**
+     * Brings the replica to {@code sequence}, starting from the newest snapshot the first time. The
+     * journal is only read up to the batch the sequencer has finished, so the replica never runs ahead
+     * of the live engine.
+     */
+    private void catchUp(long sequence) {
+        if (!replicaLoaded) {
+            Optional<StateImage> snapshot = store.loadLatest(sequence);
+            if (snapshot.isPresent()) {
+                StateCapture.restore(snapshot.get(), replica);
+                replicaSequence = snapshot.get().getSequence();
+            }
+            replicaLoaded = true;
+        }
+        try {
+            replicaSequence = Math.max(replicaSequence,
+                    journal.replay(replicaSequence + 1, sequence, replica, List.of(replica)));
+        } catch (RuntimeException ex) {
+            // A replay that failed part way leaves the replica at no known sequence; rebuild it next time.
+            replica = new MatchingEngine(registry);
+            replicaSequence = -1;
+            replicaLoaded = false;
+            throw ex;
+        }
+    }
+
+    /**
+     * How long the snapshot thread took to bring its replica up to date and copy it, last time.
+     */
+    public long getLastCaptureNanos() {
+        return lastCaptureNanos;
+    }
+
+    public boolean isWriting() {
+        return writing.get();
+    }
+
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
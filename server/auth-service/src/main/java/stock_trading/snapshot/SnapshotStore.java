@@ -0,0 +1,223 @@
+package stock_trading.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads and writes {@link StateImage}s as {@code <sequence>.snapshot} files. Numbers are zig-zag
+ * varints, which keeps quantities, ids and prices to a few bytes each, and the file ends with a
+ * CRC32C so a partially written snapshot is never loaded.
+ */
+@Slf4j
+public class SnapshotStore {
+
+    private static final int MAGIC = 0x534e4150;
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".snapshot";
+
+    private final Path directory;
+    private final int retain;
+
+    public SnapshotStore(Path directory, int retain) {
+        this.directory = directory;
+        this.retain = retain;
+    }
+
+    public Path save(StateImage image) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(String.format("%020d%s", image.sequence, SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+        CRC32C crc = new CRC32C();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16), crc))) {
+            write(image, out);
+            out.flush();
+            out.writeInt((int) crc.getValue());
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+        prune();
+        return target;
+    }
+
+    public Optional<StateImage> loadLatest() {
+        return loadLatest(Long.MAX_VALUE);
+    }
+
+    /**
+     * Loads the newest readable snapshot taken at or before {@code maxSequence}.
+     */
+    public Optional<StateImage> loadLatest(long maxSequence) {
+        List<Path> snapshots = list();
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Path snapshot = snapshots.get(i);
+            if (sequenceOf(snapshot) > maxSequence) {
+                continue;
+            }
+            try {
+                return Optional.of(load(snapshot));
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Skipping unreadable snapshot {}", snapshot, ex);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return the sequence of the newest snapshot file, readable or not, or -1 if there is none
+     */
+    public long latestSequence() {
+        List<Path> snapshots = list();
+        return snapshots.isEmpty() ? -1 : sequenceOf(snapshots.get(snapshots.size() - 1));
+    }
+
+    StateImage load(Path snapshot) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16), crc))) {
+            StateImage image = read(in);
+            int expected = (int) crc.getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("Snapshot checksum mismatch: " + snapshot);
+            }
+            return image;
+        }
+    }
+
+    List<Path> list() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static long sequenceOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private void prune() throws IOException {
+        List<Path> snapshots = list();
+        for (int i = 0; i < snapshots.size() - retain; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+
+    private static void write(StateImage image, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        writeVarLong(out, image.sequence);
+
+        writeVarLong(out, image.bookCount);
+        int order = 0;
+        for (int b = 0; b < image.bookCount; b++) {
+            out.writeUTF(image.bookSymbols[b]);
+            writeVarLong(out, image.bookLastTradePrices[b]);
+            writeVarLong(out, image.bookOrderCounts[b]);
+            for (int end = order + image.bookOrderCounts[b]; order < end; order++) {
+                writeVarLong(out, image.orderIds[order]);
+                writeVarLong(out, image.orderUserIds[order]);
+                out.writeByte(image.orderSides[order]);
+                writeVarLong(out, image.orderPrices[order]);
+                writeVarLong(out, image.orderQuantities[order]);
+                writeVarLong(out, image.orderTimestamps[order]);
+                out.writeByte(image.orderTypes[order]);
+                writeVarLong(out, image.orderStopPrices[order]);
+            }
+        }
+
+        writeVarLong(out, image.accountCount);
+        int position = 0;
+        for (int a = 0; a < image.accountCount; a++) {
+            writeVarLong(out, image.accountUserIds[a]);
+            writeVarLong(out, image.accountCash[a]);
+            writeVarLong(out, image.accountPositionCounts[a]);
+            for (int end = position + image.accountPositionCounts[a]; position < end; position++) {
+                out.writeUTF(image.positionSymbols[position]);
+                writeVarLong(out, image.positionQuantities[position]);
+                writeVarLong(out, image.positionCosts[position]);
+            }
+        }
+    }
+
+    private static StateImage read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a version " + VERSION + " snapshot");
+        }
+        StateImage image = new StateImage();
+        image.clear(readVarLong(in));
+
+        long books = readVarLong(in);
+        for (long b = 0; b < books; b++) {
+            image.addBook(in.readUTF(), readVarLong(in));
+            long orders = readVarLong(in);
+            for (long o = 0; o < orders; o++) {
+                image.addOrder(readVarLong(in), readVarLong(in), in.readByte(), readVarLong(in), readVarLong(in),
+                        readVarLong(in), in.readByte(), readVarLong(in));
+            }
+        }
+
+        long accounts = readVarLong(in);
+        for (long a = 0; a < accounts; a++) {
+            image.addAccount(readVarLong(in), readVarLong(in));
+            long positions = readVarLong(in);
+            for (long p = 0; p < positions; p++) {
+                image.addPosition(in.readUTF(), readVarLong(in), readVarLong(in));
+            }
+        }
+        return image;
+    }
+
+    static void writeVarLong(OutputStream out, long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.write((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.write((int) zigZag);
+    }
+
+    static long readVarLong(InputStream in) throws IOException {
+        long zigZag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Truncated snapshot");
+            }
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IOException("Malformed varint in snapshot");
+    }
+}
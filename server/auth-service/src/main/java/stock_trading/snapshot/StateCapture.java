@@ -0,0 +1,81 @@
+package stock_trading.snapshot;
+
+import stock_trading.engine.Account;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.Order;
+import stock_trading.engine.OrderBook;
+import stock_trading.engine.OrderType;
+import stock_trading.engine.Position;
+import stock_trading.engine.Side;
+
+/**
+ * Moves trading state between an engine and a {@link StateImage}. Capturing is a plain field copy
+ * with no encoding or I/O; snapshots capture the snapshot thread's replica, never the live engine.
+ */
+public final class StateCapture {
+
+    private static final Side[] SIDES = Side.values();
+    private static final OrderType[] ORDER_TYPES = OrderType.values();
+
+    private StateCapture() {
+    }
+
+    public static void capture(MatchingEngine engine, long sequence, StateImage image) {
+        image.clear(sequence);
+
+        for (OrderBook book : engine.getBooks()) {
+            image.addBook(book.getSymbol(), book.getLastTradePrice());
+            book.forEachOrder(order -> add(image, order, 0));
+            book.forEachStop(order -> add(image, order, order.getStopPrice()));
+        }
+
+        for (Account account : engine.getLedger().getAccounts()) {
+            image.addAccount(account.getUserId(), account.getCash());
+            for (Position position : account.getPositions()) {
+                image.addPosition(position.getSymbol(), position.getQuantity(), position.getCost());
+            }
+        }
+    }
+
+    private static void add(StateImage image, Order order, long stopPrice) {
+        image.addOrder(order.getOrderId(), order.getUserId(), (byte) order.getSide().ordinal(), order.getPrice(),
+                order.getRemainingQuantity(), order.getTimestamp(), (byte) order.getType().ordinal(), stopPrice);
+    }
+
+    /**
+     * Loads an image into a freshly constructed engine.
+     */
+    public static void restore(StateImage image, MatchingEngine engine) {
+        int order = 0;
+        for (int b = 0; b < image.bookCount; b++) {
+            String symbol = image.bookSymbols[b];
+            OrderBook book = engine.getBook(symbol);
+            if (book == null) {
+                throw new IllegalStateException("Snapshot contains unlisted symbol " + symbol);
+            }
+            book.restoreLastTradePrice(image.bookLastTradePrices[b]);
+
+            for (int end = order + image.bookOrderCounts[b]; order < end; order++) {
+                // A triggered stop limit rests like any limit order; only pending stops carry a stop price.
+                long stopPrice = image.orderStopPrices[order];
+                Order restored = new Order(image.orderIds[order], image.orderUserIds[order], symbol,
+                        SIDES[image.orderSides[order]], ORDER_TYPES[image.orderTypes[order]], stopPrice,
+                        image.orderPrices[order], image.orderQuantities[order], image.orderTimestamps[order]);
+                if (stopPrice > 0) {
+                    book.restoreStop(restored);
+                } else {
+                    book.restore(restored);
+                }
+            }
+        }
+
+        int position = 0;
+        for (int a = 0; a < image.accountCount; a++) {
+            Account account = engine.getLedger().restoreAccount(image.accountUserIds[a], image.accountCash[a]);
+            for (int end = position + image.accountPositionCounts[a]; position < end; position++) {
+                account.restorePosition(image.positionSymbols[position], image.positionQuantities[position],
+                        image.positionCosts[position]);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package stock_trading.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * Flat, column-oriented copy of the trading state at one sequence. Instances are reused between
+ * snapshots; the arrays only grow, so a steady-state capture allocates nothing.
+ */
+public class StateImage {
+
+    long sequence;
+
+    int bookCount;
+    String[] bookSymbols = new String[16];
+    long[] bookLastTradePrices = new long[16];
+    int[] bookOrderCounts = new int[16];
+
+    int orderCount;
+    long[] orderIds = new long[1024];
+    long[] orderUserIds = new long[1024];
+    byte[] orderSides = new byte[1024];
+    long[] orderPrices = new long[1024];
+    long[] orderQuantities = new long[1024];
+    long[] orderTimestamps = new long[1024];
+    byte[] orderTypes = new byte[1024];
+    /** Zero for orders on the book; a pending stop's trigger price otherwise. */
+    long[] orderStopPrices = new long[1024];
+
+    int accountCount;
+    long[] accountUserIds = new long[1024];
+    long[] accountCash = new long[1024];
+    int[] accountPositionCounts = new int[1024];
+
+    int positionCount;
+    String[] positionSymbols = new String[1024];
+    long[] positionQuantities = new long[1024];
+    long[] positionCosts = new long[1024];
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    public int getAccountCount() {
+        return accountCount;
+    }
+
+    void clear(long sequence) {
+        this.sequence = sequence;
+        bookCount = 0;
+        orderCount = 0;
+        accountCount = 0;
+        positionCount = 0;
+    }
+
+    void addBook(String symbol, long lastTradePrice) {
+        if (bookCount == bookSymbols.length) {
+            int capacity = bookCount * 2;
+            bookSymbols = Arrays.copyOf(bookSymbols, capacity);
+            bookLastTradePrices = Arrays.copyOf(bookLastTradePrices, capacity);
+            bookOrderCounts = Arrays.copyOf(bookOrderCounts, capacity);
+        }
+        bookSymbols[bookCount] = symbol;
+        bookLastTradePrices[bookCount] = lastTradePrice;
+        bookOrderCounts[bookCount] = 0;
+        bookCount++;
+    }
+
+    void addOrder(long orderId, long userId, byte side, long price, long quantity, long timestamp, byte type,
+                  long stopPrice) {
+        if (orderCount == orderIds.length) {
+            int capacity = orderCount * 2;
+            orderIds = Arrays.copyOf(orderIds, capacity);
+            orderUserIds = Arrays.copyOf(orderUserIds, capacity);
+            orderSides = Arrays.copyOf(orderSides, capacity);
+            orderPrices = Arrays.copyOf(orderPrices, capacity);
+            orderQuantities = Arrays.copyOf(orderQuantities, capacity);
+            orderTimestamps = Arrays.copyOf(orderTimestamps, capacity);
+            orderTypes = Arrays.copyOf(orderTypes, capacity);
+            orderStopPrices = Arrays.copyOf(orderStopPrices, capacity);
+        }
+        orderIds[orderCount] = orderId;
+        orderUserIds[orderCount] = userId;
+        orderSides[orderCount] = side;
+        orderPrices[orderCount] = price;
+        orderQuantities[orderCount] = quantity;
+        orderTimestamps[orderCount] = timestamp;
+        orderTypes[orderCount] = type;
+        orderStopPrices[orderCount] = stopPrice;
+        orderCount++;
+        bookOrderCounts[bookCount - 1]++;
+    }
+
+    void addAccount(long userId, long cash) {
+        if (accountCount == accountUserIds.length) {
+            int capacity = accountCount * 2;
+            accountUserIds = Arrays.copyOf(accountUserIds, capacity);
+            accountCash = Arrays.copyOf(accountCash, capacity);
+            accountPositionCounts = Arrays.copyOf(accountPositionCounts, capacity);
+        }
+        accountUserIds[accountCount] = userId;
+        accountCash[accountCount] = cash;
+        accountPositionCounts[accountCount] = 0;
+        accountCount++;
+    }
+
+    void addPosition(String symbol, long quantity, long cost) {
+        if (positionCount == positionSymbols.length) {
+            int capacity = positionCount * 2;
+            positionSymbols = Arrays.copyOf(positionSymbols, capacity);
+            positionQuantities = Arrays.copyOf(positionQuantities, capacity);
+            positionCosts = Arrays.copyOf(positionCosts, capacity);
+        }
+        positionSymbols[positionCount] = symbol;
+        positionQuantities[positionCount] = quantity;
+        positionCosts[positionCount] = cost;
+        positionCount++;
+        accountPositionCounts[accountCount - 1]++;
+    }
+}
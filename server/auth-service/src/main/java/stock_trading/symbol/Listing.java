@@ -0,0 +1,25 @@
+package stock_trading.symbol;
+
+import stock_trading.util.Prices;
+
+import java.math.BigDecimal;
+
+/**
+ * Static reference data for one symbol. {@code tickSize} is optional in the listings file and
+ * defaults to one cent.
+ */
+public record Listing(String symbol, String name, BigDecimal previousClose, long sharesOutstanding,
+                      BigDecimal tickSize) {
+
+    public static final BigDecimal DEFAULT_TICK_SIZE = BigDecimal.valueOf(Prices.DEFAULT_TICK_SIZE, Prices.SCALE);
+
+    public Listing {
+        if (tickSize == null) {
+            tickSize = DEFAULT_TICK_SIZE;
+        }
+    }
+
+    public Listing(String symbol, String name, BigDecimal previousClose, long sharesOutstanding) {
+        this(symbol, name, previousClose, sharesOutstanding, DEFAULT_TICK_SIZE);
+    }
+}
@@ -0,0 +1,185 @@
+package stock_trading.symbol;
+
+import stock_trading.util.Prices;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Assigns each listed symbol a dense id in listing order, so per-symbol state can live in plain
+ * arrays indexed by that id. Immutable once built.
+ *
+ * <p>Symbols are at most {@link #MAX_SYMBOL_LENGTH} ASCII characters, so each one packs into a
+ * single {@code long}. Lookups probe an open-addressing table of those codes, which lets inbound
+ * bytes, buffers and strings all resolve to an id without allocating, boxing or hashing a
+ * {@code String}.
+ */
+public class SymbolRegistry {
+
+    public static final int UNKNOWN = -1;
+    public static final int MAX_SYMBOL_LENGTH = 8;
+    public static final long INVALID_CODE = 0L;
+
+    private final List<Listing> listings;
+    private final long[] tickSizes;
+    private final long[] codes;
+    private final int[] slots;
+    private final int mask;
+
+    public SymbolRegistry(List<Listing> listings) {
+        this.listings = List.copyOf(listings);
+        this.tickSizes = new long[this.listings.size()];
+
+        int capacity = Integer.highestOneBit(Math.max(4, this.listings.size() * 4) - 1) << 1;
+        this.codes = new long[capacity];
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int id = 0; id < this.listings.size(); id++) {
+            Listing listing = this.listings.get(id);
+            long code = encode(listing.symbol());
+            if (code == INVALID_CODE) {
+                throw new IllegalArgumentException("Symbol must be 1-" + MAX_SYMBOL_LENGTH
+                        + " ASCII characters: " + listing.symbol());
+            }
+            if (idOf(code) != UNKNOWN) {
+                throw new IllegalArgumentException("Duplicate listing " + listing.symbol());
+            }
+            int slot = slot(code);
+            while (codes[slot] != INVALID_CODE) {
+                slot = (slot + 1) & mask;
+            }
+            codes[slot] = code;
+            slots[slot] = id;
+
+            tickSizes[id] = Prices.fromDecimal(listing.tickSize());
+            if (tickSizes[id] <= 0) {
+                throw new IllegalArgumentException("Tick size must be positive for " + listing.symbol());
+            }
+        }
+    }
+
+    /**
+     * Builds a registry of bare symbols with no reference data, for engines that only need ids.
+     */
+    public static SymbolRegistry of(Collection<String> symbols) {
+        List<Listing> listings = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            listings.add(new Listing(symbol, symbol, BigDecimal.ZERO, 0L, BigDecimal.valueOf(1, Prices.SCALE)));
+        }
+        return new SymbolRegistry(listings);
+    }
+
+    /**
+     * Packs a symbol into a non-zero code, or returns {@link #INVALID_CODE} if it is empty, too
+     * long or not ASCII.
+     */
+    public static long encode(CharSequence symbol) {
+        int length = symbol.length();
+        if (length == 0 || length > MAX_SYMBOL_LENGTH) {
+            return INVALID_CODE;
+        }
+        long code = 0;
+        for (int i = 0; i < length; i++) {
+            char c = symbol.charAt(i);
+            if (c == 0 || c > 0x7F) {
+                return INVALID_CODE;
+            }
+            code = (code << 8) | c;
+        }
+        return code;
+    }
+
+    public static long encode(byte[] bytes, int offset, int length) {
+        if (length == 0 || length > MAX_SYMBOL_LENGTH) {
+            return INVALID_CODE;
+        }
+        long code = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = bytes[offset + i];
+            if (b <= 0) {
+                return INVALID_CODE;
+            }
+            code = (code << 8) | b;
+        }
+        return code;
+    }
+
+    /**
+     * Encodes a fixed-width, NUL-padded symbol field read with absolute gets.
+     */
+    public static long encode(ByteBuffer buffer, int offset, int width) {
+        long code = 0;
+        int length = 0;
+        for (int i = 0; i < Math.min(width, MAX_SYMBOL_LENGTH); i++) {
+            byte b = buffer.get(offset + i);
+            if (b == 0) {
+                break;
+            }
+            if (b < 0) {
+                return INVALID_CODE;
+            }
+            code = (code << 8) | b;
+            length++;
+        }
+        return length == 0 ? INVALID_CODE : code;
+    }
+
+    public int idOf(long code) {
+        if (code == INVALID_CODE) {
+            return UNKNOWN;
+        }
+        for (int slot = slot(code); ; slot = (slot + 1) & mask) {
+            long candidate = codes[slot];
+            if (candidate == code) {
+                return slots[slot];
+            }
+            if (candidate == INVALID_CODE) {
+                return UNKNOWN;
+            }
+        }
+    }
+
+    public int idOf(CharSequence symbol) {
+        return idOf(encode(symbol));
+    }
+
+    public int idOf(byte[] bytes, int offset, int length) {
+        return idOf(encode(bytes, offset, length));
+    }
+
+    public int idOf(ByteBuffer buffer, int offset, int width) {
+        return idOf(encode(buffer, offset, width));
+    }
+
+    public String symbolOf(int id) {
+        return listings.get(id).symbol();
+    }
+
+    public long tickSize(int id) {
+        return tickSizes[id];
+    }
+
+    public Listing listing(int id) {
+        return listings.get(id);
+    }
+
+    public List<Listing> getListings() {
+        return listings;
+    }
+
+    public List<String> getSymbols() {
+        return listings.stream().map(Listing::symbol).toList();
+    }
+
+    public int size() {
+        return listings.size();
+    }
+
+    private int slot(long code) {
+        return (int) ((code * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+    }
+}
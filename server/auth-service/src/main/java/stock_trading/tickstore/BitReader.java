@@ -0,0 +1,46 @@
+package stock_trading.tickstore;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads a bit stream written by {@link BitWriter} straight out of a (usually mapped) buffer.
+ */
+class BitReader {
+
+    private final ByteBuffer buffer;
+    private long bitPosition;
+
+    BitReader(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.bitPosition = (long) offset << 3;
+    }
+
+    boolean readBit() {
+        return readBits(1) != 0;
+    }
+
+    long readBits(int count) {
+        long value = 0;
+        for (int remaining = count; remaining > 0; ) {
+            int index = (int) (bitPosition >>> 3);
+            int available = 8 - (int) (bitPosition & 7);
+            int take = Math.min(available, remaining);
+            int chunk = ((buffer.get(index) & 0xFF) >>> (available - take)) & ((1 << take) - 1);
+            value = (value << take) | chunk;
+            bitPosition += take;
+            remaining -= take;
+        }
+        return value;
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            long b = readBits(8);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
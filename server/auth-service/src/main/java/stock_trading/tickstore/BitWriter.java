@@ -0,0 +1,64 @@
+package stock_trading.tickstore;
+
+import java.util.Arrays;
+
+/**
+ * Growable big-endian bit stream used to build one column of a block.
+ */
+class BitWriter {
+
+    private byte[] bytes;
+    private long bitLength;
+
+    BitWriter(int initialBytes) {
+        this.bytes = new byte[Math.max(8, initialBytes)];
+    }
+
+    void reset() {
+        Arrays.fill(bytes, 0, byteLength(), (byte) 0);
+        bitLength = 0;
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * Appends the low {@code count} bits of {@code value}, most significant first.
+     */
+    void writeBits(long value, int count) {
+        ensureCapacity(bitLength + count);
+        for (int remaining = count; remaining > 0; ) {
+            int index = (int) (bitLength >>> 3);
+            int free = 8 - (int) (bitLength & 7);
+            int take = Math.min(free, remaining);
+            int chunk = (int) (value >>> (remaining - take)) & ((1 << take) - 1);
+            bytes[index] |= (byte) (chunk << (free - take));
+            bitLength += take;
+            remaining -= take;
+        }
+    }
+
+    void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeBits((value & 0x7F) | 0x80, 8);
+            value >>>= 7;
+        }
+        writeBits(value, 8);
+    }
+
+    int byteLength() {
+        return (int) ((bitLength + 7) >>> 3);
+    }
+
+    byte[] array() {
+        return bytes;
+    }
+
+    private void ensureCapacity(long bits) {
+        int needed = (int) ((bits + 7) >>> 3);
+        if (needed > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(needed, bytes.length * 2));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package stock_trading.tickstore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Read-only view of the day files under a {@link TickStore} directory. Files are mapped rather
+ * than read and blocks decode straight out of the mapping, so a scan copies no tick data onto the
+ * heap, and any number of threads may scan at once.
+ */
+public class TickArchive {
+
+    static final String SUFFIX = ".ticks";
+    static final long DAY_MILLIS = 86_400_000L;
+
+    private final Path directory;
+
+    public TickArchive(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Visits sealed ticks for {@code symbol} with {@code from <= timestamp < to}, day by day and in
+     * write order within a day. Only the day files that exist are visited, however wide the range.
+     * Returns {@code false} if the visitor stopped the scan early.
+     */
+    public boolean scan(String symbol, long from, long to, TickVisitor visitor) {
+        if (from >= to) {
+            return true;
+        }
+        CRC32C crc = new CRC32C();
+        for (long day : days(symbol, Math.floorDiv(from, DAY_MILLIS), Math.floorDiv(to - 1, DAY_MILLIS))) {
+            MappedByteBuffer buffer = map(path(symbol, day));
+            int offset = 0;
+            while (true) {
+                int length = TickBlock.validate(buffer, offset, crc);
+                if (length < 0) {
+                    break;
+                }
+                if (TickBlock.maxTimestamp(buffer, offset) >= from && TickBlock.minTimestamp(buffer, offset) < to
+                        && !TickBlock.decode(buffer, offset, from, to, visitor)) {
+                    return false;
+                }
+                offset += length;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the days in {@code [firstDay, lastDay]} that have a file for {@code symbol}, ascending
+     */
+    private long[] days(String symbol, long firstDay, long lastDay) {
+        Path symbolDir = directory.resolve(symbol);
+        if (!Files.isDirectory(symbolDir)) {
+            return new long[0];
+        }
+        try (Stream<Path> files = Files.list(symbolDir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .mapToLong(TickArchive::epochDay)
+                    .filter(day -> day != Long.MIN_VALUE && day >= firstDay && day <= lastDay)
+                    .sorted()
+                    .toArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static long epochDay(String fileName) {
+        try {
+            return LocalDate.parse(fileName.substring(0, fileName.length() - SUFFIX.length())).toEpochDay();
+        } catch (DateTimeParseException ex) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    Path path(String symbol, long day) {
+        return directory.resolve(symbol).resolve(LocalDate.ofEpochDay(day) + SUFFIX);
+    }
+
+    private static MappedByteBuffer map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
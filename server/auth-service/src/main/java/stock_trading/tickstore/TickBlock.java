@@ -0,0 +1,209 @@
+package stock_trading.tickstore;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32C;
+
+/**
+ * Self-contained compressed block of ticks, laid out as a fixed header followed by three columns:
+ *
+ * <pre>
+ *   0  int   tick count
+ *   4  long  first timestamp
+ *  12  long  min timestamp
+ *  20  long  max timestamp
+ *  28  int   timestamp column bytes
+ *  32  int   price column bytes
+ *  36  int   volume column bytes
+ *  40  int   CRC32C of the three columns
+ * </pre>
+ *
+ * Timestamps are delta-of-delta coded with Gorilla's variable-width buckets, prices are XORed with
+ * the previous price and only the meaningful bits are kept, and volumes are unsigned varints. The
+ * min/max timestamps let range scans skip whole blocks without decoding them.
+ */
+final class TickBlock {
+
+    static final int HEADER_SIZE = 44;
+
+    private TickBlock() {
+    }
+
+    static byte[] encode(long[] timestamps, long[] prices, long[] volumes, int count,
+                         BitWriter timestampColumn, BitWriter priceColumn, BitWriter volumeColumn) {
+        timestampColumn.reset();
+        priceColumn.reset();
+        volumeColumn.reset();
+
+        long minTimestamp = timestamps[0];
+        long maxTimestamp = timestamps[0];
+        long previousTimestamp = timestamps[0];
+        long previousDelta = 0;
+        for (int i = 1; i < count; i++) {
+            long delta = timestamps[i] - previousTimestamp;
+            writeDeltaOfDelta(timestampColumn, delta - previousDelta);
+            previousTimestamp = timestamps[i];
+            previousDelta = delta;
+            minTimestamp = Math.min(minTimestamp, timestamps[i]);
+            maxTimestamp = Math.max(maxTimestamp, timestamps[i]);
+        }
+
+        priceColumn.writeBits(prices[0], 64);
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        for (int i = 1; i < count; i++) {
+            long xor = prices[i] ^ prices[i - 1];
+            if (xor == 0) {
+                priceColumn.writeBit(false);
+                continue;
+            }
+            priceColumn.writeBit(true);
+            int leading = Long.numberOfLeadingZeros(xor);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                priceColumn.writeBit(false);
+                priceColumn.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+            } else {
+                int meaningful = 64 - leading - trailing;
+                priceColumn.writeBit(true);
+                priceColumn.writeBits(leading, 6);
+                priceColumn.writeBits(meaningful - 1, 6);
+                priceColumn.writeBits(xor >>> trailing, meaningful);
+                previousLeading = leading;
+                previousTrailing = trailing;
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            volumeColumn.writeVarLong(volumes[i]);
+        }
+
+        int timestampBytes = timestampColumn.byteLength();
+        int priceBytes = priceColumn.byteLength();
+        int volumeBytes = volumeColumn.byteLength();
+        ByteBuffer block = ByteBuffer.allocate(HEADER_SIZE + timestampBytes + priceBytes + volumeBytes)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        block.position(HEADER_SIZE);
+        block.put(timestampColumn.array(), 0, timestampBytes);
+        block.put(priceColumn.array(), 0, priceBytes);
+        block.put(volumeColumn.array(), 0, volumeBytes);
+
+        CRC32C crc = new CRC32C();
+        crc.update(block.array(), HEADER_SIZE, block.capacity() - HEADER_SIZE);
+        block.putInt(0, count)
+                .putLong(4, timestamps[0])
+                .putLong(12, minTimestamp)
+                .putLong(20, maxTimestamp)
+                .putInt(28, timestampBytes)
+                .putInt(32, priceBytes)
+                .putInt(36, volumeBytes)
+                .putInt(40, (int) crc.getValue());
+        return block.array();
+    }
+
+    /**
+     * Returns the total size of the valid block at {@code offset}, or -1 if it is torn or corrupt.
+     */
+    static int validate(ByteBuffer buffer, int offset, CRC32C crc) {
+        if (offset + HEADER_SIZE > buffer.limit()) {
+            return -1;
+        }
+        int count = buffer.getInt(offset);
+        long payload = (long) buffer.getInt(offset + 28) + buffer.getInt(offset + 32) + buffer.getInt(offset + 36);
+        if (count <= 0 || payload <= 0 || offset + HEADER_SIZE + payload > buffer.limit()) {
+            return -1;
+        }
+
+        crc.reset();
+        crc.update(buffer.duplicate().position(offset + HEADER_SIZE).limit(offset + HEADER_SIZE + (int) payload));
+        if ((int) crc.getValue() != buffer.getInt(offset + 40)) {
+            return -1;
+        }
+        return HEADER_SIZE + (int) payload;
+    }
+
+    static long minTimestamp(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 12);
+    }
+
+    static long maxTimestamp(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 20);
+    }
+
+    /**
+     * Decodes the block at {@code offset} and passes ticks with {@code from <= timestamp < to} to the
+     * visitor. Returns {@code false} if the visitor asked to stop.
+     */
+    static boolean decode(ByteBuffer buffer, int offset, long from, long to, TickVisitor visitor) {
+        int count = buffer.getInt(offset);
+        int timestampOffset = offset + HEADER_SIZE;
+        int priceOffset = timestampOffset + buffer.getInt(offset + 28);
+        int volumeOffset = priceOffset + buffer.getInt(offset + 32);
+
+        BitReader timestampColumn = new BitReader(buffer, timestampOffset);
+        BitReader priceColumn = new BitReader(buffer, priceOffset);
+        BitReader volumeColumn = new BitReader(buffer, volumeOffset);
+
+        long timestamp = buffer.getLong(offset + 4);
+        long delta = 0;
+        long price = priceColumn.readBits(64);
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                delta += readDeltaOfDelta(timestampColumn);
+                timestamp += delta;
+
+                if (priceColumn.readBit()) {
+                    if (priceColumn.readBit()) {
+                        leading = (int) priceColumn.readBits(6);
+                        int meaningful = (int) priceColumn.readBits(6) + 1;
+                        trailing = 64 - leading - meaningful;
+                    }
+                    price ^= priceColumn.readBits(64 - leading - trailing) << trailing;
+                }
+            }
+            long volume = volumeColumn.readVarLong();
+
+            if (timestamp >= from && timestamp < to && !visitor.onTick(timestamp, price, volume)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeDeltaOfDelta(BitWriter column, long deltaOfDelta) {
+        if (deltaOfDelta == 0) {
+            column.writeBits(0b0, 1);
+        } else if (deltaOfDelta >= -64 && deltaOfDelta <= 63) {
+            column.writeBits(0b10, 2);
+            column.writeBits(deltaOfDelta, 7);
+        } else if (deltaOfDelta >= -256 && deltaOfDelta <= 255) {
+            column.writeBits(0b110, 3);
+            column.writeBits(deltaOfDelta, 9);
+        } else if (deltaOfDelta >= -2048 && deltaOfDelta <= 2047) {
+            column.writeBits(0b1110, 4);
+            column.writeBits(deltaOfDelta, 12);
+        } else {
+            column.writeBits(0b1111, 4);
+            column.writeBits(deltaOfDelta, 64);
+        }
+    }
+
+    private static long readDeltaOfDelta(BitReader column) {
+        int width;
+        if (!column.readBit()) {
+            return 0;
+        } else if (!column.readBit()) {
+            width = 7;
+        } else if (!column.readBit()) {
+            width = 9;
+        } else if (!column.readBit()) {
+            width = 12;
+        } else {
+            return column.readBits(64);
+        }
+        long value = column.readBits(width);
+        return (value << (64 - width)) >> (64 - width);
+    }
+}
@@ -0,0 +1,177 @@
+package stock_trading.tickstore;
+
+import lombok.extern.slf4j.Slf4j;
+import stock_trading.engine.FillListener;
+import stock_trading.engine.Order;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tick history in one columnar file per symbol and UTC day ({@code <dir>/<SYMBOL>/<yyyy-MM-dd>.ticks}).
+ *
+ * <p>The sequencer thread appends trades to a small per-symbol buffer; every {@code blockSize} ticks,
+ * at a day boundary, once its first tick is {@code maxBlockAgeMillis} old and on {@link #flush()}
+ * the buffer is compressed into a {@link TickBlock} and handed to a background thread that appends
+ * it to the day file. Scans go through a {@link TickArchive} and only see sealed blocks, so a tick
+ * of a quiet symbol becomes visible, and survives a crash, within {@code maxBlockAgeMillis} rather
+ * than only once its block fills.
+ */
+@Slf4j
+public class TickStore implements FillListener, Closeable {
+
+
+    private final TickArchive archive;
+    private final SymbolRegistry registry;
+    private final int blockSize;
+    private final long maxBlockAgeMillis;
+    private final ScheduledExecutorService writer;
+
+    private final long[][] timestamps;
+    private final long[][] prices;
+    private final long[][] volumes;
+    private final int[] counts;
+    private final long[] days;
+    private final long[] openedAt;
+    private final BitWriter timestampColumn;
+    private final BitWriter priceColumn;
+    private final BitWriter volumeColumn;
+
+    /**
+     * A store that seals blocks only when they fill, at a day boundary and on {@link #flush()}.
+     */
+    public TickStore(Path directory, SymbolRegistry registry, int blockSize) {
+        this(directory, registry, blockSize, 0);
+    }
+
+    /**
+     * @param maxBlockAgeMillis how long a tick may stay buffered before its block is sealed, or 0
+     *                          to seal by size only
+     */
+    public TickStore(Path directory, SymbolRegistry registry, int blockSize, long maxBlockAgeMillis) {
+        this.archive = new TickArchive(directory);
+        this.registry = registry;
+        this.blockSize = blockSize;
+        this.maxBlockAgeMillis = maxBlockAgeMillis;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tick-store-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int size = registry.size();
+        this.timestamps = new long[size][blockSize];
+        this.prices = new long[size][blockSize];
+        this.volumes = new long[size][blockSize];
+        this.counts = new int[size];
+        this.days = new long[size];
+        this.openedAt = new long[size];
+        this.timestampColumn = new BitWriter(blockSize);
+        this.priceColumn = new BitWriter(blockSize * 2);
+        this.volumeColumn = new BitWriter(blockSize * 2);
+        if (maxBlockAgeMillis > 0) {
+            long period = Math.max(1, maxBlockAgeMillis / 2);
+            writer.scheduleWithFixedDelay(this::sealAged, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void onFill(int symbolId, long price, long quantity, Order maker, Order taker) {
+        onTrade(symbolId, price, quantity, System.currentTimeMillis());
+    }
+
+    /**
+     * Synchronized with sealing from the writer thread; uncontended except when a block ages out.
+     */
+    public synchronized void onTrade(int symbolId, long price, long quantity, long timestamp) {
+        long day = Math.floorDiv(timestamp, TickArchive.DAY_MILLIS);
+        if (counts[symbolId] > 0 && day != days[symbolId]) {
+            seal(symbolId);
+        }
+
+        if (counts[symbolId] == 0 && maxBlockAgeMillis > 0) {
+            openedAt[symbolId] = System.currentTimeMillis();
+        }
+        int index = counts[symbolId]++;
+        days[symbolId] = day;
+        timestamps[symbolId][index] = timestamp;
+        prices[symbolId][index] = price;
+        volumes[symbolId][index] = quantity;
+
+        if (counts[symbolId] == blockSize) {
+            seal(symbolId);
+        }
+    }
+
+    /**
+     * Seals every partially filled buffer.
+     */
+    public synchronized void flush() {
+        for (int id = 0; id < counts.length; id++) {
+            if (counts[id] > 0) {
+                seal(id);
+            }
+        }
+    }
+
+    private synchronized void sealAged() {
+        long now = System.currentTimeMillis();
+        for (int id = 0; id < counts.length; id++) {
+            if (counts[id] > 0 && now - openedAt[id] >= maxBlockAgeMillis) {
+                seal(id);
+            }
+        }
+    }
+
+    private void seal(int symbolId) {
+        byte[] block = TickBlock.encode(timestamps[symbolId], prices[symbolId], volumes[symbolId], counts[symbolId],
+                timestampColumn, priceColumn, volumeColumn);
+        Path file = archive.path(registry.symbolOf(symbolId), days[symbolId]);
+        counts[symbolId] = 0;
+        writer.execute(() -> append(file, block));
+    }
+
+    private static void append(Path file, byte[] block) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(block);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } catch (IOException ex) {
+            log.error("Failed to append tick block to {}", file, ex);
+        }
+    }
+
+    /**
+     * Visits sealed ticks for {@code symbol} with {@code from <= timestamp < to}; see {@link TickArchive#scan}.
+     */
+    public boolean scan(String symbol, long from, long to, TickVisitor visitor) {
+        return archive.scan(symbol, from, to, visitor);
+    }
+
+    @Override
+    public void close() {
+        flush();
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Tick store writer did not drain within 10s");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
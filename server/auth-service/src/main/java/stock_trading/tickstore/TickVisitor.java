@@ -0,0 +1,10 @@
+package stock_trading.tickstore;
+
+@FunctionalInterface
+public interface TickVisitor {
+
+    /**
+     * @return {@code false} to stop the scan
+     */
+    boolean onTick(long timestamp, long price, long volume);
+}
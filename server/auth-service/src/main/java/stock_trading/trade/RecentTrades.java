@@ -0,0 +1,77 @@
+package stock_trading.trade;
+
+import stock_trading.dto.TradeRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ring of one user's most recent trades, oldest overwritten first. Trades arrive in id order from
+ * the recorder; a ring only answers reads once it has been seeded from the database, and trades
+ * appended while the seed query runs are merged into it rather than lost.
+ */
+final class RecentTrades {
+
+    private final TradeRecord[] slots;
+    private long count;
+    private long newestId = Long.MIN_VALUE;
+    private boolean complete;
+    private volatile long lastAccess;
+
+    RecentTrades(int capacity, long now) {
+        this.slots = new TradeRecord[capacity];
+        this.lastAccess = now;
+    }
+
+    synchronized void append(TradeRecord trade) {
+        if (trade.id() <= newestId) {
+            return;
+        }
+        slots[(int) (count++ % slots.length)] = trade;
+        newestId = trade.id();
+    }
+
+    /**
+     * Fills the ring from {@code newestFirst}, a page of the user's history read after the ring
+     * was opened, keeping anything appended since that the page did not see.
+     */
+    synchronized void seed(List<TradeRecord> newestFirst) {
+        long seededId = newestFirst.isEmpty() ? Long.MIN_VALUE : newestFirst.get(0).id();
+        List<TradeRecord> appended = newest(slots.length);
+        count = 0;
+        newestId = Long.MIN_VALUE;
+        for (int i = Math.min(newestFirst.size(), slots.length) - 1; i >= 0; i--) {
+            append(newestFirst.get(i));
+        }
+        for (int i = appended.size() - 1; i >= 0; i--) {
+            if (appended.get(i).id() > seededId) {
+                append(appended.get(i));
+            }
+        }
+        complete = true;
+    }
+
+    /**
+     * @return up to {@code limit} trades newest first, or {@code null} if the ring is not seeded yet
+     */
+    synchronized List<TradeRecord> read(int limit, long now) {
+        if (!complete) {
+            return null;
+        }
+        lastAccess = now;
+        return newest(limit);
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    private List<TradeRecord> newest(int limit) {
+        int size = (int) Math.min(Math.min(count, slots.length), limit);
+        List<TradeRecord> trades = new ArrayList<>(size);
+        for (long i = count - 1; i >= count - size; i--) {
+            trades.add(slots[(int) (i % slots.length)]);
+        }
+        return trades;
+    }
+}
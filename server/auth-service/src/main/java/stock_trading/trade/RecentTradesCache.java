@@ -0,0 +1,76 @@
+package stock_trading.trade;
+
+import stock_trading.dto.TradeRecord;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The newest trades of every user who has read their history recently, so the first page of a
+ * blotter is served without touching the database. Users are only tracked once they read, and
+ * are dropped again after going idle.
+ */
+public class RecentTradesCache {
+
+    private final Map<Long, RecentTrades> users = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    public RecentTradesCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records a trade that is already persisted. Ignored for users who are not tracked.
+     */
+    public void append(long userId, TradeRecord trade) {
+        RecentTrades trades = users.get(userId);
+        if (trades != null) {
+            trades.append(trade);
+        }
+    }
+
+    /**
+     * Starts tracking a user ahead of {@link #seed}. Must be called before the seed is read from
+     * the database, so trades persisted in between are not missed.
+     */
+    public void open(long userId, long now) {
+        users.computeIfAbsent(userId, id -> new RecentTrades(capacity, now));
+    }
+
+    public void seed(long userId, List<TradeRecord> newestFirst) {
+        RecentTrades trades = users.get(userId);
+        if (trades != null) {
+            trades.seed(newestFirst);
+        }
+    }
+
+    /**
+     * @return up to {@code limit} of the user's trades newest first, or {@code null} if the user
+     * is not tracked or not yet seeded
+     */
+    public List<TradeRecord> newest(long userId, int limit, long now) {
+        RecentTrades trades = users.get(userId);
+        return trades == null ? null : trades.read(limit, now);
+    }
+
+    /**
+     * Stops tracking users whose trades have not been read since {@code cutoff}.
+     */
+    public int evictAccessedBefore(long cutoff) {
+        int before = users.size();
+        users.values().removeIf(trades -> trades.getLastAccess() < cutoff);
+        return before - users.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return users.size();
+    }
+}
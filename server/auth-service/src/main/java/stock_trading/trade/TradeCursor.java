@@ -0,0 +1,35 @@
+package stock_trading.trade;
+
+import stock_trading.dto.TradeRecord;
+import stock_trading.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque position in a user's trade history: the {@code (executedAt, id)} key of the last trade
+ * on a page, which the next page continues strictly after.
+ */
+public record TradeCursor(Instant executedAt, long id) {
+
+    public static TradeCursor after(TradeRecord trade) {
+        return new TradeCursor(trade.date(), trade.id());
+    }
+
+    public static TradeCursor decode(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separator = key.indexOf(':');
+            return new TradeCursor(Instant.ofEpochMilli(Long.parseLong(key.substring(0, separator))),
+                    Long.parseLong(key.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new InvalidCursorException("invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        String key = executedAt.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.US_ASCII));
+    }
+}
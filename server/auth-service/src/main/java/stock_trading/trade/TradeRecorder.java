@@ -0,0 +1,284 @@
+package stock_trading.trade;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+import stock_trading.dto.TradeExecutedEvent;
+import stock_trading.dto.TradeRecord;
+import stock_trading.engine.FillFeed;
+import stock_trading.engine.FillListener;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.Order;
+import stock_trading.engine.Side;
+import stock_trading.entity.OutboxEvent;
+import stock_trading.entity.Trade;
+import stock_trading.outbox.OutboxWriter;
+import stock_trading.repository.TradeRepository;
+import stock_trading.util.Prices;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists every fill as one trade per counterparty. Fills leave the sequencer thread through a
+ * {@link FillFeed} and are written in batches by a background thread, so the engine never waits on
+ * the database; saved trades are then offered to the recent-trades cache. Each batch commits
+ * together with a {@code trade.executed} outbox event per trade.
+ *
+ * <p>The journal, not the feed, is the record of what executed. Each trade carries the sequence of
+ * its command and its position among that command's trades. A snapshot is only written once
+ * {@link #saveThrough(long)} confirms every fill up to it is saved, so the journal tail recovery
+ * replays after the snapshot holds every fill that may be missing, and {@link #resume()} lets the
+ * already saved ones be skipped. A crash therefore loses nothing that was journaled. A batch that fails to save
+ * is retried on the next flush and nothing more is drained until it succeeds; if an outage backs
+ * up the feed until it drops a fill, saving stops at that command rather than leave a hole, and
+ * the rest is re-derived at the next restart.
+ */
+@Slf4j
+public class TradeRecorder implements FillListener, Closeable {
+
+    private static final long RETRY_MILLIS = 1_000;
+
+    private final MatchingEngine engine;
+    private final TradeRepository tradeRepository;
+    private final RecentTradesCache recentTrades;
+    private final TransactionTemplate transactions;
+    private final OutboxWriter outbox;
+    private final FillFeed fills;
+    private final FillFeed.Visitor collector = this::collect;
+    private final int batchSize;
+    private final int recoveryAttempts;
+    private final ScheduledExecutorService flusher;
+
+    private final List<Trade> pending = new ArrayList<>();
+    private long lastExecutedAt;
+    private long entrySequence = -1;
+    private int nextEntryNo;
+    private long gapSequence = Long.MAX_VALUE;
+
+    private volatile boolean recovering;
+    private long resumeSequence;
+    private Set<Integer> savedEntries = Set.of();
+
+    public TradeRecorder(MatchingEngine engine, TradeRepository tradeRepository, RecentTradesCache recentTrades,
+                         TransactionTemplate transactions, OutboxWriter outbox, int bufferSize,
+                         long flushIntervalMillis, int recoveryAttempts) {
+        this.engine = engine;
+        this.tradeRepository = tradeRepository;
+        this.recentTrades = recentTrades;
+        this.transactions = transactions;
+        this.outbox = outbox;
+        this.fills = new FillFeed(bufferSize);
+        this.fills.setSequenceSource(engine::getSequence);
+        this.fills.setActive(true);
+        this.batchSize = bufferSize;
+        this.recoveryAttempts = recoveryAttempts;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trade-recorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Switches to recording replayed fills. Call with this attached to the engine, before recovery
+     * replays the journal.
+     *
+     * @return the sequence of the last command with a saved trade, whose trades may be incomplete,
+     * or -1 if no trade is saved
+     */
+    public synchronized long resume() {
+        Long last = tradeRepository.findLastSequence();
+        resumeSequence = last == null ? -1 : last;
+        savedEntries = last == null ? Set.of() : Set.copyOf(tradeRepository.findEntryNumbers(last));
+        recovering = true;
+        return resumeSequence;
+    }
+
+    /**
+     * Ends recovery: saves what the replay re-derived and returns to recording live fills.
+     */
+    public synchronized void recovered() {
+        recovering = false;
+        flushQuietly();
+    }
+
+    /**
+     * Saves every fill published so far, then reports whether the fills of all commands up to
+     * {@code sequence} are saved, which holds unless the feed dropped one of them. The first flush
+     * retries a batch left over from a failure; the second drains what was published since.
+     */
+    public synchronized boolean saveThrough(long sequence) {
+        flush();
+        flush();
+        return sequence < gapSequence;
+    }
+
+    @Override
+    public void onFill(int symbolId, long price, long quantity, Order maker, Order taker) {
+        if (recovering) {
+            recordReplayed(symbolId, price, quantity, maker, taker);
+        } else {
+            fills.onFill(symbolId, price, quantity, maker, taker);
+        }
+    }
+
+    /**
+     * Saves everything published so far.
+     *
+     * @return the number of trades saved
+     */
+    public synchronized int flush() {
+        if (pending.isEmpty()) {
+            fills.drain(collector);
+            stopAtGap();
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<Trade> saved;
+        try {
+            saved = transactions.execute(status -> {
+                List<Trade> trades = tradeRepository.saveAll(pending);
+                List<OutboxEvent> events = new ArrayList<>(trades.size());
+                for (Trade trade : trades) {
+                    events.add(outbox.event(TradeExecutedEvent.AGGREGATE_TYPE, trade.getUserId(),
+                            TradeExecutedEvent.EVENT_TYPE, toEvent(trade)));
+                }
+                outbox.appendAll(events);
+                return trades;
+            });
+        } catch (RuntimeException ex) {
+            // The rolled-back batch keeps its generated ids; clear them so the retry inserts again.
+            pending.replaceAll(trade -> trade.toBuilder().id(null).build());
+            throw ex;
+        }
+        pending.clear();
+        for (Trade trade : saved) {
+            recentTrades.append(trade.getUserId(), toRecord(trade));
+        }
+        return saved.size();
+    }
+
+    public long getDropped() {
+        return fills.getDropped();
+    }
+
+    @Override
+    public void close() {
+        fills.setActive(false);
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    public static TradeRecord toRecord(Trade trade) {
+        return new TradeRecord(trade.getId(), trade.getOrderId(), trade.getSymbol(), trade.getQuantity(),
+                Prices.toDouble(trade.getPrice()), trade.getSide(), trade.getExecutedAt());
+    }
+
+    private static TradeExecutedEvent toEvent(Trade trade) {
+        return new TradeExecutedEvent(trade.getId(), trade.getUserId(), trade.getOrderId(), trade.getSymbol(),
+                trade.getSide(), Prices.toDouble(trade.getPrice()), trade.getQuantity(), trade.getExecutedAt());
+    }
+
+    /**
+     * Runs on the recovering thread, which may wait for the database: nothing is live yet, and
+     * dropping a replayed fill would lose it for good. After {@code recoveryAttempts} failed saves
+     * it gives up and fails startup rather than hang on a database that is not coming back.
+     */
+    private synchronized void recordReplayed(int symbolId, long price, long quantity, Order maker, Order taker) {
+        long sequence = engine.getSequence();
+        if (sequence < resumeSequence) {
+            return;
+        }
+        long timestamp = engine.getCommandTimestamp();
+        collect(sequence, maker.getUserId(), maker.getOrderId(), symbolId, maker.getSide(), price, quantity,
+                timestamp);
+        collect(sequence, taker.getUserId(), taker.getOrderId(), symbolId, taker.getSide(), price, quantity,
+                timestamp);
+        for (int attempt = 1; pending.size() >= batchSize; attempt++) {
+            try {
+                flush();
+            } catch (RuntimeException ex) {
+                if (attempt >= recoveryAttempts) {
+                    throw new IllegalStateException("Could not save the trades replayed at sequence " + sequence
+                            + " after " + attempt + " attempts; startup cannot continue without them", ex);
+                }
+                log.error("Failed to save recovered trades (attempt {} of {}), retrying", attempt, recoveryAttempts,
+                        ex);
+                sleep();
+            }
+        }
+    }
+
+    private void collect(long sequence, long userId, long orderId, int symbolId, Side side, long price,
+                         long quantity, long timestamp) {
+        if (sequence != entrySequence) {
+            entrySequence = sequence;
+            nextEntryNo = 0;
+        }
+        int entryNo = nextEntryNo++;
+        if (sequence >= gapSequence || (sequence == resumeSequence && savedEntries.contains(entryNo))) {
+            return;
+        }
+        // Pages are keyed by (executedAt, id) while ids follow fill order, so keep both in step
+        // even if the wall clock steps back.
+        lastExecutedAt = Math.max(lastExecutedAt, timestamp);
+        pending.add(Trade.builder()
+                .userId(userId)
+                .orderId(orderId)
+                .symbol(engine.getRegistry().symbolOf(symbolId))
+                .side(side)
+                .price(price)
+                .quantity(quantity)
+                .executedAt(Instant.ofEpochMilli(lastExecutedAt))
+                .sequence(sequence)
+                .entryNo(entryNo)
+                .build());
+    }
+
+    /**
+     * Once the feed has dropped a fill, keeps only the trades of earlier commands, so the last saved
+     * sequence stays below the hole and the next restart records everything from there.
+     */
+    private void stopAtGap() {
+        long firstDropped = fills.getFirstDroppedSequence();
+        if (firstDropped == Long.MAX_VALUE || gapSequence != Long.MAX_VALUE) {
+            return;
+        }
+        gapSequence = firstDropped;
+        pending.removeIf(trade -> trade.getSequence() >= firstDropped);
+        fills.setActive(false);
+        log.error("Trade feed overflowed at sequence {}; later trades will be recorded from the journal "
+                + "at the next restart", firstDropped);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(RETRY_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while saving recovered trades", ex);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("Failed to save trades, retrying", ex);
+        }
+    }
+}
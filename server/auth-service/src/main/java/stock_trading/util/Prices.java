@@ -0,0 +1,177 @@
+package stock_trading.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Fixed-point arithmetic for prices and money: every amount is a {@code long} scaled by
+ * {@link #ONE}, and quantities are plain {@code long}s. Multiplications are overflow-checked, and
+ * parsing and formatting work on characters directly, so the order path never needs
+ * {@code BigDecimal} or intermediate strings.
+ */
+public final class Prices {
+
+    public static final int SCALE = 4;
+    public static final long ONE = 10_000L;
+    public static final long DEFAULT_TICK_SIZE = 100L;
+
+    private static final long MAX_INTEGER_PART = Long.MAX_VALUE / ONE;
+
+    private Prices() {
+    }
+
+    public static long fromDecimal(BigDecimal price) {
+        return price.movePointRight(SCALE).longValueExact();
+    }
+
+    public static double toDouble(long price) {
+        return (double) price / ONE;
+    }
+
+    /**
+     * @return {@code price * quantity}, e.g. the cash value of a fill
+     * @throws ArithmeticException if the result does not fit in a long
+     */
+    public static long notional(long price, long quantity) {
+        return Math.multiplyExact(price, quantity);
+    }
+
+    public static boolean notionalFits(long price, long quantity) {
+        long high = Math.multiplyHigh(price, quantity);
+        long low = price * quantity;
+        return high == (low >> 63);
+    }
+
+    /**
+     * Multiplies two scaled values, e.g. a price by a scaled rate, truncating toward zero.
+     */
+    public static long multiply(long a, long b) {
+        return mulDiv(a, b, ONE);
+    }
+
+    /**
+     * @return {@code value * numerator / denominator} truncated toward zero, computed without
+     * losing the intermediate product
+     * @throws ArithmeticException if the result does not fit in a long
+     */
+    public static long mulDiv(long value, long numerator, long denominator) {
+        if (notionalFits(value, numerator)) {
+            return value * numerator / denominator;
+        }
+        // Only reached when the intermediate product itself overflows.
+        return BigInteger.valueOf(value)
+                .multiply(BigInteger.valueOf(numerator))
+                .divide(BigInteger.valueOf(denominator))
+                .longValueExact();
+    }
+
+    public static boolean isOnTick(long price, long tickSize) {
+        return price % tickSize == 0;
+    }
+
+    public static long parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses a plain decimal such as {@code -151.35} with at most {@link #SCALE} fraction digits.
+     *
+     * @throws NumberFormatException if the text is malformed, too precise or out of range
+     */
+    public static long parse(CharSequence text, int start, int end) {
+        int index = start;
+        boolean negative = false;
+        if (index < end && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+            negative = text.charAt(index) == '-';
+            index++;
+        }
+
+        long integerPart = 0;
+        int integerDigits = 0;
+        while (index < end && text.charAt(index) != '.') {
+            int digit = digit(text, index++);
+            if (integerPart > (MAX_INTEGER_PART - digit) / 10) {
+                throw new NumberFormatException("Price out of range: " + text.subSequence(start, end));
+            }
+            integerPart = integerPart * 10 + digit;
+            integerDigits++;
+        }
+
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (index < end) {
+            index++;
+            while (index < end) {
+                if (++fractionDigits > SCALE) {
+                    throw new NumberFormatException(
+                            "More than " + SCALE + " decimals: " + text.subSequence(start, end));
+                }
+                fraction = fraction * 10 + digit(text, index++);
+            }
+        }
+        if (integerDigits == 0 && fractionDigits == 0) {
+            throw new NumberFormatException("Not a price: " + text.subSequence(start, end));
+        }
+        for (int i = fractionDigits; i < SCALE; i++) {
+            fraction *= 10;
+        }
+
+        long value = integerPart * ONE;
+        if (fraction > Long.MAX_VALUE - value) {
+            throw new NumberFormatException("Price out of range: " + text.subSequence(start, end));
+        }
+        value += fraction;
+        return negative ? -value : value;
+    }
+
+    public static String format(long price) {
+        return format(price, new StringBuilder(24)).toString();
+    }
+
+    /**
+     * Appends {@code price} as a decimal with at least two and at most {@link #SCALE} fraction
+     * digits, e.g. {@code 151.35} or {@code 0.0125}.
+     */
+    public static StringBuilder format(long price, StringBuilder out) {
+        if (price < 0) {
+            out.append('-');
+        }
+        long integerPart = Math.abs(price / ONE);
+        long fraction = Math.abs(price % ONE);
+
+        long divisor = 1;
+        while (divisor <= integerPart / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + integerPart / divisor % 10));
+        }
+
+        out.append('.');
+        int digits = SCALE;
+        while (digits > 2 && fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        for (long place = pow10(digits - 1); place > 0; place /= 10) {
+            out.append((char) ('0' + fraction / place % 10));
+        }
+        return out;
+    }
+
+    private static int digit(CharSequence text, int index) {
+        char c = text.charAt(index);
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Unexpected '" + c + "' in price");
+        }
+        return c - '0';
+    }
+
+    private static long pow10(int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,94 @@
+package stock_trading.watchlist;
+
+import stock_trading.marketdata.QuoteSink;
+import stock_trading.marketdata.QuoteView;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open watchlist stream. Holds the symbols it watches with its position in each symbol's
+ * {@link WatcherList}, and one dirty bit per symbol. The fan-out owns everything under its lock;
+ * a sender task owns {@code pending} and {@code views} while {@code inFlight} is set.
+ */
+public class WatchSession {
+
+    final long userId;
+    final QuoteSink sink;
+    final int slot;
+    final long[] dirty;
+    final AtomicBoolean inFlight = new AtomicBoolean();
+
+    int[] symbols = new int[8];
+    int[] positions = new int[8];
+    int count;
+
+    int[] pending = new int[0];
+    QuoteView[] views = new QuoteView[0];
+    int pendingCount;
+    boolean queued;
+    volatile boolean closed;
+
+    WatchSession(long userId, QuoteSink sink, int slot, int symbolCount) {
+        this.userId = userId;
+        this.sink = sink;
+        this.slot = slot;
+        this.dirty = new long[(symbolCount + 63) >>> 6];
+    }
+
+    int indexOf(int symbolId) {
+        for (int i = 0; i < count; i++) {
+            if (symbols[i] == symbolId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    void add(int symbolId, int position) {
+        if (count == symbols.length) {
+            symbols = Arrays.copyOf(symbols, count * 2);
+            positions = Arrays.copyOf(positions, count * 2);
+        }
+        symbols[count] = symbolId;
+        positions[count] = position;
+        count++;
+    }
+
+    void move(int symbolId, int position) {
+        positions[indexOf(symbolId)] = position;
+    }
+
+    void removeAt(int index) {
+        count--;
+        symbols[index] = symbols[count];
+        positions[index] = positions[count];
+    }
+
+    void markDirty(int symbolId) {
+        dirty[symbolId >>> 6] |= 1L << symbolId;
+    }
+
+    void clearDirty(int symbolId) {
+        dirty[symbolId >>> 6] &= ~(1L << symbolId);
+    }
+
+    boolean takeDirty(int symbolId) {
+        long bit = 1L << symbolId;
+        long word = dirty[symbolId >>> 6];
+        dirty[symbolId >>> 6] = word & ~bit;
+        return (word & bit) != 0;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public int getWatchedCount() {
+        return count;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,44 @@
+package stock_trading.watchlist;
+
+import java.util.Arrays;
+
+/**
+ * Slots of the sessions watching one symbol. Removal swaps the last slot into the freed
+ * position and reports which session moved, so the session can update its back-pointer.
+ */
+class WatcherList {
+
+    private int[] slots = new int[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int slot(int position) {
+        return slots[position];
+    }
+
+    /**
+     * @return the position the slot was stored at
+     */
+    int add(int slot) {
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        slots[size] = slot;
+        return size++;
+    }
+
+    /**
+     * @return the slot moved into {@code position}, or -1 if it was the last one
+     */
+    int remove(int position) {
+        int last = --size;
+        if (position == last) {
+            return -1;
+        }
+        slots[position] = slots[last];
+        return slots[position];
+    }
+}
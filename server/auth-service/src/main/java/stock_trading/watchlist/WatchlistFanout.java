@@ -0,0 +1,266 @@
+package stock_trading.watchlist;
+
+import lombok.extern.slf4j.Slf4j;
+import stock_trading.marketdata.QuoteBatchEncoder;
+import stock_trading.marketdata.QuoteSink;
+import stock_trading.marketdata.QuoteStore;
+import stock_trading.marketdata.QuoteView;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Streams quote changes to watchlist sessions through an inverted index from symbol id to the
+ * slots of the sessions watching it.
+ *
+ * <p>Each {@link #tick()} diffs {@link QuoteStore} versions once and walks only the watcher lists
+ * of symbols that changed, so a trade costs in proportion to the watchers of its symbol rather
+ * than to the number of connected sessions. As in {@code ConflatingQuoteFanout}, a session keeps
+ * dirty bits rather than a queue: one whose previous send is still running stays queued and later
+ * gets the latest values of everything that changed in between.
+ */
+@Slf4j
+public class WatchlistFanout {
+
+    private final QuoteStore quoteStore;
+    private final QuoteBatchEncoder encoder;
+    private final Executor sender;
+    private final int symbolCount;
+    private final long[] seenVersions;
+    private final WatcherList[] watchers;
+    private final Map<Long, List<WatchSession>> sessionsByUser = new HashMap<>();
+
+    private WatchSession[] sessions = new WatchSession[16];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+    private int sessionCount;
+
+    // Sessions with dirty bits to flush, in the order they became dirty.
+    private WatchSession[] ready = new WatchSession[16];
+    private int readyCount;
+
+    public WatchlistFanout(QuoteStore quoteStore, QuoteBatchEncoder encoder, Executor sender) {
+        this.quoteStore = quoteStore;
+        this.encoder = encoder;
+        this.sender = sender;
+        this.symbolCount = quoteStore.getRegistry().size();
+        this.seenVersions = new long[symbolCount];
+        this.watchers = new WatcherList[symbolCount];
+    }
+
+    public synchronized WatchSession subscribe(long userId, QuoteSink sink) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == sessions.length) {
+                sessions = Arrays.copyOf(sessions, slotCount * 2);
+            }
+            slot = slotCount++;
+        }
+        WatchSession session = new WatchSession(userId, sink, slot, symbolCount);
+        sessions[slot] = session;
+        sessionsByUser.computeIfAbsent(userId, id -> new ArrayList<>(1)).add(session);
+        sessionCount++;
+        return session;
+    }
+
+    public synchronized void unsubscribe(WatchSession session) {
+        if (session.closed) {
+            return;
+        }
+        session.closed = true;
+        for (int i = session.count - 1; i >= 0; i--) {
+            removeWatcher(session, i);
+        }
+
+        sessions[session.slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = session.slot;
+
+        List<WatchSession> userSessions = sessionsByUser.get(session.userId);
+        userSessions.remove(session);
+        if (userSessions.isEmpty()) {
+            sessionsByUser.remove(session.userId);
+        }
+        sessionCount--;
+    }
+
+    /**
+     * Adds a symbol to one session and queues its current quote. Watching a symbol twice is a no-op.
+     */
+    public synchronized void watch(WatchSession session, int symbolId) {
+        if (session.closed || session.indexOf(symbolId) >= 0) {
+            return;
+        }
+        WatcherList list = watchers[symbolId];
+        if (list == null) {
+            list = watchers[symbolId] = new WatcherList();
+        }
+        session.add(symbolId, list.add(session.slot));
+        session.markDirty(symbolId);
+        enqueue(session);
+    }
+
+    /**
+     * Adds a symbol to every open session of the user.
+     */
+    public synchronized void watch(long userId, int symbolId) {
+        List<WatchSession> userSessions = sessionsByUser.get(userId);
+        if (userSessions != null) {
+            for (WatchSession session : userSessions) {
+                watch(session, symbolId);
+            }
+        }
+    }
+
+    /**
+     * Removes a symbol from every open session of the user.
+     */
+    public synchronized void unwatch(long userId, int symbolId) {
+        List<WatchSession> userSessions = sessionsByUser.get(userId);
+        if (userSessions == null) {
+            return;
+        }
+        for (WatchSession session : userSessions) {
+            int index = session.indexOf(symbolId);
+            if (index >= 0) {
+                removeWatcher(session, index);
+                session.clearDirty(symbolId);
+            }
+        }
+    }
+
+    /**
+     * Marks the watchers of every changed symbol and starts a send for each dirty session that
+     * has none running. Called from one scheduler thread.
+     */
+    public synchronized void tick() {
+        for (int id = 0; id < symbolCount; id++) {
+            long version = quoteStore.version(id);
+            if (version != seenVersions[id]) {
+                seenVersions[id] = version;
+                markWatchers(id);
+            }
+        }
+
+        int remaining = 0;
+        for (int i = 0; i < readyCount; i++) {
+            WatchSession session = ready[i];
+            if (session.closed || flush(session)) {
+                session.queued = false;
+            } else {
+                ready[remaining++] = session;
+            }
+        }
+        Arrays.fill(ready, remaining, readyCount, null);
+        readyCount = remaining;
+    }
+
+    private void markWatchers(int symbolId) {
+        WatcherList list = watchers[symbolId];
+        if (list == null) {
+            return;
+        }
+        for (int position = 0; position < list.size(); position++) {
+            WatchSession session = sessions[list.slot(position)];
+            session.markDirty(symbolId);
+            enqueue(session);
+        }
+    }
+
+    private void enqueue(WatchSession session) {
+        if (session.queued) {
+            return;
+        }
+        session.queued = true;
+        if (readyCount == ready.length) {
+            ready = Arrays.copyOf(ready, readyCount * 2);
+        }
+        ready[readyCount++] = session;
+    }
+
+    private void removeWatcher(WatchSession session, int index) {
+        int symbolId = session.symbols[index];
+        int position = session.positions[index];
+        int moved = watchers[symbolId].remove(position);
+        if (moved >= 0) {
+            sessions[moved].move(symbolId, position);
+        }
+        session.removeAt(index);
+    }
+
+    /**
+     * @return false if the session must stay queued because a send is still running or was refused
+     */
+    private boolean flush(WatchSession session) {
+        if (!session.inFlight.compareAndSet(false, true)) {
+            return false;
+        }
+
+        if (session.pending.length < session.count) {
+            session.pending = new int[session.symbols.length];
+            QuoteView[] views = Arrays.copyOf(session.views, session.symbols.length);
+            for (int i = session.views.length; i < views.length; i++) {
+                views[i] = new QuoteView();
+            }
+            session.views = views;
+        }
+        int count = 0;
+        for (int i = 0; i < session.count; i++) {
+            int symbolId = session.symbols[i];
+            if (session.takeDirty(symbolId)) {
+                session.pending[count++] = symbolId;
+            }
+        }
+        if (count == 0) {
+            session.inFlight.set(false);
+            return true;
+        }
+
+        session.pendingCount = count;
+        try {
+            sender.execute(() -> send(session));
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Quote sender rejected a watchlist flush", ex);
+            for (int i = 0; i < count; i++) {
+                session.markDirty(session.pending[i]);
+            }
+            session.inFlight.set(false);
+            return false;
+        }
+    }
+
+    private void send(WatchSession session) {
+        try {
+            int count = session.pendingCount;
+            for (int i = 0; i < count; i++) {
+                quoteStore.read(session.pending[i], session.views[i]);
+            }
+            session.sink.send(encoder.encode(session.views, count));
+        } catch (IOException | RuntimeException ex) {
+            log.debug("Dropping watchlist session after failed send", ex);
+            unsubscribe(session);
+        } finally {
+            session.inFlight.set(false);
+        }
+    }
+
+    public synchronized int getSessionCount() {
+        return sessionCount;
+    }
+
+    public synchronized int getWatcherCount(int symbolId) {
+        WatcherList list = watchers[symbolId];
+        return list == null ? 0 : list.size();
+    }
+}
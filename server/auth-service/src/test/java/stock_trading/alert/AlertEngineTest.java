@@ -0,0 +1,135 @@
+package stock_trading.alert;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlertEngineTest {
+
+    private static final int AAPL = 0;
+    private static final int MSFT = 1;
+
+    private final List<String> fired = new ArrayList<>();
+    private AlertEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new AlertEngine(2, (alertId, userId, symbolId, direction, threshold, price, timestamp) ->
+                fired.add(alertId + ":" + userId + ":" + symbolId + ":" + direction + ":" + threshold + "@" + price));
+    }
+
+    @Test
+    @DisplayName("Should fire alerts above in ascending and below in descending threshold order")
+    void shouldFireInThresholdOrder() {
+        engine.add(1, 10, AAPL, AlertDirection.ABOVE, 1_520_000);
+        engine.add(2, 10, AAPL, AlertDirection.ABOVE, 1_510_000);
+        engine.add(3, 11, AAPL, AlertDirection.ABOVE, 1_600_000);
+        engine.add(4, 11, AAPL, AlertDirection.BELOW, 1_480_000);
+        engine.add(5, 12, AAPL, AlertDirection.BELOW, 1_490_000);
+
+        assertThat(engine.onPrice(AAPL, 1_500_000, 1L)).isZero();
+        assertThat(engine.onPrice(AAPL, 1_520_000, 2L)).isEqualTo(2);
+        assertThat(engine.onPrice(AAPL, 1_480_000, 3L)).isEqualTo(2);
+
+        assertThat(fired).containsExactly(
+                "2:10:0:ABOVE:1510000@1520000",
+                "1:10:0:ABOVE:1520000@1520000",
+                "5:12:0:BELOW:1490000@1480000",
+                "4:11:0:BELOW:1480000@1480000");
+        assertThat(engine.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fire each alert once and only for its own symbol")
+    void shouldFireOncePerSymbol() {
+        engine.add(1, 10, AAPL, AlertDirection.ABOVE, 1_500_000);
+        engine.add(2, 10, MSFT, AlertDirection.ABOVE, 1_500_000);
+
+        engine.onPrice(AAPL, 1_500_000, 1L);
+        engine.onPrice(AAPL, 1_600_000, 2L);
+
+        assertThat(fired).containsExactly("1:10:0:ABOVE:1500000@1500000");
+        assertThat(engine.add(2, 10, MSFT, AlertDirection.ABOVE, 1_500_000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should never fire a cancelled alert")
+    void shouldSkipCancelledAlerts() {
+        engine.add(1, 10, AAPL, AlertDirection.BELOW, 1_400_000);
+        engine.add(2, 10, AAPL, AlertDirection.BELOW, 1_300_000);
+
+        assertThat(engine.cancel(1)).isTrue();
+        assertThat(engine.cancel(1)).isFalse();
+        engine.onPrice(AAPL, 1_000_000, 1L);
+
+        assertThat(fired).containsExactly("2:10:0:BELOW:1300000@1000000");
+        assertThat(engine.getStale()).isZero();
+        assertThat(engine.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should compact cancelled entries once they outnumber resting alerts")
+    void shouldCompactStaleEntries() {
+        for (int id = 1; id <= 3_000; id++) {
+            engine.add(id, id, AAPL, AlertDirection.ABOVE, 1_000_000 + id);
+        }
+        for (int id = 1; id <= 2_000; id++) {
+            engine.cancel(id);
+        }
+
+        assertThat(engine.getStale()).isLessThan(1_024);
+        assertThat(engine.onPrice(AAPL, 1_002_500, 1L)).isEqualTo(500);
+        assertThat(fired.get(0)).startsWith("2001:");
+    }
+
+    @Test
+    @DisplayName("Should fire exactly what a scan of every alert would")
+    void shouldMatchBruteForce() {
+        Random random = new Random(42);
+        Map<Long, long[]> resting = new HashMap<>();
+        List<Long> expected = new ArrayList<>();
+        List<Long> actual = new ArrayList<>();
+        AlertEngine checked = new AlertEngine(2, (alertId, userId, symbolId, direction, threshold, price, timestamp) ->
+                actual.add(alertId));
+
+        long nextId = 1;
+        for (int step = 0; step < 20_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 6) {
+                long id = nextId++;
+                int symbolId = random.nextInt(2);
+                int direction = random.nextInt(2);
+                long threshold = 1_000_000 + random.nextInt(10_000);
+                checked.add(id, 1, symbolId, AlertDirection.values()[direction], threshold);
+                resting.put(id, new long[]{symbolId, direction, threshold});
+            } else if (action < 8 && nextId > 1) {
+                long id = 1 + random.nextInt((int) nextId - 1);
+                checked.cancel(id);
+                resting.remove(id);
+            } else {
+                int symbolId = random.nextInt(2);
+                long price = 1_000_000 + random.nextInt(10_000);
+                checked.onPrice(symbolId, price, step);
+                resting.entrySet().removeIf(entry -> {
+                    long[] alert = entry.getValue();
+                    boolean fires = alert[0] == symbolId && (alert[1] == 0 ? price >= alert[2] : price <= alert[2]);
+                    if (fires) {
+                        expected.add(entry.getKey());
+                    }
+                    return fires;
+                });
+            }
+        }
+
+        assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(checked.size()).isEqualTo(resting.size());
+    }
+}
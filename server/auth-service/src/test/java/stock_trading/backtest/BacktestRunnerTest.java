@@ -0,0 +1,111 @@
+package stock_trading.backtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import stock_trading.engine.Side;
+import stock_trading.simulator.MarketSimulator;
+import stock_trading.simulator.SimulationSettings;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.tickstore.TickArchive;
+import stock_trading.tickstore.TickStore;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BacktestRunnerTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final long START = 20_000 * DAY;
+
+    @TempDir
+    Path tickDir;
+
+    @Test
+    @DisplayName("Should fill resting orders against later ticks at their own limit price")
+    void shouldFillAgainstLaterTicks() {
+        SymbolRegistry registry = SymbolRegistry.of(List.of("AAPL"));
+        TickStore store = new TickStore(tickDir, registry, 16);
+        long[] prices = {1_000_000, 990_000, 1_010_000, 1_020_000};
+        for (int i = 0; i < prices.length; i++) {
+            store.onTrade(0, prices[i], 10, START + i);
+        }
+        store.close();
+
+        List<String> fills = new ArrayList<>();
+        Strategy strategy = new Strategy() {
+            @Override
+            public void onTick(BacktestSession session, long timestamp, long price, long volume) {
+                if (timestamp == START) {
+                    session.buy(995_000, 4);
+                } else if (timestamp == START + 1) {
+                    session.sell(1_005_000, 4);
+                }
+            }
+
+            @Override
+            public void onFill(BacktestSession session, Side side, long price, long quantity) {
+                fills.add(side + " " + price + " " + quantity);
+            }
+        };
+
+        BacktestReport report = new BacktestRunner(new TickArchive(tickDir), new ForkJoinPool(1))
+                .run(List.of("AAPL"), START, START + DAY, DAY, symbol -> strategy);
+
+        assertThat(fills).containsExactly("BUY 995000 4", "SELL 1005000 4");
+        BacktestResult result = report.partitions().get(0);
+        assertThat(result.ticks()).isEqualTo(4L);
+        assertThat(result.position()).isZero();
+        assertThat(result.pnl()).isEqualTo(4 * 10_000L);
+    }
+
+    @Test
+    @DisplayName("Should produce the same report on one worker and on many")
+    void shouldMergeDeterministically() {
+        SymbolRegistry registry = MarketSimulator.syntheticSymbols(4);
+        TickStore store = new TickStore(tickDir, registry, 1_024);
+        SimulationSettings settings = new SimulationSettings(11, 2, 0.4, 0, 0.001, 200, 10, 50, START);
+        new MarketSimulator(registry, settings).generate(500_000, store::onTrade);
+        store.close();
+        TickArchive archive = new TickArchive(tickDir);
+
+        BacktestReport sequential = new BacktestRunner(archive, new ForkJoinPool(1))
+                .run(registry.getSymbols(), START, START + 3 * DAY, DAY / 2, symbol -> new MeanReversion());
+        BacktestReport parallel = new BacktestRunner(archive, new ForkJoinPool(4))
+                .run(registry.getSymbols(), START, START + 3 * DAY, DAY / 2, symbol -> new MeanReversion());
+
+        assertThat(parallel.partitions()).hasSize(4 * 6);
+        assertThat(parallel.partitions()).containsExactlyElementsOf(sequential.partitions());
+        assertThat(parallel.totalTicks()).isEqualTo(500_000L);
+        assertThat(parallel.bySymbol().keySet()).containsExactly("S0", "S1", "S2", "S3");
+        assertThat(parallel.bySymbol().get("S0").fills()).isPositive();
+    }
+
+    /**
+     * Bids below and offers above an exponential moving average, one lot at a time.
+     */
+    private static final class MeanReversion implements Strategy {
+
+        private double average;
+        private long bidId;
+        private long askId;
+
+        @Override
+        public void onTick(BacktestSession session, long timestamp, long price, long volume) {
+            average = average == 0 ? price : average * 0.95 + price * 0.05;
+            session.cancel(bidId);
+            session.cancel(askId);
+            long offset = Math.max(1, (long) (average * 0.001));
+            if (session.getPosition() < 100) {
+                bidId = session.buy((long) average - offset, 10);
+            }
+            if (session.getPosition() > -100) {
+                askId = session.sell((long) average + offset, 10);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package stock_trading.candle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.Side;
+import stock_trading.sequencer.CommandType;
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandleAggregatorTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long DAY = 86_400_000L;
+
+    private SymbolRegistry registry;
+    private CandleAggregator aggregator;
+    private CandleSeries series;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", new BigDecimal("150.00"), 1_000L),
+                new Listing("MSFT", "Microsoft Corporation", new BigDecimal("300.00"), 2_000L)));
+        aggregator = new CandleAggregator(registry, () -> 0L);
+        series = new CandleSeries();
+    }
+
+    @Test
+    @DisplayName("Should fold trades in the same bucket into one OHLCV bar")
+    void shouldFoldTradesIntoBar() {
+        aggregator.onTrade(0, 1_500_000, 10, 10 * MINUTE + 1_000);
+        aggregator.onTrade(0, 1_530_000, 5, 10 * MINUTE + 20_000);
+        aggregator.onTrade(0, 1_480_000, 2, 10 * MINUTE + 40_000);
+        aggregator.onTrade(0, 1_510_000, 3, 10 * MINUTE + 59_999);
+
+        aggregator.read(0, Timeframe.ONE_MINUTE, 0, 20 * MINUTE, series);
+
+        assertThat(series.size()).isEqualTo(1);
+        assertThat(series.start(0)).isEqualTo(10 * MINUTE);
+        assertThat(series.open(0)).isEqualTo(1_500_000);
+        assertThat(series.high(0)).isEqualTo(1_530_000);
+        assertThat(series.low(0)).isEqualTo(1_480_000);
+        assertThat(series.close(0)).isEqualTo(1_510_000);
+        assertThat(series.volume(0)).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should update every timeframe from the same trade")
+    void shouldUpdateEveryTimeframe() {
+        aggregator.onTrade(1, 3_000_000, 1, 5 * MINUTE + 500);
+        aggregator.onTrade(1, 3_010_000, 1, 6 * MINUTE + 500);
+
+        for (Timeframe timeframe : Timeframe.values()) {
+            aggregator.read(1, timeframe, 0, 10 * MINUTE, series);
+            long expectedBars = timeframe.getMillis() <= MINUTE ? 2 : 1;
+            assertThat(series.size()).isEqualTo((int) expectedBars);
+        }
+        aggregator.read(0, Timeframe.ONE_MINUTE, 0, 10 * MINUTE, series);
+        assertThat(series.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return bars in range oldest first and skip empty buckets")
+    void shouldReturnRangeSkippingGaps() {
+        aggregator.onTrade(0, 1_500_000, 1, 1 * MINUTE);
+        aggregator.onTrade(0, 1_510_000, 1, 3 * MINUTE);
+        aggregator.onTrade(0, 1_520_000, 1, 4 * MINUTE);
+        aggregator.onTrade(0, 1_530_000, 1, 7 * MINUTE);
+
+        aggregator.read(0, Timeframe.ONE_MINUTE, 2 * MINUTE + 30_000, 7 * MINUTE, series);
+
+        assertThat(series.size()).isEqualTo(2);
+        assertThat(series.start(0)).isEqualTo(3 * MINUTE);
+        assertThat(series.start(1)).isEqualTo(4 * MINUTE);
+    }
+
+    @Test
+    @DisplayName("Should overwrite bars that fall out of the ring window")
+    void shouldOverwriteExpiredBars() {
+        long capacity = Timeframe.ONE_MINUTE.getCapacity();
+        aggregator.onTrade(0, 1_500_000, 1, 0);
+        aggregator.onTrade(0, 1_600_000, 7, capacity * MINUTE);
+
+        aggregator.read(0, Timeframe.ONE_MINUTE, 0, (capacity + 1) * MINUTE, series);
+
+        assertThat(series.size()).isEqualTo(1);
+        assertThat(series.start(0)).isEqualTo(capacity * MINUTE);
+        assertThat(series.open(0)).isEqualTo(1_600_000);
+        assertThat(series.volume(0)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should bucket replayed fills by the time their commands entered, not when they are applied")
+    void shouldBucketReplayedFillsByCommandTime() {
+        MatchingEngine engine = new MatchingEngine(registry);
+        aggregator = new CandleAggregator(registry, engine::getCommandTimestamp);
+        engine.addFillListener(aggregator);
+        long monday = Instant.parse("2026-03-02T14:30:00Z").toEpochMilli();
+        long tuesday = Instant.parse("2026-03-03T09:15:40Z").toEpochMilli();
+
+        submit(engine, 0, 1L, Side.SELL, 1_500_000, 10, monday);
+        submit(engine, 1, 2L, Side.BUY, 1_500_000, 4, monday + 1_500);
+        submit(engine, 2, 2L, Side.BUY, 1_500_000, 6, tuesday);
+
+        aggregator.read(0, Timeframe.ONE_DAY, monday - DAY, tuesday + DAY, series);
+        assertThat(series.size()).isEqualTo(2);
+        assertThat(series.start(0)).isEqualTo(Instant.parse("2026-03-02T00:00:00Z").toEpochMilli());
+        assertThat(series.volume(0)).isEqualTo(4);
+        assertThat(series.start(1)).isEqualTo(Instant.parse("2026-03-03T00:00:00Z").toEpochMilli());
+        assertThat(series.volume(1)).isEqualTo(6);
+
+        aggregator.read(0, Timeframe.ONE_SECOND, monday, monday + 10_000, series);
+        assertThat(series.size()).isEqualTo(1);
+        assertThat(series.start(0)).isEqualTo(monday + 1_000);
+        aggregator.read(0, Timeframe.ONE_MINUTE, tuesday - MINUTE, tuesday + MINUTE, series);
+        assertThat(series.size()).isEqualTo(1);
+        assertThat(series.start(0)).isEqualTo(Instant.parse("2026-03-03T09:15:00Z").toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("Should ignore trades older than the bar already occupying their slot")
+    void shouldIgnoreStaleTrades() {
+        long capacity = Timeframe.ONE_MINUTE.getCapacity();
+        aggregator.onTrade(0, 1_600_000, 1, capacity * MINUTE);
+        aggregator.onTrade(0, 1_500_000, 1, 0);
+
+        aggregator.read(0, Timeframe.ONE_MINUTE, capacity * MINUTE, (capacity + 1) * MINUTE, series);
+
+        assertThat(series.size()).isEqualTo(1);
+        assertThat(series.open(0)).isEqualTo(1_600_000);
+    }
+
+    private static void submit(MatchingEngine engine, long sequence, long userId, Side side, long price, long quantity,
+                               long timestamp) {
+        OrderCommand command = new OrderCommand();
+        command.setType(CommandType.NEW);
+        command.setOrderId(sequence);
+        command.setUserId(userId);
+        command.setSymbol("AAPL");
+        command.setSide(side);
+        command.setPrice(price);
+        command.setQuantity(quantity);
+        command.setTimestamp(timestamp);
+        engine.onCommand(command, sequence, true);
+    }
+}
@@ -0,0 +1,219 @@
+package stock_trading.depth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.dto.DepthDeltaRecord;
+import stock_trading.dto.DepthLevelRecord;
+import stock_trading.dto.DepthSnapshotRecord;
+import stock_trading.dto.DepthUpdateRecord;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.Side;
+import stock_trading.sequencer.CommandType;
+import stock_trading.sequencer.OrderCommand;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepthPublisherTest {
+
+    private MatchingEngine engine;
+    private long sequence;
+
+    @BeforeEach
+    void setUp() {
+        engine = new MatchingEngine(List.of("AAPL"));
+        sequence = 0;
+    }
+
+    @Test
+    @DisplayName("Should publish one aggregated change per level touched by a command")
+    void shouldPublishLevelChanges() {
+        DepthPublisher publisher = new DepthPublisher(engine, 3, 64);
+        List<String> changes = new ArrayList<>();
+
+        submit(publisher, 1, Side.BUY, 1_500_000, 10);
+        submit(publisher, 2, Side.BUY, 1_500_000, 5);
+        submit(publisher, 3, Side.SELL, 1_510_000, 7);
+        submit(publisher, 4, Side.SELL, 1_500_000, 12);
+        publisher.drain((symbolId, seq, side, price, quantity, orders) ->
+                changes.add(seq + " " + side + " " + price + " " + quantity + "/" + orders));
+
+        assertThat(changes).containsExactly(
+                "1 BUY 1500000 10/1",
+                "2 BUY 1500000 15/2",
+                "3 SELL 1510000 7/1",
+                "4 BUY 1500000 3/1");
+    }
+
+    @Test
+    @DisplayName("Should keep only the best levels and pull the next one in when a top level empties")
+    void shouldBoundDepth() {
+        DepthPublisher publisher = new DepthPublisher(engine, 2, 64);
+
+        submit(publisher, 1, Side.BUY, 1_500_000, 10);
+        submit(publisher, 2, Side.BUY, 1_490_000, 10);
+        submit(publisher, 3, Side.BUY, 1_480_000, 10);
+        List<Long> prices = new ArrayList<>();
+        publisher.drain((symbolId, seq, side, price, quantity, orders) -> prices.add(price));
+        assertThat(prices).containsExactly(1_500_000L, 1_490_000L);
+
+        cancel(publisher, 1);
+        List<String> changes = new ArrayList<>();
+        publisher.drain((symbolId, seq, side, price, quantity, orders) -> changes.add(price + " " + quantity));
+        assertThat(changes).containsExactly("1500000 0", "1480000 10");
+    }
+
+    @Test
+    @DisplayName("Should stream a snapshot, then contiguous updates, and mirror the publisher's view")
+    void shouldDistributeSnapshotThenUpdates() {
+        DepthPublisher publisher = new DepthPublisher(engine, 5, 64);
+        DepthDistributor distributor = new DepthDistributor(publisher, engine.getRegistry(), Object::toString, 60_000,
+                Runnable::run, 64, 5_000);
+        RecordingSink sink = new RecordingSink();
+        distributor.tick(0);
+
+        submit(publisher, 1, Side.BUY, 1_500_000, 10);
+        distributor.subscribe(0, sink);
+        submit(publisher, 2, Side.SELL, 1_510_000, 4);
+        submit(publisher, 3, Side.SELL, 1_500_000, 10);
+        distributor.tick(1);
+
+        // The subscriber joined before the first tick drained order 1, so its snapshot is empty.
+        assertThat(sink.events).containsExactly(DepthDistributor.SNAPSHOT, DepthDistributor.UPDATE);
+        assertThat(sink.payloads.get(1)).isEqualTo(new DepthUpdateRecord("AAPL", List.of(
+                new DepthDeltaRecord(1, Side.BUY, 150.0, 10, 1),
+                new DepthDeltaRecord(2, Side.SELL, 151.0, 4, 1),
+                new DepthDeltaRecord(3, Side.BUY, 150.0, 0, 0))).toString());
+        assertThat(distributor.getSnapshot(0)).isEqualTo(new DepthSnapshotRecord("AAPL", 3, List.of(),
+                List.of(new DepthLevelRecord(151.0, 4, 1))));
+    }
+
+    @Test
+    @DisplayName("Should resynchronise from the publisher's snapshot when deltas are lost")
+    void shouldResyncAfterOverflow() {
+        DepthPublisher publisher = new DepthPublisher(engine, 5, 2);
+        DepthDistributor distributor = new DepthDistributor(publisher, engine.getRegistry(), Object::toString, 60_000,
+                Runnable::run, 64, 5_000);
+        RecordingSink sink = new RecordingSink();
+        distributor.subscribe(0, sink);
+
+        for (int i = 0; i < 4; i++) {
+            submit(publisher, i + 1, Side.BUY, 1_500_000 - i * 10_000, 10);
+        }
+        distributor.tick(1);
+
+        assertThat(publisher.getDropped()).isEqualTo(2);
+        assertThat(distributor.getSnapshot(0).sequence()).isEqualTo(4);
+        assertThat(distributor.getSnapshot(0).bids()).hasSize(4);
+        assertThat(sink.events).containsExactly(DepthDistributor.SNAPSHOT, DepthDistributor.SNAPSHOT);
+    }
+
+    @Test
+    @DisplayName("Should replace a lagging subscriber's queued events with the latest snapshot")
+    void shouldConflateLaggingSubscriber() {
+        DepthPublisher publisher = new DepthPublisher(engine, 5, 64);
+        List<Runnable> sends = new ArrayList<>();
+        DepthDistributor distributor = new DepthDistributor(publisher, engine.getRegistry(), Object::toString, 60_000,
+                sends::add, 2, 5_000);
+        RecordingSink sink = new RecordingSink();
+        distributor.subscribe(0, sink);
+
+        for (int i = 0; i < 2; i++) {
+            submit(publisher, i + 1, Side.BUY, 1_500_000 - i * 10_000, 10);
+            distributor.tick(i);
+        }
+        assertThat(sends).hasSize(1);
+        sends.remove(0).run();
+
+        assertThat(distributor.getConflatedSnapshots()).isEqualTo(1);
+        assertThat(sink.events).containsExactly(DepthDistributor.SNAPSHOT);
+        assertThat(sink.payloads).containsExactly(distributor.getSnapshot(0).toString());
+    }
+
+    @Test
+    @DisplayName("Should drop a stalled subscriber and close it only once its send returns")
+    void shouldDropStalledSubscriber() {
+        DepthPublisher publisher = new DepthPublisher(engine, 5, 64);
+        List<Runnable> sends = new ArrayList<>();
+        DepthDistributor distributor = new DepthDistributor(publisher, engine.getRegistry(), Object::toString, 60_000,
+                sends::add, 64, 5_000);
+        RecordingSink sink = new RecordingSink();
+        distributor.subscribe(0, sink);
+
+        distributor.tick(1_000);
+        distributor.tick(6_000);
+        assertThat(distributor.getSubscriberCount()).isEqualTo(1);
+        distributor.tick(6_001);
+
+        assertThat(distributor.getSubscriberCount()).isZero();
+        assertThat(sink.closed).isZero();
+        sends.remove(0).run();
+        assertThat(sink.closed).isEqualTo(1);
+        assertThat(sink.events).isEmpty();
+        assertThat(sends).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should load resting orders on rebuild")
+    void shouldRebuildFromBooks() {
+        DepthPublisher publisher = new DepthPublisher(engine, 5, 64);
+        OrderCommand order = order(1, Side.SELL, 1_520_000, 3);
+        engine.onCommand(order, sequence++, true);
+
+        publisher.rebuild();
+
+        DepthBook snapshot = publisher.getSnapshot(0);
+        assertThat(snapshot.getSequence()).isEqualTo(1);
+        assertThat(snapshot.levelCount(Side.SELL)).isEqualTo(1);
+        assertThat(snapshot.quantity(Side.SELL, 0)).isEqualTo(3);
+    }
+
+    private void submit(DepthPublisher publisher, long orderId, Side side, long price, long quantity) {
+        OrderCommand command = order(orderId, side, price, quantity);
+        engine.onCommand(command, sequence, true);
+        publisher.onCommand(command, sequence++, true);
+    }
+
+    private void cancel(DepthPublisher publisher, long orderId) {
+        OrderCommand command = new OrderCommand();
+        command.setType(CommandType.CANCEL);
+        command.setOrderId(orderId);
+        command.setUserId(1L);
+        command.setSymbol("AAPL");
+        engine.onCommand(command, sequence, true);
+        publisher.onCommand(command, sequence++, true);
+    }
+
+    private static OrderCommand order(long orderId, Side side, long price, long quantity) {
+        OrderCommand command = new OrderCommand();
+        command.setType(CommandType.NEW);
+        command.setOrderId(orderId);
+        command.setUserId(side == Side.BUY ? 1L : 2L);
+        command.setSymbol("AAPL");
+        command.setSide(side);
+        command.setPrice(price);
+        command.setQuantity(quantity);
+        return command;
+    }
+
+    private static final class RecordingSink implements DepthSink {
+
+        private final List<String> events = new ArrayList<>();
+        private final List<String> payloads = new ArrayList<>();
+        private int closed;
+
+        @Override
+        public void send(String event, String payload) {
+            events.add(event);
+            payloads.add(payload);
+        }
+
+        @Override
+        public void close() {
+            closed++;
+        }
+    }
+}
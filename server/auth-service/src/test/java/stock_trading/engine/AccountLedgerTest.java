@@ -0,0 +1,82 @@
+package stock_trading.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountLedgerTest {
+
+    private OrderBook book;
+    private AccountLedger ledger;
+    private long nextOrderId;
+
+    @BeforeEach
+    void setUp() {
+        book = new OrderBook("AAPL");
+        ledger = new AccountLedger(SymbolRegistry.of(List.of("AAPL")));
+    }
+
+    @Test
+    @DisplayName("Should move cash and shares between buyer and seller on a fill")
+    void shouldSettleBothSidesOfFill() {
+        submit(1L, Side.SELL, 100, 10);
+        submit(2L, Side.BUY, 100, 4);
+
+        assertThat(ledger.getAccount(1L).getCash()).isEqualTo(400);
+        assertThat(ledger.getAccount(1L).getPosition("AAPL").getQuantity()).isEqualTo(-4);
+        assertThat(ledger.getAccount(2L).getCash()).isEqualTo(-400);
+        assertThat(ledger.getAccount(2L).getPosition("AAPL").getQuantity()).isEqualTo(4);
+        assertThat(ledger.getAccount(2L).getPosition("AAPL").getAveragePrice()).isEqualTo(100);
+        assertThat(ledger.getAccount(2L).getPosition(0)).isSameAs(ledger.getAccount(2L).getPosition("AAPL"));
+        assertThat(ledger.getAccount(2L).getPosition("MSFT")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should average the cost of successive buys")
+    void shouldAverageCostOfBuys() {
+        submit(1L, Side.SELL, 100, 10);
+        submit(1L, Side.SELL, 200, 10);
+        submit(2L, Side.BUY, 100, 10);
+        submit(2L, Side.BUY, 200, 10);
+
+        Position position = ledger.getAccount(2L).getPosition("AAPL");
+        assertThat(position.getQuantity()).isEqualTo(20);
+        assertThat(position.getAveragePrice()).isEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("Should keep the average price when a position is partly sold")
+    void shouldKeepAveragePriceOnPartialSale() {
+        submit(1L, Side.SELL, 100, 10);
+        submit(2L, Side.BUY, 100, 10);
+        submit(3L, Side.BUY, 300, 4);
+        submit(2L, Side.SELL, 300, 4);
+
+        Position position = ledger.getAccount(2L).getPosition("AAPL");
+        assertThat(position.getQuantity()).isEqualTo(6);
+        assertThat(position.getAveragePrice()).isEqualTo(100);
+        assertThat(ledger.getAccount(2L).getCash()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should reset cost basis when a position flips side")
+    void shouldResetCostWhenPositionFlips() {
+        Position position = new Position("AAPL", 5, 500);
+
+        position.apply(-8, 120);
+
+        assertThat(position.getQuantity()).isEqualTo(-3);
+        assertThat(position.getCost()).isEqualTo(-360);
+        assertThat(position.getAveragePrice()).isEqualTo(120);
+    }
+
+    private void submit(long userId, Side side, long price, long quantity) {
+        long orderId = nextOrderId++;
+        book.submit(new Order(orderId, userId, "AAPL", side, price, quantity, orderId), ledger);
+    }
+}
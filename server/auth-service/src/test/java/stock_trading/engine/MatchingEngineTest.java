@@ -0,0 +1,125 @@
+package stock_trading.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.sequencer.CommandType;
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchingEngineTest {
+
+    private MatchingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new MatchingEngine(new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", new BigDecimal("150.00"), 1_000L, new BigDecimal("0.05")))));
+    }
+
+    @Test
+    @DisplayName("Should reject prices that are not a multiple of the tick size")
+    void shouldRejectOffTickPrice() {
+        assertThat(engine.validate(newOrder(1_500_500, 10))).isNull();
+        assertThat(engine.validate(newOrder(1_500_100, 10))).isEqualTo("price is not a multiple of the tick size");
+    }
+
+    @Test
+    @DisplayName("Should reject orders whose notional overflows")
+    void shouldRejectOverflowingNotional() {
+        assertThat(engine.validate(newOrder(1_500_000, Long.MAX_VALUE / 1_000))).isEqualTo("order notional is too large");
+    }
+
+    @Test
+    @DisplayName("Should reject stop orders without a stop price on the tick")
+    void shouldValidateStopPrice() {
+        OrderCommand stop = newOrder(1_500_000, 10);
+        stop.setOrderType(OrderType.STOP_LIMIT);
+        assertThat(engine.validate(stop)).isEqualTo("stop price must be positive");
+
+        stop.setStopPrice(1_490_100);
+        assertThat(engine.validate(stop)).isEqualTo("stop price is not a multiple of the tick size");
+
+        stop.setStopPrice(1_490_000);
+        assertThat(engine.validate(stop)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should report the cancelled order's side, price and remaining quantity")
+    void shouldCompleteCancelCommand() {
+        OrderCommand order = newOrder(1_500_000, 10);
+        engine.onCommand(order, 0, true);
+
+        OrderCommand cancel = new OrderCommand();
+        cancel.setType(CommandType.CANCEL);
+        cancel.setOrderId(order.getOrderId());
+        cancel.setUserId(1L);
+        cancel.setSymbol("AAPL");
+        engine.onCommand(cancel, 1, true);
+
+        assertThat(cancel.isRejected()).isFalse();
+        assertThat(cancel.getSide()).isEqualTo(Side.BUY);
+        assertThat(cancel.getPrice()).isEqualTo(1_500_000L);
+        assertThat(cancel.getQuantity()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Should replace a resting order under the command's sequence and report what it pulled")
+    void shouldReplaceRestingOrder() {
+        OrderCommand order = newOrder(1_500_000, 10);
+        engine.onCommand(order, 7, true);
+
+        OrderCommand replace = replace(7, Side.BUY, 1_450_000, 4);
+        assertThat(engine.validate(replace)).isNull();
+        engine.onCommand(replace, 8, true);
+
+        OrderBook book = engine.getBook("AAPL");
+        assertThat(replace.isRejected()).isFalse();
+        assertThat(replace.getReplacedPrice()).isEqualTo(1_500_000L);
+        assertThat(replace.getReplacedQuantity()).isEqualTo(10L);
+        assertThat(book.getOrder(7)).isNull();
+        assertThat(book.getOrder(8).getRemainingQuantity()).isEqualTo(4L);
+        assertThat(book.bestBid()).isEqualTo(1_450_000L);
+    }
+
+    @Test
+    @DisplayName("Should reject a replace that changes side or targets a missing order")
+    void shouldRejectInvalidReplace() {
+        engine.onCommand(newOrder(1_500_000, 10), 7, true);
+
+        assertThat(engine.validate(replace(7, Side.SELL, 1_500_000, 10))).isEqualTo("side does not match order");
+        assertThat(engine.validate(replace(99, Side.BUY, 1_500_000, 10))).isEqualTo("unknown order");
+
+        OrderCommand otherUser = replace(7, Side.BUY, 1_500_000, 10);
+        otherUser.setUserId(2L);
+        engine.onCommand(otherUser, 8, true);
+        assertThat(otherUser.getRejectReason()).isEqualTo("order not replaceable");
+        assertThat(engine.getBook("AAPL").getOrder(7)).isNotNull();
+    }
+
+    private static OrderCommand replace(long orderId, Side side, long price, long quantity) {
+        OrderCommand command = newOrder(price, quantity);
+        command.setType(CommandType.REPLACE);
+        command.setOrderId(orderId);
+        command.setSide(side);
+        return command;
+    }
+
+    private static OrderCommand newOrder(long price, long quantity) {
+        OrderCommand command = new OrderCommand();
+        command.setType(CommandType.NEW);
+        command.setOrderId(7);
+        command.setUserId(1L);
+        command.setSymbol("AAPL");
+        command.setSide(Side.BUY);
+        command.setPrice(price);
+        command.setQuantity(quantity);
+        return command;
+    }
+}
@@ -0,0 +1,171 @@
+package stock_trading.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderBookTest {
+
+    private OrderBook book;
+    private List<long[]> fills;
+    private List<long[]> expired;
+    private FillListener recorder;
+
+    @BeforeEach
+    void setUp() {
+        book = new OrderBook("AAPL");
+        fills = new ArrayList<>();
+        expired = new ArrayList<>();
+        recorder = new FillListener() {
+            @Override
+            public void onFill(int symbolId, long price, long quantity, Order maker, Order taker) {
+                fills.add(new long[]{maker.getOrderId(), taker.getOrderId(), price, quantity});
+            }
+
+            @Override
+            public void onExpired(int symbolId, Order order) {
+                expired.add(new long[]{order.getOrderId(), order.getRemainingQuantity()});
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should rest an order that does not cross")
+    void shouldRestNonCrossingOrder() {
+        book.submit(order(1, Side.BUY, 100, 10), recorder);
+        book.submit(order(2, Side.SELL, 101, 5), recorder);
+
+        assertThat(fills).isEmpty();
+        assertThat(book.bestBid()).isEqualTo(100);
+        assertThat(book.bestAsk()).isEqualTo(101);
+        assertThat(book.restingOrderCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should match at resting prices, best price first")
+    void shouldMatchBestPriceFirst() {
+        book.submit(order(1, Side.SELL, 105, 10), recorder);
+        book.submit(order(2, Side.SELL, 104, 5), recorder);
+
+        long filled = book.submit(order(3, Side.BUY, 105, 12), recorder);
+
+        assertThat(filled).isEqualTo(12);
+        assertThat(fills).containsExactly(new long[]{2, 3, 104, 5}, new long[]{1, 3, 105, 7});
+        assertThat(book.quantityAt(Side.SELL, 105)).isEqualTo(3);
+        assertThat(book.getLastTradePrice()).isEqualTo(105);
+    }
+
+    @Test
+    @DisplayName("Should fill orders at the same price in arrival order")
+    void shouldRespectTimePriority() {
+        book.submit(order(1, Side.BUY, 100, 5), recorder);
+        book.submit(order(2, Side.BUY, 100, 5), recorder);
+
+        book.submit(order(3, Side.SELL, 100, 7), recorder);
+
+        assertThat(fills).containsExactly(new long[]{1, 3, 100, 5}, new long[]{2, 3, 100, 2});
+        assertThat(book.getOrder(2).getRemainingQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should rest the unfilled remainder of an aggressive order")
+    void shouldRestRemainder() {
+        book.submit(order(1, Side.SELL, 100, 4), recorder);
+
+        book.submit(order(2, Side.BUY, 101, 10), recorder);
+
+        assertThat(book.bestAsk()).isZero();
+        assertThat(book.bestBid()).isEqualTo(101);
+        assertThat(book.quantityAt(Side.BUY, 101)).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should cancel only orders owned by the requesting user")
+    void shouldCancelOwnOrdersOnly() {
+        book.submit(order(1, Side.BUY, 100, 5), recorder);
+
+        assertThat(book.cancel(1, 99L)).isNull();
+        assertThat(book.cancel(1, 1L)).isNotNull();
+        assertThat(book.bestBid()).isZero();
+        assertThat(book.restingOrderCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should park a stop limit order until a trade reaches its stop, then rest what is left")
+    void shouldTriggerStopLimit() {
+        book.submit(order(1, Side.SELL, 101, 5), recorder);
+        book.submit(stop(3, Side.BUY, OrderType.STOP_LIMIT, 101, 102, 8), recorder);
+
+        assertThat(fills).isEmpty();
+        assertThat(book.pendingStopCount()).isEqualTo(1);
+        assertThat(book.bestBid()).isZero();
+
+        book.submit(order(4, Side.BUY, 101, 1), recorder);
+
+        assertThat(fills).containsExactly(new long[]{1, 4, 101, 1}, new long[]{1, 3, 101, 4});
+        assertThat(book.pendingStopCount()).isZero();
+        assertThat(book.getStop(3)).isNull();
+        assertThat(book.bestBid()).isEqualTo(102);
+        assertThat(book.quantityAt(Side.BUY, 102)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should expire the unfilled remainder of a triggered stop order instead of resting it")
+    void shouldExpireStopRemainder() {
+        book.submit(order(1, Side.SELL, 101, 5), recorder);
+        book.submit(stop(2, Side.BUY, OrderType.STOP, 101, 101, 8), recorder);
+
+        book.submit(order(3, Side.BUY, 101, 1), recorder);
+
+        assertThat(fills).containsExactly(new long[]{1, 3, 101, 1}, new long[]{1, 2, 101, 4});
+        assertThat(expired).containsExactly(new long[]{2, 4});
+        assertThat(book.bestBid()).isZero();
+        assertThat(book.restingOrderCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should activate stops reached by one trade in order id order, then those their trades reach")
+    void shouldCascadeStopsInOrder() {
+        book.submit(order(1, Side.BUY, 100, 1), recorder);
+        book.submit(order(2, Side.BUY, 99, 10), recorder);
+        book.submit(stop(3, Side.SELL, OrderType.STOP_LIMIT, 99, 98, 1), recorder);
+        book.submit(stop(4, Side.SELL, OrderType.STOP_LIMIT, 100, 99, 2), recorder);
+        book.submit(stop(5, Side.SELL, OrderType.STOP_LIMIT, 100, 99, 2), recorder);
+        book.submit(stop(6, Side.SELL, OrderType.STOP_LIMIT, 101, 99, 2), recorder);
+
+        book.submit(order(7, Side.SELL, 100, 1), recorder);
+
+        assertThat(fills).containsExactly(new long[]{1, 7, 100, 1}, new long[]{2, 4, 99, 2},
+                new long[]{2, 5, 99, 2}, new long[]{2, 6, 99, 2}, new long[]{2, 3, 99, 1});
+        assertThat(book.pendingStopCount()).isZero();
+        assertThat(book.getOrder(2).getRemainingQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should cancel a pending stop so that later trades no longer trigger it")
+    void shouldCancelPendingStop() {
+        book.submit(order(1, Side.SELL, 101, 5), recorder);
+        book.submit(stop(2, Side.BUY, OrderType.STOP_LIMIT, 101, 101, 3), recorder);
+
+        assertThat(book.cancel(2, 99L)).isNull();
+        assertThat(book.cancel(2, 1L)).isNotNull();
+        book.submit(order(3, Side.BUY, 101, 1), recorder);
+
+        assertThat(fills).containsExactly(new long[]{1, 3, 101, 1});
+        assertThat(book.pendingStopCount()).isZero();
+        assertThat(book.quantityAt(Side.SELL, 101)).isEqualTo(4);
+    }
+
+    private Order order(long orderId, Side side, long price, long quantity) {
+        return new Order(orderId, 1L, "AAPL", side, price, quantity, orderId);
+    }
+
+    private Order stop(long orderId, Side side, OrderType type, long stopPrice, long price, long quantity) {
+        return new Order(orderId, 1L, "AAPL", side, type, stopPrice, price, quantity, orderId);
+    }
+}
@@ -0,0 +1,112 @@
+package stock_trading.eventbus;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.Side;
+import stock_trading.sequencer.CommandType;
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.sequencer.WaitStrategy;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventBusTest {
+
+    private final List<String> users = new CopyOnWriteArrayList<>();
+    private final List<String> orders = new CopyOnWriteArrayList<>();
+    private final List<String> fills = new CopyOnWriteArrayList<>();
+
+    private MatchingEngine engine;
+    private EventBus bus;
+    private long nextSequence;
+
+    @BeforeEach
+    void setUp() {
+        SymbolRegistry registry = new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", new BigDecimal("150.00"), 1_000L)));
+        engine = new MatchingEngine(registry.getSymbols());
+        WaitStrategy waitStrategy = WaitStrategy.yielding();
+        bus = new EventBus(
+                new EventChannel<>("users", 64, UserCreated::new, List.<EventHandler<UserCreated>>of(
+                        (event, sequence, endOfBatch) -> users.add(event.getUserId() + ":" + event.getUsername())),
+                        waitStrategy),
+                new EventChannel<>("orders", 64, OrderAccepted::new, List.<EventHandler<OrderAccepted>>of(
+                        (event, sequence, endOfBatch) -> orders.add(event.getOrderId() + ":" + event.getSide()
+                                + ":" + event.getPrice() + "x" + event.getQuantity())),
+                        waitStrategy),
+                new EventChannel<>("fills", 64, OrderFilled::new, List.<EventHandler<OrderFilled>>of(
+                        (event, sequence, endOfBatch) -> fills.add(event.getMakerOrderId() + "/"
+                                + event.getTakerOrderId() + ":" + event.getPrice() + "x" + event.getQuantity())),
+                        waitStrategy));
+        engine.addFillListener(bus);
+        bus.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bus.stop();
+    }
+
+    @Test
+    @DisplayName("Should publish accepted orders and fills as the engine applies commands")
+    void shouldPublishOrdersAndFills() throws InterruptedException {
+        submit(CommandType.NEW, 1L, 0, Side.SELL, 1_500_000, 10);
+        submit(CommandType.NEW, 2L, 0, Side.BUY, 1_500_000, 4);
+        submit(CommandType.CANCEL, 1L, 0, Side.SELL, 0, 0);
+        submit(CommandType.NEW, 2L, 0, Side.BUY, 1_500_000, 0);
+
+        bus.stop();
+
+        assertThat(orders).containsExactly("0:SELL:1500000x10", "1:BUY:1500000x4");
+        assertThat(fills).containsExactly("0/1:1500000x4");
+        assertThat(bus.getDropped()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should publish the replacement of a cancel-replace under the command's sequence")
+    void shouldPublishReplacement() throws InterruptedException {
+        submit(CommandType.NEW, 1L, 0, Side.SELL, 1_500_000, 10);
+        submit(CommandType.REPLACE, 1L, 0, Side.SELL, 1_600_000, 5);
+
+        bus.stop();
+
+        assertThat(orders).containsExactly("0:SELL:1500000x10", "1:SELL:1600000x5");
+    }
+
+    @Test
+    @DisplayName("Should hand user-created events to their handlers")
+    void shouldPublishUserCreated() throws InterruptedException {
+        assertThat(bus.publishUserCreated(7L, "johndoe", "john.doe@example.com")).isTrue();
+
+        bus.stop();
+
+        assertThat(users).containsExactly("7:johndoe");
+    }
+
+    private void submit(CommandType type, long userId, long orderId, Side side, long price, long quantity) {
+        long sequence = nextSequence++;
+        OrderCommand command = new OrderCommand();
+        command.setType(type);
+        command.setOrderId(type == CommandType.NEW ? sequence : orderId);
+        command.setUserId(userId);
+        command.setSymbol("AAPL");
+        command.setSide(side);
+        command.setPrice(price);
+        command.setQuantity(quantity);
+        command.setTimestamp(sequence);
+        String reason = engine.validate(command);
+        if (reason != null) {
+            command.reject(reason);
+        }
+        engine.onCommand(command, sequence, true);
+        bus.onCommand(command, sequence, true);
+    }
+}
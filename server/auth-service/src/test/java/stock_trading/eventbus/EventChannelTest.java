@@ -0,0 +1,84 @@
+package stock_trading.eventbus;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.sequencer.WaitStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventChannelTest {
+
+    @Test
+    @DisplayName("Should hand every event from concurrent producers to each handler, ending each batch once")
+    void shouldDeliverConcurrentEventsInBatches() throws Exception {
+        int producers = 4;
+        int perProducer = 10_000;
+        List<Long> seen = new ArrayList<>();
+        long[] batchEnds = new long[1];
+        long[] sum = new long[1];
+        EventHandler<UserCreated> recorder = (event, sequence, endOfBatch) -> {
+            seen.add(sequence);
+            sum[0] += event.getUserId();
+            if (endOfBatch) {
+                batchEnds[0]++;
+            }
+        };
+        EventChannel<UserCreated> channel = new EventChannel<>("users", 1024, UserCreated::new, List.of(recorder),
+                WaitStrategy.yielding());
+        channel.start();
+
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            new Thread(() -> {
+                for (int i = 1; i <= perProducer; i++) {
+                    long sequence;
+                    while ((sequence = channel.tryClaim()) < 0) {
+                        Thread.onSpinWait();
+                    }
+                    channel.get(sequence).setUserId(i);
+                    channel.publish(sequence);
+                }
+                done.countDown();
+            }).start();
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        channel.stop();
+
+        assertThat(seen).hasSize(producers * perProducer);
+        for (int i = 0; i < seen.size(); i++) {
+            assertThat(seen.get(i)).isEqualTo((long) i);
+        }
+        assertThat(sum[0]).isEqualTo((long) producers * perProducer * (perProducer + 1) / 2);
+        assertThat(batchEnds[0]).isBetween(1L, (long) seen.size());
+    }
+
+    @Test
+    @DisplayName("Should drop and count events rather than wait when the consumer is a full ring behind")
+    void shouldDropWhenFull() {
+        EventChannel<UserCreated> channel = new EventChannel<>("users", 4, UserCreated::new,
+                List.of((event, sequence, endOfBatch) -> { }), WaitStrategy.yielding());
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(channel.tryClaim()).isEqualTo(i);
+        }
+
+        assertThat(channel.tryClaim()).isEqualTo(-1);
+        assertThat(channel.getDropped()).isEqualTo(1);
+        assertThat(channel.depth()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should claim nothing on a channel without handlers")
+    void shouldIgnoreChannelWithoutHandlers() {
+        EventChannel<UserCreated> channel = new EventChannel<>("users", 4, UserCreated::new, List.of(),
+                WaitStrategy.yielding());
+
+        assertThat(channel.tryClaim()).isEqualTo(-1);
+        assertThat(channel.getDropped()).isZero();
+    }
+}
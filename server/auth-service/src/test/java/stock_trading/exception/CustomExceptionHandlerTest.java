@@ -80,6 +80,62 @@ class CustomExceptionHandlerTest {
         assertThat(response.message()).isEqualTo(errorMessage);
     }
 
+    @Test
+    @DisplayName("Should handle InsufficientBuyingPowerException with unprocessable entity status")
+    void shouldHandleInsufficientBuyingPowerException() {
+        InsufficientBuyingPowerException exception = new InsufficientBuyingPowerException("insufficient buying power");
+
+        CustomException response = exceptionHandler.handleInsufficientBuyingPower(exception);
+
+        assertThat(response).isNotNull();
+        assertThat(response.message()).isEqualTo("insufficient buying power");
+    }
+
+    @Test
+    @DisplayName("Should handle OrderRejectedException with unprocessable entity status")
+    void shouldHandleOrderRejectedException() {
+        OrderRejectedException exception = new OrderRejectedException("order not cancellable");
+
+        CustomException response = exceptionHandler.handleOrderRejected(exception);
+
+        assertThat(response).isNotNull();
+        assertThat(response.message()).isEqualTo("order not cancellable");
+    }
+
+    @Test
+    @DisplayName("Should handle OrderQueueFullException with service unavailable status")
+    void shouldHandleOrderQueueFullException() {
+        OrderQueueFullException exception = new OrderQueueFullException("order queue is full, retry later");
+
+        CustomException response = exceptionHandler.handleOrderQueueFull(exception);
+
+        assertThat(response).isNotNull();
+        assertThat(response.message()).isEqualTo("order queue is full, retry later");
+    }
+
+    @Test
+    @DisplayName("Should handle JournalTimeoutException with service unavailable status")
+    void shouldHandleJournalTimeoutException() {
+        JournalTimeoutException exception = new JournalTimeoutException("order was not journaled in time");
+
+        CustomException response = exceptionHandler.handleJournalTimeout(exception);
+
+        assertThat(response).isNotNull();
+        assertThat(response.message()).isEqualTo("order was not journaled in time");
+    }
+
+    @Test
+    @DisplayName("Should handle OrderProcessingTimeoutException with gateway timeout status")
+    void shouldHandleOrderProcessingTimeoutException() {
+        OrderProcessingTimeoutException exception =
+                new OrderProcessingTimeoutException("order was journaled but not processed in time");
+
+        CustomException response = exceptionHandler.handleOrderProcessingTimeout(exception);
+
+        assertThat(response).isNotNull();
+        assertThat(response.message()).isEqualTo("order was journaled but not processed in time");
+    }
+
     @Test
     @DisplayName("Should handle UsernameNotFoundException with not found status")
     void shouldHandleUsernameNotFoundException() {
@@ -92,6 +148,39 @@ class CustomExceptionHandlerTest {
         assertThat(response.message()).isEqualTo(errorMessage);
     }
 
+    @Test
+    @DisplayName("Should handle SymbolNotFoundException with not found status")
+    void shouldHandleSymbolNotFoundException() {
+        SymbolNotFoundException exception = new SymbolNotFoundException("unknown symbol: XYZ");
+
+        CustomException response = exceptionHandler.handleSymbolNotFound(exception);
+
+        assertThat(response).isNotNull();
+        assertThat(response.message()).isEqualTo("unknown symbol: XYZ");
+    }
+
+    @Test
+    @DisplayName("Should handle UnsupportedTimeframeException with bad request status")
+    void shouldHandleUnsupportedTimeframeException() {
+        UnsupportedTimeframeException exception = new UnsupportedTimeframeException("unsupported interval: 7m");
+
+        CustomException response = exceptionHandler.handleUnsupportedTimeframe(exception);
+
+        assertThat(response).isNotNull();
+        assertThat(response.message()).isEqualTo("unsupported interval: 7m");
+    }
+
+    @Test
+    @DisplayName("Should handle InvalidTimeRangeException with bad request status")
+    void shouldHandleInvalidTimeRangeException() {
+        InvalidTimeRangeException exception = new InvalidTimeRangeException("from must be non-negative and before to");
+
+        CustomException response = exceptionHandler.handleInvalidTimeRange(exception);
+
+        assertThat(response).isNotNull();
+        assertThat(response.message()).isEqualTo("from must be non-negative and before to");
+    }
+
     @Test
     @DisplayName("Should handle HttpRequestMethodNotSupportedException with bad request status")
     void shouldHandleHttpRequestMethodNotSupportedException() {
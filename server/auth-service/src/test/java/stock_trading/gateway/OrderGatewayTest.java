@@ -0,0 +1,271 @@
+package stock_trading.gateway;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.engine.FillFeed;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.Side;
+import stock_trading.idempotency.ClientOrderIdFilter;
+import stock_trading.risk.BuyingPowerReserver;
+import stock_trading.sequencer.CommandOutcomes;
+import stock_trading.sequencer.OrderRingBuffer;
+import stock_trading.sequencer.OrderSequencer;
+import stock_trading.sequencer.SequencerMetrics;
+import stock_trading.sequencer.WaitStrategy;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderGatewayTest {
+
+    private MatchingEngine engine;
+    private OrderSequencer sequencer;
+    private OrderGateway gateway;
+    private BuyingPowerReserver reserver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        engine = new MatchingEngine(List.of("AAPL"));
+        reserver = new BuyingPowerReserver(100_000_000L);
+        FillFeed fills = new FillFeed(1024);
+        engine.addFillListener(reserver);
+        engine.addFillListener(fills);
+
+        OrderRingBuffer ringBuffer = new OrderRingBuffer(1024);
+        CommandOutcomes outcomes = new CommandOutcomes(1024, -1);
+        sequencer = new OrderSequencer(ringBuffer, engine, List.of(engine, reserver, outcomes),
+                WaitStrategy.busySpin(), new SequencerMetrics(new SimpleMeterRegistry(), ringBuffer));
+        sequencer.start();
+
+        SessionAuthenticator authenticator = token -> switch (token) {
+            case "token-1" -> 1L;
+            case "token-2" -> 2L;
+            default -> SessionAuthenticator.UNAUTHENTICATED;
+        };
+        gateway = new OrderGateway(new InetSocketAddress("127.0.0.1", 0), engine.getRegistry(), sequencer, reserver,
+                new ClientOrderIdFilter(60_000, 4, 64), ringBuffer::getConsumerSequence, outcomes, fills, authenticator,
+                4, 4096, 16);
+        gateway.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException, InterruptedException {
+        gateway.close();
+        sequencer.stop();
+    }
+
+    @Test
+    @DisplayName("Should reject and disconnect a client that sends orders before logging on")
+    void shouldRequireLogon() throws IOException {
+        try (Client client = new Client()) {
+            client.send(out -> GatewayProtocol.putNew(out, 1, "AAPL", Side.BUY, 1_500_000, 10));
+
+            ByteBuffer reject = client.expect(GatewayProtocol.REJECT);
+            assertThat(reject.get(8)).isEqualTo((byte) RejectReason.NOT_LOGGED_ON.ordinal());
+            assertThat(client.isClosedByPeer()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a session whose token does not authenticate")
+    void shouldRejectBadToken() throws IOException {
+        try (Client client = new Client()) {
+            client.send(out -> GatewayProtocol.putLogon(out, "forged"));
+
+            ByteBuffer reject = client.expect(GatewayProtocol.REJECT);
+            assertThat(reject.get(8)).isEqualTo((byte) RejectReason.AUTHENTICATION_FAILED.ordinal());
+            assertThat(client.isClosedByPeer()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should ack orders with their sequence and send fills to both counterparties")
+    void shouldAckAndFill() throws IOException {
+        try (Client seller = logon("token-1"); Client buyer = logon("token-2")) {
+            seller.send(out -> GatewayProtocol.putNew(out, 11, "AAPL", Side.SELL, 1_500_000, 10));
+            ByteBuffer sellAck = seller.expect(GatewayProtocol.ACK);
+            assertThat(sellAck.getLong(0)).isEqualTo(11L);
+            long sellOrderId = sellAck.getLong(8);
+
+            buyer.send(out -> GatewayProtocol.putNew(out, 21, "AAPL", Side.BUY, 1_500_000, 4));
+            // The buyer's fill and ack race each other.
+            ByteBuffer buyerFill = buyer.await(GatewayProtocol.FILL);
+            ByteBuffer sellerFill = seller.expect(GatewayProtocol.FILL);
+
+            assertThat(sellerFill.getLong(0)).isEqualTo(sellOrderId);
+            assertThat(sellerFill.get(16)).isEqualTo(GatewayProtocol.SELL);
+            assertThat(sellerFill.getLong(17)).isEqualTo(1_500_000L);
+            assertThat(sellerFill.getLong(25)).isEqualTo(4L);
+            assertThat(buyerFill.get(16)).isEqualTo(GatewayProtocol.BUY);
+            assertThat(engine.getBook("AAPL").getOrder(sellOrderId).getRemainingQuantity()).isEqualTo(6L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject unknown symbols and buys beyond the user's buying power")
+    void shouldRejectInvalidOrders() throws IOException {
+        try (Client client = logon("token-1")) {
+            client.send(out -> GatewayProtocol.putNew(out, 1, "NOPE", Side.BUY, 1_500_000, 10));
+            assertThat(client.expect(GatewayProtocol.REJECT).get(8))
+                    .isEqualTo((byte) RejectReason.UNKNOWN_SYMBOL.ordinal());
+
+            client.send(out -> GatewayProtocol.putNew(out, 2, "AAPL", Side.BUY, 1_500_000, 1_000));
+            ByteBuffer reject = client.expect(GatewayProtocol.REJECT);
+            assertThat(reject.getLong(0)).isEqualTo(2L);
+            assertThat(reject.get(8)).isEqualTo((byte) RejectReason.INSUFFICIENT_BUYING_POWER.ordinal());
+            assertThat(reserver.getAvailable(1L)).isEqualTo(100_000_000L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should replace and cancel resting orders")
+    void shouldReplaceAndCancel() throws IOException {
+        try (Client client = logon("token-1")) {
+            client.send(out -> GatewayProtocol.putNew(out, 1, "AAPL", Side.BUY, 1_500_000, 10));
+            long orderId = client.expect(GatewayProtocol.ACK).getLong(8);
+
+            client.send(out -> GatewayProtocol.putReplace(out, 2, "AAPL", orderId, Side.BUY, 1_400_000, 5));
+            long replacementId = client.expect(GatewayProtocol.ACK).getLong(8);
+
+            client.send(out -> GatewayProtocol.putCancel(out, 3, "AAPL", replacementId));
+            ByteBuffer cancelAck = client.expect(GatewayProtocol.ACK);
+
+            assertThat(replacementId).isGreaterThan(orderId);
+            assertThat(cancelAck.getLong(8)).isEqualTo(replacementId);
+            assertThat(engine.getBook("AAPL").restingOrderCount()).isZero();
+            assertThat(reserver.getAvailable(1L)).isEqualTo(100_000_000L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer commands the sequencer refuses with a reject instead of an ack")
+    void shouldRejectRefusedCommands() throws IOException {
+        try (Client owner = logon("token-1"); Client other = logon("token-2")) {
+            owner.send(out -> GatewayProtocol.putNew(out, 1, "AAPL", Side.SELL, 1_500_000, 10));
+            long orderId = owner.expect(GatewayProtocol.ACK).getLong(8);
+
+            other.send(out -> GatewayProtocol.putCancel(out, 7, "AAPL", orderId));
+            ByteBuffer reject = other.expect(GatewayProtocol.REJECT);
+            owner.send(out -> GatewayProtocol.putReplace(out, 2, "AAPL", orderId, Side.BUY, 1_400_000, 10));
+            ByteBuffer invalid = owner.expect(GatewayProtocol.REJECT);
+
+            assertThat(reject.getLong(0)).isEqualTo(7L);
+            assertThat(reject.get(8)).isEqualTo((byte) RejectReason.UNKNOWN_ORDER.ordinal());
+            assertThat(invalid.getLong(0)).isEqualTo(2L);
+            assertThat(invalid.get(8)).isEqualTo((byte) RejectReason.INVALID_ORDER.ordinal());
+            assertThat(engine.getBook("AAPL").getOrder(orderId)).isNotNull();
+            assertThat(reserver.getAvailable(1L)).isEqualTo(100_000_000L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a resent client order id without publishing it again")
+    void shouldRejectDuplicateClientOrderId() throws IOException {
+        try (Client client = logon("token-1")) {
+            client.send(out -> GatewayProtocol.putNew(out, 5, "AAPL", Side.BUY, 1_500_000, 10));
+            client.expect(GatewayProtocol.ACK);
+
+            client.send(out -> GatewayProtocol.putNew(out, 5, "AAPL", Side.BUY, 1_500_000, 10));
+            ByteBuffer reject = client.expect(GatewayProtocol.REJECT);
+
+            assertThat(reject.getLong(0)).isEqualTo(5L);
+            assertThat(reject.get(8)).isEqualTo((byte) RejectReason.DUPLICATE_ORDER.ordinal());
+            assertThat(engine.getBook("AAPL").restingOrderCount()).isEqualTo(1);
+            assertThat(reserver.getAvailable(1L)).isEqualTo(100_000_000L - 15_000_000L);
+        }
+    }
+
+    private Client logon(String token) throws IOException {
+        Client client = new Client();
+        client.send(out -> GatewayProtocol.putLogon(out, token));
+        client.expect(GatewayProtocol.LOGGED_ON);
+        return client;
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        void encode(ByteBuffer out);
+    }
+
+    private final class Client implements AutoCloseable {
+
+        private final SocketChannel channel;
+        private final ByteBuffer out = ByteBuffer.allocate(4096);
+        private final ByteBuffer in = ByteBuffer.allocate(4096);
+
+        private Client() throws IOException {
+            channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", gateway.getPort()));
+            in.flip();
+        }
+
+        void send(Encoder encoder) throws IOException {
+            out.clear();
+            encoder.encode(out);
+            out.flip();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+
+        /**
+         * @return the body of the next frame, which must be of {@code type}
+         */
+        ByteBuffer expect(byte type) throws IOException {
+            fill(2);
+            int length = in.getShort() & 0xFFFF;
+            fill(length);
+            byte actual = in.get();
+            ByteBuffer body = ByteBuffer.allocate(length - 1);
+            in.get(body.array());
+            assertThat(actual).isEqualTo(type);
+            return body;
+        }
+
+        /**
+         * @return the body of the next frame of {@code type}, skipping frames of other types
+         */
+        ByteBuffer await(byte type) throws IOException {
+            while (true) {
+                fill(2);
+                int length = in.getShort() & 0xFFFF;
+                fill(length);
+                byte actual = in.get();
+                ByteBuffer body = ByteBuffer.allocate(length - 1);
+                in.get(body.array());
+                if (actual == type) {
+                    return body;
+                }
+            }
+        }
+
+        boolean isClosedByPeer() throws IOException {
+            in.compact();
+            int read = channel.read(in);
+            in.flip();
+            return read < 0;
+        }
+
+        private void fill(int bytes) throws IOException {
+            while (in.remaining() < bytes) {
+                in.compact();
+                if (channel.read(in) < 0) {
+                    throw new IOException("gateway closed the connection");
+                }
+                in.flip();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
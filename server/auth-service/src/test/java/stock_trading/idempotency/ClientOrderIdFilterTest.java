@@ -0,0 +1,90 @@
+package stock_trading.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientOrderIdFilterTest {
+
+    private ClientOrderIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // Four buckets of 250ms: an id is remembered for between 750ms and 1s.
+        filter = new ClientOrderIdFilter(1_000, 4, 64);
+    }
+
+    @Test
+    @DisplayName("Should reject an id already used by the same account only")
+    void shouldRejectDuplicates() {
+        assertThat(filter.register(1L, 7L, 0)).isTrue();
+        assertThat(filter.register(1L, 7L, 10)).isFalse();
+        assertThat(filter.register(2L, 7L, 10)).isTrue();
+        assertThat(filter.register(1L, 8L, 10)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never treat a missing client order id as a duplicate")
+    void shouldIgnoreNone() {
+        assertThat(filter.register(1L, ClientOrderIdFilter.NONE, 0)).isTrue();
+        assertThat(filter.register(1L, ClientOrderIdFilter.NONE, 0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should remember ids across buckets and forget them once the window has passed")
+    void shouldExpireIds() {
+        filter.register(1L, 7L, 0);
+
+        assertThat(filter.register(1L, 7L, 700)).isFalse();
+        assertThat(filter.register(1L, 7L, 1_000)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should let a forgotten id be registered again")
+    void shouldForget() {
+        filter.register(1L, 7L, 0);
+        filter.forget(1L, 7L, 0);
+
+        assertThat(filter.register(1L, 7L, 0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep every other id findable after removals from a crowded table")
+    void shouldKeepProbeChainsIntactOnRemoval() {
+        for (long id = 1; id <= 60; id++) {
+            filter.register(1L, id, 0);
+        }
+        for (long id = 1; id <= 60; id += 3) {
+            filter.forget(1L, id, 0);
+        }
+
+        for (long id = 1; id <= 60; id++) {
+            assertThat(filter.register(1L, id, 0)).isEqualTo(id % 3 == 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should rotate early when a bucket is full instead of growing past its capacity")
+    void shouldBoundMemory() {
+        for (long id = 1; id <= 64 * 4; id++) {
+            assertThat(filter.register(1L, id, 0)).isTrue();
+        }
+
+        // The fifth full bucket reuses the one holding ids 1..64.
+        assertThat(filter.register(1L, 1_000L, 0)).isTrue();
+        assertThat(filter.register(1L, 1L, 0)).isTrue();
+        assertThat(filter.register(1L, 65L, 0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should evict accounts idle for a whole window")
+    void shouldEvictIdleAccounts() {
+        filter.register(1L, 7L, 0);
+        filter.register(2L, 7L, 900);
+
+        assertThat(filter.evictIdle(1_000)).isEqualTo(1);
+        assertThat(filter.size()).isEqualTo(1);
+    }
+}
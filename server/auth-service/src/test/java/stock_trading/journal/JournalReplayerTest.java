@@ -0,0 +1,121 @@
+package stock_trading.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.OrderBook;
+import stock_trading.engine.OrderType;
+import stock_trading.engine.Side;
+import stock_trading.sequencer.CommandType;
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.sequencer.OrderValidator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JournalReplayerTest {
+
+    @TempDir
+    Path journalDir;
+
+    @Test
+    @DisplayName("Should rebuild identical order books from the journal")
+    void shouldRebuildOrderBooks() throws IOException {
+        MatchingEngine live = new MatchingEngine(List.of("AAPL"));
+        try (JournalWriter writer = JournalWriter.open(journalDir, JournalRecord.SIZE * 8, FsyncPolicy.PER_BATCH, 0)) {
+            for (int sequence = 0; sequence < 20; sequence++) {
+                OrderCommand command = JournalWriterTest.newOrder(sequence);
+                command.setSide(sequence % 3 == 0 ? Side.SELL : Side.BUY);
+                command.setPrice(1_000_000 + (sequence % 4) * 100);
+                apply(live, writer, command, sequence);
+            }
+
+            OrderCommand cancel = new OrderCommand();
+            cancel.setType(CommandType.CANCEL);
+            cancel.setOrderId(4);
+            cancel.setUserId(1L);
+            cancel.setSymbol("AAPL");
+            apply(live, writer, cancel, 20);
+        }
+
+        MatchingEngine recovered = new MatchingEngine(List.of("AAPL"));
+        long lastSequence = new JournalReplayer(journalDir).replay(recovered, List.of(recovered));
+
+        OrderBook expected = live.getBook("AAPL");
+        OrderBook actual = recovered.getBook("AAPL");
+        assertThat(lastSequence).isEqualTo(20);
+        assertThat(actual.restingOrderCount()).isEqualTo(expected.restingOrderCount());
+        assertThat(actual.bestBid()).isEqualTo(expected.bestBid());
+        assertThat(actual.bestAsk()).isEqualTo(expected.bestAsk());
+        assertThat(actual.getOrder(4)).isNull();
+        assertThat(actual.getLastTradePrice()).isEqualTo(expected.getLastTradePrice());
+    }
+
+    @Test
+    @DisplayName("Should replay a stop order as a pending stop under its sequence")
+    void shouldReplayStopOrders() throws IOException {
+        try (JournalWriter writer = JournalWriter.open(journalDir, JournalRecord.SIZE * 4, FsyncPolicy.PER_BATCH, 0)) {
+            OrderCommand stop = JournalWriterTest.newOrder(0);
+            stop.setOrderType(OrderType.STOP_LIMIT);
+            stop.setStopPrice(1_010_000);
+            writer.onCommand(stop, 0, true);
+            writer.onCommand(JournalWriterTest.newOrder(1), 1, true);
+        }
+
+        List<OrderCommand> replayed = new ArrayList<>();
+        new JournalReplayer(journalDir).replay(OrderValidator.ACCEPT_ALL, List.of((command, sequence, endOfBatch) -> {
+            OrderCommand copy = new OrderCommand();
+            copy.setOrderId(command.getOrderId());
+            copy.setOrderType(command.getOrderType());
+            copy.setStopPrice(command.getStopPrice());
+            replayed.add(copy);
+        }));
+
+        assertThat(replayed).hasSize(2);
+        assertThat(replayed.get(0).getOrderId()).isEqualTo(0L);
+        assertThat(replayed.get(0).getOrderType()).isEqualTo(OrderType.STOP_LIMIT);
+        assertThat(replayed.get(0).getStopPrice()).isEqualTo(1_010_000L);
+        assertThat(replayed.get(1).getOrderId()).isEqualTo(1L);
+        assertThat(replayed.get(1).getOrderType()).isEqualTo(OrderType.LIMIT);
+        assertThat(replayed.get(1).getStopPrice()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replay only records at or after the requested sequence")
+    void shouldReplayFromSequence() throws IOException {
+        try (JournalWriter writer = JournalWriter.open(journalDir, JournalRecord.SIZE * 4, FsyncPolicy.PER_BATCH, 0)) {
+            for (int sequence = 0; sequence < 10; sequence++) {
+                writer.onCommand(JournalWriterTest.newOrder(sequence), sequence, true);
+            }
+        }
+
+        List<Long> replayed = new ArrayList<>();
+        long lastSequence = new JournalReplayer(journalDir).replay(6, OrderValidator.ACCEPT_ALL,
+                List.of((command, sequence, endOfBatch) -> replayed.add(command.getOrderId())));
+
+        assertThat(lastSequence).isEqualTo(9);
+        assertThat(replayed).containsExactly(6L, 7L, 8L, 9L);
+    }
+
+    @Test
+    @DisplayName("Should return the sequence before the start when the journal is empty")
+    void shouldHandleEmptyJournal() {
+        long lastSequence = new JournalReplayer(journalDir).replay(OrderValidator.ACCEPT_ALL, List.of());
+
+        assertThat(lastSequence).isEqualTo(-1);
+    }
+
+    private void apply(MatchingEngine engine, JournalWriter writer, OrderCommand command, long sequence) {
+        String reason = engine.validate(command);
+        if (reason != null) {
+            command.reject(reason);
+        }
+        writer.onCommand(command, sequence, true);
+        engine.onCommand(command, sequence, true);
+    }
+}
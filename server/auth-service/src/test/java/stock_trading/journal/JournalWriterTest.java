@@ -0,0 +1,143 @@
+package stock_trading.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import stock_trading.engine.Side;
+import stock_trading.sequencer.CommandType;
+import stock_trading.sequencer.OrderCommand;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JournalWriterTest {
+
+    private static final int SEGMENT_SIZE = JournalRecord.SIZE * 4;
+
+    @TempDir
+    Path journalDir;
+
+    @Test
+    @DisplayName("Should only commit a batch once its last command is written")
+    void shouldCommitPerBatch() throws IOException {
+        try (JournalWriter writer = JournalWriter.open(journalDir, SEGMENT_SIZE, FsyncPolicy.PER_BATCH, 0)) {
+            writer.onCommand(newOrder(0), 0, false);
+            writer.onCommand(newOrder(1), 1, false);
+
+            assertThat(writer.getCommittedSequence()).isEqualTo(-1);
+            assertThat(writer.awaitCommitted(1, 1_000_000)).isFalse();
+
+            writer.onCommand(newOrder(2), 2, true);
+
+            assertThat(writer.getCommittedSequence()).isEqualTo(2);
+            assertThat(writer.awaitCommitted(1, 1_000_000)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should commit every command with the per-message policy")
+    void shouldCommitPerMessage() throws IOException {
+        try (JournalWriter writer = JournalWriter.open(journalDir, SEGMENT_SIZE, FsyncPolicy.PER_MESSAGE, 0)) {
+            writer.onCommand(newOrder(0), 0, false);
+
+            assertThat(writer.getCommittedSequence()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Should roll over to a new segment named after its first sequence")
+    void shouldRollSegments() throws IOException {
+        try (JournalWriter writer = JournalWriter.open(journalDir, SEGMENT_SIZE, FsyncPolicy.PER_BATCH, 0)) {
+            for (int sequence = 0; sequence < 6; sequence++) {
+                writer.onCommand(newOrder(sequence), sequence, true);
+            }
+        }
+
+        List<Path> segments = JournalSegments.list(journalDir);
+        assertThat(segments).hasSize(2);
+        assertThat(JournalSegments.firstSequence(segments.get(0))).isZero();
+        assertThat(JournalSegments.firstSequence(segments.get(1))).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should not journal rejected commands but still commit past them")
+    void shouldSkipRejectedCommands() throws IOException {
+        try (JournalWriter writer = JournalWriter.open(journalDir, SEGMENT_SIZE, FsyncPolicy.PER_BATCH, 0)) {
+            writer.onCommand(newOrder(0), 0, false);
+            OrderCommand rejected = newOrder(1);
+            rejected.reject("unknown symbol");
+            writer.onCommand(rejected, 1, true);
+
+            assertThat(writer.getCommittedSequence()).isEqualTo(1);
+        }
+
+        try (JournalWriter reopened = JournalWriter.open(journalDir, SEGMENT_SIZE, FsyncPolicy.PER_BATCH, 0)) {
+            assertThat(reopened.getLastSequence()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a command it cannot write instead of letting it through")
+    void shouldRejectUnwritableCommand() throws IOException {
+        try (JournalWriter writer = JournalWriter.open(journalDir, SEGMENT_SIZE, FsyncPolicy.PER_BATCH, 0)) {
+            for (int sequence = 0; sequence < 4; sequence++) {
+                writer.onCommand(newOrder(sequence), sequence, true);
+            }
+            // The next command needs a new segment, which cannot be created without the directory.
+            Files.delete(JournalSegments.list(journalDir).get(0));
+            Files.delete(journalDir);
+
+            OrderCommand unwritten = newOrder(4);
+            writer.onCommand(unwritten, 4, true);
+
+            assertThat(unwritten.isRejected()).isTrue();
+            assertThat(unwritten.getRejectReason()).isEqualTo("journal write failed");
+        }
+    }
+
+    @Test
+    @DisplayName("Should resume after the last valid record and discard a torn tail")
+    void shouldRecoverAfterTornWrite() throws IOException {
+        try (JournalWriter writer = JournalWriter.open(journalDir, SEGMENT_SIZE, FsyncPolicy.PER_BATCH, 0)) {
+            writer.onCommand(newOrder(0), 0, false);
+            writer.onCommand(newOrder(1), 1, true);
+        }
+
+        Path segment = JournalSegments.list(journalDir).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), JournalRecord.SIZE * 2L);
+        }
+
+        try (JournalWriter reopened = JournalWriter.open(journalDir, SEGMENT_SIZE, FsyncPolicy.PER_BATCH, 0)) {
+            assertThat(reopened.getLastSequence()).isEqualTo(1);
+            assertThat(reopened.getCommittedSequence()).isEqualTo(1);
+
+            reopened.onCommand(newOrder(2), 2, true);
+        }
+
+        assertThat(Files.size(segment)).isEqualTo(SEGMENT_SIZE);
+        try (JournalWriter reopened = JournalWriter.open(journalDir, SEGMENT_SIZE, FsyncPolicy.PER_BATCH, 0)) {
+            assertThat(reopened.getLastSequence()).isEqualTo(2);
+        }
+    }
+
+    static OrderCommand newOrder(long orderId) {
+        OrderCommand command = new OrderCommand();
+        command.setType(CommandType.NEW);
+        command.setOrderId(orderId);
+        command.setUserId(1L);
+        command.setSymbol("AAPL");
+        command.setSide(orderId % 2 == 0 ? Side.BUY : Side.SELL);
+        command.setPrice(1_000_000 + orderId * 100);
+        command.setQuantity(10);
+        command.setTimestamp(orderId);
+        return command;
+    }
+}
@@ -0,0 +1,272 @@
+package stock_trading.marketdata;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConflatingQuoteFanoutTest {
+
+    private static final long INTERVAL = 100;
+    private static final long MAX_STALL = 1_000;
+    private static final long WRITE_TIMEOUT = 10_000;
+
+    private QuoteStore quoteStore;
+    private Queue<Runnable> pendingSends;
+
+    @BeforeEach
+    void setUp() {
+        SymbolRegistry registry = new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", new BigDecimal("150.00"), 1_000L),
+                new Listing("MSFT", "Microsoft Corporation", new BigDecimal("300.00"), 2_000L)));
+        quoteStore = new QuoteStore(registry);
+        pendingSends = new ArrayDeque<>();
+    }
+
+    private ConflatingQuoteFanout fanout(SlowConsumerPolicy policy) {
+        return new ConflatingQuoteFanout(quoteStore, ConflatingQuoteFanoutTest::encode, pendingSends::add,
+                pendingSends::add, policy, MAX_STALL, WRITE_TIMEOUT);
+    }
+
+    private static String encode(QuoteView[] views, int count) {
+        StringBuilder payload = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            payload.append(views[i].getSymbolId()).append('@').append(views[i].getPrice()).append(';');
+        }
+        return payload.toString();
+    }
+
+    private void drainSends() {
+        while (!pendingSends.isEmpty()) {
+            pendingSends.poll().run();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send every quote on the first flush and only changed quotes afterwards")
+    void shouldSendSnapshotThenChanges() {
+        ConflatingQuoteFanout fanout = fanout(SlowConsumerPolicy.CONFLATE);
+        RecordingSink sink = new RecordingSink();
+        fanout.subscribe(sink, INTERVAL, 0);
+
+        fanout.tick(0);
+        drainSends();
+        quoteStore.onTrade(1, 3_010_000, 5, 1L);
+        fanout.tick(INTERVAL);
+        drainSends();
+        fanout.tick(2 * INTERVAL);
+        drainSends();
+
+        assertThat(sink.payloads).containsExactly("0@1500000;1@3000000;", "1@3010000;");
+    }
+
+    @Test
+    @DisplayName("Should conflate updates between flushes to the latest value")
+    void shouldConflateToLatestValue() {
+        ConflatingQuoteFanout fanout = fanout(SlowConsumerPolicy.CONFLATE);
+        RecordingSink sink = new RecordingSink();
+        fanout.subscribe(sink, INTERVAL, 0);
+        fanout.tick(0);
+        drainSends();
+
+        quoteStore.onTrade(0, 1_510_000, 1, 1L);
+        fanout.tick(INTERVAL / 2);
+        quoteStore.onTrade(0, 1_520_000, 1, 2L);
+        fanout.tick(INTERVAL);
+        drainSends();
+
+        assertThat(sink.payloads).hasSize(2);
+        assertThat(sink.payloads.get(1)).isEqualTo("0@1520000;");
+    }
+
+    @Test
+    @DisplayName("Should honour each subscriber's own flush interval")
+    void shouldHonourPerSubscriberInterval() {
+        ConflatingQuoteFanout fanout = fanout(SlowConsumerPolicy.CONFLATE);
+        RecordingSink fast = new RecordingSink();
+        RecordingSink slow = new RecordingSink();
+        fanout.subscribe(fast, INTERVAL, 0);
+        fanout.subscribe(slow, 4 * INTERVAL, 0);
+        fanout.tick(0);
+        drainSends();
+
+        for (int i = 1; i <= 4; i++) {
+            quoteStore.onTrade(0, 1_500_000 + i, 1, i);
+            fanout.tick(i * INTERVAL);
+            drainSends();
+        }
+
+        assertThat(fast.payloads).hasSize(5);
+        assertThat(slow.payloads).containsExactly("0@1500000;1@3000000;", "0@1500004;");
+    }
+
+    @Test
+    @DisplayName("Should not let a stalled subscriber hold back the others")
+    void shouldNotBlockOnStalledSubscriber() {
+        ConflatingQuoteFanout fanout = fanout(SlowConsumerPolicy.CONFLATE);
+        RecordingSink healthy = new RecordingSink();
+        QuoteSubscription stalled = fanout.subscribe(new RecordingSink(), INTERVAL, 0);
+        fanout.subscribe(healthy, INTERVAL, 0);
+
+        fanout.tick(0);
+        Runnable stalledSend = pendingSends.poll();
+        drainSends();
+        quoteStore.onTrade(1, 3_020_000, 1, 1L);
+        fanout.tick(INTERVAL);
+        drainSends();
+
+        assertThat(stalledSend).isNotNull();
+        assertThat(healthy.payloads).containsExactly("0@1500000;1@3000000;", "1@3020000;");
+        assertThat(stalled.getConflatedFlushes()).isEqualTo(1);
+        assertThat(fanout.getSubscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should disconnect a subscriber whose send stalls past the limit, closing it off the dispatcher")
+    void shouldDisconnectStalledSubscriber() {
+        ConflatingQuoteFanout fanout = fanout(SlowConsumerPolicy.DISCONNECT);
+        RecordingSink sink = new RecordingSink();
+        QuoteSubscription subscription = fanout.subscribe(sink, INTERVAL, 0);
+
+        fanout.tick(0);
+        fanout.tick(INTERVAL);
+        fanout.tick(MAX_STALL + INTERVAL);
+
+        assertThat(subscription.isClosed()).isTrue();
+        assertThat(sink.closed).isFalse();
+        assertThat(fanout.getSubscriberCount()).isZero();
+        assertThat(fanout.getDisconnectedSubscribers()).isEqualTo(1);
+
+        drainSends();
+        assertThat(sink.closed).isTrue();
+        assertThat(pendingSends).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep delivering when more subscribers stall than there are sender threads")
+    void shouldEvictStalledSubscribersBeyondSenderThreads() throws InterruptedException {
+        ExecutorService sender = Executors.newFixedThreadPool(2);
+        ExecutorService closer = Executors.newSingleThreadExecutor();
+        try {
+            ConflatingQuoteFanout fanout = new ConflatingQuoteFanout(quoteStore, ConflatingQuoteFanoutTest::encode,
+                    sender, closer, SlowConsumerPolicy.CONFLATE, MAX_STALL, WRITE_TIMEOUT);
+            CountDownLatch entered = new CountDownLatch(2);
+            List<StalledSink> stalled = List.of(new StalledSink(entered), new StalledSink(entered),
+                    new StalledSink(entered));
+            for (StalledSink sink : stalled) {
+                fanout.subscribe(sink, INTERVAL, 0);
+            }
+            CountDownLatch delivered = new CountDownLatch(1);
+            fanout.subscribe(new QuoteSink() {
+                @Override
+                public void send(String payload) {
+                    delivered.countDown();
+                }
+
+                @Override
+                public void close() {
+                }
+            }, INTERVAL, WRITE_TIMEOUT + INTERVAL);
+
+            fanout.tick(0);
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            fanout.tick(WRITE_TIMEOUT + INTERVAL);
+
+            assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(fanout.getDisconnectedSubscribers()).isEqualTo(3);
+            assertThat(fanout.getSubscriberCount()).isEqualTo(1);
+            closer.shutdown();
+            assertThat(closer.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+            for (StalledSink sink : stalled) {
+                assertThat(sink.closed).isTrue();
+            }
+        } finally {
+            sender.shutdownNow();
+            closer.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber whose send fails")
+    void shouldDropFailedSubscriber() {
+        ConflatingQuoteFanout fanout = fanout(SlowConsumerPolicy.CONFLATE);
+        QuoteSubscription subscription = fanout.subscribe(new QuoteSink() {
+            @Override
+            public void send(String payload) throws IOException {
+                throw new IOException("broken pipe");
+            }
+
+            @Override
+            public void close() {
+            }
+        }, INTERVAL, 0);
+
+        fanout.tick(0);
+        drainSends();
+
+        assertThat(subscription.isClosed()).isTrue();
+        assertThat(fanout.getSubscriberCount()).isZero();
+    }
+
+    /**
+     * Blocks in {@code send} like a write to a client that stopped reading, until the write is
+     * interrupted or the connection closed.
+     */
+    private static class StalledSink implements QuoteSink {
+
+        private final CountDownLatch entered;
+        private final CountDownLatch released = new CountDownLatch(1);
+        private volatile boolean closed;
+
+        StalledSink(CountDownLatch entered) {
+            this.entered = entered;
+        }
+
+        @Override
+        public void send(String payload) throws IOException {
+            entered.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException ex) {
+                throw new InterruptedIOException("write aborted");
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            released.countDown();
+        }
+    }
+
+    private static class RecordingSink implements QuoteSink {
+
+        private final List<String> payloads = new ArrayList<>();
+        private boolean closed;
+
+        @Override
+        public void send(String payload) {
+            payloads.add(payload);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package stock_trading.marketdata;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuoteStoreTest {
+
+    private QuoteStore quoteStore;
+    private QuoteView view;
+
+    @BeforeEach
+    void setUp() {
+        SymbolRegistry registry = new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", new BigDecimal("150.00"), 1_000L),
+                new Listing("MSFT", "Microsoft Corporation", new BigDecimal("300.00"), 2_000L)));
+        quoteStore = new QuoteStore(registry);
+        view = new QuoteView();
+    }
+
+    @Test
+    @DisplayName("Should start every quote at the previous close")
+    void shouldStartAtPreviousClose() {
+        quoteStore.read(1, view);
+
+        assertThat(view.getPrice()).isEqualTo(3_000_000);
+        assertThat(view.getChange()).isZero();
+        assertThat(view.getVolume()).isZero();
+        assertThat(view.getMarketCap()).isEqualTo(3_000_000L * 2_000);
+    }
+
+    @Test
+    @DisplayName("Should track last price, session range and volume from trades")
+    void shouldTrackTrades() {
+        quoteStore.onTrade(0, 1_510_000, 10, 1L);
+        quoteStore.onTrade(0, 1_490_000, 5, 2L);
+        quoteStore.onTrade(0, 1_530_000, 1, 3L);
+
+        quoteStore.read(0, view);
+
+        assertThat(view.getPrice()).isEqualTo(1_530_000);
+        assertThat(view.getOpen()).isEqualTo(1_510_000);
+        assertThat(view.getHigh()).isEqualTo(1_530_000);
+        assertThat(view.getLow()).isEqualTo(1_490_000);
+        assertThat(view.getVolume()).isEqualTo(16);
+        assertThat(view.getTimestamp()).isEqualTo(3L);
+        assertThat(view.getChange()).isEqualTo(30_000);
+        assertThat(view.getChangePercent()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should roll the session on the first trade of a new UTC day")
+    void shouldRollSessionOnNewDay() {
+        long day = 86_400_000L;
+        quoteStore.onTrade(0, 1_510_000, 10, 10 * day + 1_000);
+        quoteStore.onTrade(0, 1_530_000, 5, 10 * day + 2_000);
+        quoteStore.onTrade(0, 1_520_000, 2, 11 * day + 1_000);
+
+        quoteStore.read(0, view);
+
+        assertThat(view.getPreviousClose()).isEqualTo(1_530_000);
+        assertThat(view.getOpen()).isEqualTo(1_520_000);
+        assertThat(view.getHigh()).isEqualTo(1_520_000);
+        assertThat(view.getLow()).isEqualTo(1_520_000);
+        assertThat(view.getVolume()).isEqualTo(2);
+        assertThat(view.getChange()).isEqualTo(-10_000);
+    }
+
+    @Test
+    @DisplayName("Should stamp fills with the command time supplied to the store")
+    void shouldStampFillsWithCommandTime() {
+        SymbolRegistry registry = quoteStore.getRegistry();
+        long[] commandTime = {5_000L};
+        quoteStore = new QuoteStore(registry, () -> commandTime[0]);
+
+        quoteStore.onFill(0, 1_510_000, 10, null, null);
+
+        quoteStore.read(0, view);
+        assertThat(view.getTimestamp()).isEqualTo(5_000L);
+    }
+
+    @Test
+    @DisplayName("Should bump the version by two per trade and leave other symbols untouched")
+    void shouldVersionPerSymbol() {
+        quoteStore.onTrade(0, 1_510_000, 10, 1L);
+
+        assertThat(quoteStore.version(0)).isEqualTo(2);
+        assertThat(quoteStore.version(1)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should never expose a half-written quote to concurrent readers")
+    void shouldReadConsistentQuotesWhileWriting() throws InterruptedException {
+        Thread writer = new Thread(() -> {
+            for (long i = 1; i <= 2_000_000; i++) {
+                quoteStore.onTrade(0, i, 1, i);
+            }
+        });
+        writer.start();
+
+        long inconsistent = 0;
+        while (writer.isAlive()) {
+            quoteStore.read(0, view);
+            if (view.getVolume() > 0 && (view.getPrice() != view.getTimestamp() || view.getVolume() != view.getPrice())) {
+                inconsistent++;
+            }
+        }
+        writer.join();
+
+        assertThat(inconsistent).isZero();
+    }
+}
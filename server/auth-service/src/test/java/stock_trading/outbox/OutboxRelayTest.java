@@ -0,0 +1,118 @@
+package stock_trading.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import stock_trading.entity.OutboxEvent;
+import stock_trading.repository.OutboxRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InProcessOutboxPublisher publisher;
+    private List<List<OutboxMessage>> published;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new InProcessOutboxPublisher();
+        published = new ArrayList<>();
+        publisher.subscribe(published::add);
+        relay = new OutboxRelay(outboxRepository, new TransactionTemplate(transactionManager), publisher, 2,
+                60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.close();
+    }
+
+    @Test
+    @DisplayName("Should publish a claimed batch in one call and delete it in the same transaction")
+    void shouldPublishAndDeleteClaimedBatch() {
+        when(outboxRepository.claimBatch(2)).thenReturn(List.of(event(1L), event(2L)));
+
+        assertThat(relay.relayBatch()).isEqualTo(2);
+
+        assertThat(published).hasSize(1);
+        assertThat(published.get(0)).extracting(OutboxMessage::id).containsExactly(1L, 2L);
+        assertThat(published.get(0).get(0).payload()).isEqualTo("{\"n\":1}");
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should leave a batch in the outbox when publishing it fails")
+    void shouldKeepBatchWhenPublishFails() {
+        when(outboxRepository.claimBatch(2)).thenReturn(List.of(event(1L)));
+        publisher.subscribe(batch -> {
+            throw new IllegalStateException("broker unavailable");
+        });
+
+        assertThatThrownBy(() -> relay.relayBatch())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("broker unavailable");
+
+        verify(outboxRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should keep relaying while batches come back full")
+    void shouldDrainUntilBatchIsNotFull() {
+        when(outboxRepository.claimBatch(2))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L), event(4L)))
+                .thenReturn(List.of(event(5L)));
+
+        assertThat(relay.drain()).isEqualTo(5);
+
+        assertThat(published).hasSize(3);
+        verify(outboxRepository, times(3)).claimBatch(2);
+    }
+
+    @Test
+    @DisplayName("Should not publish when the outbox is empty")
+    void shouldSkipEmptyOutbox() {
+        when(outboxRepository.claimBatch(2)).thenReturn(List.of());
+
+        assertThat(relay.drain()).isZero();
+
+        assertThat(published).isEmpty();
+        verify(outboxRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    private static OutboxEvent event(long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType("account")
+                .aggregateId(7L)
+                .eventType("trade.executed")
+                .payload("{\"n\":" + id + "}")
+                .createdAt(Instant.EPOCH)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package stock_trading.portfolio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeriodOpeningStoreTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    @Test
+    @DisplayName("Should load the current year's openings and write only those that changed since")
+    void shouldWriteOnlyChangedOpenings() {
+        Table table = new Table();
+        table.rows.add(new Object[]{1L, Date.valueOf(MONDAY), 500L, 2026, 400L});
+        PeriodOpeningStore store = new PeriodOpeningStore(table);
+
+        assertThat(store.load(2026)).containsOnlyKeys(1L)
+                .containsEntry(1L, new PeriodOpening(1L, MONDAY, 500, 2026, 400));
+
+        PeriodOpening unchanged = new PeriodOpening(1L, MONDAY, 500, 2026, 400);
+        PeriodOpening opened = new PeriodOpening(2L, MONDAY, 900, 2026, 900);
+        assertThat(store.save(List.of(unchanged, opened))).isEqualTo(1);
+        assertThat(table.written).containsExactly(List.of(2L, Date.valueOf(MONDAY), 900L, 2026, 900L));
+
+        PeriodOpening rolled = new PeriodOpening(1L, MONDAY.plusDays(1), 700, 2026, 400);
+        assertThat(store.save(List.of(rolled, opened))).isEqualTo(1);
+        assertThat(table.written).hasSize(2);
+        assertThat(table.written.get(1)).isEqualTo(List.of(1L, Date.valueOf(MONDAY.plusDays(1)), 700L, 2026, 400L));
+        assertThat(table.loadedYear).isEqualTo(2026);
+    }
+
+    private static final class Table extends JdbcTemplate {
+
+        private final List<Object[]> rows = new ArrayList<>();
+        private final List<List<Object>> written = new ArrayList<>();
+        private Object loadedYear;
+
+        @Override
+        public void query(String sql, RowCallbackHandler handler, Object... args) {
+            assertThat(sql).contains("from portfolio_openings");
+            loadedYear = args[0];
+            for (Object[] row : rows) {
+                ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                        new Class<?>[]{ResultSet.class}, (proxy, method, index) -> row[(Integer) index[0] - 1]);
+                try {
+                    handler.processRow(resultSet);
+                } catch (SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, BatchPreparedStatementSetter setter) {
+            assertThat(sql).startsWith("insert into portfolio_openings").contains("on conflict (user_id) do update");
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+                Object[] values = new Object[5];
+                PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+                        PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                        (proxy, method, args) -> values[(Integer) args[0] - 1] = args[1]);
+                try {
+                    setter.setValues(statement, i);
+                } catch (SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+                written.add(List.of(values));
+            }
+            return new int[setter.getBatchSize()];
+        }
+    }
+}
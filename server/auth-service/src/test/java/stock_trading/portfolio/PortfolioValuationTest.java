@@ -0,0 +1,254 @@
+package stock_trading.portfolio;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.Side;
+import stock_trading.marketdata.QuoteStore;
+import stock_trading.sequencer.CommandType;
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PortfolioValuationTest {
+
+    private SymbolRegistry registry;
+    private MatchingEngine engine;
+    private PortfolioValuation valuation;
+    private long nextSequence;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", new BigDecimal("150.00"), 1_000L),
+                new Listing("MSFT", "Microsoft Corporation", new BigDecimal("300.00"), 2_000L)));
+        engine = new MatchingEngine(registry.getSymbols());
+        valuation = new PortfolioValuation(registry, engine.getLedger(), 0);
+        valuation.rebuild(new QuoteStore(registry));
+        engine.addFillListener(valuation);
+    }
+
+    @Test
+    @DisplayName("Should value new positions at the trade price")
+    void shouldValueNewPositions() {
+        submit(1L, "AAPL", Side.SELL, 1_500_000, 10);
+        submit(2L, "AAPL", Side.BUY, 1_500_000, 10);
+
+        Valuation buyer = valuation.getValuation(2L);
+        assertThat(buyer.cash()).isEqualTo(-15_000_000);
+        assertThat(buyer.marketValue()).isEqualTo(15_000_000);
+        assertThat(buyer.costBasis()).isEqualTo(15_000_000);
+        assertThat(buyer.unrealizedPnl()).isZero();
+        assertThat(buyer.positions()).isEqualTo(1);
+        assertThat(valuation.getHolderCount(0)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count the opening cash in every account's cash and equity")
+    void shouldAddOpeningCash() {
+        long openingCash = 1_000_000_000L;
+        valuation = new PortfolioValuation(registry, engine.getLedger(), openingCash);
+        valuation.rebuild(new QuoteStore(registry));
+        engine.addFillListener(valuation);
+
+        submit(1L, "AAPL", Side.SELL, 1_500_000, 10);
+        submit(2L, "AAPL", Side.BUY, 1_500_000, 10);
+
+        Valuation buyer = valuation.getValuation(2L);
+        assertThat(buyer.cash()).isEqualTo(openingCash - 15_000_000);
+        assertThat(buyer.equity()).isEqualTo(openingCash);
+        assertThat(valuation.getValuation(99L).cash()).isEqualTo(openingCash);
+        assertThat(valuation.getValuation(99L).equity()).isEqualTo(openingCash);
+    }
+
+    @Test
+    @DisplayName("Should re-price holders of a symbol when it trades")
+    void shouldRepriceHoldersOnTrade() {
+        submit(1L, "AAPL", Side.SELL, 1_500_000, 10);
+        submit(2L, "AAPL", Side.BUY, 1_500_000, 10);
+        submit(3L, "AAPL", Side.SELL, 1_600_000, 1);
+        submit(4L, "AAPL", Side.BUY, 1_600_000, 1);
+
+        Valuation holder = valuation.getValuation(2L);
+        assertThat(holder.marketValue()).isEqualTo(16_000_000);
+        assertThat(holder.unrealizedPnl()).isEqualTo(1_000_000);
+        assertThat(valuation.getValuation(1L).unrealizedPnl()).isEqualTo(-1_000_000);
+    }
+
+    @Test
+    @DisplayName("Should leave holders of other symbols untouched")
+    void shouldNotTouchOtherSymbols() {
+        submit(1L, "AAPL", Side.SELL, 1_500_000, 10);
+        submit(2L, "AAPL", Side.BUY, 1_500_000, 10);
+        Valuation before = valuation.getValuation(2L);
+
+        submit(3L, "MSFT", Side.SELL, 3_100_000, 5);
+        submit(4L, "MSFT", Side.BUY, 3_100_000, 5);
+
+        assertThat(valuation.getValuation(2L)).isEqualTo(before);
+        assertThat(valuation.getHolderCount(1)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop a user from the holder index once the position is closed")
+    void shouldDropClosedPositions() {
+        submit(1L, "AAPL", Side.SELL, 1_500_000, 10);
+        submit(2L, "AAPL", Side.BUY, 1_500_000, 10);
+        submit(2L, "AAPL", Side.SELL, 1_550_000, 10);
+        submit(1L, "AAPL", Side.BUY, 1_550_000, 10);
+
+        Valuation closed = valuation.getValuation(2L);
+        assertThat(closed.positions()).isZero();
+        assertThat(closed.marketValue()).isZero();
+        assertThat(closed.costBasis()).isZero();
+        assertThat(closed.cash()).isEqualTo(500_000);
+        assertThat(valuation.getHolderCount(0)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rebuild the same valuations from the ledger")
+    void shouldRebuildFromLedger() {
+        submit(1L, "AAPL", Side.SELL, 1_500_000, 10);
+        submit(2L, "AAPL", Side.BUY, 1_500_000, 6);
+        submit(3L, "AAPL", Side.BUY, 1_500_000, 4);
+        submit(2L, "MSFT", Side.SELL, 3_000_000, 3);
+        submit(3L, "MSFT", Side.BUY, 3_000_000, 3);
+        Valuation expected = valuation.getValuation(3L);
+
+        QuoteStore quotes = new QuoteStore(registry);
+        quotes.onTrade(0, 1_500_000, 10, 1L);
+        valuation.rebuild(quotes);
+
+        assertThat(valuation.getValuation(3L)).isEqualTo(expected);
+        assertThat(valuation.getHolderCount(0)).isEqualTo(3);
+        assertThat(valuation.getHolderCount(1)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should accrue price moves to the day's and year's P&L and restart them as periods roll over")
+    void shouldAccruePeriodPnl() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-12-31T10:00:00Z"));
+        engine = new MatchingEngine(registry.getSymbols());
+        valuation = new PortfolioValuation(registry, engine.getLedger(), 0, clock);
+        valuation.rebuild(new QuoteStore(registry));
+        engine.addFillListener(valuation);
+
+        submit(1L, "AAPL", Side.SELL, 1_500_000, 10);
+        submit(2L, "AAPL", Side.BUY, 1_500_000, 10);
+        submit(3L, "AAPL", Side.SELL, 1_600_000, 1);
+        submit(4L, "AAPL", Side.BUY, 1_600_000, 1);
+        Valuation lastYear = valuation.getValuation(2L);
+        assertThat(lastYear.dayPnl()).isEqualTo(1_000_000);
+        assertThat(lastYear.yearPnl()).isEqualTo(1_000_000);
+
+        clock.instant = Instant.parse("2026-01-01T09:00:00Z");
+        assertThat(valuation.getValuation(2L).dayPnl()).isZero();
+        assertThat(valuation.getValuation(2L).yearPnl()).isZero();
+
+        submit(3L, "AAPL", Side.SELL, 1_550_000, 1);
+        submit(4L, "AAPL", Side.BUY, 1_550_000, 1);
+        clock.instant = Instant.parse("2026-01-02T09:00:00Z");
+        submit(3L, "AAPL", Side.SELL, 1_580_000, 1);
+        submit(4L, "AAPL", Side.BUY, 1_580_000, 1);
+
+        Valuation holder = valuation.getValuation(2L);
+        assertThat(holder.dayPnl()).isEqualTo(300_000);
+        assertThat(holder.yearPnl()).isEqualTo(-200_000);
+        assertThat(holder.equity()).isEqualTo(holder.marketValue() - 15_000_000);
+        assertThat(valuation.getValuation(4L).dayPnl()).isEqualTo(60_000);
+    }
+
+    @Test
+    @DisplayName("Should resume the day's and year's P&L from the saved openings after a restart")
+    void shouldResumePeriodPnlFromOpenings() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-03-02T10:00:00Z"));
+        engine = new MatchingEngine(registry.getSymbols());
+        valuation = new PortfolioValuation(registry, engine.getLedger(), 0, clock);
+        valuation.rebuild(new QuoteStore(registry));
+        engine.addFillListener(valuation);
+
+        submit(1L, "AAPL", Side.SELL, 1_500_000, 10);
+        submit(2L, "AAPL", Side.BUY, 1_500_000, 10);
+        submit(3L, "AAPL", Side.SELL, 1_600_000, 1);
+        submit(4L, "AAPL", Side.BUY, 1_600_000, 1);
+        submit(2L, "AAPL", Side.SELL, 1_600_000, 10);
+        submit(4L, "AAPL", Side.BUY, 1_600_000, 10);
+        Map<Long, PeriodOpening> openings = new HashMap<>();
+        valuation.getOpenings().forEach(opening -> openings.put(opening.userId(), opening));
+        Valuation closed = valuation.getValuation(2L);
+        Valuation seller = valuation.getValuation(1L);
+        assertThat(closed.positions()).isZero();
+        assertThat(closed.dayPnl()).isEqualTo(1_000_000);
+
+        QuoteStore quotes = new QuoteStore(registry);
+        quotes.onTrade(0, 1_600_000, 10, 1L);
+        valuation = new PortfolioValuation(registry, engine.getLedger(), 0, clock);
+        valuation.rebuild(quotes, openings);
+
+        assertThat(valuation.getValuation(2L)).isEqualTo(closed);
+        assertThat(valuation.getValuation(1L)).isEqualTo(seller);
+
+        clock.instant = Instant.parse("2026-03-03T09:00:00Z");
+        valuation = new PortfolioValuation(registry, engine.getLedger(), 0, clock);
+        valuation.rebuild(quotes, openings);
+
+        assertThat(valuation.getValuation(1L).dayPnl()).isZero();
+        assertThat(valuation.getValuation(1L).yearPnl()).isEqualTo(-1_000_000);
+    }
+
+    @Test
+    @DisplayName("Should report an empty valuation for unknown users")
+    void shouldReportEmptyValuationForUnknownUser() {
+        assertThat(valuation.getValuation(99L)).isEqualTo(Valuation.EMPTY);
+    }
+
+    private void submit(long userId, String symbol, Side side, long price, long quantity) {
+        long sequence = nextSequence++;
+        OrderCommand command = new OrderCommand();
+        command.setType(CommandType.NEW);
+        command.setOrderId(sequence);
+        command.setUserId(userId);
+        command.setSymbol(symbol);
+        command.setSide(side);
+        command.setPrice(price);
+        command.setQuantity(quantity);
+        command.setTimestamp(sequence);
+        engine.onCommand(command, sequence, true);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package stock_trading.risk;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.Side;
+import stock_trading.sequencer.CommandType;
+import stock_trading.sequencer.OrderCommand;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuyingPowerReserverTest {
+
+    private static final long INITIAL = 1_000_000_000L;
+
+    private MatchingEngine engine;
+    private BuyingPowerReserver reserver;
+    private long nextSequence;
+
+    @BeforeEach
+    void setUp() {
+        engine = new MatchingEngine(List.of("AAPL"));
+        reserver = new BuyingPowerReserver(INITIAL);
+        engine.addFillListener(reserver);
+    }
+
+    @Test
+    @DisplayName("Should refuse a reservation larger than the available buying power")
+    void shouldRefuseOverReservation() {
+        assertThat(reserver.reserve(1L, INITIAL - 10)).isTrue();
+        assertThat(reserver.reserve(1L, 11)).isFalse();
+        assertThat(reserver.getAvailable(1L)).isEqualTo(10);
+        assertThat(reserver.getAvailable(2L)).isEqualTo(INITIAL);
+    }
+
+    @Test
+    @DisplayName("Should never let concurrent reservations overspend one account")
+    void shouldNotOverspendUnderContention() throws InterruptedException {
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> {
+                if (reserver.reserve(1L, 1_000_000)) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(granted.get()).isEqualTo(1_000);
+        assertThat(reserver.getAvailable(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return price improvement to the buyer and proceeds to the seller")
+    void shouldSettleFills() {
+        submit(2L, Side.SELL, 1_000_000, 10);
+        reserver.reserve(1L, 1_100_000 * 10);
+        submit(1L, Side.BUY, 1_100_000, 10);
+
+        assertThat(reserver.getAvailable(1L)).isEqualTo(INITIAL - 1_000_000 * 10);
+        assertThat(reserver.getAvailable(2L)).isEqualTo(INITIAL + 1_000_000 * 10);
+    }
+
+    @Test
+    @DisplayName("Should release the remaining notional when a buy is cancelled")
+    void shouldReleaseOnCancel() {
+        submit(2L, Side.SELL, 1_000_000, 4);
+        reserver.reserve(1L, 1_000_000 * 10);
+        long orderId = submit(1L, Side.BUY, 1_000_000, 10);
+
+        OrderCommand cancel = new OrderCommand();
+        cancel.setType(CommandType.CANCEL);
+        cancel.setOrderId(orderId);
+        cancel.setUserId(1L);
+        cancel.setSymbol("AAPL");
+        apply(cancel);
+
+        assertThat(reserver.getAvailable(1L)).isEqualTo(INITIAL - 1_000_000 * 4);
+    }
+
+    @Test
+    @DisplayName("Should release the reservation of a rejected buy")
+    void shouldReleaseOnRejectedBuy() {
+        reserver.reserve(1L, 500);
+        OrderCommand command = newOrder(1L, Side.BUY, 50, 10);
+        command.setSymbol("NOPE");
+        apply(command);
+
+        assertThat(command.isRejected()).isTrue();
+        assertThat(reserver.getAvailable(1L)).isEqualTo(INITIAL);
+    }
+
+    @Test
+    @DisplayName("Should release the replaced order's notional once the replacement rests")
+    void shouldReleaseOnReplace() {
+        reserver.reserve(1L, 1_000_000 * 10);
+        long orderId = submit(1L, Side.BUY, 1_000_000, 10);
+
+        reserver.reserve(1L, 900_000 * 5);
+        OrderCommand replace = newOrder(1L, Side.BUY, 900_000, 5);
+        replace.setType(CommandType.REPLACE);
+        replace.setOrderId(orderId);
+        apply(replace);
+
+        assertThat(replace.isRejected()).isFalse();
+        assertThat(reserver.getAvailable(1L)).isEqualTo(INITIAL - 900_000 * 5);
+
+        reserver.reserve(1L, 900_000 * 5);
+        OrderCommand stale = newOrder(1L, Side.BUY, 900_000, 5);
+        stale.setType(CommandType.REPLACE);
+        stale.setOrderId(orderId);
+        apply(stale);
+
+        assertThat(stale.isRejected()).isTrue();
+        assertThat(reserver.getAvailable(1L)).isEqualTo(INITIAL - 900_000 * 5);
+    }
+
+    @Test
+    @DisplayName("Should rebuild buying power from ledger cash and resting buys")
+    void shouldRebuildFromEngine() {
+        submit(2L, Side.SELL, 1_000_000, 5);
+        submit(1L, Side.BUY, 1_000_000, 5);
+        submit(1L, Side.BUY, 900_000, 3);
+
+        reserver.rebuild(engine);
+
+        assertThat(reserver.getAvailable(1L)).isEqualTo(INITIAL - 1_000_000 * 5 - 900_000 * 3);
+        assertThat(reserver.getAvailable(2L)).isEqualTo(INITIAL + 1_000_000 * 5);
+    }
+
+    private long submit(long userId, Side side, long price, long quantity) {
+        OrderCommand command = newOrder(userId, side, price, quantity);
+        apply(command);
+        return command.getOrderId();
+    }
+
+    private OrderCommand newOrder(long userId, Side side, long price, long quantity) {
+        OrderCommand command = new OrderCommand();
+        command.setType(CommandType.NEW);
+        command.setOrderId(nextSequence);
+        command.setUserId(userId);
+        command.setSymbol("AAPL");
+        command.setSide(side);
+        command.setPrice(price);
+        command.setQuantity(quantity);
+        command.setTimestamp(nextSequence);
+        return command;
+    }
+
+    private void apply(OrderCommand command) {
+        long sequence = nextSequence++;
+        String reason = engine.validate(command);
+        if (reason != null) {
+            command.reject(reason);
+        }
+        engine.onCommand(command, sequence, true);
+        reserver.onCommand(command, sequence, true);
+    }
+}
@@ -0,0 +1,78 @@
+package stock_trading.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.symbol.Listing;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTest {
+
+    private static final List<Listing> LISTINGS = List.of(
+            listing("AAPL", "Apple Inc.", "151.35", 16_070_752_000L),
+            listing("AMZN", "Amazon.com, Inc.", "3411.12", 507_148_000L),
+            listing("AMD", "Advanced Micro Devices, Inc.", "110.00", 1_200_000_000L),
+            listing("MSFT", "Microsoft Corporation", "296.56", 7_500_000_000L),
+            listing("T", "AT&T Inc.", "25.00", 7_100_000_000L),
+            listing("TSLA", "Tesla, Inc.", "726.17", 1_000_000_000L));
+
+    private final SearchIndex index = SearchIndex.build(LISTINGS);
+
+    @Test
+    @DisplayName("Should match symbol prefixes ahead of names, larger companies first")
+    void shouldRankSymbolPrefixes() {
+        assertThat(symbols(index.search("a", 10))).startsWith("AAPL", "AMZN", "AMD");
+        assertThat(symbols(index.search("am", 10))).startsWith("AMZN", "AMD");
+    }
+
+    @Test
+    @DisplayName("Should put an exact symbol first")
+    void shouldPreferExactSymbol() {
+        assertThat(symbols(index.search("t", 2))).containsExactly("T", "TSLA");
+    }
+
+    @Test
+    @DisplayName("Should match any word of the company name, ignoring case and punctuation")
+    void shouldMatchNameWords() {
+        assertThat(symbols(index.search("micro", 10))).startsWith("MSFT", "AMD");
+        assertThat(symbols(index.search("AMAZON.COM", 1))).containsExactly("AMZN");
+        assertThat(symbols(index.search("at&t", 1))).containsExactly("T");
+    }
+
+    @Test
+    @DisplayName("Should fall back to trigram similarity for misspelled queries")
+    void shouldMatchTypos() {
+        assertThat(symbols(index.search("mircosoft", 3))).containsExactly("MSFT");
+        assertThat(index.search("zzzz", 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should cap results and return nothing for blank queries")
+    void shouldLimitResults() {
+        assertThat(index.search("inc", 2)).hasSize(2);
+        assertThat(index.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should swap in a rebuilt index without disturbing the current one")
+    void shouldSwapRebuiltIndex() {
+        try (SymbolSearch search = new SymbolSearch()) {
+            assertThat(search.search("aapl", 5)).isEmpty();
+
+            search.rebuild(LISTINGS).join();
+
+            assertThat(symbols(search.search("aapl", 5))).containsExactly("AAPL");
+        }
+    }
+
+    private static List<String> symbols(List<Listing> listings) {
+        return listings.stream().map(Listing::symbol).toList();
+    }
+
+    private static Listing listing(String symbol, String name, String previousClose, long sharesOutstanding) {
+        return new Listing(symbol, name, new BigDecimal(previousClose), sharesOutstanding);
+    }
+}
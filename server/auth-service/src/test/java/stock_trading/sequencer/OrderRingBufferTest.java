@@ -0,0 +1,108 @@
+package stock_trading.sequencer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderRingBufferTest {
+
+    @Test
+    @DisplayName("Should reject buffer sizes that are not a power of two")
+    void shouldRejectNonPowerOfTwoSize() {
+        assertThatThrownBy(() -> new OrderRingBuffer(1000))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("bufferSize must be a power of two");
+    }
+
+    @Test
+    @DisplayName("Should preallocate slots and reuse them across laps")
+    void shouldReuseSlotsAcrossLaps() {
+        OrderRingBuffer ringBuffer = new OrderRingBuffer(4);
+
+        long first = ringBuffer.tryNext();
+        OrderCommand slot = ringBuffer.get(first);
+        ringBuffer.publish(first);
+        ringBuffer.advanceConsumer(first);
+
+        for (int i = 0; i < 3; i++) {
+            long sequence = ringBuffer.tryNext();
+            ringBuffer.publish(sequence);
+            ringBuffer.advanceConsumer(sequence);
+        }
+
+        long wrapped = ringBuffer.tryNext();
+        assertThat(wrapped).isEqualTo(4);
+        assertThat(ringBuffer.get(wrapped)).isSameAs(slot);
+    }
+
+    @Test
+    @DisplayName("Should refuse to claim when the consumer has not freed a slot")
+    void shouldReturnMinusOneWhenFull() {
+        OrderRingBuffer ringBuffer = new OrderRingBuffer(2);
+
+        assertThat(ringBuffer.tryNext()).isEqualTo(0);
+        assertThat(ringBuffer.tryNext()).isEqualTo(1);
+        assertThat(ringBuffer.tryNext()).isEqualTo(-1);
+        assertThat(ringBuffer.depth()).isEqualTo(2);
+
+        ringBuffer.advanceConsumer(0);
+
+        assertThat(ringBuffer.tryNext()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should only expose the contiguous published prefix")
+    void shouldStopAtFirstUnpublishedSequence() {
+        OrderRingBuffer ringBuffer = new OrderRingBuffer(8);
+        long first = ringBuffer.tryNext();
+        long second = ringBuffer.tryNext();
+        long third = ringBuffer.tryNext();
+
+        ringBuffer.publish(first);
+        ringBuffer.publish(third);
+
+        assertThat(ringBuffer.highestPublished(0)).isEqualTo(first);
+
+        ringBuffer.publish(second);
+
+        assertThat(ringBuffer.highestPublished(0)).isEqualTo(third);
+    }
+
+    @Test
+    @DisplayName("Should hand out unique sequences to concurrent producers")
+    void shouldHandOutUniqueSequencesToConcurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 1000;
+        OrderRingBuffer ringBuffer = new OrderRingBuffer(8192);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        for (int p = 0; p < producers; p++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    long sequence = ringBuffer.tryNext();
+                    ringBuffer.get(sequence).setQuantity(sequence);
+                    ringBuffer.publish(sequence);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        long total = (long) producers * perProducer;
+        assertThat(ringBuffer.highestPublished(0)).isEqualTo(total - 1);
+        for (long sequence = 0; sequence < total; sequence++) {
+            assertThat(ringBuffer.get(sequence).getQuantity()).isEqualTo(sequence);
+        }
+    }
+}
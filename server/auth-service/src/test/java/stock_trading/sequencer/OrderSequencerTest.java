@@ -0,0 +1,120 @@
+package stock_trading.sequencer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.engine.Side;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderSequencerTest {
+
+    private final List<Long> sequences = new ArrayList<>();
+    private final List<Boolean> endOfBatchFlags = new ArrayList<>();
+    private final List<String> rejectReasons = new ArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderRingBuffer ringBuffer;
+    private OrderSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ringBuffer = new OrderRingBuffer(16);
+
+        OrderValidator validator = command -> command.getQuantity() > 100 ? "quantity too large" : null;
+        OrderCommandHandler recorder = (command, sequence, endOfBatch) -> {
+            sequences.add(sequence);
+            endOfBatchFlags.add(endOfBatch);
+            rejectReasons.add(command.getRejectReason());
+        };
+
+        sequencer = new OrderSequencer(ringBuffer, validator, List.of(recorder),
+                WaitStrategy.busySpin(), new SequencerMetrics(meterRegistry, ringBuffer));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sequencer.stop();
+    }
+
+    @Test
+    @DisplayName("Should use the sequence as the order id of new orders")
+    void shouldAssignSequenceAsOrderId() {
+        long sequence = sequencer.publishNew(7L, "AAPL", Side.BUY, 1_500_000, 10);
+
+        OrderCommand command = ringBuffer.get(sequence);
+        assertThat(command.getType()).isEqualTo(CommandType.NEW);
+        assertThat(command.getOrderId()).isEqualTo(sequence);
+        assertThat(command.getUserId()).isEqualTo(7L);
+        assertThat(command.getSymbol()).isEqualTo("AAPL");
+        assertThat(command.getPrice()).isEqualTo(1_500_000);
+        assertThat(command.getQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should dispatch a batch in sequence order and flag its last command")
+    void shouldDispatchBatchInOrder() {
+        sequencer.publishNew(1L, "AAPL", Side.BUY, 100, 1);
+        sequencer.publishNew(2L, "AAPL", Side.SELL, 100, 2);
+        sequencer.publishCancel(1L, "AAPL", 0);
+
+        sequencer.processBatch(0, 2);
+
+        assertThat(sequences).containsExactly(0L, 1L, 2L);
+        assertThat(endOfBatchFlags).containsExactly(false, false, true);
+        assertThat(ringBuffer.getConsumerSequence()).isEqualTo(2);
+        assertThat(meterRegistry.counter("orders.sequencer.processed").count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should mark invalid commands as rejected before dispatching them")
+    void shouldRejectInvalidCommands() {
+        sequencer.publishNew(1L, "AAPL", Side.BUY, 100, 1_000);
+
+        sequencer.processBatch(0, 0);
+
+        assertThat(rejectReasons).containsExactly("quantity too large");
+        assertThat(meterRegistry.counter("orders.sequencer.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report a full ring instead of blocking the producer")
+    void shouldReturnMinusOneWhenRingIsFull() {
+        for (int i = 0; i < ringBuffer.getBufferSize(); i++) {
+            sequencer.publishNew(1L, "AAPL", Side.BUY, 100, 1);
+        }
+
+        long sequence = sequencer.publishNew(1L, "AAPL", Side.BUY, 100, 1);
+
+        assertThat(sequence).isEqualTo(-1);
+        assertThat(meterRegistry.counter("orders.sequencer.full").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.sequencer.depth").gauge().value()).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("Should drain published commands on the consumer thread")
+    void shouldDrainOnConsumerThread() throws InterruptedException {
+        sequencer.start();
+
+        for (int i = 0; i < 100; i++) {
+            while (sequencer.publishNew(1L, "AAPL", Side.BUY, 100, 1) < 0) {
+                Thread.onSpinWait();
+            }
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (ringBuffer.getConsumerSequence() < 99 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        sequencer.stop();
+
+        assertThat(sequences).hasSize(100);
+        assertThat(sequences).isSorted();
+    }
+}
@@ -0,0 +1,147 @@
+package stock_trading.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+import stock_trading.alert.AlertDirection;
+import stock_trading.alert.AlertTrigger;
+import stock_trading.alert.TriggeredAlert;
+import stock_trading.entity.UserPrincipal;
+import stock_trading.marketdata.QuoteStore;
+import stock_trading.repository.PriceAlertRepository;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertServiceTest {
+
+    @Mock
+    private PriceAlertRepository priceAlertRepository;
+
+    @Mock
+    private AlertTrigger alertTrigger;
+
+    @Mock
+    private Authentication authentication;
+
+    private final Queue<TriggeredAlert> fired = new ArrayDeque<>();
+    private final QueuedExecutor sender = new QueuedExecutor();
+    private AlertService alertService;
+
+    @BeforeEach
+    void setUp() {
+        SymbolRegistry symbolRegistry = new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", new BigDecimal("150.00"), 1_000L, new BigDecimal("0.05"))));
+        alertService = new AlertService(priceAlertRepository, alertTrigger, new QuoteStore(symbolRegistry),
+                symbolRegistry, sender);
+        ReflectionTestUtils.setField(alertService, "maxStallMillis", 60_000L);
+        when(authentication.getPrincipal()).thenReturn(UserPrincipal.builder().id(42L).build());
+        lenient().doAnswer(invocation -> {
+            Consumer<TriggeredAlert> consumer = invocation.getArgument(0);
+            int drained = fired.size();
+            fired.forEach(consumer);
+            fired.clear();
+            return drained;
+        }).when(alertTrigger).drainTriggered(any());
+    }
+
+    @Test
+    @DisplayName("Should hand fired alerts to the sender with one send in flight per stream")
+    void shouldSendOnSenderPool() {
+        alertService.subscribe(authentication);
+        fired.add(alert(1));
+        fired.add(alert(2));
+
+        alertService.deliverTriggered();
+        alertService.deliverTriggered();
+
+        verify(priceAlertRepository).markTriggered(eq(List.of(1L, 2L)), any());
+        assertThat(sender.tasks).hasSize(1);
+        sender.runNext();
+        assertThat(sender.tasks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stop queueing alerts for a stream whose send has stalled")
+    void shouldDropStalledStream() throws InterruptedException {
+        ReflectionTestUtils.setField(alertService, "maxStallMillis", 0L);
+        alertService.subscribe(authentication);
+        fired.add(alert(1));
+        alertService.deliverTriggered();
+        assertThat(sender.tasks).hasSize(1);
+
+        Thread.sleep(2);
+        alertService.deliverTriggered();
+        Thread.sleep(2);
+        alertService.deliverTriggered();
+
+        fired.add(alert(2));
+        alertService.deliverTriggered();
+        sender.runNext();
+        alertService.deliverTriggered();
+
+        assertThat(sender.tasks).isEmpty();
+        verify(priceAlertRepository, times(2)).markTriggered(anyCollection(), any());
+    }
+
+    private static TriggeredAlert alert(long alertId) {
+        return new TriggeredAlert(alertId, 42L, 0, AlertDirection.ABOVE, 1_500_000, 1_510_000, 1_000);
+    }
+
+    private static final class QueuedExecutor extends AbstractExecutorService {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        void runNext() {
+            tasks.remove(0).run();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package stock_trading.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import stock_trading.dto.DashboardSummary;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.Side;
+import stock_trading.entity.UserPrincipal;
+import stock_trading.marketdata.QuoteStore;
+import stock_trading.portfolio.PortfolioValuation;
+import stock_trading.sequencer.CommandType;
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    private static final long OPENING_CASH = 1_000_000_000L;
+
+    @Mock
+    private Authentication authentication;
+
+    private MatchingEngine engine;
+    private DashboardService dashboardService;
+    private long nextSequence;
+
+    @BeforeEach
+    void setUp() {
+        SymbolRegistry registry = new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", new BigDecimal("150.00"), 1_000L)));
+        engine = new MatchingEngine(registry);
+        PortfolioValuation valuation = new PortfolioValuation(registry, engine.getLedger(), OPENING_CASH);
+        valuation.rebuild(new QuoteStore(registry));
+        engine.addFillListener(valuation);
+        dashboardService = new DashboardService(valuation);
+        when(authentication.getPrincipal()).thenReturn(UserPrincipal.builder().id(2L).build());
+    }
+
+    @Test
+    @DisplayName("Should report a funded account's profit as a percentage of the equity it opened with")
+    void shouldReportProfitPercentOfOpeningEquity() {
+        submit(1L, Side.SELL, 1_500_000, 10);
+        submit(2L, Side.BUY, 1_500_000, 10);
+        submit(3L, Side.SELL, 1_600_000, 1);
+        submit(4L, Side.BUY, 1_600_000, 1);
+
+        DashboardSummary summary = dashboardService.getSummary(authentication);
+
+        assertThat(summary.investmentAssets()).isEqualTo(100_100.0);
+        assertThat(summary.moneyMarket()).isEqualTo(98_500.0);
+        assertThat(summary.stocks()).isEqualTo(1_600.0);
+        assertThat(summary.todayProfit()).isEqualTo(100.0);
+        assertThat(summary.todayProfitPercent()).isCloseTo(0.1, within(1e-9));
+        assertThat(summary.yearlyProfit()).isEqualTo(100.0);
+        assertThat(summary.yearlyProfitPercent()).isCloseTo(0.1, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should show an account that has not traded at its opening cash with no profit")
+    void shouldShowUntradedAccountAtOpeningCash() {
+        DashboardSummary summary = dashboardService.getSummary(authentication);
+
+        assertThat(summary.investmentAssets()).isEqualTo(100_000.0);
+        assertThat(summary.moneyMarket()).isEqualTo(100_000.0);
+        assertThat(summary.todayProfitPercent()).isZero();
+        assertThat(summary.yearlyProfitPercent()).isZero();
+    }
+
+    private void submit(long userId, Side side, long price, long quantity) {
+        long sequence = nextSequence++;
+        OrderCommand command = new OrderCommand();
+        command.setType(CommandType.NEW);
+        command.setOrderId(sequence);
+        command.setUserId(userId);
+        command.setSymbol("AAPL");
+        command.setSide(side);
+        command.setPrice(price);
+        command.setQuantity(quantity);
+        command.setTimestamp(sequence);
+        engine.onCommand(command, sequence, true);
+    }
+}
@@ -0,0 +1,64 @@
+package stock_trading.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.dto.QuoteRecord;
+import stock_trading.exception.SymbolNotFoundException;
+import stock_trading.marketdata.QuoteStore;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class MarketDataServiceTest {
+
+    private QuoteStore quoteStore;
+    private MarketDataService marketDataService;
+
+    @BeforeEach
+    void setUp() {
+        SymbolRegistry registry = new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", new BigDecimal("151.35"), 1_000L),
+                new Listing("TSLA", "Tesla, Inc.", new BigDecimal("726.17"), 2_000L)));
+        quoteStore = new QuoteStore(registry);
+        marketDataService = new MarketDataService(quoteStore, registry);
+    }
+
+    @Test
+    @DisplayName("Should return a quote for every listed symbol")
+    void shouldReturnAllQuotes() {
+        List<QuoteRecord> quotes = marketDataService.getQuotes();
+
+        assertThat(quotes).extracting(QuoteRecord::symbol).containsExactly("AAPL", "TSLA");
+        assertThat(quotes).extracting(QuoteRecord::name).containsExactly("Apple Inc.", "Tesla, Inc.");
+    }
+
+    @Test
+    @DisplayName("Should map a traded quote into Stock fields")
+    void shouldMapTradedQuote() {
+        quoteStore.onTrade(0, 1_501_200, 100, 5L);
+
+        QuoteRecord quote = marketDataService.getQuote("AAPL");
+
+        assertThat(quote.id()).isEqualTo("0");
+        assertThat(quote.price()).isEqualTo(150.12);
+        assertThat(quote.change()).isEqualTo(-1.23);
+        assertThat(quote.changePercent()).isCloseTo(-0.8127, within(0.0001));
+        assertThat(quote.volume()).isEqualTo(100);
+        assertThat(quote.marketCap()).isEqualTo(150_120L);
+    }
+
+    @Test
+    @DisplayName("Should throw SymbolNotFoundException for an unlisted symbol")
+    void shouldThrowForUnknownSymbol() {
+        assertThatThrownBy(() -> marketDataService.getQuote("XYZ"))
+                .isInstanceOf(SymbolNotFoundException.class)
+                .hasMessage("unknown symbol: XYZ");
+    }
+}
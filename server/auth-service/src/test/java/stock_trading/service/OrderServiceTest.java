@@ -0,0 +1,282 @@
+package stock_trading.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import stock_trading.dto.CancelOrderRequest;
+import stock_trading.dto.OrderAck;
+import stock_trading.dto.OrderRequest;
+import stock_trading.engine.OrderType;
+import stock_trading.engine.Side;
+import stock_trading.entity.UserPrincipal;
+import stock_trading.exception.DuplicateOrderException;
+import stock_trading.exception.InsufficientBuyingPowerException;
+import stock_trading.exception.JournalTimeoutException;
+import stock_trading.exception.OrderProcessingTimeoutException;
+import stock_trading.exception.OrderQueueFullException;
+import stock_trading.exception.OrderRejectedException;
+import stock_trading.idempotency.ClientOrderIdFilter;
+import stock_trading.journal.JournalWriter;
+import stock_trading.risk.BuyingPowerReserver;
+import stock_trading.sequencer.CommandOutcomes;
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.sequencer.OrderSequencer;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+    @Mock
+    private OrderSequencer orderSequencer;
+
+    @Mock
+    private JournalWriter journalWriter;
+
+    @Mock
+    private BuyingPowerReserver buyingPowerReserver;
+
+    @Spy
+    private ClientOrderIdFilter clientOrderIdFilter = new ClientOrderIdFilter(60_000, 4, 64);
+
+    @Spy
+    private CommandOutcomes commandOutcomes = new CommandOutcomes(16, -1);
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private OrderService orderService;
+
+    private OrderRequest orderRequest;
+
+    @BeforeEach
+    void setUp() {
+        UserPrincipal userPrincipal = UserPrincipal.builder()
+                .id(42L)
+                .email("john.doe@example.com")
+                .build();
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+
+        orderRequest = OrderRequest.builder()
+                .symbol("AAPL")
+                .side(Side.BUY)
+                .price(new BigDecimal("150.12"))
+                .quantity(10)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should publish new order for the authenticated user with scaled price")
+    void shouldPublishNewOrder() {
+        when(buyingPowerReserver.reserve(42L, 15_012_000L)).thenReturn(true);
+        when(orderSequencer.publishNew(42L, "AAPL", Side.BUY, OrderType.LIMIT, 0L, 1_501_200L, 10L)).thenReturn(7L);
+        when(journalWriter.awaitCommitted(eq(7L), anyLong())).thenReturn(true);
+        processed(7, null);
+
+        OrderAck ack = orderService.submitOrder(orderRequest, authentication);
+
+        assertThat(ack.orderId()).isEqualTo(7L);
+        assertThat(ack.sequence()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Should throw OrderQueueFullException when the ring buffer is full")
+    void shouldThrowWhenQueueFull() {
+        when(buyingPowerReserver.reserve(42L, 15_012_000L)).thenReturn(true);
+        when(orderSequencer.publishNew(anyLong(), anyString(), any(), any(), anyLong(), anyLong(), anyLong()))
+                .thenReturn(-1L);
+
+        assertThatThrownBy(() -> orderService.submitOrder(orderRequest, authentication))
+                .isInstanceOf(OrderQueueFullException.class)
+                .hasMessage("order queue is full, retry later");
+
+        verify(buyingPowerReserver).release(42L, 15_012_000L);
+        verifyNoInteractions(journalWriter);
+    }
+
+    @Test
+    @DisplayName("Should throw InsufficientBuyingPowerException when the buy cannot be reserved")
+    void shouldThrowWhenBuyingPowerInsufficient() {
+        when(buyingPowerReserver.reserve(42L, 15_012_000L)).thenReturn(false);
+
+        assertThatThrownBy(() -> orderService.submitOrder(orderRequest, authentication))
+                .isInstanceOf(InsufficientBuyingPowerException.class)
+                .hasMessage("insufficient buying power");
+
+        verifyNoInteractions(orderSequencer, journalWriter);
+    }
+
+    @Test
+    @DisplayName("Should not reserve buying power for sell orders")
+    void shouldNotReserveForSells() {
+        orderRequest.setSide(Side.SELL);
+        when(orderSequencer.publishNew(42L, "AAPL", Side.SELL, OrderType.LIMIT, 0L, 1_501_200L, 10L)).thenReturn(8L);
+        when(journalWriter.awaitCommitted(eq(8L), anyLong())).thenReturn(true);
+        processed(8, null);
+
+        orderService.submitOrder(orderRequest, authentication);
+
+        verifyNoInteractions(buyingPowerReserver);
+    }
+
+    @Test
+    @DisplayName("Should throw JournalTimeoutException when the order is not durable in time")
+    void shouldThrowWhenJournalTimesOut() {
+        when(buyingPowerReserver.reserve(42L, 15_012_000L)).thenReturn(true);
+        when(orderSequencer.publishNew(anyLong(), anyString(), any(), any(), anyLong(), anyLong(), anyLong()))
+                .thenReturn(7L);
+        when(journalWriter.awaitCommitted(eq(7L), anyLong())).thenReturn(false);
+
+        assertThatThrownBy(() -> orderService.submitOrder(orderRequest, authentication))
+                .isInstanceOf(JournalTimeoutException.class)
+                .hasMessage("order was not journaled in time");
+    }
+
+    @Test
+    @DisplayName("Should keep the clientOrderId when the order is journaled but not processed in time")
+    void shouldThrowWhenProcessingTimesOut() {
+        orderRequest.setClientOrderId(99L);
+        when(buyingPowerReserver.reserve(42L, 15_012_000L)).thenReturn(true);
+        when(orderSequencer.publishNew(anyLong(), anyString(), any(), any(), anyLong(), anyLong(), anyLong()))
+                .thenReturn(7L);
+        when(journalWriter.awaitCommitted(eq(7L), anyLong())).thenReturn(true);
+        doReturn(false).when(commandOutcomes).awaitProcessed(eq(7L), anyLong());
+
+        assertThatThrownBy(() -> orderService.submitOrder(orderRequest, authentication))
+                .isInstanceOf(OrderProcessingTimeoutException.class)
+                .hasMessage("order was journaled but not processed in time");
+        assertThatThrownBy(() -> orderService.submitOrder(orderRequest, authentication))
+                .isInstanceOf(DuplicateOrderException.class);
+    }
+
+    @Test
+    @DisplayName("Should throw DuplicateOrderException for a repeated clientOrderId without publishing it")
+    void shouldRejectDuplicateClientOrderId() {
+        orderRequest.setClientOrderId(99L);
+        when(buyingPowerReserver.reserve(42L, 15_012_000L)).thenReturn(true);
+        when(orderSequencer.publishNew(42L, "AAPL", Side.BUY, OrderType.LIMIT, 0L, 1_501_200L, 10L)).thenReturn(7L);
+        when(journalWriter.awaitCommitted(eq(7L), anyLong())).thenReturn(true);
+        processed(7, null);
+        orderService.submitOrder(orderRequest, authentication);
+
+        assertThatThrownBy(() -> orderService.submitOrder(orderRequest, authentication))
+                .isInstanceOf(DuplicateOrderException.class)
+                .hasMessage("duplicate clientOrderId: 99");
+
+        verify(orderSequencer, times(1))
+                .publishNew(anyLong(), anyString(), any(), any(), anyLong(), anyLong(), anyLong());
+        verify(buyingPowerReserver, times(1)).reserve(42L, 15_012_000L);
+    }
+
+    @Test
+    @DisplayName("Should let a clientOrderId be retried when its order was never published")
+    void shouldForgetClientOrderIdWhenNotPublished() {
+        orderRequest.setClientOrderId(99L);
+        when(buyingPowerReserver.reserve(42L, 15_012_000L)).thenReturn(false, true);
+        when(orderSequencer.publishNew(42L, "AAPL", Side.BUY, OrderType.LIMIT, 0L, 1_501_200L, 10L)).thenReturn(7L);
+        when(journalWriter.awaitCommitted(eq(7L), anyLong())).thenReturn(true);
+        processed(7, null);
+
+        assertThatThrownBy(() -> orderService.submitOrder(orderRequest, authentication))
+                .isInstanceOf(InsufficientBuyingPowerException.class);
+        OrderAck ack = orderService.submitOrder(orderRequest, authentication);
+
+        assertThat(ack.orderId()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Should throw OrderRejectedException with the reason when the sequencer rejects the order")
+    void shouldThrowWhenSequencerRejects() {
+        when(buyingPowerReserver.reserve(42L, 15_012_000L)).thenReturn(true);
+        when(orderSequencer.publishNew(42L, "AAPL", Side.BUY, OrderType.LIMIT, 0L, 1_501_200L, 10L)).thenReturn(7L);
+        when(journalWriter.awaitCommitted(eq(7L), anyLong())).thenReturn(true);
+        processed(7, "price is not a multiple of the tick size");
+
+        assertThatThrownBy(() -> orderService.submitOrder(orderRequest, authentication))
+                .isInstanceOf(OrderRejectedException.class)
+                .hasMessage("price is not a multiple of the tick size");
+    }
+
+    @Test
+    @DisplayName("Should let a clientOrderId be retried when its order was rejected")
+    void shouldForgetClientOrderIdWhenRejected() {
+        orderRequest.setClientOrderId(99L);
+        when(buyingPowerReserver.reserve(42L, 15_012_000L)).thenReturn(true);
+        when(orderSequencer.publishNew(42L, "AAPL", Side.BUY, OrderType.LIMIT, 0L, 1_501_200L, 10L))
+                .thenReturn(7L, 8L);
+        when(journalWriter.awaitCommitted(anyLong(), anyLong())).thenReturn(true);
+        processed(7, "price is not a multiple of the tick size");
+        processed(8, null);
+
+        assertThatThrownBy(() -> orderService.submitOrder(orderRequest, authentication))
+                .isInstanceOf(OrderRejectedException.class);
+        OrderAck ack = orderService.submitOrder(orderRequest, authentication);
+
+        assertThat(ack.orderId()).isEqualTo(8L);
+    }
+
+    @Test
+    @DisplayName("Should let a clientOrderId be retried when the notional overflows")
+    void shouldForgetClientOrderIdWhenNotionalOverflows() {
+        orderRequest.setClientOrderId(99L);
+        orderRequest.setQuantity(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> orderService.submitOrder(orderRequest, authentication))
+                .isInstanceOf(ArithmeticException.class);
+
+        verify(clientOrderIdFilter).forget(eq(42L), eq(99L), anyLong());
+        verifyNoInteractions(orderSequencer);
+    }
+
+    @Test
+    @DisplayName("Should publish cancel for the authenticated user")
+    void shouldPublishCancel() {
+        CancelOrderRequest request = CancelOrderRequest.builder()
+                .symbol("AAPL")
+                .orderId(3L)
+                .build();
+        when(orderSequencer.publishCancel(42L, "AAPL", 3L)).thenReturn(9L);
+        when(journalWriter.awaitCommitted(eq(9L), anyLong())).thenReturn(true);
+        processed(9, null);
+
+        OrderAck ack = orderService.cancelOrder(request, authentication);
+
+        assertThat(ack.orderId()).isEqualTo(3L);
+        assertThat(ack.sequence()).isEqualTo(9L);
+        verify(orderSequencer).publishCancel(42L, "AAPL", 3L);
+    }
+
+    @Test
+    @DisplayName("Should throw OrderRejectedException when the engine refuses the cancel")
+    void shouldThrowWhenCancelRejected() {
+        CancelOrderRequest request = CancelOrderRequest.builder()
+                .symbol("AAPL")
+                .orderId(3L)
+                .build();
+        when(orderSequencer.publishCancel(42L, "AAPL", 3L)).thenReturn(9L);
+        when(journalWriter.awaitCommitted(eq(9L), anyLong())).thenReturn(true);
+        processed(9, "order not cancellable");
+
+        assertThatThrownBy(() -> orderService.cancelOrder(request, authentication))
+                .isInstanceOf(OrderRejectedException.class)
+                .hasMessage("order not cancellable");
+    }
+
+    private void processed(long sequence, String rejectReason) {
+        OrderCommand command = new OrderCommand();
+        command.setRejectReason(rejectReason);
+        commandOutcomes.onCommand(command, sequence, true);
+    }
+}
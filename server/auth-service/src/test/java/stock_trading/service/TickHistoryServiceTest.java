@@ -0,0 +1,70 @@
+package stock_trading.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import stock_trading.exception.InvalidTimeRangeException;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+import stock_trading.tickstore.TickStore;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TickHistoryServiceTest {
+
+    @Mock
+    private TickStore tickStore;
+
+    private TickHistoryService tickHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        SymbolRegistry registry = new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", new BigDecimal("150.00"), 1_000L)));
+        tickHistoryService = new TickHistoryService(tickStore, registry);
+    }
+
+    @Test
+    @DisplayName("Should reject a range wider than the maximum span without scanning")
+    void shouldRejectTooWideRange() {
+        assertThatThrownBy(() -> tickHistoryService.getTicks("AAPL", 0, 9_000_000_000_000_000_000L, 100))
+                .isInstanceOf(InvalidTimeRangeException.class)
+                .hasMessage("range must not exceed 31 days");
+
+        verify(tickStore, never()).scan(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty, inverted or negative range")
+    void shouldRejectInvertedRange() {
+        assertThatThrownBy(() -> tickHistoryService.getTicks("AAPL", 5_000, 5_000, 100))
+                .isInstanceOf(InvalidTimeRangeException.class);
+        assertThatThrownBy(() -> tickHistoryService.getTicks("AAPL", 5_000, 1_000, 100))
+                .isInstanceOf(InvalidTimeRangeException.class);
+        assertThatThrownBy(() -> tickHistoryService.getTicks("AAPL", -1_000, 1_000, 100))
+                .isInstanceOf(InvalidTimeRangeException.class);
+    }
+
+    @Test
+    @DisplayName("Should scan a range within the maximum span")
+    void shouldScanValidRange() {
+        long to = TickHistoryService.MAX_SPAN_MILLIS;
+
+        assertThat(tickHistoryService.getTicks("AAPL", 0, to, 100)).isEmpty();
+
+        verify(tickStore).scan(eq("AAPL"), eq(0L), eq(to), any());
+    }
+}
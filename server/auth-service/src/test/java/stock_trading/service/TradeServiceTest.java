@@ -0,0 +1,99 @@
+package stock_trading.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.Authentication;
+import stock_trading.dto.TradePage;
+import stock_trading.dto.TradeRecord;
+import stock_trading.engine.Side;
+import stock_trading.entity.Trade;
+import stock_trading.entity.UserPrincipal;
+import stock_trading.repository.TradeRepository;
+import stock_trading.trade.RecentTradesCache;
+import stock_trading.trade.TradeCursor;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TradeServiceTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private Authentication authentication;
+
+    private TradeService tradeService;
+
+    @BeforeEach
+    void setUp() {
+        UserPrincipal userPrincipal = UserPrincipal.builder()
+                .id(42L)
+                .email("john.doe@example.com")
+                .build();
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        tradeService = new TradeService(tradeRepository, new RecentTradesCache(3));
+    }
+
+    @Test
+    @DisplayName("Should seed the recent-trades cache once and serve later first pages from it")
+    void shouldServeFirstPageFromCache() {
+        when(tradeRepository.findByUserIdOrderByExecutedAtDescIdDesc(42L, Limit.of(3)))
+                .thenReturn(List.of(trade(3), trade(2), trade(1)));
+
+        TradePage first = tradeService.getTrades(authentication, null, 2);
+        TradePage again = tradeService.getTrades(authentication, null, 2);
+
+        assertThat(first.trades()).extracting(TradeRecord::id).containsExactly(3L, 2L);
+        assertThat(first.trades().get(0).price()).isEqualTo(150.0);
+        assertThat(first.nextCursor()).isEqualTo(new TradeCursor(Instant.ofEpochMilli(2_000), 2L).encode());
+        assertThat(again).isEqualTo(first);
+        verify(tradeRepository, times(1)).findByUserIdOrderByExecutedAtDescIdDesc(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should seek later pages from the cursor and end without a next cursor")
+    void shouldSeekFromCursor() {
+        Instant executedAt = Instant.ofEpochMilli(2_000);
+        when(tradeRepository.findPageBefore(42L, executedAt, 2L, 2)).thenReturn(List.of(trade(1)));
+
+        TradePage page = tradeService.getTrades(authentication, new TradeCursor(executedAt, 2L).encode(), 2);
+
+        assertThat(page.trades()).extracting(TradeRecord::id).containsExactly(1L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should cap the page size at the cache capacity")
+    void shouldCapPageSize() {
+        Instant executedAt = Instant.ofEpochMilli(9_000);
+        when(tradeRepository.findPageBefore(42L, executedAt, 9L, 3)).thenReturn(List.of());
+
+        tradeService.getTrades(authentication, new TradeCursor(executedAt, 9L).encode(), 500);
+
+        verify(tradeRepository).findPageBefore(42L, executedAt, 9L, 3);
+    }
+
+    private static Trade trade(long id) {
+        return Trade.builder()
+                .id(id)
+                .userId(42L)
+                .orderId(100 + id)
+                .symbol("AAPL")
+                .side(Side.BUY)
+                .price(1_500_000)
+                .quantity(10)
+                .executedAt(Instant.ofEpochMilli(id * 1_000))
+                .build();
+    }
+}
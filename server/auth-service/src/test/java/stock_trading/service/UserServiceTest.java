@@ -17,10 +17,14 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import stock_trading.dto.AuthResponse;
 import stock_trading.dto.CreateUserRequest;
 import stock_trading.dto.LoginRequest;
+import stock_trading.dto.UserCreatedEvent;
 import stock_trading.dto.UserRecord;
 import stock_trading.entity.User;
 import stock_trading.entity.UserPrincipal;
+import stock_trading.eventbus.EventBus;
 import stock_trading.exception.UserExistsException;
+import stock_trading.outbox.OutboxWriter;
+import stock_trading.portfolio.PortfolioInitializer;
 import stock_trading.repository.UserRepository;
 import stock_trading.util.JwtTokenUtil;
 
@@ -47,6 +51,15 @@ class UserServiceTest {
     @Mock
     private AuthenticationManager authManager;
 
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private EventBus eventBus;
+
+    @Mock
+    private PortfolioInitializer portfolioInitializer;
+
     @InjectMocks
     private UserService userService;
 
@@ -89,6 +102,7 @@ class UserServiceTest {
         when(userRepository.existsByUsername(createUserRequest.getUsername())).thenReturn(false);
         when(passwordEncoder.encode(createUserRequest.getPassword())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
+        when(eventBus.publishUserCreated(1L, "johndoe", "john.doe@example.com")).thenReturn(true);
 
         Authentication mockAuthentication = mock(Authentication.class);
         when(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(mockAuthentication);
@@ -105,10 +119,30 @@ class UserServiceTest {
         verify(userRepository).existsByUsername(createUserRequest.getUsername());
         verify(passwordEncoder).encode(createUserRequest.getPassword());
         verify(userRepository).save(any(User.class));
+        verify(outboxWriter).append(UserCreatedEvent.AGGREGATE_TYPE, 1L, UserCreatedEvent.EVENT_TYPE,
+                new UserCreatedEvent(1L, "johndoe", "john.doe@example.com"));
+        verify(eventBus).publishUserCreated(1L, "johndoe", "john.doe@example.com");
+        verifyNoInteractions(portfolioInitializer);
         verify(authManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(jwtTokenUtil).generateToken(mockAuthentication);
     }
 
+    @Test
+    @DisplayName("Should open the portfolio synchronously when the user event cannot be published")
+    void shouldOpenPortfolioWhenUserChannelIsFull() {
+        when(userRepository.existsByEmail(createUserRequest.getEmail())).thenReturn(false);
+        when(userRepository.existsByUsername(createUserRequest.getUsername())).thenReturn(false);
+        when(passwordEncoder.encode(createUserRequest.getPassword())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(eventBus.publishUserCreated(1L, "johndoe", "john.doe@example.com")).thenReturn(false);
+        when(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(mock(Authentication.class));
+
+        userService.createUser(createUserRequest);
+
+        verify(portfolioInitializer).open(1L);
+    }
+
     @Test
     @DisplayName("Should throw UserExistsException when email already exists")
     void shouldThrowUserExistsExceptionWhenEmailAlreadyExists() {
@@ -0,0 +1,69 @@
+package stock_trading.settlement;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.engine.Side;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NettingAccumulatorTest {
+
+    @Test
+    @DisplayName("Should net trades in order, releasing cost at the average price on sells")
+    void shouldNetTradesInOrder() {
+        NettingAccumulator accumulator = new NettingAccumulator(2);
+
+        accumulator.apply(7L, 0, Side.BUY, 100, 10);
+        accumulator.apply(7L, 0, Side.BUY, 130, 10);
+        accumulator.apply(7L, 0, Side.SELL, 150, 5);
+        accumulator.apply(7L, 1, Side.SELL, 50, 4);
+
+        assertThat(accumulator.positionCount()).isEqualTo(2);
+        assertThat(accumulator.quantity(0)).isEqualTo(15L);
+        assertThat(accumulator.cost(0)).isEqualTo(1_725L);
+        assertThat(accumulator.quantity(1)).isEqualTo(-4L);
+        assertThat(accumulator.cost(1)).isEqualTo(-200L);
+        assertThat(accumulator.accountCount()).isEqualTo(1);
+        assertThat(accumulator.cashDelta(0)).isEqualTo(-1_000L - 1_300L + 750L + 200L);
+        assertThat(accumulator.getTrades()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("Should continue from the settled position and leave untraded ones unmarked")
+    void shouldContinueFromOpeningPositions() {
+        NettingAccumulator accumulator = new NettingAccumulator(3);
+        accumulator.open(7L, 0, 10, 1_000);
+        accumulator.open(7L, 2, 3, 600);
+
+        accumulator.apply(7L, 0, Side.SELL, 120, 10);
+
+        assertThat(accumulator.quantity(0)).isZero();
+        assertThat(accumulator.cost(0)).isZero();
+        assertThat(accumulator.traded(0)).isTrue();
+        assertThat(accumulator.traded(1)).isFalse();
+        assertThat(accumulator.quantity(1)).isEqualTo(3L);
+        assertThat(accumulator.cashDelta(0)).isEqualTo(1_200L);
+    }
+
+    @Test
+    @DisplayName("Should keep every account apart as the indexes grow")
+    void shouldGrowIndexes() {
+        NettingAccumulator accumulator = new NettingAccumulator(4);
+        for (long userId = 1; userId <= 20_000; userId++) {
+            for (int symbolId = 0; symbolId < 4; symbolId++) {
+                accumulator.apply(userId, symbolId, Side.BUY, 10, userId);
+                accumulator.apply(userId, symbolId, Side.SELL, 12, 1);
+            }
+        }
+
+        assertThat(accumulator.positionCount()).isEqualTo(80_000);
+        assertThat(accumulator.accountCount()).isEqualTo(20_000);
+        for (int position = 0; position < accumulator.positionCount(); position++) {
+            assertThat(accumulator.quantity(position)).isEqualTo(accumulator.positionUser(position) - 1);
+        }
+        for (int account = 0; account < accumulator.accountCount(); account++) {
+            long userId = accumulator.accountUser(account);
+            assertThat(accumulator.cashDelta(account)).isEqualTo(4 * (12 - 10 * userId));
+        }
+    }
+}
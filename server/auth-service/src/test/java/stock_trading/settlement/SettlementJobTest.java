@@ -0,0 +1,261 @@
+package stock_trading.settlement;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import stock_trading.engine.Side;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SettlementJobTest {
+
+    private static final long OPENING_BALANCE = 100_000;
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    private final Database database = new Database(25);
+    private final SettlementJob job = new SettlementJob(database, new TransactionTemplate(database),
+            SymbolRegistry.of(List.of("AAPL", "MSFT")), 1, 10, 2, OPENING_BALANCE);
+
+    @Test
+    @DisplayName("Should checkpoint the partitions that settle and leave a failed one to the rerun")
+    void shouldRerunOnlyFailedPartition() {
+        database.position(22, "MSFT", 5, 900);
+        database.trade(3, "AAPL", Side.BUY, 100, 10, MONDAY);
+        Object[] bad = database.trade(14, "XXXX", Side.BUY, 150, 2, MONDAY);
+        database.trade(22, "MSFT", Side.SELL, 200, 5, MONDAY);
+
+        assertThatThrownBy(() -> job.settle(MONDAY))
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("Trade or position in unlisted symbol XXXX");
+
+        assertThat(database.checkpoints).containsExactlyInAnyOrder(MONDAY + "/0", MONDAY + "/2");
+        assertThat(database.balances).containsOnlyKeys(3L, 22L)
+                .containsEntry(3L, OPENING_BALANCE - 1_000)
+                .containsEntry(22L, OPENING_BALANCE + 1_000);
+        assertThat(database.positions).containsOnlyKeys("3/AAPL");
+
+        bad[1] = "AAPL";
+        SettlementReport report = job.settle(MONDAY);
+
+        assertThat(report).isEqualTo(new SettlementReport(MONDAY, 3, 2, 1));
+        assertThat(database.checkpoints).hasSize(3);
+        assertThat(database.balances)
+                .containsEntry(3L, OPENING_BALANCE - 1_000)
+                .containsEntry(14L, OPENING_BALANCE - 300)
+                .containsEntry(22L, OPENING_BALANCE + 1_000);
+    }
+
+    @Test
+    @DisplayName("Should add the day's cash delta to a settled balance and carry the position forward")
+    void shouldAddDeltaToSettledBalance() {
+        database.trade(3, "AAPL", Side.BUY, 100, 10, MONDAY);
+        database.trade(4, "MSFT", Side.BUY, 50, 2, MONDAY);
+        job.settle(MONDAY);
+
+        database.trade(3, "AAPL", Side.SELL, 150, 4, TUESDAY);
+        database.trade(3, "AAPL", Side.BUY, 120, 2, TUESDAY);
+        database.trade(4, "MSFT", Side.SELL, 60, 2, TUESDAY);
+        assertThat(job.settle(TUESDAY).trades()).isEqualTo(3);
+
+        assertThat(database.balances)
+                .containsEntry(3L, OPENING_BALANCE - 1_000 + 600 - 240)
+                .containsEntry(4L, OPENING_BALANCE - 100 + 120);
+        assertThat(database.positions).containsOnlyKeys("3/AAPL");
+        assertThat(database.positions.get("3/AAPL")).containsExactly(8L, 840L);
+        assertThat(database.executed).anyMatch(sql -> sql.contains("balance = portfolios.balance + ?"));
+    }
+
+    /**
+     * The settlement tables in memory. Each statement the job issues is applied with the semantics of its SQL, and a
+     * transaction that rolls back restores the tables as they were when it began.
+     */
+    private static final class Database extends JdbcTemplate implements PlatformTransactionManager {
+
+        private final long maxUserId;
+        private final List<Object[]> trades = new ArrayList<>();
+        private final List<String> executed = new ArrayList<>();
+        private Map<String, long[]> positions = new HashMap<>();
+        private Map<Long, Long> balances = new HashMap<>();
+        private Set<String> checkpoints = new HashSet<>();
+        private Object[] begun;
+
+        Database(long maxUserId) {
+            this.maxUserId = maxUserId;
+        }
+
+        void position(long userId, String symbol, long quantity, long cost) {
+            positions.put(userId + "/" + symbol, new long[]{quantity, cost});
+        }
+
+        Object[] trade(long userId, String symbol, Side side, long price, long quantity, LocalDate date) {
+            Timestamp executedAt = Timestamp.from(date.atStartOfDay(ZoneOffset.UTC).plusHours(10 + trades.size())
+                    .toInstant());
+            Object[] trade = {userId, symbol, side.name(), price, quantity, executedAt};
+            trades.add(trade);
+            return trade;
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> type) {
+            assertThat(sql).startsWith("select max(id) from users");
+            return type.cast(maxUserId);
+        }
+
+        @Override
+        public <T> List<T> queryForList(String sql, Class<T> type, Object... args) {
+            assertThat(sql).startsWith("select partition_no from settlement_checkpoints");
+            List<T> partitions = new ArrayList<>();
+            for (String checkpoint : checkpoints) {
+                if (checkpoint.startsWith(args[0] + "/")) {
+                    partitions.add(type.cast(Integer.valueOf(checkpoint.substring(checkpoint.indexOf('/') + 1))));
+                }
+            }
+            return partitions;
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler handler, Object... args) {
+            long fromUser = (Long) args[0];
+            long toUser = (Long) args[1];
+            List<Object[]> matched = new ArrayList<>();
+            for (Object[] trade : trades) {
+                long userId = (Long) trade[0];
+                Timestamp executedAt = (Timestamp) trade[5];
+                if (userId >= fromUser && userId < toUser && !executedAt.before((Timestamp) args[2])
+                        && executedAt.before((Timestamp) args[3])) {
+                    matched.add(trade);
+                }
+            }
+            matched.sort(Comparator.comparing((Object[] trade) -> (Long) trade[0])
+                    .thenComparing(trade -> (Timestamp) trade[5]));
+
+            List<Object[]> rows = new ArrayList<>();
+            if (sql.contains("from portfolio_positions")) {
+                positions.forEach((key, position) -> {
+                    long userId = Long.parseLong(key.substring(0, key.indexOf('/')));
+                    if (matched.stream().anyMatch(trade -> (Long) trade[0] == userId)) {
+                        rows.add(new Object[]{userId, key.substring(key.indexOf('/') + 1), position[0], position[1]});
+                    }
+                });
+            } else {
+                assertThat(sql).contains("from trades");
+                rows.addAll(matched);
+            }
+            for (Object[] row : rows) {
+                try {
+                    handler.processRow(resultSet(row));
+                } catch (SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, BatchPreparedStatementSetter setter) {
+            executed.add(sql);
+            int[] counts = new int[setter.getBatchSize()];
+            for (int i = 0; i < counts.length; i++) {
+                Object[] values = new Object[4];
+                try {
+                    setter.setValues(statement(values), i);
+                } catch (SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+                String key = values[0] + "/" + values[1];
+                if (sql.startsWith("insert into portfolio_positions")) {
+                    assertThat(sql).contains("on conflict (user_id, symbol) do update");
+                    positions.put(key, new long[]{(Long) values[2], (Long) values[3]});
+                } else if (sql.startsWith("delete from portfolio_positions")) {
+                    positions.remove(key);
+                } else {
+                    assertThat(sql).startsWith("insert into portfolios").contains("on conflict (user_id) do update");
+                    // The insert carries the opening balance plus the delta; the conflict branch adds only the delta.
+                    Long balance = balances.get((Long) values[0]);
+                    balances.put((Long) values[0], balance == null ? (Long) values[1] : balance + (Long) values[3]);
+                }
+                counts[i] = 1;
+            }
+            return counts;
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            assertThat(sql).startsWith("insert into settlement_checkpoints");
+            executed.add(sql);
+            assertThat(checkpoints.add(args[0] + "/" + args[1])).isTrue();
+            return 1;
+        }
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            assertThat(begun).isNull();
+            begun = new Object[]{copy(positions), new HashMap<>(balances), new HashSet<>(checkpoints)};
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            begun = null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void rollback(TransactionStatus status) {
+            positions = (Map<String, long[]>) begun[0];
+            balances = (Map<Long, Long>) begun[1];
+            checkpoints = (Set<String>) begun[2];
+            begun = null;
+        }
+
+        private static Map<String, long[]> copy(Map<String, long[]> positions) {
+            Map<String, long[]> copy = new HashMap<>();
+            positions.forEach((key, position) -> copy.put(key, position.clone()));
+            return copy;
+        }
+
+        private static ResultSet resultSet(Object[] row) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getLong" -> ((Number) row[(Integer) args[0] - 1]).longValue();
+                        case "getString" -> row[(Integer) args[0] - 1].toString();
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        private static PreparedStatement statement(Object[] values) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (!method.getName().startsWith("set")) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        values[(Integer) args[0] - 1] = args[1];
+                        return null;
+                    });
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package stock_trading.simulator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarketSimulatorTest {
+
+    private final SymbolRegistry registry = MarketSimulator.syntheticSymbols(20);
+
+    @Test
+    @DisplayName("Should produce the same stream for the same seed and a different one otherwise")
+    void shouldBeDeterministic() {
+        List<long[]> first = record(new MarketSimulator(registry, SimulationSettings.defaults(42)), 10_000);
+        List<long[]> second = record(new MarketSimulator(registry, SimulationSettings.defaults(42)), 10_000);
+        List<long[]> other = record(new MarketSimulator(registry, SimulationSettings.defaults(43)), 10_000);
+
+        assertThat(second).containsExactlyElementsOf(first);
+        assertThat(Arrays.deepEquals(other.toArray(), first.toArray())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should emit positive prices on the tick and timestamps that never go backwards")
+    void shouldEmitValidTicks() {
+        SymbolRegistry listed = new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", new BigDecimal("150.00"), 1_000L, new BigDecimal("0.05"))));
+        List<long[]> ticks = record(new MarketSimulator(listed, SimulationSettings.defaults(7)), 50_000);
+
+        long previous = Long.MIN_VALUE;
+        for (long[] tick : ticks) {
+            assertThat(tick[1]).isPositive();
+            assertThat(tick[1] % 500).isZero();
+            assertThat(tick[2]).isGreaterThanOrEqualTo(1L);
+            assertThat(tick[3]).isGreaterThanOrEqualTo(previous);
+            previous = tick[3];
+        }
+        assertThat(ticks.get(0)[1]).isBetween(1_400_000L, 1_600_000L);
+    }
+
+    @Test
+    @DisplayName("Should space trades at the configured rate and favour the first listed symbols")
+    void shouldFollowRateAndPopularity() {
+        SimulationSettings calm = new SimulationSettings(1, 10_000, 0.3, 0, 0, 1, 1, 100, 0);
+        MarketSimulator simulator = new MarketSimulator(registry, calm);
+        int[] counts = new int[registry.size()];
+
+        simulator.generate(100_000, (symbolId, price, quantity, timestamp) -> counts[symbolId]++);
+
+        assertThat(simulator.getTimestamp()).isBetween(9_700L, 10_300L);
+        assertThat(counts[0]).isGreaterThan(counts[1]);
+        assertThat(counts[1]).isGreaterThan(counts[19]);
+    }
+
+    @Test
+    @DisplayName("Should compress time while a burst lasts")
+    void shouldBurst() {
+        SimulationSettings calm = new SimulationSettings(1, 10_000, 0.3, 0, 0, 1, 1, 100, 0);
+        SimulationSettings bursty = new SimulationSettings(1, 10_000, 0.3, 0, 0.01, 100, 10, 100, 0);
+        MarketSimulator calmSimulator = new MarketSimulator(registry, calm);
+        MarketSimulator burstySimulator = new MarketSimulator(registry, bursty);
+
+        calmSimulator.generate(100_000, (symbolId, price, quantity, timestamp) -> { });
+        burstySimulator.generate(100_000, (symbolId, price, quantity, timestamp) -> { });
+
+        assertThat(burstySimulator.getTimestamp()).isLessThan(calmSimulator.getTimestamp() * 3 / 4);
+    }
+
+    static List<long[]> record(MarketSimulator simulator, int count) {
+        List<long[]> ticks = new ArrayList<>(count);
+        simulator.generate(count, (symbolId, price, quantity, timestamp) ->
+                ticks.add(new long[]{symbolId, price, quantity, timestamp}));
+        return ticks;
+    }
+}
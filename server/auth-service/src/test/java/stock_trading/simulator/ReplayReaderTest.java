@@ -0,0 +1,67 @@
+package stock_trading.simulator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplayReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should replay a recorded stream tick for tick")
+    void shouldRoundTripStream() throws IOException {
+        SymbolRegistry registry = MarketSimulator.syntheticSymbols(5);
+        Path file = directory.resolve("ticks.replay");
+        List<long[]> recorded = MarketSimulatorTest.record(
+                new MarketSimulator(registry, SimulationSettings.defaults(3)), 100_000);
+        try (ReplayWriter writer = new ReplayWriter(file, registry)) {
+            for (long[] tick : recorded) {
+                writer.onTick((int) tick[0], tick[1], tick[2], tick[3]);
+            }
+        }
+
+        List<long[]> replayed = new ArrayList<>();
+        long count = ReplayReader.replay(file, registry, (symbolId, price, quantity, timestamp) ->
+                replayed.add(new long[]{symbolId, price, quantity, timestamp}));
+
+        assertThat(count).isEqualTo(100_000L);
+        assertThat(replayed).containsExactlyElementsOf(recorded);
+    }
+
+    @Test
+    @DisplayName("Should map symbols by name and skip those the registry does not list")
+    void shouldRemapSymbols() throws IOException {
+        Path file = directory.resolve("ticks.replay");
+        try (ReplayWriter writer = new ReplayWriter(file, SymbolRegistry.of(List.of("AAPL", "MSFT")))) {
+            writer.onTick(0, 1_500_000, 10, 1);
+            writer.onTick(1, 3_000_000, 5, 2);
+        }
+
+        List<long[]> replayed = new ArrayList<>();
+        ReplayReader.replay(file, SymbolRegistry.of(List.of("MSFT")), (symbolId, price, quantity, timestamp) ->
+                replayed.add(new long[]{symbolId, price, quantity, timestamp}));
+
+        assertThat(replayed).containsExactly(new long[]{0, 3_000_000, 5, 2});
+    }
+
+    @Test
+    @DisplayName("Should reject a file that is not a replay")
+    void shouldRejectForeignFile() throws IOException {
+        Path file = Files.write(directory.resolve("other.bin"), new byte[64]);
+
+        assertThatThrownBy(() -> ReplayReader.replay(file, SymbolRegistry.of(List.of("AAPL")), (a, b, c, d) -> { }))
+                .isInstanceOf(IOException.class);
+    }
+}
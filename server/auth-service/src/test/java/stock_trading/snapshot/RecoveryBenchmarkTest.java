@@ -0,0 +1,61 @@
+package stock_trading.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.journal.JournalReplayer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Restart time against journal size, full replay versus snapshot plus tail. Run with
+ * {@code mvn test -Dtest=RecoveryBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RecoveryBenchmarkTest {
+
+    @TempDir
+    Path journalDir;
+
+    @TempDir
+    Path snapshotDir;
+
+    @ParameterizedTest
+    @ValueSource(ints = {100_000, 1_000_000, 5_000_000})
+    @DisplayName("Should restart faster from a snapshot than from a full journal replay")
+    void benchmarkRestart(int journalSize) throws IOException {
+        SnapshotRecoveryTest workload = new SnapshotRecoveryTest();
+        workload.journalDir = journalDir;
+        workload.snapshotDir = snapshotDir;
+
+        MatchingEngine live = new MatchingEngine(SnapshotRecoveryTest.SYMBOLS);
+        SnapshotStore store = new SnapshotStore(snapshotDir, 2);
+        SnapshotHandler snapshotHandler = new SnapshotHandler(live.getRegistry(), store,
+                new JournalReplayer(journalDir), journalSize * 9L / 10);
+        workload.runWorkload(live, snapshotHandler, journalSize);
+        snapshotHandler.close();
+
+        long start = System.nanoTime();
+        MatchingEngine replayed = new MatchingEngine(SnapshotRecoveryTest.SYMBOLS);
+        new JournalReplayer(journalDir).replay(replayed, List.of(replayed));
+        long fullReplayNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        MatchingEngine restored = new MatchingEngine(SnapshotRecoveryTest.SYMBOLS);
+        new SnapshotRecovery(store, new JournalReplayer(journalDir)).recover(restored);
+        long snapshotNanos = System.nanoTime() - start;
+
+        System.out.printf("journal=%,d commands  full replay=%,d ms  snapshot+tail=%,d ms%n",
+                journalSize, fullReplayNanos / 1_000_000, snapshotNanos / 1_000_000);
+
+        SnapshotRecoveryTest.assertSameState(replayed, restored);
+        assertThat(snapshotNanos).isLessThan(fullReplayNanos);
+    }
+}
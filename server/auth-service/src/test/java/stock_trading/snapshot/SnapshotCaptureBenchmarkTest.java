@@ -0,0 +1,72 @@
+package stock_trading.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.OrderType;
+import stock_trading.engine.Side;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time the snapshot thread spends in {@link StateCapture#capture} against the amount of resting state. Run with
+ * {@code mvn test -Dtest=SnapshotCaptureBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SnapshotCaptureBenchmarkTest {
+
+    private static final int ACCOUNTS = 10_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    @DisplayName("Should report the capture time for a given number of resting orders")
+    void benchmarkCapture(int orders) {
+        MatchingEngine engine = new MatchingEngine(SnapshotRecoveryTest.SYMBOLS);
+        StateCapture.restore(image(orders), engine);
+
+        StateImage captured = new StateImage();
+        long[] times = new long[20];
+        for (int run = -5; run < times.length; run++) {
+            long start = System.nanoTime();
+            StateCapture.capture(engine, run, captured);
+            if (run >= 0) {
+                times[run] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(times);
+
+        System.out.printf("orders=%,d accounts=%,d  capture median=%,d us  max=%,d us%n", orders, ACCOUNTS,
+                times[times.length / 2] / 1_000, times[times.length - 1] / 1_000);
+        assertThat(captured.getOrderCount()).isEqualTo(orders);
+        assertThat(captured.getAccountCount()).isEqualTo(ACCOUNTS);
+    }
+
+    private static StateImage image(int orders) {
+        List<String> symbols = SnapshotRecoveryTest.SYMBOLS;
+        StateImage image = new StateImage();
+        image.clear(0);
+        int order = 0;
+        for (int b = 0; b < symbols.size(); b++) {
+            image.addBook(symbols.get(b), 1_000_000);
+            for (int end = (b + 1) * orders / symbols.size(); order < end; order++) {
+                // Bids rest below the last price and asks above it, so the restored book never crosses.
+                boolean buy = order % 2 == 0;
+                long price = 1_000_000 + (buy ? -1 : 1) * (100 + order % 500 * 100L);
+                image.addOrder(order, order % ACCOUNTS, (byte) (buy ? Side.BUY : Side.SELL).ordinal(), price, 10,
+                        order, (byte) OrderType.LIMIT.ordinal(), 0);
+            }
+        }
+        for (int account = 0; account < ACCOUNTS; account++) {
+            image.addAccount(account, 1_000_000_000L);
+            for (String symbol : symbols) {
+                image.addPosition(symbol, 100, 100_000_000L);
+            }
+        }
+        return image;
+    }
+}
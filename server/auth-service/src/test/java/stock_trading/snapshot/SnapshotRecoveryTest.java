@@ -0,0 +1,215 @@
+package stock_trading.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import stock_trading.engine.Account;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.OrderBook;
+import stock_trading.engine.Position;
+import stock_trading.engine.Side;
+import stock_trading.journal.FsyncPolicy;
+import stock_trading.journal.JournalReplayer;
+import stock_trading.journal.JournalWriter;
+import stock_trading.sequencer.CommandType;
+import stock_trading.sequencer.OrderCommand;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotRecoveryTest {
+
+    static final List<String> SYMBOLS = List.of("AAPL", "MSFT", "TSLA");
+
+    @TempDir
+    Path journalDir;
+
+    @TempDir
+    Path snapshotDir;
+
+    @Test
+    @DisplayName("Should restore the same books and accounts from a snapshot plus journal tail")
+    void shouldMatchLiveStateAfterRecovery() throws IOException {
+        MatchingEngine live = new MatchingEngine(SYMBOLS);
+        SnapshotStore store = new SnapshotStore(snapshotDir, 2);
+        SnapshotHandler snapshotHandler = new SnapshotHandler(live.getRegistry(), store,
+                new JournalReplayer(journalDir), 3_000);
+
+        runWorkload(live, snapshotHandler, 5_000);
+        snapshotHandler.close();
+
+        MatchingEngine recovered = new MatchingEngine(SYMBOLS);
+        long lastSequence = new SnapshotRecovery(store, new JournalReplayer(journalDir)).recover(recovered);
+
+        assertThat(store.loadLatest()).get().extracting(StateImage::getSequence).isEqualTo(2_999L);
+        assertThat(lastSequence).isEqualTo(4_999);
+        assertSameState(live, recovered);
+    }
+
+    @Test
+    @DisplayName("Should replay the whole journal when there is no snapshot")
+    void shouldReplayEverythingWithoutSnapshot() throws IOException {
+        MatchingEngine live = new MatchingEngine(SYMBOLS);
+        runWorkload(live, null, 500);
+
+        MatchingEngine recovered = new MatchingEngine(SYMBOLS);
+        long lastSequence = new SnapshotRecovery(new SnapshotStore(snapshotDir, 2), new JournalReplayer(journalDir))
+                .recover(recovered);
+
+        assertThat(lastSequence).isEqualTo(499);
+        assertSameState(live, recovered);
+    }
+
+    @Test
+    @DisplayName("Should keep commands entered after a restart when the snapshot covers unjournaled rejects")
+    void shouldKeepCommandsAcrossTwoRestarts() throws IOException {
+        MatchingEngine live = new MatchingEngine(SYMBOLS);
+        SnapshotStore store = new SnapshotStore(snapshotDir, 2);
+        SnapshotHandler snapshotHandler = new SnapshotHandler(live.getRegistry(), store,
+                new JournalReplayer(journalDir), 100);
+        try (JournalWriter writer = JournalWriter.open(journalDir, 1 << 20, FsyncPolicy.PER_BATCH, 0)) {
+            for (int sequence = 0; sequence < 200; sequence++) {
+                // The batch, and so the snapshot, ends with two rejected commands that are not journaled.
+                long quantity = sequence < 198 ? 10 : 0;
+                submit(live, writer, snapshotHandler, sequence, sequence % 2 == 0 ? Side.BUY : Side.SELL,
+                        1_000_000 + sequence % 7 * 100, quantity, sequence == 199);
+            }
+            awaitSnapshot(snapshotHandler);
+        }
+        snapshotHandler.close();
+        assertThat(store.loadLatest()).get().extracting(StateImage::getSequence).isEqualTo(199L);
+
+        MatchingEngine restarted = new MatchingEngine(SYMBOLS);
+        SnapshotRecovery recovery = new SnapshotRecovery(store, new JournalReplayer(journalDir));
+        try (JournalWriter writer = JournalWriter.open(journalDir, 1 << 20, FsyncPolicy.PER_BATCH, 0)) {
+            long lastSequence = recovery.recover(restarted, writer);
+            assertThat(writer.getLastSequence()).isEqualTo(197L);
+            assertThat(lastSequence).isEqualTo(199L);
+
+            for (long sequence = lastSequence + 1; sequence <= lastSequence + 50; sequence++) {
+                Side side = sequence % 3 == 0 ? Side.SELL : Side.BUY;
+                long price = 1_000_000 + sequence % 5 * 100;
+                submit(restarted, writer, null, sequence, side, price, 5, sequence == lastSequence + 50);
+                submit(live, null, null, sequence, side, price, 5, false);
+            }
+        }
+
+        MatchingEngine recovered = new MatchingEngine(SYMBOLS);
+        assertThat(new SnapshotRecovery(store, new JournalReplayer(journalDir)).recover(recovered)).isEqualTo(249L);
+        assertSameState(live, recovered);
+    }
+
+    @Test
+    @DisplayName("Should skip snapshots whose fills are not all saved")
+    void shouldSkipSnapshotWithUnsavedFills() throws IOException {
+        MatchingEngine live = new MatchingEngine(SYMBOLS);
+        SnapshotStore store = new SnapshotStore(snapshotDir, 5);
+        SnapshotHandler snapshotHandler = new SnapshotHandler(live.getRegistry(), store,
+                new JournalReplayer(journalDir), 1_000, sequence -> sequence < 3_000);
+        runWorkload(live, snapshotHandler, 5_000);
+        snapshotHandler.close();
+
+        MatchingEngine recovered = new MatchingEngine(SYMBOLS);
+        List<Long> fillSequences = new ArrayList<>();
+        recovered.addFillListener((symbolId, price, quantity, maker, taker) ->
+                fillSequences.add(recovered.getSequence()));
+        long lastSequence = new SnapshotRecovery(store, new JournalReplayer(journalDir)).recover(recovered);
+
+        assertThat(store.loadLatest()).get().extracting(StateImage::getSequence).isEqualTo(2_999L);
+        assertThat(lastSequence).isEqualTo(4_999L);
+        assertThat(Collections.min(fillSequences)).isBetween(3_000L, 3_999L);
+        assertSameState(live, recovered);
+    }
+
+    private static void submit(MatchingEngine engine, JournalWriter writer, SnapshotHandler snapshotHandler,
+                               long sequence, Side side, long price, long quantity, boolean endOfBatch) {
+        OrderCommand command = new OrderCommand();
+        command.setType(CommandType.NEW);
+        command.setOrderId(sequence);
+        command.setUserId(sequence % 10);
+        command.setSymbol(SYMBOLS.get((int) (sequence % SYMBOLS.size())));
+        command.setSide(side);
+        command.setPrice(price);
+        command.setQuantity(quantity);
+        command.setTimestamp(sequence);
+        String reason = engine.validate(command);
+        if (reason != null) {
+            command.reject(reason);
+        }
+        if (writer != null) {
+            writer.onCommand(command, sequence, endOfBatch);
+        }
+        engine.onCommand(command, sequence, endOfBatch);
+        if (snapshotHandler != null) {
+            snapshotHandler.onCommand(command, sequence, endOfBatch);
+        }
+    }
+
+    void runWorkload(MatchingEngine engine, SnapshotHandler snapshotHandler, int commands) throws IOException {
+        Random random = new Random(7);
+        OrderCommand command = new OrderCommand();
+        try (JournalWriter writer = JournalWriter.open(journalDir, 1 << 20, FsyncPolicy.PER_BATCH, 0)) {
+            for (int sequence = 0; sequence < commands; sequence++) {
+                command.setRejectReason(null);
+                command.setType(CommandType.NEW);
+                command.setOrderId(sequence);
+                command.setUserId(random.nextInt(50));
+                command.setSymbol(SYMBOLS.get(random.nextInt(SYMBOLS.size())));
+                command.setSide(random.nextBoolean() ? Side.BUY : Side.SELL);
+                command.setPrice(1_000_000 + random.nextInt(20) * 100);
+                command.setQuantity(1 + random.nextInt(100));
+                command.setTimestamp(sequence);
+
+                boolean endOfBatch = sequence % 100 == 99;
+                String reason = engine.validate(command);
+                if (reason != null) {
+                    command.reject(reason);
+                }
+                writer.onCommand(command, sequence, endOfBatch);
+                engine.onCommand(command, sequence, endOfBatch);
+                if (snapshotHandler != null) {
+                    snapshotHandler.onCommand(command, sequence, endOfBatch);
+                    awaitSnapshot(snapshotHandler);
+                }
+            }
+        }
+    }
+
+    private static void awaitSnapshot(SnapshotHandler snapshotHandler) {
+        while (snapshotHandler.isWriting()) {
+            Thread.onSpinWait();
+        }
+    }
+
+    static void assertSameState(MatchingEngine expected, MatchingEngine actual) {
+        for (String symbol : SYMBOLS) {
+            OrderBook expectedBook = expected.getBook(symbol);
+            OrderBook actualBook = actual.getBook(symbol);
+            assertThat(actualBook.restingOrderCount()).isEqualTo(expectedBook.restingOrderCount());
+            assertThat(actualBook.bestBid()).isEqualTo(expectedBook.bestBid());
+            assertThat(actualBook.bestAsk()).isEqualTo(expectedBook.bestAsk());
+            assertThat(actualBook.getLastTradePrice()).isEqualTo(expectedBook.getLastTradePrice());
+            expectedBook.forEachOrder(order -> {
+                assertThat(actualBook.getOrder(order.getOrderId())).isNotNull();
+                assertThat(actualBook.getOrder(order.getOrderId()).getRemainingQuantity())
+                        .isEqualTo(order.getRemainingQuantity());
+            });
+        }
+
+        assertThat(actual.getLedger().getAccounts()).hasSameSizeAs(expected.getLedger().getAccounts());
+        for (Account account : expected.getLedger().getAccounts()) {
+            Account restored = actual.getLedger().getAccount(account.getUserId());
+            assertThat(restored.getCash()).isEqualTo(account.getCash());
+            for (Position position : account.getPositions()) {
+                assertThat(restored.getPosition(position.getSymbol()).getQuantity()).isEqualTo(position.getQuantity());
+                assertThat(restored.getPosition(position.getSymbol()).getCost()).isEqualTo(position.getCost());
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package stock_trading.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import stock_trading.engine.FillListener;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.Order;
+import stock_trading.engine.OrderBook;
+import stock_trading.engine.OrderType;
+import stock_trading.engine.Side;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotStoreTest {
+
+    @TempDir
+    Path snapshotDir;
+
+    @Test
+    @DisplayName("Should round-trip an image through a snapshot file")
+    void shouldRoundTripImage() throws IOException {
+        SnapshotStore store = new SnapshotStore(snapshotDir, 2);
+
+        store.save(sampleImage(42));
+        StateImage loaded = store.loadLatest().orElseThrow();
+
+        assertThat(loaded.getSequence()).isEqualTo(42);
+        assertThat(loaded.bookCount).isEqualTo(2);
+        assertThat(loaded.bookSymbols).startsWith("AAPL", "MSFT");
+        assertThat(loaded.bookOrderCounts).startsWith(2, 0);
+        assertThat(loaded.getOrderCount()).isEqualTo(2);
+        assertThat(loaded.orderPrices).startsWith(1_500_000L, 1_510_000L);
+        assertThat(loaded.orderSides).startsWith((byte) 0, (byte) 1);
+        assertThat(loaded.getAccountCount()).isEqualTo(1);
+        assertThat(loaded.accountCash).startsWith(-3_000_000L);
+        assertThat(loaded.positionSymbols).startsWith("AAPL");
+        assertThat(loaded.positionCosts).startsWith(3_000_000L);
+    }
+
+    @Test
+    @DisplayName("Should fall back to an older snapshot when the newest is corrupt")
+    void shouldSkipCorruptSnapshot() throws IOException {
+        SnapshotStore store = new SnapshotStore(snapshotDir, 2);
+        store.save(sampleImage(10));
+        Path newest = store.save(sampleImage(20));
+
+        byte[] bytes = Files.readAllBytes(newest);
+        bytes[bytes.length / 2] ^= 0x55;
+        Files.write(newest, bytes);
+
+        assertThat(store.loadLatest()).get().extracting(StateImage::getSequence).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Should keep only the configured number of snapshots")
+    void shouldPruneOldSnapshots() throws IOException {
+        SnapshotStore store = new SnapshotStore(snapshotDir, 2);
+
+        store.save(sampleImage(1));
+        store.save(sampleImage(2));
+        store.save(sampleImage(3));
+
+        assertThat(store.list()).extracting(path -> path.getFileName().toString())
+                .containsExactly("00000000000000000002.snapshot", "00000000000000000003.snapshot");
+    }
+
+    @Test
+    @DisplayName("Should restore pending stop orders apart from the orders on the book")
+    void shouldRoundTripPendingStops() throws IOException {
+        MatchingEngine live = new MatchingEngine(List.of("AAPL"));
+        OrderBook book = live.getBook("AAPL");
+        book.submit(new Order(1, 7L, "AAPL", Side.BUY, 1_500_000, 10, 1), FillListener.NONE);
+        book.submit(new Order(2, 7L, "AAPL", Side.SELL, OrderType.STOP, 1_400_000, 1_390_000, 5, 2),
+                FillListener.NONE);
+        StateImage image = new StateImage();
+        StateCapture.capture(live, 2, image);
+        SnapshotStore store = new SnapshotStore(snapshotDir, 2);
+        store.save(image);
+
+        MatchingEngine recovered = new MatchingEngine(List.of("AAPL"));
+        StateCapture.restore(store.loadLatest().orElseThrow(), recovered);
+
+        OrderBook restored = recovered.getBook("AAPL");
+        assertThat(restored.restingOrderCount()).isEqualTo(1);
+        assertThat(restored.getOrder(2)).isNull();
+        assertThat(restored.getStop(2).getType()).isEqualTo(OrderType.STOP);
+        assertThat(restored.getStop(2).getStopPrice()).isEqualTo(1_400_000L);
+        assertThat(restored.getStop(2).getPrice()).isEqualTo(1_390_000L);
+    }
+
+    @Test
+    @DisplayName("Should return empty when no snapshot exists")
+    void shouldReturnEmptyWithoutSnapshots() {
+        assertThat(new SnapshotStore(snapshotDir.resolve("missing"), 2).loadLatest()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should encode small and negative numbers as short varints")
+    void shouldEncodeVarints() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long[] values = {0, -1, 63, -64, 1_500_000, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long value : values) {
+            SnapshotStore.writeVarLong(out, value);
+        }
+
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        for (long value : values) {
+            assertThat(SnapshotStore.readVarLong(in)).isEqualTo(value);
+        }
+        assertThat(out.size()).isEqualTo(1 + 1 + 1 + 1 + 4 + 10 + 10);
+    }
+
+    private StateImage sampleImage(long sequence) {
+        StateImage image = new StateImage();
+        image.clear(sequence);
+        image.addBook("AAPL", 1_500_000);
+        image.addOrder(1, 7L, (byte) 0, 1_500_000, 10, 1_000, (byte) 0, 0);
+        image.addOrder(2, 8L, (byte) 1, 1_510_000, 5, 1_001, (byte) 0, 0);
+        image.addBook("MSFT", 0);
+        image.addAccount(7L, -3_000_000);
+        image.addPosition("AAPL", 2, 3_000_000);
+        return image;
+    }
+}
@@ -0,0 +1,105 @@
+package stock_trading.symbol;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SymbolRegistryTest {
+
+    private final SymbolRegistry registry = new SymbolRegistry(List.of(
+            new Listing("AAPL", "Apple Inc.", new BigDecimal("151.35"), 16_070_752_000L),
+            new Listing("MSFT", "Microsoft Corporation", new BigDecimal("296.56"), 7_500_000_000L)));
+
+    @Test
+    @DisplayName("Should assign dense ids in listing order")
+    void shouldAssignDenseIds() {
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.idOf("AAPL")).isZero();
+        assertThat(registry.idOf("MSFT")).isEqualTo(1);
+        assertThat(registry.symbolOf(1)).isEqualTo("MSFT");
+        assertThat(registry.listing(0).name()).isEqualTo("Apple Inc.");
+        assertThat(registry.getSymbols()).containsExactly("AAPL", "MSFT");
+    }
+
+    @Test
+    @DisplayName("Should return UNKNOWN for unlisted symbols")
+    void shouldReturnUnknownForUnlistedSymbol() {
+        assertThat(registry.idOf("XYZ")).isEqualTo(SymbolRegistry.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("Should scale tick sizes and default to one cent")
+    void shouldResolveTickSizes() {
+        SymbolRegistry withTicks = new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", BigDecimal.ONE, 1L, new BigDecimal("0.05")),
+                new Listing("MSFT", "Microsoft Corporation", BigDecimal.ONE, 1L, null)));
+
+        assertThat(withTicks.tickSize(0)).isEqualTo(500L);
+        assertThat(withTicks.tickSize(1)).isEqualTo(100L);
+        assertThat(registry.tickSize(0)).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate listings")
+    void shouldRejectDuplicates() {
+        Listing listing = new Listing("AAPL", "Apple Inc.", BigDecimal.ONE, 1L);
+
+        assertThatThrownBy(() -> new SymbolRegistry(List.of(listing, listing)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Duplicate listing AAPL");
+    }
+
+    @Test
+    @DisplayName("Should resolve the same id from strings, byte arrays and padded buffers")
+    void shouldResolveIdsFromBytes() {
+        byte[] message = "xxMSFTyy".getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer field = ByteBuffer.allocateDirect(8).put("AAPL".getBytes(StandardCharsets.US_ASCII));
+
+        assertThat(registry.idOf(message, 2, 4)).isEqualTo(1);
+        assertThat(registry.idOf(field, 0, 8)).isZero();
+        assertThat(registry.idOf(message, 0, 4)).isEqualTo(SymbolRegistry.UNKNOWN);
+        assertThat(SymbolRegistry.encode("AAPL")).isEqualTo(SymbolRegistry.encode(field, 0, 8));
+    }
+
+    @Test
+    @DisplayName("Should treat empty, overlong and non-ASCII symbols as unknown")
+    void shouldRejectUnencodableSymbols() {
+        assertThat(registry.idOf("")).isEqualTo(SymbolRegistry.UNKNOWN);
+        assertThat(registry.idOf("AAPLAAPLA")).isEqualTo(SymbolRegistry.UNKNOWN);
+        assertThat(registry.idOf("\u00C4APL")).isEqualTo(SymbolRegistry.UNKNOWN);
+        assertThat(registry.idOf(ByteBuffer.allocate(8), 0, 8)).isEqualTo(SymbolRegistry.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("Should reject listings whose symbol cannot be encoded")
+    void shouldRejectOverlongListings() {
+        Listing listing = new Listing("TOOLONGSYM", "Too Long", BigDecimal.ONE, 1L);
+
+        assertThatThrownBy(() -> new SymbolRegistry(List.of(listing)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Symbol must be 1-8 ASCII characters: TOOLONGSYM");
+    }
+
+    @Test
+    @DisplayName("Should keep ids dense and lookups exact across many listings")
+    void shouldResolveManyListings() {
+        List<String> symbols = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            symbols.add("S" + i);
+        }
+        SymbolRegistry large = SymbolRegistry.of(symbols);
+
+        for (int i = 0; i < symbols.size(); i++) {
+            assertThat(large.idOf(symbols.get(i))).isEqualTo(i);
+        }
+        assertThat(large.idOf("S5000")).isEqualTo(SymbolRegistry.UNKNOWN);
+    }
+}
@@ -0,0 +1,169 @@
+package stock_trading.tickstore;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickStoreTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final long START = 20_000 * DAY + 9 * 3_600_000L;
+
+    @TempDir
+    Path tickDir;
+
+    private SymbolRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", new BigDecimal("150.00"), 1_000L),
+                new Listing("MSFT", "Microsoft Corporation", new BigDecimal("300.00"), 2_000L)));
+    }
+
+    @Test
+    @DisplayName("Should round-trip ticks exactly through compressed blocks")
+    void shouldRoundTripTicks() {
+        Random random = new Random(42);
+        List<long[]> written = new ArrayList<>();
+        TickStore store = new TickStore(tickDir, registry, 128);
+        long timestamp = START;
+        long price = 1_500_000;
+        for (int i = 0; i < 1_000; i++) {
+            timestamp += random.nextInt(50);
+            price += random.nextInt(201) - 100;
+            long volume = 1 + random.nextInt(random.nextBoolean() ? 100 : 1_000_000);
+            store.onTrade(0, price, volume, timestamp);
+            written.add(new long[]{timestamp, price, volume});
+        }
+        store.close();
+
+        List<long[]> read = scan(store, "AAPL", START, START + DAY);
+
+        assertThat(read).hasSize(written.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertThat(read.get(i)).containsExactly(written.get(i)[0], written.get(i)[1], written.get(i)[2]);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return only ticks inside the requested range across day files")
+    void shouldScanRangeAcrossDays() {
+        TickStore store = new TickStore(tickDir, registry, 16);
+        for (int i = 0; i < 48; i++) {
+            store.onTrade(1, 3_000_000 + i, 1, START + i * 3_600_000L);
+        }
+        store.close();
+
+        List<long[]> read = scan(store, "MSFT", START + 10 * 3_600_000L, START + 20 * 3_600_000L);
+
+        assertThat(read).hasSize(10);
+        assertThat(read.get(0)[1]).isEqualTo(3_000_010);
+        assertThat(read.get(9)[1]).isEqualTo(3_000_019);
+        assertThat(Files.exists(tickDir.resolve("MSFT").resolve("2024-10-04.ticks"))).isTrue();
+        assertThat(Files.exists(tickDir.resolve("MSFT").resolve("2024-10-05.ticks"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should scan an unbounded range by visiting only the day files that exist")
+    void shouldScanUnboundedRange() throws IOException {
+        TickStore store = new TickStore(tickDir, registry, 16);
+        for (int i = 0; i < 48; i++) {
+            store.onTrade(1, 3_000_000 + i, 1, START + i * 3_600_000L);
+        }
+        store.close();
+        Files.createFile(tickDir.resolve("MSFT").resolve("notes.txt"));
+
+        assertThat(scan(store, "MSFT", Long.MIN_VALUE, Long.MAX_VALUE)).hasSize(48);
+        assertThat(scan(store, "MSFT", 0, START)).isEmpty();
+        assertThat(scan(store, "AAPL", 0, Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should store regular ticks in a fraction of their raw size")
+    void shouldCompressRegularTicks() throws IOException {
+        TickStore store = new TickStore(tickDir, registry, 4_096);
+        for (int i = 0; i < 4_096; i++) {
+            store.onTrade(0, 1_500_000 + (i % 8) * 100, 100, START + i * 1_000L);
+        }
+        store.close();
+
+        long size = Files.size(tickDir.resolve("AAPL").resolve("2024-10-04.ticks"));
+
+        assertThat(size).isLessThan(4_096L * 24 / 8);
+    }
+
+    @Test
+    @DisplayName("Should stop the scan when the visitor returns false")
+    void shouldStopWhenVisitorDeclines() {
+        TickStore store = new TickStore(tickDir, registry, 8);
+        for (int i = 0; i < 40; i++) {
+            store.onTrade(0, 1_500_000, 1, START + i);
+        }
+        store.close();
+
+        List<Long> seen = new ArrayList<>();
+        boolean completed = store.scan("AAPL", START, START + DAY, (timestamp, price, volume) -> {
+            seen.add(timestamp);
+            return seen.size() < 5;
+        });
+
+        assertThat(completed).isFalse();
+        assertThat(seen).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn block at the end of a day file")
+    void shouldIgnoreTornBlock() throws IOException {
+        TickStore store = new TickStore(tickDir, registry, 10);
+        for (int i = 0; i < 20; i++) {
+            store.onTrade(0, 1_500_000 + i, 1, START + i);
+        }
+        store.close();
+        Path file = tickDir.resolve("AAPL").resolve("2024-10-04.ticks");
+        Files.write(file, new byte[]{5, 0, 0, 0, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        assertThat(scan(store, "AAPL", START, START + DAY)).hasSize(20);
+    }
+
+    @Test
+    @DisplayName("Should seal a quiet symbol's partial block once it is older than the maximum age")
+    void shouldSealAgedBlock() throws InterruptedException {
+        TickStore store = new TickStore(tickDir, registry, 4_096, 20);
+        for (int i = 0; i < 3; i++) {
+            store.onTrade(1, 3_000_000 + i, 1, START + i);
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (scan(store, "MSFT", START, START + DAY).size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(scan(store, "MSFT", START, START + DAY)).hasSize(3);
+
+        store.onTrade(1, 3_000_003, 1, START + 3);
+        store.close();
+
+        assertThat(scan(store, "MSFT", START, START + DAY)).extracting(tick -> tick[1])
+                .containsExactly(3_000_000L, 3_000_001L, 3_000_002L, 3_000_003L);
+    }
+
+    private static List<long[]> scan(TickStore store, String symbol, long from, long to) {
+        List<long[]> ticks = new ArrayList<>();
+        store.scan(symbol, from, to, (timestamp, price, volume) -> ticks.add(new long[]{timestamp, price, volume}));
+        return ticks;
+    }
+}
@@ -0,0 +1,94 @@
+package stock_trading.trade;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.dto.TradeRecord;
+import stock_trading.engine.Side;
+import stock_trading.exception.InvalidCursorException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecentTradesCacheTest {
+
+    private RecentTradesCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RecentTradesCache(3);
+    }
+
+    @Test
+    @DisplayName("Should not answer for a user until their ring is seeded")
+    void shouldRequireSeed() {
+        assertThat(cache.newest(1L, 3, 0)).isNull();
+
+        cache.open(1L, 0);
+        assertThat(cache.newest(1L, 3, 0)).isNull();
+
+        cache.seed(1L, List.of(trade(2), trade(1)));
+        assertThat(cache.newest(1L, 3, 0)).extracting(TradeRecord::id).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest trades, newest first")
+    void shouldOverwriteOldest() {
+        cache.open(1L, 0);
+        cache.seed(1L, List.of());
+        for (long id = 1; id <= 5; id++) {
+            cache.append(1L, trade(id));
+        }
+
+        assertThat(cache.newest(1L, 10, 0)).extracting(TradeRecord::id).containsExactly(5L, 4L, 3L);
+        assertThat(cache.newest(1L, 2, 0)).extracting(TradeRecord::id).containsExactly(5L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should merge trades appended while the seed was read without duplicating them")
+    void shouldMergeConcurrentAppends() {
+        cache.open(1L, 0);
+        cache.append(1L, trade(4));
+        cache.append(1L, trade(5));
+
+        // The seed query saw trade 4 but not trade 5.
+        cache.seed(1L, List.of(trade(4), trade(3), trade(2)));
+
+        assertThat(cache.newest(1L, 3, 0)).extracting(TradeRecord::id).containsExactly(5L, 4L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should ignore trades for untracked users and evict idle ones")
+    void shouldEvictIdleUsers() {
+        cache.append(1L, trade(1));
+        assertThat(cache.size()).isZero();
+
+        cache.open(1L, 0);
+        cache.seed(1L, List.of());
+        cache.open(2L, 0);
+        cache.seed(2L, List.of());
+        cache.newest(2L, 1, 1_000);
+
+        assertThat(cache.evictAccessedBefore(500)).isEqualTo(1);
+        assertThat(cache.newest(1L, 1, 1_000)).isNull();
+        assertThat(cache.newest(2L, 1, 1_000)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should round-trip cursors and reject malformed ones")
+    void shouldEncodeCursor() {
+        TradeCursor cursor = TradeCursor.after(trade(7));
+
+        assertThat(TradeCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(cursor.executedAt()).isEqualTo(Instant.ofEpochMilli(7_000));
+        assertThatThrownBy(() -> TradeCursor.decode("not a cursor"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private static TradeRecord trade(long id) {
+        return new TradeRecord(id, 100 + id, "AAPL", 10, 150.0, Side.BUY, Instant.ofEpochMilli(id * 1_000));
+    }
+}
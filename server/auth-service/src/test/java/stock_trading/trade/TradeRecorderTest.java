@@ -0,0 +1,168 @@
+package stock_trading.trade;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import stock_trading.engine.MatchingEngine;
+import stock_trading.engine.Side;
+import stock_trading.entity.Trade;
+import stock_trading.outbox.OutboxWriter;
+import stock_trading.repository.TradeRepository;
+import stock_trading.sequencer.CommandType;
+import stock_trading.sequencer.OrderCommand;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TradeRecorderTest {
+
+    private static final long PRICE = 1_500_000;
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    private final MatchingEngine engine = new MatchingEngine(new SymbolRegistry(List.of(
+            new Listing("AAPL", "Apple Inc.", new BigDecimal("150.00"), 1_000L, new BigDecimal("0.05")))));
+    private final List<Trade> saved = new ArrayList<>();
+    private TradeRecorder recorder;
+
+    @AfterEach
+    void tearDown() {
+        recorder.close();
+    }
+
+    @Test
+    @DisplayName("Should record the replayed fills after the last saved trade, skipping the ones already saved")
+    void shouldRecordReplayedTail() {
+        when(tradeRepository.findLastSequence()).thenReturn(4L);
+        when(tradeRepository.findEntryNumbers(4L)).thenReturn(List.of(0, 1));
+        recorder = newRecorder(64);
+
+        assertThat(recorder.resume()).isEqualTo(4L);
+        engine.addFillListener(recorder);
+        submit(0, 1, Side.SELL, 5);
+        submit(1, 2, Side.BUY, 5);
+        submit(2, 1, Side.SELL, 10);
+        submit(3, 2, Side.SELL, 10);
+        submit(4, 3, Side.BUY, 20);
+        submit(5, 4, Side.SELL, 5);
+        submit(6, 5, Side.BUY, 5);
+        recorder.recovered();
+
+        assertThat(saved).extracting(Trade::getSequence, Trade::getEntryNo, Trade::getUserId, Trade::getSide)
+                .containsExactly(
+                        tuple(4L, 2, 2L, Side.SELL),
+                        tuple(4L, 3, 3L, Side.BUY),
+                        tuple(6L, 0, 4L, Side.SELL),
+                        tuple(6L, 1, 5L, Side.BUY));
+        assertThat(saved).extracting(Trade::getExecutedAt).allMatch(executedAt -> executedAt.toEpochMilli() >= 4);
+    }
+
+    @Test
+    @DisplayName("Should fail recovery with a clear error once saving the replayed trades keeps failing")
+    void shouldFailRecoveryWhenSavesKeepFailing() {
+        when(tradeRepository.saveAll(anyList())).thenThrow(new RuntimeException("database down"));
+        recorder = new TradeRecorder(engine, tradeRepository, new RecentTradesCache(16),
+                new TransactionTemplate(transactionManager), outboxWriter, 2, 60_000, 2);
+        recorder.resume();
+        engine.addFillListener(recorder);
+
+        submit(0, 1, Side.SELL, 5);
+
+        assertThatThrownBy(() -> submit(1, 2, Side.BUY, 5))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("after 2 attempts");
+        verify(tradeRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should stop saving at the first fill the feed dropped so a restart records the rest")
+    void shouldStopAtFirstDroppedFill() {
+        recorder = newRecorder(2);
+        engine.addFillListener(recorder);
+
+        submit(0, 1, Side.SELL, 5);
+        submit(1, 2, Side.BUY, 5);
+        submit(2, 1, Side.SELL, 5);
+        submit(3, 2, Side.BUY, 5);
+
+        assertThat(recorder.flush()).isEqualTo(2);
+        assertThat(recorder.getDropped()).isEqualTo(2);
+
+        submit(4, 1, Side.SELL, 5);
+        submit(5, 2, Side.BUY, 5);
+
+        assertThat(recorder.flush()).isZero();
+        assertThat(saved).extracting(Trade::getSequence).containsExactly(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should confirm fills saved through a sequence only below the first dropped fill")
+    void shouldSaveThroughSequence() {
+        recorder = newRecorder(2);
+        engine.addFillListener(recorder);
+
+        submit(0, 1, Side.SELL, 5);
+        submit(1, 2, Side.BUY, 5);
+
+        assertThat(recorder.saveThrough(1)).isTrue();
+        assertThat(saved).extracting(Trade::getSequence).containsExactly(1L, 1L);
+
+        submit(2, 1, Side.SELL, 5);
+        submit(3, 2, Side.BUY, 5);
+        submit(4, 1, Side.SELL, 5);
+        submit(5, 2, Side.BUY, 5);
+
+        assertThat(recorder.saveThrough(3)).isTrue();
+        assertThat(recorder.saveThrough(5)).isFalse();
+    }
+
+    private TradeRecorder newRecorder(int bufferSize) {
+        when(tradeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Trade> trades = new ArrayList<>();
+            for (Trade trade : invocation.<List<Trade>>getArgument(0)) {
+                trades.add(trade.toBuilder().id(saved.size() + trades.size() + 1L).build());
+            }
+            saved.addAll(trades);
+            return trades;
+        });
+        return new TradeRecorder(engine, tradeRepository, new RecentTradesCache(16),
+                new TransactionTemplate(transactionManager), outboxWriter, bufferSize, 60_000, 2);
+    }
+
+    private void submit(long sequence, long userId, Side side, long quantity) {
+        OrderCommand command = new OrderCommand();
+        command.setType(CommandType.NEW);
+        command.setOrderId(sequence);
+        command.setUserId(userId);
+        command.setSymbol("AAPL");
+        command.setSide(side);
+        command.setPrice(PRICE);
+        command.setQuantity(quantity);
+        command.setTimestamp(sequence);
+        engine.onCommand(command, sequence, true);
+    }
+}
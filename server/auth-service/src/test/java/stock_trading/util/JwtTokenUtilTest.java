@@ -123,6 +123,16 @@ class JwtTokenUtilTest {
         assertThat(email).isEqualTo("test@example.com");
     }
 
+    @Test
+    @DisplayName("Should extract user id from valid token")
+    void shouldExtractUserIdFromValidToken() {
+        String token = jwtTokenUtil.generateToken(authentication);
+
+        Long userId = jwtTokenUtil.getUserIdFromToken(token);
+
+        assertThat(userId).isEqualTo(123L);
+    }
+
     @Test
     @DisplayName("Should generate different tokens for different users")
     void shouldGenerateDifferentTokensForDifferentUsers() {
@@ -0,0 +1,77 @@
+package stock_trading.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PricesTest {
+
+    @Test
+    @DisplayName("Should parse decimals into scaled longs")
+    void shouldParseDecimals() {
+        assertThat(Prices.parse("151.35")).isEqualTo(1_513_500L);
+        assertThat(Prices.parse("0.0125")).isEqualTo(125L);
+        assertThat(Prices.parse("-2.5")).isEqualTo(-25_000L);
+        assertThat(Prices.parse("42")).isEqualTo(420_000L);
+        assertThat(Prices.parse(".5")).isEqualTo(5_000L);
+        assertThat(Prices.parse("x=12.34;", 2, 7)).isEqualTo(123_400L);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed, over-precise and out-of-range input")
+    void shouldRejectBadInput() {
+        assertThatThrownBy(() -> Prices.parse("1.23456")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Prices.parse("12a")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Prices.parse("-")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Prices.parse("922337203685478")).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    @DisplayName("Should format scaled longs with two to four decimals")
+    void shouldFormat() {
+        assertThat(Prices.format(1_513_500L)).isEqualTo("151.35");
+        assertThat(Prices.format(125L)).isEqualTo("0.0125");
+        assertThat(Prices.format(-25_000L)).isEqualTo("-2.50");
+        assertThat(Prices.format(1_000_000_000L)).isEqualTo("100000.00");
+        assertThat(Prices.format(1_234_567L, new StringBuilder("$")).toString()).isEqualTo("$123.4567");
+    }
+
+    @Test
+    @DisplayName("Should round-trip through parse and format")
+    void shouldRoundTrip() {
+        for (long price : new long[]{0, 1, 99, 100, 1_513_500, -7_777_777, Long.MAX_VALUE}) {
+            assertThat(Prices.parse(Prices.format(price))).isEqualTo(price);
+        }
+        assertThat(Prices.fromDecimal(new BigDecimal(Prices.format(1_234_567L)))).isEqualTo(1_234_567L);
+    }
+
+    @Test
+    @DisplayName("Should detect notional overflow instead of wrapping")
+    void shouldCheckNotionalOverflow() {
+        assertThat(Prices.notional(1_513_500L, 1_000L)).isEqualTo(1_513_500_000L);
+        assertThat(Prices.notionalFits(Long.MAX_VALUE / 2, 2)).isTrue();
+        assertThat(Prices.notionalFits(Long.MAX_VALUE / 2, 3)).isFalse();
+        assertThatThrownBy(() -> Prices.notional(Long.MAX_VALUE / 2, 3)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep the full intermediate product in mulDiv")
+    void shouldMulDivWithoutIntermediateOverflow() {
+        long cost = 4_000_000_000_000_000_000L;
+
+        assertThat(Prices.mulDiv(cost, 3, 4)).isEqualTo(3_000_000_000_000_000_000L);
+        assertThat(Prices.multiply(1_513_500L, 20_000L)).isEqualTo(3_027_000L);
+        assertThatThrownBy(() -> Prices.mulDiv(cost, 4, 1)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Should check prices against the tick size")
+    void shouldCheckTick() {
+        assertThat(Prices.isOnTick(1_513_500L, Prices.DEFAULT_TICK_SIZE)).isTrue();
+        assertThat(Prices.isOnTick(1_513_550L, Prices.DEFAULT_TICK_SIZE)).isFalse();
+    }
+}
@@ -0,0 +1,195 @@
+package stock_trading.watchlist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import stock_trading.marketdata.QuoteSink;
+import stock_trading.marketdata.QuoteStore;
+import stock_trading.marketdata.QuoteView;
+import stock_trading.symbol.Listing;
+import stock_trading.symbol.SymbolRegistry;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WatchlistFanoutTest {
+
+    private static final int AAPL = 0;
+    private static final int MSFT = 1;
+    private static final int TSLA = 2;
+
+    private QuoteStore quoteStore;
+    private Queue<Runnable> pendingSends;
+    private WatchlistFanout fanout;
+
+    @BeforeEach
+    void setUp() {
+        SymbolRegistry registry = new SymbolRegistry(List.of(
+                new Listing("AAPL", "Apple Inc.", new BigDecimal("150.00"), 1_000L),
+                new Listing("MSFT", "Microsoft Corporation", new BigDecimal("300.00"), 2_000L),
+                new Listing("TSLA", "Tesla, Inc.", new BigDecimal("700.00"), 3_000L)));
+        quoteStore = new QuoteStore(registry);
+        pendingSends = new ArrayDeque<>();
+        fanout = new WatchlistFanout(quoteStore, WatchlistFanoutTest::encode, pendingSends::add);
+    }
+
+    private static String encode(QuoteView[] views, int count) {
+        StringBuilder payload = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            payload.append(views[i].getSymbolId()).append('@').append(views[i].getPrice()).append(';');
+        }
+        return payload.toString();
+    }
+
+    private void dispatch() {
+        fanout.tick();
+        while (!pendingSends.isEmpty()) {
+            pendingSends.poll().run();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send watched quotes on subscribe and then only changes to watched symbols")
+    void shouldSendOnlyWatchedChanges() {
+        RecordingSink sink = new RecordingSink();
+        WatchSession session = fanout.subscribe(1L, sink);
+        fanout.watch(session, AAPL);
+        fanout.watch(session, TSLA);
+        dispatch();
+
+        quoteStore.onTrade(MSFT, 3_010_000, 1, 1L);
+        dispatch();
+        quoteStore.onTrade(TSLA, 7_010_000, 1, 2L);
+        dispatch();
+
+        assertThat(sink.payloads).containsExactly("0@1500000;2@7000000;", "2@7010000;");
+    }
+
+    @Test
+    @DisplayName("Should reach only the sessions that watch the traded symbol")
+    void shouldFanOutThroughInvertedIndex() {
+        RecordingSink appleWatcher = new RecordingSink();
+        RecordingSink teslaWatcher = new RecordingSink();
+        fanout.watch(fanout.subscribe(1L, appleWatcher), AAPL);
+        fanout.watch(fanout.subscribe(2L, teslaWatcher), TSLA);
+        dispatch();
+
+        quoteStore.onTrade(AAPL, 1_510_000, 1, 1L);
+        dispatch();
+
+        assertThat(appleWatcher.payloads).containsExactly("0@1500000;", "0@1510000;");
+        assertThat(teslaWatcher.payloads).containsExactly("2@7000000;");
+        assertThat(fanout.getWatcherCount(AAPL)).isEqualTo(1);
+        assertThat(fanout.getWatcherCount(MSFT)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should apply watchlist edits to every open session of the user")
+    void shouldApplyEditsToUserSessions() {
+        RecordingSink desktop = new RecordingSink();
+        RecordingSink phone = new RecordingSink();
+        RecordingSink other = new RecordingSink();
+        fanout.subscribe(1L, desktop);
+        fanout.subscribe(1L, phone);
+        fanout.subscribe(2L, other);
+
+        fanout.watch(1L, MSFT);
+        dispatch();
+        fanout.unwatch(1L, MSFT);
+        quoteStore.onTrade(MSFT, 3_020_000, 1, 1L);
+        dispatch();
+
+        assertThat(desktop.payloads).containsExactly("1@3000000;");
+        assertThat(phone.payloads).containsExactly("1@3000000;");
+        assertThat(other.payloads).isEmpty();
+        assertThat(fanout.getWatcherCount(MSFT)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the index consistent when sessions in the middle of a watcher list leave")
+    void shouldKeepIndexConsistentOnRemoval() {
+        WatchSession first = fanout.subscribe(1L, new RecordingSink());
+        WatchSession middle = fanout.subscribe(2L, new RecordingSink());
+        RecordingSink lastSink = new RecordingSink();
+        WatchSession last = fanout.subscribe(3L, lastSink);
+        for (WatchSession session : List.of(first, middle, last)) {
+            fanout.watch(session, AAPL);
+            fanout.watch(session, MSFT);
+        }
+        dispatch();
+
+        fanout.unsubscribe(middle);
+        fanout.unsubscribe(first);
+        quoteStore.onTrade(MSFT, 3_030_000, 1, 1L);
+        dispatch();
+        fanout.unsubscribe(last);
+
+        assertThat(lastSink.payloads).containsExactly("0@1500000;1@3000000;", "1@3030000;");
+        assertThat(fanout.getWatcherCount(AAPL)).isZero();
+        assertThat(fanout.getWatcherCount(MSFT)).isZero();
+        assertThat(fanout.getSessionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should conflate changes while a session's send is in flight")
+    void shouldConflateWhileInFlight() {
+        RecordingSink sink = new RecordingSink();
+        fanout.watch(fanout.subscribe(1L, sink), AAPL);
+        fanout.tick();
+        Runnable stalled = pendingSends.poll();
+
+        quoteStore.onTrade(AAPL, 1_510_000, 1, 1L);
+        fanout.tick();
+        quoteStore.onTrade(AAPL, 1_520_000, 1, 2L);
+        fanout.tick();
+        assertThat(pendingSends).isEmpty();
+
+        stalled.run();
+        dispatch();
+
+        assertThat(sink.payloads).hasSize(2);
+        assertThat(sink.payloads.get(1)).isEqualTo("0@1520000;");
+    }
+
+    @Test
+    @DisplayName("Should drop a session whose send fails")
+    void shouldDropFailedSession() {
+        WatchSession session = fanout.subscribe(1L, new QuoteSink() {
+            @Override
+            public void send(String payload) throws IOException {
+                throw new IOException("broken pipe");
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        fanout.watch(session, AAPL);
+
+        dispatch();
+
+        assertThat(session.isClosed()).isTrue();
+        assertThat(fanout.getSessionCount()).isZero();
+        assertThat(fanout.getWatcherCount(AAPL)).isZero();
+    }
+
+    private static class RecordingSink implements QuoteSink {
+
+        private final List<String> payloads = new ArrayList<>();
+
+        @Override
+        public void send(String payload) {
+            payloads.add(payload);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}